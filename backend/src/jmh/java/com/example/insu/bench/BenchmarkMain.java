@@ -0,0 +1,114 @@
+package com.example.insu.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 벤치마크 실행기 (mvn -Pjmh verify)
+ *
+ * - 인자는 JMH 명령행 그대로 (예: "PdfParserBenchmark -p size=large -f 2"), 없으면 bench 패키지 전체
+ * - GC 프로파일러(할당량 B/op) 항상 포함, 결과는 target/jmh/jmh-버전-시각.json + jmh-latest.json
+ * - -Djmh.baseline=이전 결과 JSON 지정 시 벤치마크·파라미터별 시간/할당 변화율 출력 (임계값 jmh.threshold, 기본 10%)
+ */
+public final class BenchmarkMain {
+
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path outDir = Paths.get(System.getProperty("jmh.output", "target/jmh"));
+        Files.createDirectories(outDir);
+        String tag = System.getProperty("jmh.version.tag", "dev");
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path result = outDir.resolve("jmh-" + tag + "-" + stamp + ".json");
+
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(result.toString());
+        if (cli.getIncludes().isEmpty()) {
+            options.include(BenchmarkMain.class.getPackageName().replace(".", "\\.") + "\\..*Benchmark");
+        }
+        new Runner(options.build()).run();
+        Files.copy(result, outDir.resolve("jmh-latest.json"), StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("JMH 결과: " + result);
+
+        String baseline = System.getProperty("jmh.baseline", "");
+        if (!baseline.isBlank()) {
+            double threshold = Double.parseDouble(System.getProperty("jmh.threshold", "10"));
+            compare(Paths.get(baseline), result, threshold);
+        }
+    }
+
+    /** 두 결과 파일 비교: 시간(primary)과 할당(B/op) 변화율, 임계값 초과 증가는 REGRESSION 표시 */
+    static void compare(Path baselineFile, Path currentFile, double thresholdPct) throws IOException {
+        Map<String, double[]> before = scores(baselineFile);
+        Map<String, double[]> after = scores(currentFile);
+        System.out.printf("%n기준: %s%n", baselineFile);
+        System.out.printf("%-80s %12s %8s %12s %8s%n", "benchmark", "time", "Δ%", "B/op", "Δ%");
+        int regressions = 0;
+        for (Map.Entry<String, double[]> e : after.entrySet()) {
+            double[] now = e.getValue();
+            double[] was = before.get(e.getKey());
+            double dt = was != null ? change(was[0], now[0]) : Double.NaN;
+            double da = was != null ? change(was[1], now[1]) : Double.NaN;
+            boolean regressed = dt > thresholdPct || da > thresholdPct;
+            if (regressed) regressions++;
+            System.out.printf("%-80s %12.3f %8s %12.0f %8s%s%n", e.getKey(), now[0], pct(dt), now[1], pct(da),
+                              regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("회귀 %d건 (임계값 %.1f%%)%n", regressions, thresholdPct);
+    }
+
+    /** 벤치마크+파라미터 → [primary score, B/op (없으면 NaN)] */
+    private static Map<String, double[]> scores(Path file) throws IOException {
+        Map<String, double[]> out = new TreeMap<>();
+        for (JsonNode run : MAPPER.readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            Map<String, String> params = new LinkedHashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = run.path("params").fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> p = it.next();
+                params.put(p.getKey(), p.getValue().asText());
+            }
+            if (!params.isEmpty()) key.append(params);
+
+            double alloc = Double.NaN;
+            for (Iterator<Map.Entry<String, JsonNode>> it = run.path("secondaryMetrics").fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> m = it.next();
+                if (m.getKey().endsWith(ALLOC_NORM)) alloc = m.getValue().path("score").asDouble();
+            }
+            out.put(key.toString(), new double[]{run.path("primaryMetric").path("score").asDouble(), alloc});
+        }
+        return out;
+    }
+
+    private static double change(double was, double now) {
+        return was > 0 && !Double.isNaN(now) ? (now - was) * 100.0 / was : Double.NaN;
+    }
+
+    private static String pct(double v) {
+        return Double.isNaN(v) ? "-" : String.format("%+.1f", v);
+    }
+}
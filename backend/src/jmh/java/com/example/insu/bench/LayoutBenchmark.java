@@ -0,0 +1,77 @@
+package com.example.insu.bench;
+
+import com.example.insu.util.LayoutStripper;
+import com.example.insu.util.LimitTableExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 좌표 기반 경로: LayoutStripper 페이지 라인 수집, LimitTableExtractor 열 슬라이스 수치 추출
+ * - readPageLines는 문서 중간 페이지 1장 (문서 크기에 따른 로드 비용 포함)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LayoutBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public SyntheticDocuments.Size size;
+
+    private File pdf;
+    private int page;
+    private LayoutStripper.Line maxRow;
+    private Map<String, Float> anchors;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pdf = SyntheticDocuments.pdf(size);
+        page = Math.max(1, size.pages / 2);
+        List<LayoutStripper.Line> lines = LayoutStripper.readPageLines(pdf, page);
+        LayoutStripper.Line header = lines.stream()
+            .filter(l -> l.text.contains("61~65")).findFirst()
+            .orElseThrow(() -> new IllegalStateException("합성 PDF에 나이 구간 헤더 없음"));
+        maxRow = lines.stream()
+            .filter(l -> l.text.startsWith("Max")).findFirst()
+            .orElseThrow(() -> new IllegalStateException("합성 PDF에 최대 행 없음"));
+        anchors = LimitTableExtractor.detectHeaderAnchors(header);
+        if (extractAtBand() == null) {
+            throw new IllegalStateException("구간 열 추출 실패: anchors=" + anchors + ", row=" + maxRow.text);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pdf != null && !pdf.delete()) pdf.deleteOnExit();
+    }
+
+    @Benchmark
+    public List<LayoutStripper.Line> readPageLines() throws IOException {
+        return LayoutStripper.readPageLines(pdf, page);
+    }
+
+    @Benchmark
+    public BigDecimal extractAtBand() {
+        return LimitTableExtractor.extractAtBand(maxRow, "61~65", anchors, "만");
+    }
+}
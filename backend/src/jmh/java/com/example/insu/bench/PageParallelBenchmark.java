@@ -0,0 +1,77 @@
+package com.example.insu.bench;
+
+import com.example.insu.util.PageParallelStripper;
+import com.example.insu.util.PdfBoxGate;
+import com.example.insu.util.PdfLoader;
+import com.example.insu.util.PdfParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전체 텍스트 추출: 직렬 스트리퍼 vs 페이지 병렬 (작업마다 자기 PDDocument)
+ * - threads = 병렬도 (PdfBoxGate 동시 실행 상한도 같은 값), 코어 수 이상으로 올리면 이득 없음
+ * - readAllText는 적응형 선택 (여기서는 64페이지 이상만 병렬로 켬; 운영 기본값은 꺼짐)
+ * 실행 예: mvn -Pjmh verify -Djmh.args="PageParallelBenchmark -p size=huge"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageParallelBenchmark {
+
+    @Param({"medium", "large", "huge"})
+    public SyntheticDocuments.Size size;
+
+    @Param({"2", "4", "8"})
+    public int threads;
+
+    private File pdf;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pdf = SyntheticDocuments.pdf(size);
+        PdfBoxGate.configure(threads);
+        PageParallelStripper.configure(64, 16, threads);
+        if (!serial().equals(parallel())) {
+            throw new IllegalStateException("병렬 추출 결과가 직렬과 다름: " + size);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pdf != null && !pdf.delete()) pdf.deleteOnExit();
+    }
+
+    @Benchmark
+    public String serial() throws IOException {
+        return PdfLoader.text(pdf, true, 1, size.pages);
+    }
+
+    @Benchmark
+    public String parallel() throws IOException {
+        return PageParallelStripper.text(pdf, 1, size.pages);
+    }
+
+    /** 운영 경로 (페이지 수로 직렬/병렬 선택, DocumentScope 밖이라 매번 추출) */
+    @Benchmark
+    public String readAllText() throws IOException {
+        return PdfParser.readAllText(pdf);
+    }
+}
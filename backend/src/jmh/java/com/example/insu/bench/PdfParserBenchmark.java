@@ -0,0 +1,109 @@
+package com.example.insu.bench;
+
+import com.example.insu.util.PdfParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PdfParser 핫패스 (텍스트 추출 → 섹션 분리 → 코드 표 → 이름 탐색 → 한도 표)
+ * - 입력은 크기별 합성 문서, 섹션은 준비 단계에서 한 번 분리해 두고 각 단계만 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PdfParserBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public SyntheticDocuments.Size size;
+
+    private File pdf;
+    private String text;
+    private PdfParser.Sections sections;
+    private String targetCode;
+    private String targetName;
+    private List<String> titles;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pdf = SyntheticDocuments.pdf(size);
+        text = SyntheticDocuments.text(size);
+        sections = PdfParser.splitSections(text);
+        int middle = size.products / 2;
+        targetCode = SyntheticDocuments.code(middle, 2);
+        targetName = SyntheticDocuments.name(middle);
+        titles = SyntheticDocuments.names(size);
+        if (parseAgeBandLimitByHeaderColumns() == null || fuzzyFindNameByCode() == null) {
+            throw new IllegalStateException("합성 문서에서 대상 상품을 찾지 못함: " + targetName);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pdf != null && !pdf.delete()) pdf.deleteOnExit();
+    }
+
+    /** DocumentScope 밖 호출: 매번 로드 + 전체 추출 */
+    @Benchmark
+    public String readAllText() throws IOException {
+        return PdfParser.readAllText(pdf);
+    }
+
+    @Benchmark
+    public PdfParser.Sections splitSections() {
+        return PdfParser.splitSections(text);
+    }
+
+    @Benchmark
+    public Map<String, String> parseCodeTable() {
+        return PdfParser.parseCodeTable(sections.block3);
+    }
+
+    @Benchmark
+    public Map<String, String> parseCodeTableFourCols() {
+        return PdfParser.parseCodeTableFourCols(sections.block3);
+    }
+
+    @Benchmark
+    public String fuzzyFindNameByCode() {
+        return PdfParser.fuzzyFindNameByCode(sections.block3, targetCode);
+    }
+
+    @Benchmark
+    public Object parseAgeBandLimitByHeaderColumns() {
+        return PdfParser.parseAgeBandLimitByHeaderColumns(sections.block5, targetName, 63);
+    }
+
+    @Benchmark
+    public List<PdfParser.SimpleLimitRow> parseSimpleLimitTable() {
+        return PdfParser.parseSimpleLimitTable(sections.block5);
+    }
+
+    /** 상품 수만큼의 제목 정규화 (호출 1회 비용은 결과 / 상품 수) */
+    @Benchmark
+    public void normalizeTitle(Blackhole bh) {
+        for (String title : titles) {
+            bh.consume(PdfParser.normalizeTitle(title));
+        }
+    }
+}
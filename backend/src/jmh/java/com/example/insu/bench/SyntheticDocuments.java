@@ -0,0 +1,134 @@
+package com.example.insu.bench;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 합성 문서
+ *
+ * - 텍스트: 실제 상품요약서 구조(3.보험코드 4열 표 / 4.사업방법 / 5.가입한도 나이 구간표 + 단순표)를 상품 수만큼 반복
+ * - PDF: PDFBox로 생성 (표준 14 폰트라 ASCII), 페이지마다 코드 표 행 + 나이 구간 헤더/최대 행을 열 위치에 배치
+ */
+public final class SyntheticDocuments {
+
+    /** 문서 크기: 상품 수 / PDF 페이지 수 */
+    public enum Size {
+        small(10, 5),
+        medium(100, 40),
+        large(400, 150),
+        /** 수백 페이지 사용설명서 규모 (페이지 병렬 추출 비교용) */
+        huge(1200, 600);
+
+        public final int products;
+        public final int pages;
+
+        Size(int products, int pages) {
+            this.products = products;
+            this.pages = pages;
+        }
+    }
+
+    private static final float[] BAND_X = {50, 200, 280, 360, 440};
+    private static final int LINES_PER_PAGE = 45;
+
+    private SyntheticDocuments() {
+    }
+
+    public static String code(int product, int column) {
+        return String.valueOf(20000 + product * 4 + column);
+    }
+
+    public static String name(int product) {
+        return "(무)다사랑" + product + "암진단특약";
+    }
+
+    /** 상품명 목록 (정규화 벤치마크 입력) */
+    public static List<String> names(Size size) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < size.products; i++) {
+            names.add("흥국생명 " + name(i) + (i % 3 == 0 ? "(갱신형)" : "") + " 주계약");
+        }
+        return names;
+    }
+
+    /** 전체 텍스트 (PdfParser.readAllText 결과와 같은 줄 구조) */
+    public static String text(Size size) {
+        StringBuilder sb = new StringBuilder(size.products * 400);
+        sb.append("1. 상품개요\n흥국생명 합성 상품요약서\n");
+        sb.append("3. 보험코드\n");
+        sb.append("구분 상품명 최초계약 갱신계약 최초(간편) 갱신(간편)\n");
+        for (int i = 0; i < size.products; i++) {
+            sb.append(name(i));
+            for (int c = 0; c < 4; c++) sb.append(' ').append(code(i, c));
+            sb.append('\n');
+        }
+        sb.append("4. 사업방법\n");
+        for (int i = 0; i < size.products; i++) {
+            sb.append(name(i)).append(i % 2 == 0 ? " 비갱신형\n" : " 갱신형\n")
+              .append("보험기간: 90세만기, 100세만기\n")
+              .append("납입기간: 10년납, 20년납, 30년납\n")
+              .append("가입나이: 만15세 ~ 만").append(60 + i % 20).append("세\n");
+        }
+        // 나이 구간표: 값은 헤더 라벨과 같은 글자 위치에서 시작 (텍스트 열 정렬)
+        sb.append("5. 가입한도\n");
+        for (int i = 0; i < size.products; i++) {
+            sb.append(name(i)).append(" (단위: 만원)\n")
+              .append("구분 60세이하 61~65 66~70 71~75\n")
+              .append("최저 100   100   50    50\n")
+              .append("최대 5000  3000  2000  1000\n");
+        }
+        sb.append("구분 주보험 및 특약명 가입금액한도 최저가입금액 가입금액단위\n");
+        for (int i = 0; i < size.products; i++) {
+            sb.append("특약 ").append(name(i)).append(' ')
+              .append(1000 + i * 10).append("만 100만 10만\n");
+        }
+        return sb.toString();
+    }
+
+    /** 합성 PDF (임시 파일, 호출 측에서 삭제) */
+    public static File pdf(Size size) throws IOException {
+        File file = Files.createTempFile("insu-bench-" + size + "-", ".pdf").toFile();
+        try (PDDocument doc = new PDDocument()) {
+            int product = 0;
+            for (int p = 1; p <= size.pages; p++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                doc.addPage(page);
+                try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+                    float y = 790;
+                    cells(cs, y, p == 1 ? "3. Insurance codes" : "Page " + p);
+                    y -= 16;
+                    cells(cs, y, "Age", "60", "61~65", "66~70", "71~75");
+                    y -= 14;
+                    cells(cs, y, "Max", "5,000", "3,000", "2,000", "1,000");
+                    y -= 14;
+                    for (int l = 0; l < LINES_PER_PAGE; l++, y -= 14) {
+                        int i = product++ % Math.max(1, size.products);
+                        cells(cs, y, "Rider " + i + " cancer diagnosis",
+                              code(i, 0), code(i, 1), code(i, 2), code(i, 3));
+                    }
+                }
+            }
+            doc.save(file);
+        }
+        return file;
+    }
+
+    private static void cells(PDPageContentStream cs, float y, String... cells) throws IOException {
+        for (int i = 0; i < cells.length && i < BAND_X.length; i++) {
+            cs.beginText();
+            cs.setFont(PDType1Font.HELVETICA, 9);
+            cs.newLineAtOffset(BAND_X[i], y);
+            cs.showText(cells[i]);
+            cs.endText();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.insu.loadtest;
+
+import com.example.insu.service.OllamaService;
+import com.example.insu.service.PythonPdfService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 부하 시험 프로파일: 외부 프로세스(Ollama, Python) 대신 지연 스텁을 우선 주입
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    @Bean
+    @Primary
+    public OllamaService stubOllamaService(@Qualifier("llmExecutor") Executor llmExecutor,
+                                           @Value("${loadtest.stub.ollama-latency-ms:800}") long latencyMs,
+                                           @Value("${loadtest.stub.ollama-jitter-ms:400}") long jitterMs,
+                                           @Value("${loadtest.stub.ollama-parallel:4}") int parallel) {
+        return new StubOllamaService(llmExecutor, latencyMs, jitterMs, parallel);
+    }
+
+    @Bean
+    @Primary
+    public PythonPdfService stubPythonPdfService(@Value("${loadtest.stub.python-latency-ms:300}") long latencyMs,
+                                                 @Value("${loadtest.stub.python-jitter-ms:100}") long jitterMs) {
+        return new StubPythonPdfService(latencyMs, jitterMs);
+    }
+}
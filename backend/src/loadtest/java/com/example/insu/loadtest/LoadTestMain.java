@@ -0,0 +1,178 @@
+package com.example.insu.loadtest;
+
+import com.example.insu.BackendApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종단 간 부하 시험 실행기 (mvn -Ploadtest verify)
+ *
+ * - loadtest 프로파일로 애플리케이션 기동 (H2 Oracle 모드, Ollama/Python 지연 스텁, 임의 포트)
+ * - 시드 적재 후 상품 조회·가입한도·보험료·수정 제출 4개 엔드포인트에 개방형 부하
+ * - 인자는 스프링 속성 (key=value 또는 --key=value, application-loadtest.properties 참고)
+ * - 결과: 엔드포인트별 p50/p90/p99/최대 지연·처리량 표 + loadtest.output/loadtest-버전-시각.json, loadtest-latest.json
+ */
+public final class LoadTestMain {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> springArgs = new ArrayList<>();
+        springArgs.add("--spring.profiles.active=loadtest");
+        for (String arg : args) {
+            if (arg.isBlank()) continue;
+            springArgs.add(arg.startsWith("--") ? arg : "--" + arg);
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+            .run(springArgs.toArray(new String[0]));
+        try {
+            Environment env = context.getEnvironment();
+            List<String> codes = new LoadTestSeeder(context.getBean(JdbcTemplate.class), env).seed();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            System.out.printf("부하 시험: 포트 %d, 보험코드 %d개, 스텁 지연 Ollama %sms(+%s) / Python %sms(+%s)%n",
+                              port, codes.size(),
+                              env.getProperty("loadtest.stub.ollama-latency-ms"), env.getProperty("loadtest.stub.ollama-jitter-ms"),
+                              env.getProperty("loadtest.stub.python-latency-ms"), env.getProperty("loadtest.stub.python-jitter-ms"));
+
+            Duration timeout = Duration.ofSeconds(env.getProperty("loadtest.timeout-s", Long.class, 30L));
+            Duration warmup = Duration.ofSeconds(env.getProperty("loadtest.warmup-s", Long.class, 10L));
+            Duration measure = Duration.ofSeconds(env.getProperty("loadtest.duration-s", Long.class, 60L));
+            Map<String, Double> rates = rates(env.getProperty("loadtest.rates", ""));
+
+            List<OpenLoadDriver.Endpoint> endpoints = endpoints("http://localhost:" + port, codes, rates, timeout);
+            List<OpenLoadDriver.Result> results = new OpenLoadDriver(timeout).run(endpoints, warmup, measure);
+
+            print(results, measure);
+            write(Paths.get(env.getProperty("loadtest.output", "target/loadtest")),
+                  env.getProperty("loadtest.version-tag", "dev"), env, results);
+        } finally {
+            context.close();
+        }
+    }
+
+    /** "product:5,quote:50" → 엔드포인트별 초당 도착률 */
+    static Map<String, Double> rates(String spec) {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length == 2) {
+                rates.put(kv[0].trim(), Double.parseDouble(kv[1].trim()));
+            }
+        }
+        return rates;
+    }
+
+    private static List<OpenLoadDriver.Endpoint> endpoints(String base, List<String> codes,
+                                                           Map<String, Double> rates, Duration timeout) {
+        String insuTerm = URLEncoder.encode(LoadTestSeeder.INSU_TERM, StandardCharsets.UTF_8);
+        int ages = LoadTestSeeder.MAX_AGE - LoadTestSeeder.MIN_AGE + 1;
+
+        List<OpenLoadDriver.Endpoint> endpoints = new ArrayList<>();
+        endpoints.add(new OpenLoadDriver.Endpoint("product", rates.getOrDefault("product", 0.0),
+            seq -> get(base + "/api/product/" + pick(codes, seq), timeout)));
+        endpoints.add(new OpenLoadDriver.Endpoint("limit", rates.getOrDefault("limit", 0.0),
+            seq -> get(base + "/api/limit/" + pick(codes, seq) + "?age=" + (LoadTestSeeder.MIN_AGE + seq % ages), timeout)));
+        endpoints.add(new OpenLoadDriver.Endpoint("quote", rates.getOrDefault("quote", 0.0),
+            seq -> {
+                int payTerm = LoadTestSeeder.PAY_TERMS[(int) (seq % LoadTestSeeder.PAY_TERMS.length)];
+                int age = LoadTestSeeder.MIN_AGE + (int) (seq * 7 % ages);
+                return get(base + "/api/premium/calculate-by-terms/" + pick(codes, seq)
+                           + "?insuTerm=" + insuTerm
+                           + "&payTerm=" + URLEncoder.encode(payTerm + "년납", StandardCharsets.UTF_8)
+                           + "&age=" + age + "&baseAmount=1000", timeout);
+            }));
+        endpoints.add(new OpenLoadDriver.Endpoint("correction", rates.getOrDefault("correction", 0.0),
+            seq -> HttpRequest.newBuilder(URI.create(base + "/api/learning/correction"))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(correction(pick(codes, seq), seq)))
+                .build()));
+        return endpoints;
+    }
+
+    private static String pick(List<String> codes, long seq) {
+        return codes.get((int) (seq % codes.size()));
+    }
+
+    private static HttpRequest get(String url, Duration timeout) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(timeout).GET().build();
+    }
+
+    private static String correction(String insuCd, long seq) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("insuCd", insuCd);
+        body.put("originalResult", Map.of(
+            "productName", "(무)부하시험암보험" + insuCd,
+            "insuTerm", "—", "payTerm", "10년납", "ageRange", "—", "renew", "—"));
+        body.put("correctedResult", Map.of(
+            "productName", "(무)부하시험암보험" + insuCd,
+            "insuTerm", LoadTestSeeder.INSU_TERM,
+            "payTerm", "10년납, 15년납, 20년납, 30년납",
+            "ageRange", "10년납(남:15~80,여:15~80)",
+            "renew", seq % 2 == 0 ? "비갱신형" : "갱신형"));
+        body.put("pdfText", "3. 보험코드 " + insuCd + " 종신 10년납 15년납 20년납 30년납");
+        body.put("correctionReason", "부하 시험 #" + seq);
+        try {
+            return MAPPER.writeValueAsString(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void print(List<OpenLoadDriver.Result> results, Duration measure) {
+        System.out.printf("%n측정 %d초 (지연 ms, 예정 시각 기준)%n", measure.getSeconds());
+        System.out.printf("%-12s %8s %8s %8s %7s %7s %9s %9s %9s %9s %9s %8s%n",
+                          "endpoint", "rate/s", "sent", "ok", "errors", "t/o", "p50", "p90", "p99", "max", "ok/s", "inflight");
+        for (OpenLoadDriver.Result r : results) {
+            System.out.printf("%-12s %8.1f %8d %8d %7d %7d %9.2f %9.2f %9.2f %9.2f %9.1f %8d%n",
+                              r.name(), r.targetRate(), r.sent(), r.ok(), r.errors(), r.timeouts(),
+                              r.p50(), r.p90(), r.p99(), r.max(), r.throughput(), r.maxInFlight());
+        }
+    }
+
+    private static void write(Path outDir, String tag, Environment env, List<OpenLoadDriver.Result> results)
+            throws Exception {
+        Files.createDirectories(outDir);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = outDir.resolve("loadtest-" + tag + "-" + stamp + ".json");
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        for (String key : List.of("loadtest.rates", "loadtest.warmup-s", "loadtest.duration-s", "loadtest.products",
+                                  "loadtest.stub.ollama-latency-ms", "loadtest.stub.ollama-jitter-ms",
+                                  "loadtest.stub.ollama-parallel", "loadtest.stub.python-latency-ms",
+                                  "loadtest.stub.python-jitter-ms")) {
+            config.put(key, env.getProperty(key));
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("config", config);
+        out.put("results", results.stream().map(OpenLoadDriver.Result::toMap).toList());
+        MAPPER.writeValue(file.toFile(), out);
+        Files.copy(file, outDir.resolve("loadtest-latest.json"), StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("부하 시험 결과: " + file);
+    }
+}
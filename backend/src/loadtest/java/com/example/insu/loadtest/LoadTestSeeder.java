@@ -0,0 +1,173 @@
+package com.example.insu.loadtest;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 부하 시험 시드 데이터
+ *
+ * - 주계약 i: 코드 30000+4i, 특약 3개는 +1~+3 (UW_CODE_MAPPING MAIN_CODE로 묶음)
+ * - RVT_PREM_RATE: 코드마다 15~80세 × 종신(999) × 10/15/20/30년납
+ * - LEARNED_PATTERN: 주계약마다 4개 필드 (UW_MAPPING 출처, 순위 계산 대상)
+ * - 합성 PDF: 주계약마다 1개 (표준 14 폰트라 ASCII, 코드 표 + 나이 구간 한도 행)
+ */
+final class LoadTestSeeder {
+
+    static final String INSU_TERM = "종신";
+    static final int[] PAY_TERMS = {10, 15, 20, 30};
+    static final int MIN_AGE = 15;
+    static final int MAX_AGE = 80;
+
+    private static final String PDF_PREFIX = "loadtest-";
+    private static final float[] COLUMN_X = {50, 220, 300, 380, 460};
+    private static final String AGE_RANGE =
+        "10년납(남:15~80,여:15~80), 15년납(남:15~70,여:15~70), 20년납(남:15~70,여:15~70), 30년납(남:15~70,여:15~70)";
+
+    private final JdbcTemplate jdbc;
+    private final Environment env;
+
+    LoadTestSeeder(JdbcTemplate jdbc, Environment env) {
+        this.jdbc = jdbc;
+        this.env = env;
+    }
+
+    /** 시드 적재 후 부하 대상 보험코드 목록 반환 */
+    List<String> seed() throws IOException {
+        String configured = env.getProperty("loadtest.codes", "");
+        int products = env.getProperty("loadtest.products", Integer.class, 20);
+
+        List<String> mainCodes = new ArrayList<>();
+        List<String> codes = new ArrayList<>();
+        if (!configured.isBlank()) {
+            // 실제 PDF 사용: 지정 코드를 각각 주계약으로 취급
+            for (String code : configured.split(",")) {
+                if (!code.isBlank()) mainCodes.add(code.trim());
+            }
+            codes.addAll(mainCodes);
+        } else {
+            for (int i = 0; i < products; i++) {
+                String main = code(i, 0);
+                mainCodes.add(main);
+                for (int r = 0; r < 4; r++) codes.add(code(i, r));
+            }
+        }
+
+        seedUwMapping(codes);
+        seedPremRates(codes);
+        seedLearnedPatterns(mainCodes);
+
+        if (configured.isBlank() && env.getProperty("loadtest.synthetic-pdfs", Boolean.class, true)) {
+            writePdfs(Paths.get(env.getRequiredProperty("insu.pdf-dir")), products);
+        }
+        return codes;
+    }
+
+    static String code(int product, int rider) {
+        return String.valueOf(30000 + product * 4 + rider);
+    }
+
+    private static String mainOf(String code) {
+        int n = Integer.parseInt(code);
+        return n >= 30000 ? String.valueOf(n - (n - 30000) % 4) : code;
+    }
+
+    private void seedUwMapping(List<String> codes) {
+        List<Object[]> rows = new ArrayList<>();
+        for (String code : codes) {
+            String main = mainOf(code);
+            boolean isMain = code.equals(main);
+            rows.add(new Object[]{"UW" + main, code,
+                                  isMain ? "(무)부하시험암보험" + code : "(무)부하시험특약" + code, main, INSU_TERM, 999,
+                                  "10년납, 15년납, 20년납, 30년납", AGE_RANGE, AGE_RANGE,
+                                  isMain ? "주계약" : "선택특약", "최초계약", "E", isMain ? "MAIN" : "A_OPTION"});
+        }
+        jdbc.batchUpdate("INSERT INTO UW_CODE_MAPPING (SRC_FILE, CODE, PRODUCT_NAME, MAIN_CODE, PERIOD_LABEL, PERIOD_VALUE, "
+                         + "PAY_TERM, ENTRY_AGE_M, ENTRY_AGE_F, PRODUCT_GROUP, TYPE_LABEL, PERIOD_KIND, CLASS_TAG) "
+                         + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void seedPremRates(List<String> codes) {
+        List<Object[]> rows = new ArrayList<>();
+        for (String code : codes) {
+            for (int age = MIN_AGE; age <= MAX_AGE; age++) {
+                for (int payTerm : PAY_TERMS) {
+                    // 나이가 많고 납입기간이 짧을수록 높은 요율
+                    BigDecimal man = BigDecimal.valueOf(1000 + age * 40L + 6000L / payTerm);
+                    BigDecimal fml = man.multiply(BigDecimal.valueOf(0.9));
+                    rows.add(new Object[]{code, age, 999, payTerm, 1_000_000, man, fml});
+                }
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO RVT_PREM_RATE (ISRC_TBL_INSU_CD, ISRC_TBL_PIBO_AGE_NB3, ISRC_TBL_INSU_YYCT_NB3, "
+                         + "ISRC_TBL_NABI_MMCT_NB3, ISRC_STND_CNTA_AMT_NB9, INDI_MAN_ISRC_NB7, INDI_FML_ISRC_NB7, USE_YN) "
+                         + "VALUES (?, ?, ?, ?, ?, ?, ?, 'Y')", rows);
+    }
+
+    private void seedLearnedPatterns(List<String> mainCodes) {
+        List<Object[]> rows = new ArrayList<>();
+        for (String main : mainCodes) {
+            rows.add(new Object[]{main, "insuTerm", INSU_TERM});
+            rows.add(new Object[]{main, "payTerm", "10년납, 15년납, 20년납, 30년납"});
+            rows.add(new Object[]{main, "ageRange", AGE_RANGE});
+            rows.add(new Object[]{main, "renew", "비갱신형"});
+        }
+        jdbc.batchUpdate("INSERT INTO LEARNED_PATTERN (PATTERN_ID, INSU_CD, FIELD_NAME, PATTERN_VALUE, CONFIDENCE_SCORE, "
+                         + "APPLY_COUNT, SUCCESS_COUNT, LEARNING_SOURCE, PRIORITY, IS_ACTIVE) "
+                         + "VALUES (learned_pattern_seq.NEXTVAL, ?, ?, ?, 80, 10, 9, 'UW_MAPPING', 60, 'Y')", rows);
+    }
+
+    private static void writePdfs(Path dir, int products) throws IOException {
+        Files.createDirectories(dir);
+        File[] stale = dir.toFile().listFiles((d, n) -> n.startsWith(PDF_PREFIX) && n.endsWith(".pdf"));
+        for (File f : stale != null ? stale : new File[0]) {
+            Files.deleteIfExists(f.toPath());
+        }
+
+        for (int i = 0; i < products; i++) {
+            try (PDDocument doc = new PDDocument()) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                doc.addPage(page);
+                try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+                    float y = 790;
+                    line(cs, y, "1. Product summary (load test product " + i + ")");
+                    line(cs, y -= 20, "3. Insurance codes");
+                    line(cs, y -= 16, "Main contract", code(i, 0), code(i, 0), code(i, 0), code(i, 0));
+                    for (int r = 1; r < 4; r++) {
+                        line(cs, y -= 14, "Rider " + r + " cancer diagnosis", code(i, r), code(i, r), code(i, r), code(i, r));
+                    }
+                    line(cs, y -= 20, "4. Business method");
+                    line(cs, y -= 14, "Insurance period: whole life  Payment period: 10, 15, 20, 30 years");
+                    line(cs, y -= 14, "Entry age: 15 ~ 80");
+                    line(cs, y -= 20, "5. Subscription limits");
+                    line(cs, y -= 14, "Age", "60", "61~65", "66~70", "71~75");
+                    line(cs, y -= 14, "Max", "5,000", "3,000", "2,000", "1,000");
+                }
+                doc.save(dir.resolve(PDF_PREFIX + code(i, 0) + ".pdf").toFile());
+            }
+        }
+    }
+
+    private static void line(PDPageContentStream cs, float y, String... cells) throws IOException {
+        for (int c = 0; c < cells.length && c < COLUMN_X.length; c++) {
+            cs.beginText();
+            cs.setFont(PDType1Font.HELVETICA, 9);
+            cs.newLineAtOffset(COLUMN_X[c], y);
+            cs.showText(cells[c]);
+            cs.endText();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.insu.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * 개방형(고정 도착률) 부하 발생기
+ *
+ * - 엔드포인트마다 전용 스레드가 1/rate 간격의 예정 시각에 요청을 비동기 전송 → 응답이 느려도 도착률은 유지
+ * - 지연은 예정 시각부터 응답 완료까지 측정 (발생기 지연이 결과에 숨지 않도록 coordinated omission 보정)
+ * - 워밍업 구간 요청은 전송만 하고 기록하지 않음
+ */
+final class OpenLoadDriver {
+
+    /** 부하 대상: 이름, 초당 도착률, 순번 → 요청 */
+    record Endpoint(String name, double ratePerSec, LongFunction<HttpRequest> request) {
+    }
+
+    /** 엔드포인트별 측정 결과 (지연 단위 ms) */
+    record Result(String name, double targetRate, long sent, long ok, long errors, long timeouts,
+                  double p50, double p90, double p99, double max, double throughput, int maxInFlight) {
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("endpoint", name);
+            m.put("targetRate", targetRate);
+            m.put("sent", sent);
+            m.put("ok", ok);
+            m.put("errors", errors);
+            m.put("timeouts", timeouts);
+            m.put("p50Ms", p50);
+            m.put("p90Ms", p90);
+            m.put("p99Ms", p99);
+            m.put("maxMs", max);
+            m.put("throughput", throughput);
+            m.put("maxInFlight", maxInFlight);
+            return m;
+        }
+    }
+
+    private final HttpClient client;
+    private final ExecutorService httpExecutor;
+    private final Duration timeout;
+
+    OpenLoadDriver(Duration timeout) {
+        this.timeout = timeout;
+        this.httpExecutor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "loadtest-http");
+            t.setDaemon(true);
+            return t;
+        });
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(httpExecutor)
+            .build();
+    }
+
+    List<Result> run(List<Endpoint> endpoints, Duration warmup, Duration measure) throws InterruptedException {
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + measure.toNanos();
+
+        List<Stats> stats = new ArrayList<>();
+        List<Thread> generators = new ArrayList<>();
+        Phaser inFlight = new Phaser(1);
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.ratePerSec() <= 0) continue;
+            Stats s = new Stats(endpoint);
+            stats.add(s);
+            Thread t = new Thread(() -> generate(s, start, measureFrom, end, inFlight), "loadtest-" + endpoint.name());
+            t.setDaemon(true);
+            generators.add(t);
+            t.start();
+        }
+        for (Thread t : generators) {
+            t.join();
+        }
+
+        // 측정 종료 후 남은 응답 대기 (요청 타임아웃 + 여유)
+        try {
+            inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), timeout.toMillis() + 5000, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 미완료 요청은 결과에서 제외
+        }
+        httpExecutor.shutdownNow();
+
+        double seconds = measure.toNanos() / 1e9;
+        List<Result> results = new ArrayList<>();
+        for (Stats s : stats) {
+            results.add(s.result(seconds));
+        }
+        return results;
+    }
+
+    private void generate(Stats s, long start, long measureFrom, long end, Phaser inFlight) {
+        long interval = (long) (1e9 / s.endpoint.ratePerSec());
+        for (long seq = 0; ; seq++) {
+            long scheduled = start + seq * interval;
+            if (scheduled >= end) return;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+
+            boolean measured = scheduled >= measureFrom;
+            HttpRequest request = s.endpoint.request().apply(seq);
+            if (measured) s.sent.incrementAndGet();
+            s.inFlight(+1);
+            inFlight.register();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> {
+                    s.inFlight(-1);
+                    if (measured) s.record(scheduled, response, error);
+                    inFlight.arriveAndDeregister();
+                });
+        }
+    }
+
+    private static final class Stats {
+        private final Endpoint endpoint;
+        private final Histogram latencyUs = new ConcurrentHistogram(3);
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong ok = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        Stats(Endpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void inFlight(int delta) {
+            int now = current.addAndGet(delta);
+            maxInFlight.accumulateAndGet(now, Math::max);
+        }
+
+        void record(long scheduled, HttpResponse<Void> response, Throwable error) {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+                if (cause instanceof TimeoutException || cause instanceof HttpTimeoutException) {
+                    timeouts.incrementAndGet();
+                } else {
+                    errors.incrementAndGet();
+                }
+                return;
+            }
+            latencyUs.recordValue(Math.max(0, (System.nanoTime() - scheduled) / 1000));
+            if (response.statusCode() / 100 == 2) {
+                ok.incrementAndGet();
+            } else {
+                errors.incrementAndGet();
+            }
+        }
+
+        Result result(double seconds) {
+            return new Result(endpoint.name(), endpoint.ratePerSec(), sent.get(), ok.get(), errors.get(), timeouts.get(),
+                              ms(latencyUs.getValueAtPercentile(50)), ms(latencyUs.getValueAtPercentile(90)),
+                              ms(latencyUs.getValueAtPercentile(99)), ms(latencyUs.getMaxValue()),
+                              ok.get() / seconds, maxInFlight.get());
+        }
+
+        private static double ms(long micros) {
+            return Math.round(micros / 10.0) / 100.0;
+        }
+    }
+}
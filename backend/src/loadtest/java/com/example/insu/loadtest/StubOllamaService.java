@@ -0,0 +1,75 @@
+package com.example.insu.loadtest;
+
+import com.example.insu.service.OllamaService;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+
+/**
+ * 로컬 Ollama 지연 스텁
+ *
+ * - 모델 호출마다 고정 지연 + 균등 지터만큼 대기한 뒤 기존 (시뮬레이션) 응답을 그대로 사용
+ * - 동시 처리 수를 parallel로 제한 → 단일 GPU에서 요청이 줄 서는 상황을 재현
+ */
+public class StubOllamaService extends OllamaService {
+
+    private final Executor llmExecutor;
+    private final Semaphore slots;
+    private final long latencyMs;
+    private final long jitterMs;
+
+    public StubOllamaService(Executor llmExecutor, long latencyMs, long jitterMs, int parallel) {
+        super(llmExecutor);
+        this.llmExecutor = llmExecutor;
+        this.slots = new Semaphore(Math.max(1, parallel), true);
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> parseWithLlama(String text, String insuCd) {
+        return delayed().thenCompose(v -> super.parseWithLlama(text, insuCd));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> parseWithMistral(String text, String insuCd) {
+        return delayed().thenCompose(v -> super.parseWithMistral(text, insuCd));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> parseWithCodeLlama(String text, String insuCd) {
+        return delayed().thenCompose(v -> super.parseWithCodeLlama(text, insuCd));
+    }
+
+    @Override
+    public Map<String, String> parseStreaming(String modelName, String text, String insuCd,
+                                              BiConsumer<String, String> fieldListener)
+            throws InterruptedException {
+        generate();
+        return super.parseStreaming(modelName, text, insuCd, fieldListener);
+    }
+
+    private CompletableFuture<Void> delayed() {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                generate();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, llmExecutor);
+    }
+
+    /** 슬롯 하나를 점유한 채 생성 시간만큼 대기 */
+    private void generate() throws InterruptedException {
+        slots.acquire();
+        try {
+            Thread.sleep(latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0));
+        } finally {
+            slots.release();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.insu.loadtest;
+
+import com.example.insu.service.PythonPdfService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * parse_pdf_improved.py 지연 스텁
+ *
+ * - 프로세스를 띄우지 않고 프로세스 기동 + 파싱 시간만큼 대기한 뒤 스크립트와 같은 형태의 결과 반환
+ */
+public class StubPythonPdfService extends PythonPdfService {
+
+    private final long latencyMs;
+    private final long jitterMs;
+
+    public StubPythonPdfService(long latencyMs, long jitterMs) {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+    }
+
+    @Override
+    public Map<String, Object> parsePdfWithPython(String pdfPath, String insuCd) {
+        try {
+            Thread.sleep(latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Map.of("error", "Python 스텁 중단");
+        }
+
+        Map<String, Object> terms = new LinkedHashMap<>();
+        terms.put("insuTerm", "종신");
+        terms.put("payTerm", "10년납, 15년납, 20년납, 30년납");
+        terms.put("ageRange", "10년납(남:15~80,여:15~80), 20년납(남:15~70,여:15~70)");
+        terms.put("renew", "비갱신형");
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("insuCd", insuCd);
+        result.put("pdfPath", pdfPath);
+        result.put("terms", terms);
+        return result;
+    }
+}
@@ -0,0 +1,138 @@
+-- 부하 시험용 스키마 (H2 MODE=Oracle)
+-- src/main/resources/sql 의 Oracle DDL(UW_CODE_MAPPING은 확장 스키마) 중 매퍼가 사용하는 테이블/시퀀스만 발췌
+
+CREATE SEQUENCE correction_log_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE learned_pattern_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE few_shot_example_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE learning_statistics_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE RVT_PREM_RATE (
+    ISRC_TBL_INSU_CD VARCHAR2(10) NOT NULL,
+    ISRC_TBL_PIBO_AGE_NB3 NUMBER(3) NOT NULL,
+    ISRC_TBL_INSU_YYCT_NB3 NUMBER(3) NOT NULL,
+    ISRC_TBL_NABI_MMCT_NB3 NUMBER(3) NOT NULL,
+    ISRC_STND_CNTA_AMT_NB9 NUMBER(9),
+    INDI_MAN_ISRC_NB7 NUMBER(12, 2),
+    INDI_FML_ISRC_NB7 NUMBER(12, 2),
+    USE_YN CHAR(1) DEFAULT 'Y',
+    PRIMARY KEY (ISRC_TBL_INSU_CD, ISRC_TBL_PIBO_AGE_NB3, ISRC_TBL_INSU_YYCT_NB3, ISRC_TBL_NABI_MMCT_NB3)
+);
+
+CREATE TABLE RVT_RSRV_KEY (
+    INSU_CD VARCHAR2(10) NOT NULL
+);
+
+CREATE TABLE RVT_RSRV_RATE (
+    RSVF_TBL_INSU_CD VARCHAR2(10) NOT NULL,
+    RSVF_TBL_PIBO_AGE_NB3 NUMBER(3),
+    RSVF_TBL_INSU_YYCT_NB3 NUMBER(3),
+    RSVF_TBL_NABI_MMCT_NB3 NUMBER(3)
+);
+
+CREATE TABLE UW_CODE_MAPPING (
+    SRC_FILE VARCHAR2(20),
+    CODE VARCHAR2(10) NOT NULL,
+    PRODUCT_NAME VARCHAR2(200),
+    MAIN_CODE VARCHAR2(10) NOT NULL,
+    PERIOD_LABEL VARCHAR2(100) NOT NULL,
+    PERIOD_VALUE NUMBER,
+    PAY_TERM VARCHAR2(200) NOT NULL,
+    ENTRY_AGE_M VARCHAR2(500),
+    ENTRY_AGE_F VARCHAR2(500),
+    PRODUCT_GROUP VARCHAR2(50),
+    TYPE_LABEL VARCHAR2(50) NOT NULL,
+    PERIOD_KIND VARCHAR2(10),
+    CLASS_TAG VARCHAR2(50),
+    CONSTRAINT PK_UW_CODE_MAPPING PRIMARY KEY (CODE, MAIN_CODE, PERIOD_LABEL, PAY_TERM, TYPE_LABEL)
+);
+
+CREATE INDEX IDX_UW_CODE_MAPPING_MAIN_CODE ON UW_CODE_MAPPING(MAIN_CODE);
+
+CREATE TABLE CORRECTION_LOG (
+    LOG_ID NUMBER PRIMARY KEY,
+    INSU_CD VARCHAR2(20) NOT NULL,
+    SRC_FILE VARCHAR2(50),
+    PRODUCT_NAME VARCHAR2(200),
+    ORIGINAL_INSU_TERM VARCHAR2(200),
+    ORIGINAL_PAY_TERM VARCHAR2(500),
+    ORIGINAL_AGE_RANGE VARCHAR2(1000),
+    ORIGINAL_RENEW VARCHAR2(50),
+    ORIGINAL_SPECIAL_NOTES VARCHAR2(500),
+    ORIGINAL_VALIDATION_SOURCE VARCHAR2(100),
+    CORRECTED_INSU_TERM VARCHAR2(200),
+    CORRECTED_PAY_TERM VARCHAR2(500),
+    CORRECTED_AGE_RANGE VARCHAR2(1000),
+    CORRECTED_RENEW VARCHAR2(50),
+    CORRECTED_SPECIAL_NOTES VARCHAR2(500),
+    PDF_TEXT CLOB,
+    CORRECTED_FIELD_COUNT NUMBER DEFAULT 0,
+    CORRECTION_REASON VARCHAR2(500),
+    USER_ID VARCHAR2(50),
+    CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    IS_LEARNED CHAR(1) DEFAULT 'N',
+    LEARNED_AT TIMESTAMP,
+    LEARNING_PATTERN_ID NUMBER,
+    VALIDATION_SCORE NUMBER,
+    IS_VERIFIED CHAR(1) DEFAULT 'N',
+    VERIFIED_BY VARCHAR2(50),
+    VERIFIED_AT TIMESTAMP,
+    CREATED_DATE DATE DEFAULT TRUNC(SYSDATE)
+);
+
+CREATE INDEX IDX_CORRECTION_INSU_CD ON CORRECTION_LOG(INSU_CD);
+
+CREATE TABLE LEARNED_PATTERN (
+    PATTERN_ID NUMBER PRIMARY KEY,
+    INSU_CD VARCHAR2(20) NOT NULL,
+    FIELD_NAME VARCHAR2(50) NOT NULL,
+    PATTERN_VALUE VARCHAR2(1000) NOT NULL,
+    CONFIDENCE_SCORE NUMBER DEFAULT 100,
+    APPLY_COUNT NUMBER DEFAULT 0,
+    SUCCESS_COUNT NUMBER DEFAULT 0,
+    LEARNED_FROM_LOG_ID NUMBER,
+    LEARNING_SOURCE VARCHAR2(50),
+    CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    IS_ACTIVE CHAR(1) DEFAULT 'Y',
+    PRIORITY NUMBER DEFAULT 50,
+    CONSTRAINT UK_PATTERN UNIQUE (INSU_CD, FIELD_NAME)
+);
+
+CREATE TABLE FEW_SHOT_EXAMPLE (
+    EXAMPLE_ID NUMBER PRIMARY KEY,
+    INSU_CD VARCHAR2(20) NOT NULL,
+    PRODUCT_NAME VARCHAR2(200),
+    INPUT_TEXT CLOB,
+    OUTPUT_INSU_TERM VARCHAR2(200),
+    OUTPUT_PAY_TERM VARCHAR2(500),
+    OUTPUT_AGE_RANGE VARCHAR2(1000),
+    OUTPUT_RENEW VARCHAR2(50),
+    EXAMPLE_TYPE VARCHAR2(50),
+    QUALITY_SCORE NUMBER DEFAULT 100,
+    USE_COUNT NUMBER DEFAULT 0,
+    SUCCESS_RATE NUMBER,
+    IS_ACTIVE CHAR(1) DEFAULT 'Y',
+    PRIORITY NUMBER DEFAULT 50,
+    CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    SOURCE_LOG_ID NUMBER,
+    RELATED_PATTERN_ID NUMBER
+);
+
+CREATE TABLE LEARNING_STATISTICS (
+    STAT_ID NUMBER PRIMARY KEY,
+    STAT_DATE DATE DEFAULT TRUNC(SYSDATE),
+    TOTAL_CORRECTIONS NUMBER DEFAULT 0,
+    TOTAL_PATTERNS NUMBER DEFAULT 0,
+    TOTAL_FEW_SHOT_EXAMPLES NUMBER DEFAULT 0,
+    INITIAL_ACCURACY NUMBER,
+    CURRENT_ACCURACY NUMBER,
+    ACCURACY_IMPROVEMENT NUMBER,
+    DAILY_PARSING_COUNT NUMBER DEFAULT 0,
+    DAILY_CORRECTION_COUNT NUMBER DEFAULT 0,
+    DAILY_SUCCESS_RATE NUMBER,
+    CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX UK_LEARNING_STAT_DATE ON LEARNING_STATISTICS(STAT_DATE);
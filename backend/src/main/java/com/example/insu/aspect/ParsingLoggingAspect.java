@@ -1,6 +1,7 @@
 package com.example.insu.aspect;
 
 import com.example.insu.service.ParsingMetricsService;
+import com.example.insu.util.TraceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -10,12 +11,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 파싱 로깅 AOP
  * 
- * 모든 파싱 전략의 실행을 자동으로 로깅하고
- * 성능 메트릭을 수집
+ * 모든 파싱 전략의 실행 시간을 Micrometer Timer로 수집하고
+ * 실패만 WARN으로 로깅
  */
 @Slf4j
 @Aspect
@@ -27,99 +29,77 @@ public class ParsingLoggingAspect {
     private ParsingMetricsService metricsService;
     
     /**
-     * 모든 ParsingStrategy.parse() 메서드 실행 시 로깅
+     * 모든 ParsingStrategy.parse() 메서드 실행 시 Timer 기록
+     * - 성공은 DEBUG 한 줄, 실패만 WARN (호출마다 INFO 배너 출력하지 않음)
      */
     @Around("execution(* com.example.insu.service.*ParsingStrategy.parse(..))")
     public Object logParsing(ProceedingJoinPoint joinPoint) throws Throwable {
-        String strategyName = joinPoint.getTarget().getClass().getSimpleName();
-        Object[] args = joinPoint.getArgs();
-        String insuCd = args.length > 1 ? String.valueOf(args[1]) : "unknown";
-        
-        log.info("╔═══════════════════════════════════════════════════════╗");
-        log.info("║  ▶ 파싱 시작: {:30s}              ║", strategyName);
-        log.info("║    상품코드: {:10s}                                   ║", insuCd);
-        log.info("╚═══════════════════════════════════════════════════════╝");
-        
-        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         Object result = null;
-        Exception error = null;
+        Throwable error = null;
+        TraceContext.Scope span = TraceContext.startSpan(
+            "strategy:" + joinPoint.getTarget().getClass().getSimpleName());
         
         try {
             result = joinPoint.proceed();
             return result;
             
-        } catch (Exception e) {
+        } catch (Throwable e) {
             error = e;
             throw e;
             
         } finally {
-            long duration = System.currentTimeMillis() - startTime;
+            long durationNanos = System.nanoTime() - startNanos;
             boolean success = (error == null && isValidResult(result));
+            span.tag("success", success).close();
+            String strategyName = joinPoint.getTarget().getClass().getSimpleName();
             
             // 메트릭 기록
             if (metricsService != null) {
-                metricsService.recordParsing(strategyName, duration, success);
+                metricsService.recordParsingNanos(strategyName, durationNanos, success);
             }
             
-            // 로그 출력
             if (success) {
-                log.info("╔═══════════════════════════════════════════════════════╗");
-                log.info("║  ✓ 파싱 완료: {:30s}              ║", strategyName);
-                log.info("║    상품코드: {:10s}                                   ║", insuCd);
-                log.info("║    처리 시간: {} ms                                   ║", duration);
-                log.info("║    결과: {} 개 필드                                   ║", 
-                        result instanceof Map ? ((Map<?, ?>) result).size() : 0);
-                log.info("╚═══════════════════════════════════════════════════════╝");
+                if (log.isDebugEnabled()) {
+                    log.debug("파싱 완료: {} [{}] {}ms, {}개 필드", strategyName, insuCd(joinPoint, 1),
+                            TimeUnit.NANOSECONDS.toMillis(durationNanos), ((Map<?, ?>) result).size());
+                }
             } else {
-                log.error("╔═══════════════════════════════════════════════════════╗");
-                log.error("║  ✗ 파싱 실패: {:30s}              ║", strategyName);
-                log.error("║    상품코드: {:10s}                                   ║", insuCd);
-                log.error("║    처리 시간: {} ms                                   ║", duration);
-                log.error("║    오류: {}                                           ║", 
-                         error != null ? error.getMessage() : "결과 없음");
-                log.error("╚═══════════════════════════════════════════════════════╝");
+                log.warn("파싱 실패: {} [{}] {}ms - {}", strategyName, insuCd(joinPoint, 1),
+                        TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                        error != null ? error.getMessage() : "결과 없음");
             }
         }
     }
     
     /**
-     * 학습 서비스 메서드 로깅
+     * 학습 서비스 메서드 Timer 기록
      */
     @Around("execution(* com.example.insu.service.IncrementalLearningService.logCorrection(..))")
     public Object logLearning(ProceedingJoinPoint joinPoint) throws Throwable {
-        Object[] args = joinPoint.getArgs();
-        String insuCd = args.length > 0 ? String.valueOf(args[0]) : "unknown";
-        
-        log.info("╔═══════════════════════════════════════════════════════╗");
-        log.info("║  📚 학습 시작: {:10s}                                 ║", insuCd);
-        log.info("╚═══════════════════════════════════════════════════════╝");
-        
-        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         
         try {
             Object result = joinPoint.proceed();
-            long duration = System.currentTimeMillis() - startTime;
-            
-            log.info("╔═══════════════════════════════════════════════════════╗");
-            log.info("║  ✓ 학습 완료: {:10s}                                 ║", insuCd);
-            log.info("║    처리 시간: {} ms                                   ║", duration);
-            log.info("╚═══════════════════════════════════════════════════════╝");
-            
+            long durationNanos = System.nanoTime() - startNanos;
+            if (metricsService != null) {
+                metricsService.recordLearningNanos(durationNanos);
+            }
+            log.debug("학습 완료: {} {}ms", insuCd(joinPoint, 0), TimeUnit.NANOSECONDS.toMillis(durationNanos));
             return result;
             
         } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            
-            log.error("╔═══════════════════════════════════════════════════════╗");
-            log.error("║  ✗ 학습 실패: {:10s}                                 ║", insuCd);
-            log.error("║    처리 시간: {} ms                                   ║", duration);
-            log.error("║    오류: {}                                           ║", e.getMessage());
-            log.error("╚═══════════════════════════════════════════════════════╝");
-            
+            log.warn("학습 실패: {} {}ms - {}", insuCd(joinPoint, 0),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), e.getMessage());
             throw e;
         }
     }
     
+    private String insuCd(ProceedingJoinPoint joinPoint, int index) {
+        Object[] args = joinPoint.getArgs();
+        return args.length > index ? String.valueOf(args[index]) : "unknown";
+    }
+    
     /**
      * 파싱 결과 유효성 검증
      */
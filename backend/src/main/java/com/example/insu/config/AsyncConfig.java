@@ -1,12 +1,23 @@
 package com.example.insu.config;
 
+import com.example.insu.util.PageParallelStripper;
+import com.example.insu.util.PdfBoxGate;
+import com.example.insu.util.PdfLoader;
+import com.example.insu.util.TraceContext;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * 비동기 처리 설정
@@ -14,17 +25,46 @@ import java.util.concurrent.Executor;
  * - 파싱 작업용 스레드 풀
  * - 학습 작업용 스레드 풀
  * - 배치 작업용 스레드 풀
+ * - 업로드 색인용 스레드 풀
+ * - LLM 호출용 스레드 풀
+ * - 블로킹 파싱 작업용 Executor (pool / virtual 모드)
+ * - 모든 풀은 제출 스레드의 트레이스 컨텍스트를 작업 스레드로 전파 (TaskDecorator)
  */
 @Slf4j
 @Configuration
 @EnableAsync
 public class AsyncConfig {
     
+    private ExecutorService blockingExecutorService;
+    
+    /** 열린 PDF 바이트 합계 상한 (MB, 0 = 기본 256) */
+    @Value("${insu.pdfbox.max-inflight-mb:256}")
+    private long pdfboxMaxInflightMb;
+    
+    /** 문서당 힙 버퍼 상한 (MB, 초과분은 스크래치 파일, 0 = 기본 16) */
+    @Value("${insu.pdfbox.max-main-memory-mb:16}")
+    private long pdfboxMaxMainMemoryMb;
+    
+    /** PDFBox 스크래치 파일 디렉터리 (빈 값 = java.io.tmpdir) */
+    @Value("${insu.pdfbox.scratch-dir:}")
+    private String pdfboxScratchDir;
+    
+    /** 페이지 병렬 추출: 최소 페이지 수(0 = 끔, 기본), 작업당 페이지 수, 병렬도(0 = 가용 프로세서 수) */
+    @Value("${insu.pdfbox.parallel-min-pages:0}")
+    private int pdfboxParallelMinPages;
+    
+    @Value("${insu.pdfbox.parallel-pages-per-task:16}")
+    private int pdfboxParallelPagesPerTask;
+    
+    @Value("${insu.pdfbox.parallel-threads:0}")
+    private int pdfboxParallelThreads;
+    
     /**
      * 파싱 작업용 Executor
      * - 코어 풀: 4개 (동시 파싱 처리)
      * - 최대 풀: 10개 (피크 시간 대응)
-     * - 큐 용량: 50개 (대기 작업)
+     * - 큐 용량: 50개 (대기 작업, 초과 시 거절 → RejectedExecutionException, HTTP 응답 503 + Retry-After)
+     *   요청 스레드(Tomcat)에서 파싱을 대신 실행하지 않음 → 포화 시 요청 처리 스레드까지 막히지 않음
      */
     @Bean(name = "parsingExecutor")
     public Executor parsingExecutor() {
@@ -33,8 +73,10 @@ public class AsyncConfig {
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(50);
         executor.setThreadNamePrefix("parsing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(60);
+        executor.setTaskDecorator(TraceContext::wrap);
         executor.initialize();
         
         log.info("파싱 Executor 초기화 완료: 코어={}, 최대={}, 큐={}",
@@ -45,6 +87,32 @@ public class AsyncConfig {
         return executor;
     }
     
+    /**
+     * 업로드 색인 작업용 Executor
+     * - 코어/최대 풀: 2개
+     * - 큐 용량: insu.upload.index-queue (초과 시 거절 → 업로드 응답 202 + jobState REJECTED, HTTP 스레드에서 색인하지 않음)
+     */
+    @Bean(name = "indexingExecutor")
+    public Executor indexingExecutor(@Value("${insu.upload.index-queue:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(Math.max(1, queueCapacity));
+        executor.setThreadNamePrefix("indexing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.setTaskDecorator(TraceContext::wrap);
+        executor.initialize();
+        
+        log.info("색인 Executor 초기화 완료: 코어={}, 최대={}, 큐={}",
+                executor.getCorePoolSize(),
+                executor.getMaxPoolSize(),
+                executor.getQueueCapacity());
+        
+        return executor;
+    }
+    
     /**
      * 학습 작업용 Executor
      * - 코어 풀: 2개 (학습은 상대적으로 적음)
@@ -60,6 +128,7 @@ public class AsyncConfig {
         executor.setThreadNamePrefix("learning-");
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(120);
+        executor.setTaskDecorator(TraceContext::wrap);
         executor.initialize();
         
         log.info("학습 Executor 초기화 완료: 코어={}, 최대={}, 큐={}",
@@ -70,6 +139,86 @@ public class AsyncConfig {
         return executor;
     }
     
+    /**
+     * LLM 호출용 Executor (공유, 유계)
+     * - 코어 풀: 3개 (쿼럼 3개 모델 동시 호출)
+     * - 최대 풀: 9개 (동시 쿼럼 3건)
+     * - 큐 용량: 30개 (초과 시 거절 → 해당 모델 실패로 처리)
+     * - 블로킹 HTTP 호출 전용이므로 cancel(true) 인터럽트로 실제 중단됨
+     */
+    @Bean(name = "llmExecutor")
+    public Executor llmExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(3);
+        executor.setMaxPoolSize(9);
+        executor.setQueueCapacity(30);
+        executor.setThreadNamePrefix("llm-");
+        executor.setWaitForTasksToCompleteOnShutdown(false); // 종료 시 진행 중 LLM 호출은 중단
+        executor.setAwaitTerminationSeconds(10);
+        executor.setTaskDecorator(TraceContext::wrap);
+        executor.initialize();
+        
+        log.info("LLM Executor 초기화 완료: 코어={}, 최대={}, 큐={}",
+                executor.getCorePoolSize(),
+                executor.getMaxPoolSize(),
+                executor.getQueueCapacity());
+        
+        return executor;
+    }
+    
+    /**
+     * 블로킹 파싱 작업용 Executor (파일 I/O, JDBC, Python IPC, Ollama HTTP)
+     * - pool 모드(기본): parsingExecutor 그대로 사용
+     * - virtual 모드: 작업당 가상 스레드 1개 (Java 21+ 전용, 미지원 JVM이면 기동 실패 - 무제한 플랫폼 스레드로 대체하지 않음)
+     *   → 대기 중인 블로킹 호출이 풀 크기에 묶이지 않음. CPU 집약 PDFBox 구간은 PdfBoxGate로 제한
+     */
+    @Bean(name = "blockingExecutor")
+    public Executor blockingExecutor(@Qualifier("parsingExecutor") Executor parsingExecutor,
+                                     @Value("${insu.parsing.executor-mode:pool}") String mode,
+                                     @Value("${insu.pdfbox.max-concurrent:0}") int pdfboxMaxConcurrent) {
+        PdfBoxGate.configure(pdfboxMaxConcurrent);
+        PdfBoxGate.configureInFlightBytes(pdfboxMaxInflightMb * 1024 * 1024);
+        PdfLoader.configure(pdfboxMaxMainMemoryMb, pdfboxScratchDir);
+        PageParallelStripper.configure(pdfboxParallelMinPages, pdfboxParallelPagesPerTask, pdfboxParallelThreads);
+        log.info("PDFBox 동시 실행 제한: {}, 열린 PDF 상한: {}MB, 문서당 힙 버퍼: {}MB",
+                PdfBoxGate.getMaxConcurrent(), PdfBoxGate.getMaxInFlightBytes() >> 20,
+                PdfLoader.getMaxMainMemoryBytes() >> 20);
+        
+        if (!"virtual".equalsIgnoreCase(mode)) {
+            log.info("블로킹 파싱 Executor: pool (parsingExecutor)");
+            return parsingExecutor;
+        }
+        
+        blockingExecutorService = newVirtualThreadPerTaskExecutor();
+        if (blockingExecutorService == null) {
+            throw new IllegalStateException("insu.parsing.executor-mode=virtual 은 Java 21 이상 필요 (현재 "
+                    + System.getProperty("java.version") + "), pool 모드를 사용하세요");
+        }
+        log.info("블로킹 파싱 Executor: virtual (가상 스레드)");
+        
+        ConcurrentTaskExecutor executor = new ConcurrentTaskExecutor(blockingExecutorService);
+        executor.setTaskDecorator(TraceContext::wrap);
+        return executor;
+    }
+    
+    @PreDestroy
+    public void shutdownBlockingExecutor() {
+        if (blockingExecutorService != null) {
+            blockingExecutorService.shutdownNow();
+        }
+    }
+    
+    /**
+     * Java 21+ Executors.newVirtualThreadPerTaskExecutor() (17 빌드 호환을 위해 리플렉션 조회, 없으면 null)
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+    
     /**
      * 배치 작업용 Executor
      * - 코어 풀: 1개 (배치는 단일 스레드로 충분)
@@ -85,6 +234,7 @@ public class AsyncConfig {
         executor.setThreadNamePrefix("batch-");
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(300); // 배치는 시간이 오래 걸릴 수 있음
+        executor.setTaskDecorator(TraceContext::wrap);
         executor.initialize();
         
         log.info("배치 Executor 초기화 완료: 코어={}, 최대={}, 큐={}",
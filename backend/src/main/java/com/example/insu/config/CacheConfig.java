@@ -1,55 +1,199 @@
 package com.example.insu.config;
 
+import com.example.insu.service.ImprovedHybridParsingService;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 개선된 캐시 설정 (Caffeine)
  * 문제 해결: 무제한 성장, TTL 부재, 메모리 누수
+ *
+ * 캐시별 설정:
+ * - parsingCache: 추정 바이트 기준 가중치 제한, 계산 비용 기반 만료(비싼 LLM 결과일수록 오래 보관),
+ *   refreshAfterWrite 비동기 재파싱 → 자주 읽히는 상품은 만료 시 동기 재계산을 기다리지 않음
+ * - 나머지 캐시: insu.cache.spec.* 의 Caffeine 스펙 문자열 (기본값은 기존 공통 설정)
  */
 @Slf4j
 @Configuration
 @EnableCaching
 public class CacheConfig {
     
+    /** 기존 공통 설정 (최대 1000개, 24시간 TTL, 6시간 idle 제거, 통계 수집) */
+    private static final String DEFAULT_SPEC = "maximumSize=1000,expireAfterWrite=24h,expireAfterAccess=6h,recordStats";
+    
+    private final AtomicInteger refreshThreadSeq = new AtomicInteger();
+    private ExecutorService refreshExecutor;
+    
+    @Value("${insu.cache.parsing.max-weight-mb:64}")
+    private long parsingMaxWeightMb;
+    
+    @Value("${insu.cache.parsing.ttl-hours:24}")
+    private long parsingTtlHours;
+    
+    @Value("${insu.cache.parsing.refresh-hours:20}")
+    private long parsingRefreshHours;
+    
+    /** 이 시간(ms)만큼 걸린 결과는 TTL 2배, 3배 이상이면 최대 3배 */
+    @Value("${insu.cache.parsing.expensive-ms:2000}")
+    private long expensiveMs;
+    
+    @Value("${insu.cache.parsing.refresh-threads:2}")
+    private int refreshThreads;
+    
+    @Value("${insu.cache.spec.uw-mapping-parsing:" + DEFAULT_SPEC + "}")
+    private String uwMappingSpec;
+    
+    @Value("${insu.cache.spec.validation:" + DEFAULT_SPEC + "}")
+    private String validationSpec;
+    
+    @Value("${insu.cache.spec.learning:" + DEFAULT_SPEC + "}")
+    private String learningSpec;
+    
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-            "parsingCache", 
-            "uwMappingParsingCache",
-            "validationCache",
-            "learningCache"
-        );
-        cacheManager.setCaffeine(caffeineCacheBuilder());
+    public CacheManager cacheManager(ObjectProvider<ImprovedHybridParsingService> hybridParsingService) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache("parsingCache", parsingCache(hybridParsingService));
+        cacheManager.registerCustomCache("uwMappingParsingCache", fromSpec("uwMappingParsingCache", uwMappingSpec).build());
+        cacheManager.registerCustomCache("validationCache", fromSpec("validationCache", validationSpec).build());
+        cacheManager.registerCustomCache("learningCache", fromSpec("learningCache", learningSpec).build());
+        // 등록된 캐시만 사용 (알 수 없는 이름으로 동적 생성하지 않음)
+        cacheManager.setCacheNames(List.of());
         return cacheManager;
     }
     
     /**
-     * Caffeine 캐시 빌더
-     * - 최대 1000개 엔트리 (메모리 보호)
-     * - 24시간 TTL (자동 만료)
-     * - 6시간 idle 후 제거 (슬라이딩 만료)
-     * - 통계 수집 (히트율 모니터링)
+     * 파싱 결과 캐시
+     * - maximumWeight: 엔트리 추정 바이트 합
+     * - 만료: 계산 비용이 클수록 길게 (기본 TTL × 1~3)
+     * - refreshAfterWrite: 이후 첫 조회 시 기존 값을 바로 반환하고 백그라운드에서 재파싱
+     *   (로더는 미스 시 값을 만들지 않음 → 미스는 기존대로 @Cacheable 메서드/문서 단위 파싱이 채움)
      */
-    @Bean
-    public Caffeine<Object, Object> caffeineCacheBuilder() {
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> parsingCache(
+            ObjectProvider<ImprovedHybridParsingService> hybridParsingService) {
+        refreshExecutor = Executors.newFixedThreadPool(Math.max(1, refreshThreads), r -> {
+            Thread t = new Thread(r, "cache-refresh-" + refreshThreadSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        long baseTtlNanos = TimeUnit.HOURS.toNanos(parsingTtlHours);
+        
+        CacheLoader<Object, Object> loader = new CacheLoader<>() {
+            @Override
+            public Object load(Object key) {
+                return null;
+            }
+            
+            @Override
+            public Object reload(Object key, Object oldValue) {
+                return hybridParsingService.getObject().reload(key);
+            }
+        };
+        
         return Caffeine.newBuilder()
-            .maximumSize(1000)  // 최대 1000개
-            .expireAfterWrite(24, TimeUnit.HOURS)  // 24시간 후 만료
-            .expireAfterAccess(6, TimeUnit.HOURS)  // 6시간 미사용 시 제거
-            .recordStats()  // 통계 수집
+            .maximumWeight(parsingMaxWeightMb * 1024 * 1024)
+            .weigher((Object key, Object value) -> estimateBytes(key) + estimateBytes(value))
+            .expireAfter(new Expiry<Object, Object>() {
+                @Override
+                public long expireAfterCreate(Object key, Object value, long currentTime) {
+                    return costAwareTtl(hybridParsingService, key, baseTtlNanos);
+                }
+                
+                @Override
+                public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                    return costAwareTtl(hybridParsingService, key, baseTtlNanos);
+                }
+                
+                @Override
+                public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .refreshAfterWrite(parsingRefreshHours, TimeUnit.HOURS)
+            .executor(refreshExecutor)
+            .recordStats()
             .removalListener((Object key, Object value, RemovalCause cause) -> {
                 log.debug("캐시 제거: key={}, cause={}", key, cause);
-            });
+                if (cause != RemovalCause.REPLACED) {
+                    ImprovedHybridParsingService service = hybridParsingService.getIfAvailable();
+                    if (service != null) service.forget(key);
+                }
+            })
+            .build(loader);
     }
     
+    /** 기본 TTL × (1 + log2(1 + 비용/기준)), 최대 3배 */
+    private long costAwareTtl(ObjectProvider<ImprovedHybridParsingService> hybridParsingService,
+                              Object key, long baseTtlNanos) {
+        ImprovedHybridParsingService service = hybridParsingService.getIfAvailable();
+        long costNanos = service != null ? service.loadCostNanos(key) : -1;
+        if (costNanos <= 0 || expensiveMs <= 0) {
+            return baseTtlNanos;
+        }
+        double ratio = costNanos / (double) TimeUnit.MILLISECONDS.toNanos(expensiveMs);
+        double factor = Math.min(3.0, 1.0 + Math.log1p(ratio) / Math.log(2));
+        return (long) (baseTtlNanos * factor);
+    }
+    
+    private static Caffeine<Object, Object> fromSpec(String name, String spec) {
+        log.info("캐시 설정: {} = {}", name, spec);
+        Caffeine<Object, Object> builder = Caffeine.from(spec);
+        return builder.removalListener((Object key, Object value, RemovalCause cause) ->
+            log.debug("캐시 제거: cache={}, key={}, cause={}", name, key, cause));
+    }
+    
+    /**
+     * 엔트리 추정 바이트 (문자열 = 40 + 2×길이, 맵 엔트리 = 32 + 키 + 값, 그 외 고정 256)
+     */
+    static int estimateBytes(Object o) {
+        if (o == null) {
+            return 16;
+        }
+        if (o instanceof CharSequence) {
+            return 40 + 2 * ((CharSequence) o).length();
+        }
+        if (o instanceof Map) {
+            long bytes = 64;
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) o).entrySet()) {
+                bytes += 32 + estimateBytes(e.getKey()) + estimateBytes(e.getValue());
+            }
+            return (int) Math.min(Integer.MAX_VALUE, bytes);
+        }
+        if (o instanceof Collection) {
+            long bytes = 48;
+            for (Object item : (Collection<?>) o) {
+                bytes += 8 + estimateBytes(item);
+            }
+            return (int) Math.min(Integer.MAX_VALUE, bytes);
+        }
+        if (o instanceof Number || o instanceof Boolean) {
+            return 24;
+        }
+        return 256;
+    }
+    
+    @PreDestroy
+    public void shutdownRefreshExecutor() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
 }
-
@@ -10,7 +10,9 @@ import org.springframework.stereotype.Component;
 
 /**
  * 캐시 메트릭 수집기
- * 캐시 히트율, 메모리 사용량 등을 주기적으로 로깅
+ * - 캐시 미터(cache.gets/puts/evictions/size)는 Actuator가 CacheManager의 Caffeine 캐시를
+ *   CaffeineCacheMetrics로 자동 바인딩 → /actuator/prometheus
+ * - 여기서는 히트율 저하/용량 임박 경고와 API 조회만 담당
  */
 @Slf4j
 @Component
@@ -23,7 +25,7 @@ public class CacheMetricsCollector {
     }
     
     /**
-     * 1분마다 캐시 통계 로깅
+     * 1분마다 캐시 상태 점검 (통계는 DEBUG, 이상 시 WARN)
      */
     @Scheduled(fixedRate = 60000)
     public void logCacheMetrics() {
@@ -45,23 +47,25 @@ public class CacheMetricsCollector {
         long evictionCount = stats.evictionCount();
         long size = nativeCache.estimatedSize();
         
-        log.info("=== 캐시 통계 ===");
-        log.info("캐시 크기: {}/1000", size);
-        log.info("히트율: {:.2f}% (히트: {}, 미스: {})", hitRate, hitCount, missCount);
-        log.info("미스율: {:.2f}%", missRate);
-        log.info("제거 횟수: {}", evictionCount);
-        log.info("평균 로드 시간: {:.2f}ms", stats.averageLoadPenalty() / 1_000_000.0);
-        log.info("================");
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("캐시 통계: 크기 %d, 히트율 %.2f%% (히트: %d, 미스: %d), 미스율 %.2f%%, 제거 %d, 평균 로드 %.2fms",
+                    size, hitRate, hitCount, missCount, missRate, evictionCount,
+                    stats.averageLoadPenalty() / 1_000_000.0));
+        }
         
         // 경고: 캐시 히트율이 낮으면
         if (hitRate < 50.0 && hitCount + missCount > 100) {
-            log.warn("⚠️ 캐시 히트율이 낮습니다 ({}%). 캐시 설정을 검토하세요.", hitRate);
+            log.warn("⚠️ 캐시 히트율이 낮습니다 ({}%). 캐시 설정을 검토하세요.", String.format("%.2f", hitRate));
         }
         
-        // 경고: 캐시가 거의 가득 찼으면
-        if (size > 900) {
-            log.warn("⚠️ 캐시가 거의 가득 찼습니다 ({}/1000). 크기 증가를 고려하세요.", size);
-        }
+        // 경고: 캐시가 거의 가득 찼으면 (가중치 제한이면 추정 바이트, 아니면 엔트리 수 기준)
+        nativeCache.policy().eviction().ifPresent(eviction -> {
+            long used = eviction.weightedSize().orElse(size);
+            long max = eviction.getMaximum();
+            if (max > 0 && used > max * 0.9) {
+                log.warn("⚠️ 캐시가 거의 가득 찼습니다 ({}/{}). 크기 증가를 고려하세요.", used, max);
+            }
+        });
     }
     
     /**
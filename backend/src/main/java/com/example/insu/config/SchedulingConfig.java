@@ -10,6 +10,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  * - 배치 학습 스케줄러
  * - 통계 업데이트 스케줄러
  * - 캐시 정리 스케줄러
+ * - @Scheduled 스레드 수는 spring.task.scheduling.pool.size (기본 1 → 긴 작업이 다른 작업을 막지 않도록 늘림)
+ * - 헬스 스냅샷 갱신은 공용 스케줄러가 아닌 전용 스레드 사용 (HealthSnapshotService)
  */
 @Slf4j
 @Configuration
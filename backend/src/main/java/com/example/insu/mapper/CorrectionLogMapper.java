@@ -40,6 +40,44 @@ public interface CorrectionLogMapper {
     @Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "LOG_ID")
     int insert(CorrectionLog correctionLog);
     
+    /**
+     * 수정 로그 저장 (LOG_ID를 미리 채번한 일괄 저장용, BatchPersistenceService)
+     */
+    @Insert("""
+        INSERT INTO CORRECTION_LOG (
+            LOG_ID, INSU_CD, SRC_FILE, PRODUCT_NAME,
+            ORIGINAL_INSU_TERM, ORIGINAL_PAY_TERM, ORIGINAL_AGE_RANGE, 
+            ORIGINAL_RENEW, ORIGINAL_SPECIAL_NOTES, ORIGINAL_VALIDATION_SOURCE,
+            CORRECTED_INSU_TERM, CORRECTED_PAY_TERM, CORRECTED_AGE_RANGE, 
+            CORRECTED_RENEW, CORRECTED_SPECIAL_NOTES,
+            PDF_TEXT, CORRECTED_FIELD_COUNT, CORRECTION_REASON, USER_ID,
+            IS_LEARNED, CREATED_AT
+        ) VALUES (
+            #{id}, #{insuCd}, #{srcFile}, #{productName},
+            #{originalInsuTerm}, #{originalPayTerm}, #{originalAgeRange}, 
+            #{originalRenew}, #{originalSpecialNotes}, #{originalValidationSource},
+            #{correctedInsuTerm}, #{correctedPayTerm}, #{correctedAgeRange}, 
+            #{correctedRenew}, #{correctedSpecialNotes},
+            #{pdfText}, #{correctedFieldCount}, #{correctionReason}, #{userId},
+            'N', CURRENT_TIMESTAMP
+        )
+    """)
+    int insertWithId(CorrectionLog correctionLog);
+    
+    /**
+     * LOG_ID 일괄 채번 (Oracle; 같은 세션의 같은 개수 재요청이 로컬 캐시로 같은 ID를 받지 않도록 캐시 비움)
+     */
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    @Select("SELECT correction_log_seq.NEXTVAL FROM DUAL CONNECT BY LEVEL <= #{count}")
+    List<Long> selectNextIds(@Param("count") int count);
+    
+    /**
+     * LOG_ID 일괄 채번 (H2: CONNECT BY 미지원 → SYSTEM_RANGE)
+     */
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    @Select("SELECT correction_log_seq.NEXTVAL FROM SYSTEM_RANGE(1, #{count})")
+    List<Long> selectNextIdsH2(@Param("count") int count);
+    
     /**
      * ID로 조회
      */
@@ -120,6 +158,27 @@ public interface CorrectionLogMapper {
     """)
     int markAsLearned(@Param("logId") Long logId, @Param("patternId") Long patternId);
     
+    /**
+     * 학습 완료 처리 (일괄 처리용: 패턴 ID는 마지막 학습 필드의 패턴을 DB에서 조회, 없으면 LOG_ID)
+     */
+    @Update("""
+        UPDATE CORRECTION_LOG
+        SET IS_LEARNED = 'Y',
+            LEARNED_AT = CURRENT_TIMESTAMP,
+            LEARNING_PATTERN_ID = COALESCE((
+                SELECT MAX(PATTERN_ID) FROM LEARNED_PATTERN
+                WHERE INSU_CD = #{insuCd,jdbcType=VARCHAR}
+                  AND FIELD_NAME = #{fieldName,jdbcType=VARCHAR}
+                  AND IS_ACTIVE = 'Y'
+            ), #{logId})
+        WHERE LOG_ID = #{logId}
+    """)
+    int markAsLearnedByField(
+        @Param("logId") Long logId,
+        @Param("insuCd") String insuCd,
+        @Param("fieldName") String fieldName
+    );
+    
     /**
      * 기간별 통계 조회
      */
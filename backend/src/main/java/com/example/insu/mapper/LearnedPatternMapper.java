@@ -14,18 +14,20 @@ public interface LearnedPatternMapper {
     
     /**
      * 패턴 저장 (UPSERT)
+     * 바인드 값은 CAST로 타입 지정 (H2는 SELECT 목록의 타입 없는 바인드 값을 거부 → 오프라인/부하 시험 H2에서도 동작)
+     * BatchPersistenceService가 JDBC 배치로 실행하면 Oracle에서는 배열 바인드 MERGE 1회
      */
     @Insert("""
         MERGE INTO LEARNED_PATTERN LP
         USING (
             SELECT 
-                #{insuCd} as INSU_CD,
-                #{fieldName} as FIELD_NAME,
-                #{patternValue} as PATTERN_VALUE,
-                #{confidenceScore} as CONFIDENCE_SCORE,
-                #{learningSource} as LEARNING_SOURCE,
-                #{learnedFromLogId} as LEARNED_FROM_LOG_ID,
-                #{priority} as PRIORITY
+                CAST(#{insuCd,jdbcType=VARCHAR} AS VARCHAR2(20)) as INSU_CD,
+                CAST(#{fieldName,jdbcType=VARCHAR} AS VARCHAR2(50)) as FIELD_NAME,
+                CAST(#{patternValue,jdbcType=VARCHAR} AS VARCHAR2(1000)) as PATTERN_VALUE,
+                CAST(#{confidenceScore,jdbcType=NUMERIC} AS NUMBER) as CONFIDENCE_SCORE,
+                CAST(#{learningSource,jdbcType=VARCHAR} AS VARCHAR2(50)) as LEARNING_SOURCE,
+                CAST(#{learnedFromLogId,jdbcType=NUMERIC} AS NUMBER) as LEARNED_FROM_LOG_ID,
+                CAST(#{priority,jdbcType=NUMERIC} AS NUMBER) as PRIORITY
             FROM DUAL
         ) SRC
         ON (LP.INSU_CD = SRC.INSU_CD AND LP.FIELD_NAME = SRC.FIELD_NAME)
@@ -87,6 +89,9 @@ public interface LearnedPatternMapper {
             PATTERN_VALUE as patternValue,
             CONFIDENCE_SCORE as confidenceScore,
             LEARNING_SOURCE as learningSource,
+            APPLY_COUNT as applyCount,
+            SUCCESS_COUNT as successCount,
+            UPDATED_AT as updatedAt,
             PRIORITY as priority
         FROM LEARNED_PATTERN
         WHERE INSU_CD = #{insuCd}
@@ -1,6 +1,7 @@
 package com.example.insu.mapper;
 
 import com.example.insu.dto.UwCodeMappingData;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Select;
 
@@ -67,5 +68,45 @@ public interface UwCodeMappingMapper {
             "PRODUCT_GROUP, TYPE_LABEL, PERIOD_KIND, CLASS_TAG " +
             "FROM UW_CODE_MAPPING WHERE PERIOD_KIND = #{periodKind} ORDER BY CODE, PERIOD_LABEL, PAY_TERM")
     List<UwCodeMappingData> selectByPeriodKind(String periodKind);
+    
+    /**
+     * 매핑 저장 (복합 키 기준 UPSERT, 고급 매핑 결과 적재용)
+     * 키 = (CODE, MAIN_CODE, PERIOD_LABEL, PAY_TERM, TYPE_LABEL): 같은 CODE의 기간/납입기간별 행은 서로 다른 행
+     * 키 값만 CAST한 소스 행 (H2 호환), 키가 아닌 컬럼만 갱신
+     */
+    @Insert("""
+        MERGE INTO UW_CODE_MAPPING M
+        USING (
+            SELECT CAST(#{code,jdbcType=VARCHAR} AS VARCHAR2(10)) AS CODE,
+                   CAST(#{mainCode,jdbcType=VARCHAR} AS VARCHAR2(10)) AS MAIN_CODE,
+                   CAST(#{periodLabel,jdbcType=VARCHAR} AS VARCHAR2(100)) AS PERIOD_LABEL,
+                   CAST(#{payTerm,jdbcType=VARCHAR} AS VARCHAR2(200)) AS PAY_TERM,
+                   CAST(#{typeLabel,jdbcType=VARCHAR} AS VARCHAR2(50)) AS TYPE_LABEL
+            FROM DUAL
+        ) SRC
+        ON (M.CODE = SRC.CODE AND M.MAIN_CODE = SRC.MAIN_CODE AND M.PERIOD_LABEL = SRC.PERIOD_LABEL
+            AND M.PAY_TERM = SRC.PAY_TERM AND M.TYPE_LABEL = SRC.TYPE_LABEL)
+        WHEN MATCHED THEN
+            UPDATE SET
+                SRC_FILE = #{srcFile,jdbcType=VARCHAR},
+                PRODUCT_NAME = #{productName,jdbcType=VARCHAR},
+                PERIOD_VALUE = #{periodValue,jdbcType=NUMERIC},
+                ENTRY_AGE_M = #{entryAgeM,jdbcType=VARCHAR},
+                ENTRY_AGE_F = #{entryAgeF,jdbcType=VARCHAR},
+                PRODUCT_GROUP = #{productGroup,jdbcType=VARCHAR},
+                PERIOD_KIND = #{periodKind,jdbcType=VARCHAR},
+                CLASS_TAG = #{classTag,jdbcType=VARCHAR}
+        WHEN NOT MATCHED THEN
+            INSERT (
+                SRC_FILE, CODE, PRODUCT_NAME, MAIN_CODE, PERIOD_LABEL, PERIOD_VALUE, PAY_TERM,
+                ENTRY_AGE_M, ENTRY_AGE_F, PRODUCT_GROUP, TYPE_LABEL, PERIOD_KIND, CLASS_TAG
+            ) VALUES (
+                #{srcFile,jdbcType=VARCHAR}, SRC.CODE, #{productName,jdbcType=VARCHAR},
+                SRC.MAIN_CODE, SRC.PERIOD_LABEL, #{periodValue,jdbcType=NUMERIC},
+                SRC.PAY_TERM, #{entryAgeM,jdbcType=VARCHAR}, #{entryAgeF,jdbcType=VARCHAR},
+                #{productGroup,jdbcType=VARCHAR}, SRC.TYPE_LABEL, #{periodKind,jdbcType=VARCHAR},
+                #{classTag,jdbcType=VARCHAR}
+            )
+    """)
+    int upsert(UwCodeMappingData mapping);
 }
-
@@ -1,10 +1,10 @@
 package com.example.insu.service;
 
 import com.example.insu.util.PdfParser;
-import lombok.RequiredArgsConstructor;
+import com.example.insu.util.TraceContext;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
@@ -12,6 +12,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -20,27 +24,88 @@ import java.util.stream.Collectors;
  * - 여러 상품 동시 파싱
  * - 응답 시간 단축
  * - 시스템 리소스 효율적 사용
+ * - 파싱 작업은 blockingExecutor에서 한 번만 비동기 실행 (insu.parsing.executor-mode = pool | virtual)
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AsyncParsingService {
     
     private final ImprovedHybridParsingService hybridParsingService;
+    private final ParseTracer parseTracer;
+    private final Executor blockingExecutor;
+    private final Executor batchExecutor;
+    private final PdfSectionLocator sectionLocator;
+    private final Map<String, CompletableFuture<?>> documentJobs = new ConcurrentHashMap<>();   // PDF 경로 → 진행 중인 문서 파싱
     
     @Value("${insu.pdf-dir}")
     private String pdfDir;
     
+    public AsyncParsingService(ImprovedHybridParsingService hybridParsingService,
+                               ParseTracer parseTracer,
+                               @Qualifier("blockingExecutor") Executor blockingExecutor,
+                               @Qualifier("batchExecutor") Executor batchExecutor,
+                               PdfSectionLocator sectionLocator) {
+        this.hybridParsingService = hybridParsingService;
+        this.parseTracer = parseTracer;
+        this.blockingExecutor = blockingExecutor;
+        this.batchExecutor = batchExecutor;
+        this.sectionLocator = sectionLocator;
+    }
+    
+    /**
+     * 문서 단위 파싱 작업 시작 (백그라운드, 결과는 parsingCache에 적재)
+     * - 같은 PDF의 작업이 진행 중이면 새로 시작하지 않음
+     * - batchExecutor(AbortPolicy)가 가득 차면 RejectedExecutionException → 호출자가 503 응답
+     * 
+     * @return 새 작업을 시작했으면 true, 이미 진행 중이면 false
+     */
+    public boolean startDocumentParse(File pdfFile) {
+        String key = pdfFile.getAbsolutePath();
+        CompletableFuture<Void> job = new CompletableFuture<>();
+        if (documentJobs.putIfAbsent(key, job) != null) {
+            return false;
+        }
+        try {
+            batchExecutor.execute(() -> {
+                try {
+                    hybridParsingService.parseDocument(pdfFile);
+                    job.complete(null);
+                } catch (Exception e) {
+                    log.error("문서 단위 파싱 실패: {} - {}", pdfFile.getName(), e.getMessage(), e);
+                    job.completeExceptionally(e);
+                } finally {
+                    documentJobs.remove(key, job);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            documentJobs.remove(key, job);
+            throw e;
+        }
+        return true;
+    }
+    
+    /**
+     * 문서 단위 파싱 진행 여부
+     */
+    public boolean isDocumentParsing(File pdfFile) {
+        return documentJobs.containsKey(pdfFile.getAbsolutePath());
+    }
+    
     /**
      * 단일 상품 비동기 파싱
+     * - 이전: @Async(parsingExecutor) 안에서 다시 supplyAsync(공용 ForkJoin 풀) → 실제 작업이 공용 풀에서 실행
+     * - 현재: 호출 스레드에서 바로 blockingExecutor에 한 번 제출
      */
-    @Async("parsingExecutor")
     public CompletableFuture<Map<String, String>> parseAsync(String insuCd) {
         log.info("비동기 파싱 시작: {}", insuCd);
         
-        return CompletableFuture.supplyAsync(() -> {
+        TraceContext.Scope scope = parseTracer.trace("parseAsync", insuCd);
+        Supplier<Map<String, String>> task = TraceContext.wrapSupplier(() -> {
             try {
-                File pdfFile = findPdfFile(insuCd);
+                File pdfFile;
+                try (TraceContext.Scope ignored = TraceContext.startSpan("findPdf")) {
+                    pdfFile = findPdfFile(insuCd);
+                }
                 if (pdfFile == null) {
                     log.warn("PDF 파일 없음: {}", insuCd);
                     return getErrorResult("PDF 파일 없음");
@@ -55,10 +120,18 @@ public class AsyncParsingService {
                 return getErrorResult("파싱 오류: " + e.getMessage());
             }
         });
+        scope.detach();  // 스팬은 작업 완료 시 닫음
+        try {
+            return CompletableFuture.supplyAsync(task, blockingExecutor).whenComplete((r, e) -> scope.close());
+        } catch (RejectedExecutionException e) {
+            scope.close();  // 풀 포화: 호출자에게 그대로 (HTTP 503)
+            throw e;
+        }
     }
     
     /**
      * 여러 상품 동시 파싱
+     * - 코드마다 parseAsync 제출 → 파싱 풀이 가득 차면 RejectedExecutionException (대량 호출자는 나눠서 요청)
      */
     public CompletableFuture<Map<String, Map<String, String>>> parseMultiple(
             List<String> insuCodes) {
@@ -92,10 +165,10 @@ public class AsyncParsingService {
     /**
      * PDF 파일 찾기
      */
-    private File findPdfFile(String insuCd) {
+    protected File findPdfFile(String insuCd) {
         try {
             Path dir = Paths.get(pdfDir);
-            return PdfParser.findPdfForCode(dir, insuCd);
+            return PdfParser.findPdfForCode(dir, insuCd, sectionLocator);
         } catch (Exception e) {
             log.error("PDF 파일 검색 실패: {} - {}", insuCd, e.getMessage());
             return null;
@@ -16,7 +16,7 @@ import java.util.List;
  * 배치 학습 스케줄러
  * 
  * - 매일 새벽 2시 자동 배치 학습
- * - 미학습 로그 자동 처리
+ * - 미학습 로그 자동 처리 (100건 단위 일괄 학습, 실패한 묶음은 건별 재시도)
  * - 통계 자동 업데이트
  */
 @Slf4j
@@ -70,16 +70,25 @@ public class BatchLearningScheduler {
                 int batchSuccess = 0;
                 int batchFailed = 0;
                 
-                for (CorrectionLog logEntry : batch) {
-                    try {
-                        learningService.learnFromCorrection(logEntry);
-                        batchSuccess++;
-                        totalSuccess++;
-                    } catch (Exception e) {
-                        log.error("배치 학습 실패: LOG_ID={} - {}", 
-                                 logEntry.getId(), e.getMessage());
-                        batchFailed++;
-                        totalFailed++;
+                try {
+                    // 패턴 UPSERT / 학습 완료 처리를 JDBC 배치로 (로그마다 왕복하지 않음)
+                    learningService.learnFromCorrections(batch);
+                    batchSuccess = batch.size();
+                    totalSuccess += batch.size();
+                } catch (Exception batchError) {
+                    // 배치 전체가 롤백됨 → 실패 로그를 가려내기 위해 건별 재시도
+                    log.warn("배치 {} 일괄 학습 실패, 건별 재시도: {}", batchNumber, batchError.getMessage());
+                    for (CorrectionLog logEntry : batch) {
+                        try {
+                            learningService.learnFromCorrection(logEntry);
+                            batchSuccess++;
+                            totalSuccess++;
+                        } catch (Exception e) {
+                            log.error("배치 학습 실패: LOG_ID={} - {}", 
+                                     logEntry.getId(), e.getMessage());
+                            batchFailed++;
+                            totalFailed++;
+                        }
                     }
                 }
                 
@@ -0,0 +1,140 @@
+package com.example.insu.service;
+
+import com.example.insu.dto.CorrectionLog;
+import com.example.insu.dto.LearnedPattern;
+import com.example.insu.dto.UwCodeMappingData;
+import com.example.insu.mapper.CorrectionLogMapper;
+import com.example.insu.mapper.LearnedPatternMapper;
+import com.example.insu.mapper.UwCodeMappingMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * 일괄 저장 계층 (MyBatis ExecutorType.BATCH)
+ *
+ * - CORRECTION_LOG 저장 / 학습 완료 처리, LEARNED_PATTERN UPSERT, UW_CODE_MAPPING UPSERT를 행마다 왕복하지 않고
+ *   batchSize 행씩 JDBC 배치로 전송 (Oracle 드라이버는 같은 문장의 배치를 배열 바인드 1회로 실행)
+ * - 배치 세션은 Spring 관리 커넥션을 쓰므로 @Transactional 안에서는 그 트랜잭션에 참여 (commit은 트랜잭션이 수행)
+ *   반환 전 flush → 이후 같은 트랜잭션의 조회는 저장 결과를 봄
+ * - MERGE 문은 바인드 값을 CAST한 소스 행이라 Oracle/H2(오프라인·부하 시험) 공용, 채번만 DB별 문장
+ * - 배치 크기: insu.batch.size (기본 500)
+ */
+@Slf4j
+@Service
+public class BatchPersistenceService {
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final int batchSize;
+    private volatile Boolean h2;
+
+    public BatchPersistenceService(SqlSessionFactory sqlSessionFactory,
+                                   @Value("${insu.batch.size:500}") int batchSize) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * 수정 로그 일괄 저장 (LOG_ID는 시퀀스에서 한 번에 채번해 각 로그에 채움)
+     */
+    public int insertCorrectionLogs(List<CorrectionLog> logs) {
+        if (logs.isEmpty()) return 0;
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            CorrectionLogMapper mapper = session.getMapper(CorrectionLogMapper.class);
+            List<Long> ids = new ArrayList<>(logs.size());
+            for (int from = 0; from < logs.size(); from += batchSize) {
+                int count = Math.min(batchSize, logs.size() - from);
+                ids.addAll(isH2(session) ? mapper.selectNextIdsH2(count) : mapper.selectNextIds(count));
+            }
+            for (int i = 0; i < logs.size(); i++) {
+                logs.get(i).setId(ids.get(i));
+            }
+            return execute(session, logs, (s, log) -> s.getMapper(CorrectionLogMapper.class).insertWithId(log));
+        }
+    }
+
+    /**
+     * 학습 패턴 일괄 UPSERT
+     */
+    public int upsertPatterns(List<LearnedPattern> patterns) {
+        return execute(patterns, (s, p) -> s.getMapper(LearnedPatternMapper.class).upsert(p));
+    }
+
+    /**
+     * 학습 완료 일괄 처리 (패턴 ID는 마지막 학습 필드 기준으로 DB에서 조회)
+     */
+    public int markAsLearned(List<LearnedMark> marks) {
+        return execute(marks, (s, m) ->
+            s.getMapper(CorrectionLogMapper.class).markAsLearnedByField(m.logId, m.insuCd, m.fieldName));
+    }
+
+    /**
+     * UW_CODE_MAPPING 일괄 UPSERT (고급 매핑 결과 적재)
+     */
+    public int upsertCodeMappings(List<UwCodeMappingData> mappings) {
+        return execute(mappings, (s, m) -> s.getMapper(UwCodeMappingMapper.class).upsert(m));
+    }
+
+    private <T> int execute(List<T> rows, BiConsumer<SqlSession, T> statement) {
+        if (rows.isEmpty()) return 0;
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            return execute(session, rows, statement);
+        }
+    }
+
+    private <T> int execute(SqlSession session, List<T> rows, BiConsumer<SqlSession, T> statement) {
+        long t0 = System.currentTimeMillis();
+        int batches = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            statement.accept(session, rows.get(i));
+            if ((i + 1) % batchSize == 0) {
+                session.flushStatements();
+                batches++;
+            }
+        }
+        if (rows.size() % batchSize != 0) {
+            session.flushStatements();
+            batches++;
+        }
+        session.commit();
+        log.debug("[batch] {}행 / {}배치, {}ms", rows.size(), batches, System.currentTimeMillis() - t0);
+        return rows.size();
+    }
+
+    private boolean isH2(SqlSession session) {
+        Boolean cached = h2;
+        if (cached == null) {
+            try {
+                cached = "H2".equalsIgnoreCase(session.getConnection().getMetaData().getDatabaseProductName());
+                h2 = cached;
+            } catch (SQLException e) {
+                log.debug("[batch] DB 종류 확인 실패, Oracle로 간주: {}", e.toString());
+                return false;
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * 학습 완료 처리 대상 (fieldName: 마지막으로 학습한 필드, 없으면 null → 패턴 ID 대신 LOG_ID)
+     */
+    public static class LearnedMark {
+        public final Long logId;
+        public final String insuCd;
+        public final String fieldName;
+
+        public LearnedMark(Long logId, String insuCd, String fieldName) {
+            this.logId = logId;
+            this.insuCd = insuCd;
+            this.fieldName = fieldName;
+        }
+    }
+}
@@ -1,40 +1,65 @@
 package com.example.insu.service;
 
+import com.example.insu.util.BusinessMethodRules;
+import com.example.insu.util.DocumentScope;
+import com.example.insu.util.LayoutStripper;
+import com.example.insu.util.ParsePhaseMetrics;
+import com.example.insu.util.PdfLoader;
+import com.example.insu.util.PdfParser;
+import com.example.insu.util.TableGrid;
+import com.example.insu.util.ParsePhaseMetrics.Phase;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * 사업방법서 기반 파싱 전략 (정규식 사용)
+ * - 텍스트 경로는 BusinessMethodRules.LABELED 규칙 엔진 (규칙 1회 컴파일, 키워드 사전 필터)
+ * - 문서 모델(섹션/키워드 위치/상품명 색인)은 DocumentScope 안에서 문서당 1회 → 문서 단위 파싱 시 모든 코드가 공유
+ * - 사업방법 표(페이지 탐색 + 열/행 재구성)도 같은 범위에서 문서당 1회, 코드마다 상품 행만 찾음
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class BusinessMethodParsingStrategy implements ParsingStrategy {
+
+    /** 사업방법 표 헤더 라벨 (상품명은 첫 열 이전 영역) */
+    private static final List<String> TERM_LABELS = List.of("보험기간", "납입기간", "가입나이");
+    
+    private static final BusinessMethodRules RULES = BusinessMethodRules.LABELED;
+
+    private final PdfSectionLocator sectionLocator;
     
     @Override
     public Map<String, String> parse(File pdfFile, String insuCd) {
         try {
             log.info("사업방법서 파싱 시작: {}", insuCd);
             
-            // PDF 텍스트 추출
-            String pdfText = extractPdfText(pdfFile);
+            // PDF 텍스트 추출 + 문서 모델 (범위 안에서는 문서당 1회)
+            BusinessMethodRules.Document document = DocumentScope.model(pdfFile, "business-method",
+                    BusinessMethodRules.Document.class, f -> RULES.document(extractPdfText(f)));
             
             // 1. 상품명 찾기
-            String productName = findProductNameByCode(pdfText, insuCd);
+            long t0 = System.nanoTime();
+            String productName = document.productName(insuCd);
             if (productName == null) {
+                ParsePhaseMetrics.record(Phase.REGEX, t0);
                 log.warn("상품명을 찾을 수 없음: {}", insuCd);
                 return getEmptyResult();
             }
             
-            // 2. 사업방법 섹션에서 조건 추출
-            Map<String, String> terms = extractTermsFromBusinessMethod(pdfText, productName, insuCd);
+            // 2. 사업방법 표(열 재구성) 우선, 표가 없으면 섹션 텍스트에서 조건 추출
+            Map<String, String> terms = extractTermsFromTable(pdfFile, productName);
+            if (terms == null) {
+                terms = extractTermsFromBusinessMethod(document, productName);
+            }
+            ParsePhaseMetrics.record(Phase.REGEX, t0);
             
             log.info("사업방법서 파싱 완료: {} (신뢰도: {})", insuCd, evaluateConfidence(terms));
             return terms;
@@ -80,181 +105,101 @@ public class BusinessMethodParsingStrategy implements ParsingStrategy {
     /**
      * PDF 텍스트 추출
      */
-    private String extractPdfText(File pdfFile) throws Exception {
-        try (PDDocument document = PDDocument.load(pdfFile)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
-        }
+    private String extractPdfText(File pdfFile) throws IOException {
+        return DocumentScope.text(pdfFile, "raw", BusinessMethodParsingStrategy::loadPdfText);
     }
     
-    /**
-     * 상품명 찾기
-     */
-    private String findProductNameByCode(String text, String insuCd) {
-        // 패턴: "보험코드 다음에 상품명"
-        String[] patterns = {
-            insuCd + "\\s+([^\\n]+특약|[^\\n]+보험)",
-            "\\[" + insuCd + "\\]\\s+([^\\n]+)",
-            insuCd + "\\s*:\\s*([^\\n]+)"
-        };
-        
-        for (String patternStr : patterns) {
-            Pattern pattern = Pattern.compile(patternStr);
-            Matcher matcher = pattern.matcher(text);
-            if (matcher.find()) {
-                String productName = matcher.group(1).trim();
-                log.debug("상품명 발견: {} → {}", insuCd, productName);
-                return productName;
-            }
-        }
-        
-        return null;
+    static String loadPdfText(File pdfFile) throws IOException {
+        return PdfLoader.text(pdfFile, false, 1, Integer.MAX_VALUE);
     }
     
     /**
-     * 사업방법서에서 조건 추출
+     * 사업방법 페이지의 표에서 조건 추출 (보험기간/납입기간/가입나이 열, 상품명 행)
+     * - 표가 없거나 상품 행이 없으면 null → 텍스트 기반 추출로 폴백
      */
-    private Map<String, String> extractTermsFromBusinessMethod(String text, String productName, String insuCd) {
-        Map<String, String> terms = new LinkedHashMap<>();
-        
-        // 사업방법 섹션 추출
-        String businessSection = extractBusinessMethodSection(text);
-        if (businessSection == null) {
-            log.warn("사업방법 섹션을 찾을 수 없음");
-            return getEmptyResult();
+    private Map<String, String> extractTermsFromTable(File pdfFile, String productName) {
+        try {
+            TermTable table = DocumentScope.model(pdfFile, "business-method-table", TermTable.class, this::loadTermTable);
+            if (table.rows.isEmpty()) return null;
+
+            String target = PdfParser.normalizeForMatch(productName);
+            for (TableGrid.Row row : table.rows) {
+                String lead = PdfParser.normalizeForMatch(row.lead());
+                if (lead.isEmpty() || !(lead.contains(target) || target.contains(lead))) continue;
+
+                Map<String, String> terms = new LinkedHashMap<>();
+                terms.put("insuTerm", RULES.value("insuTerm", "보험기간 " + row.cell("보험기간")));
+                terms.put("payTerm", RULES.value("payTerm", "납입기간 " + row.cell("납입기간")));
+                String age = row.cell("가입나이").replace("만", "").replace("세", "").trim();
+                terms.put("ageRange", age.isEmpty() ? "—" : age);
+                terms.put("renew", row.text.contains("비갱신형") ? "비갱신형" : row.text.contains("갱신형") ? "갱신형" : "—");
+                if (!isValidField(terms.get("insuTerm")) && !isValidField(terms.get("payTerm"))
+                        && !isValidField(terms.get("ageRange"))) {
+                    return null;
+                }
+                terms.put("specialNotes", "사업방법서 표 기반 파싱");
+                log.debug("사업방법 표 {}p 행 매칭: {}", table.page, row.text);
+                return terms;
+            }
+        } catch (Exception e) {
+            log.debug("사업방법 표 추출 실패, 텍스트 기반으로 진행: {}", e.toString());
         }
-        
-        // 상품명 주변에서 조건 추출
-        terms = extractTermsAroundProductName(businessSection, productName);
-        
-        // 추가 정보
-        terms.put("specialNotes", "사업방법서 기반 파싱");
-        
-        return terms;
+        return null;
     }
-    
+
     /**
-     * 사업방법 섹션 추출
+     * 사업방법 페이지 탐색 + 표 재구성 (범위 안에서는 문서당 1회)
+     * - 헤더 라벨로 열을 잡고 본문 토큰 시작점 군집으로 보정, 줄바꿈된 셀은 행 병합
      */
-    private String extractBusinessMethodSection(String text) {
-        String[] patterns = {
-            "4\\.\\s*사업방법([\\s\\S]*?)(?:5\\.|$)",
-            "사업방법상의\\s*내용([\\s\\S]*?)(?:주\\s*요\\s*내\\s*용|$)",
-            "사업방법([\\s\\S]*?)(?:가입한도|$)"
-        };
-        
-        for (String patternStr : patterns) {
-            Pattern pattern = Pattern.compile(patternStr);
-            Matcher matcher = pattern.matcher(text);
-            if (matcher.find()) {
-                return matcher.group(1);
-            }
+    private TermTable loadTermTable(File pdfFile) throws IOException {
+        PdfSectionLocator.LocatedPage hit = sectionLocator.locate(pdfFile, PdfSectionLocator.BUSINESS_METHOD);
+        if (hit == null) return TermTable.NONE;
+
+        List<LayoutStripper.Line> lines = hit.lines;
+        for (int i = 0; i < lines.size(); i++) {
+            TableGrid.Columns cols = TableGrid.header(lines.get(i), TERM_LABELS);
+            if (cols.size() < 2) continue;
+
+            List<LayoutStripper.Line> body = lines.subList(i + 1, lines.size());
+            cols = cols.snapLeft(TableGrid.clusterStarts(body, 2f, 2));
+            return new TermTable(hit.page, TableGrid.mergeWrapped(TableGrid.rows(body, cols)));
         }
-        
-        return null;
+        return TermTable.NONE;
     }
-    
+
     /**
-     * 상품명 주변에서 조건 추출
+     * 사업방법서에서 조건 추출 (섹션 안 상품명 앞 200자 ~ 뒤 500자)
      */
-    private Map<String, String> extractTermsAroundProductName(String section, String productName) {
-        Map<String, String> terms = new LinkedHashMap<>();
-        
-        // 상품명 위치 찾기
-        int nameIndex = section.indexOf(productName);
-        if (nameIndex == -1) {
+    private Map<String, String> extractTermsFromBusinessMethod(BusinessMethodRules.Document document, String productName) {
+        if (!document.hasSection()) {
+            log.warn("사업방법 섹션을 찾을 수 없음");
             return getEmptyResult();
         }
         
-        // 상품명 전후 500자 범위에서 추출
-        int start = Math.max(0, nameIndex - 200);
-        int end = Math.min(section.length(), nameIndex + 500);
-        String context = section.substring(start, end);
-        
-        // 보험기간 추출
-        terms.put("insuTerm", extractInsuranceTerm(context));
-        
-        // 납입기간 추출
-        terms.put("payTerm", extractPaymentTerm(context));
-        
-        // 가입나이 추출
-        terms.put("ageRange", extractAgeRange(context));
-        
-        // 갱신여부 추출
-        if (context.contains("갱신형")) {
-            terms.put("renew", "갱신형");
-        } else if (context.contains("비갱신형")) {
-            terms.put("renew", "비갱신형");
-        } else {
-            terms.put("renew", "—");
+        Map<String, String> terms = document.termsNear(productName);
+        if (terms == null) {
+            terms = getEmptyResult();
         }
+        terms.put("specialNotes", "사업방법서 기반 파싱");
         
         return terms;
     }
     
-    /**
-     * 보험기간 추출
-     */
-    private String extractInsuranceTerm(String text) {
-        Pattern pattern = Pattern.compile("보험기간[:\\s]*(종신|\\d+세만기|\\d+년만기)[,\\s]*(종신|\\d+세만기|\\d+년만기)?");
-        Matcher matcher = pattern.matcher(text);
-        
-        if (matcher.find()) {
-            String term1 = matcher.group(1);
-            String term2 = matcher.group(2);
-            
-            if (term2 != null && !term2.isEmpty()) {
-                return term1 + ", " + term2;
-            }
-            return term1;
-        }
-        
-        return "—";
-    }
-    
-    /**
-     * 납입기간 추출
-     */
-    private String extractPaymentTerm(String text) {
-        Pattern pattern = Pattern.compile("납입기간[:\\s]*(\\d+년납)[,\\s]*(\\d+년납)?[,\\s]*(\\d+년납)?[,\\s]*(\\d+년납)?");
-        Matcher matcher = pattern.matcher(text);
-        
-        if (matcher.find()) {
-            StringBuilder terms = new StringBuilder(matcher.group(1));
-            for (int i = 2; i <= 4; i++) {
-                String term = matcher.group(i);
-                if (term != null && !term.isEmpty()) {
-                    terms.append(", ").append(term);
-                }
-            }
-            return terms.toString();
-        }
-        
-        return "—";
+    private boolean isValidField(String value) {
+        return value != null && !value.isEmpty() && !value.equals("—");
     }
     
-    /**
-     * 가입나이 추출
-     */
-    private String extractAgeRange(String text) {
-        Pattern pattern = Pattern.compile("가입나이[:\\s]*([^\\n]{10,100})");
-        Matcher matcher = pattern.matcher(text);
-        
-        if (matcher.find()) {
-            String ageContent = matcher.group(1).trim();
-            
-            // "만"과 "세" 제거
-            ageContent = ageContent.replaceAll("만", "");
-            ageContent = ageContent.replaceAll("세", "");
-            
-            return ageContent;
+    /** 사업방법 표 (표가 없으면 NONE - 범위 캐시는 null을 저장하지 않으므로 빈 표로 표시) */
+    static final class TermTable {
+        static final TermTable NONE = new TermTable(0, List.of());
+
+        final int page;
+        final List<TableGrid.Row> rows;
+
+        TermTable(int page, List<TableGrid.Row> rows) {
+            this.page = page;
+            this.rows = rows;
         }
-        
-        return "—";
-    }
-    
-    private boolean isValidField(String value) {
-        return value != null && !value.isEmpty() && !value.equals("—");
     }
     
     private Map<String, String> getEmptyResult() {
@@ -1,32 +1,55 @@
 package com.example.insu.service;
 
 import com.example.insu.util.PdfParser;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Policy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 캐시 워밍업 서비스
- * 
+ *
  * 애플리케이션 시작 시 자주 사용되는 상품의 파싱 결과를 미리 캐시에 로드하여
- * 첫 요청 시 응답 시간을 단축
+ * 첫 요청 시 응답 시간을 단축 (문서 단위 파싱: PDF 하나당 1회 파싱으로 모든 코드 적재)
+ *
+ * - 대상: 실제 조회 빈도 상위 코드 (ProductPopularityService), 빈도 기록이 부족하면 파일명 순으로 보충
+ * - 코드 → PDF: 적재 기록 색인 우선, 없을 때만 디렉터리 탐색 (실행당 1회 색인 구성)
+ * - 문서 단위로 묶어 CPU 예산(cache.warmup.parallelism) 안에서 병렬 실행, 빈도 높은 문서부터
+ * - 선제 갱신: 주기적으로 상위 코드의 parsingCache 엔트리 나이를 확인해 TTL 만료 전에 다시 파싱
+ *   (스케줄러 스레드는 batchExecutor에 작업만 넘기고 바로 반환, 완료를 기다리지 않음)
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CacheWarmupService {
     
     private final ImprovedHybridParsingService hybridParsingService;
+    private final ProductPopularityService popularityService;
+    private final IngestionPipelineService ingestionPipelineService;
+    private final CacheManager cacheManager;
+    private final Executor batchExecutor;
+    private final PdfSectionLocator sectionLocator;
+    private final AtomicBoolean running = new AtomicBoolean();
     
     @Value("${insu.pdf-dir}")
     private String pdfDir;
@@ -37,6 +60,31 @@ public class CacheWarmupService {
     @Value("${cache.warmup.top-products:50}")
     private int topProductsCount;
     
+    /** 동시에 파싱할 문서 수 (0 = 가용 프로세서 절반) */
+    @Value("${cache.warmup.parallelism:0}")
+    private int parallelism;
+    
+    @Value("${cache.refresh-ahead.enabled:true}")
+    private boolean refreshAheadEnabled;
+    
+    /** 만료까지 이 시간 이내로 남은 엔트리를 갱신 */
+    @Value("${cache.refresh-ahead.window-minutes:60}")
+    private long refreshWindowMinutes;
+    
+    public CacheWarmupService(ImprovedHybridParsingService hybridParsingService,
+                              ProductPopularityService popularityService,
+                              IngestionPipelineService ingestionPipelineService,
+                              CacheManager cacheManager,
+                              @Qualifier("batchExecutor") Executor batchExecutor,
+                              PdfSectionLocator sectionLocator) {
+        this.hybridParsingService = hybridParsingService;
+        this.popularityService = popularityService;
+        this.ingestionPipelineService = ingestionPipelineService;
+        this.cacheManager = cacheManager;
+        this.batchExecutor = batchExecutor;
+        this.sectionLocator = sectionLocator;
+    }
+    
     /**
      * 애플리케이션 시작 시 캐시 워밍업 실행
      */
@@ -56,98 +104,210 @@ public class CacheWarmupService {
             // 잠시 대기 (다른 초기화 작업 완료 대기)
             Thread.sleep(5000);
             
-            // 1. PDF 파일 목록 조회
-            List<String> productCodes = scanPdfFiles();
-            log.info("발견된 PDF 파일 수: {}", productCodes.size());
-            
-            if (productCodes.isEmpty()) {
+            // 1. 조회 빈도 상위 코드 (부족하면 파일명 순 보충)
+            List<String> codes = targetCodes();
+            if (codes.isEmpty()) {
                 log.warn("PDF 파일이 없어 캐시 워밍업을 건너뜁니다");
                 return;
             }
+            log.info("캐시 워밍업 대상: {} 개 상품 (빈도순)", codes.size());
             
-            // 2. 상위 N개 상품 선택 (파일명 순서대로)
-            List<String> topProducts = productCodes.stream()
-                .limit(topProductsCount)
-                .collect(Collectors.toList());
-            
-            log.info("캐시 워밍업 대상: {} 개 상품", topProducts.size());
-            
-            // 3. 병렬 처리로 캐시 로드
-            int successCount = 0;
-            int failCount = 0;
+            // 2. 문서 단위로 묶어 병렬 파싱
             long startTime = System.currentTimeMillis();
-            
-            for (int i = 0; i < topProducts.size(); i++) {
-                String insuCd = topProducts.get(i);
-                
-                try {
-                    File pdfFile = findPdfFile(insuCd);
-                    if (pdfFile != null) {
-                        hybridParsingService.parseWithMultipleStrategies(pdfFile, insuCd);
-                        successCount++;
-                        
-                        if ((i + 1) % 10 == 0) {
-                            log.info("캐시 워밍업 진행: {}/{} ({} 성공, {} 실패)", 
-                                    i + 1, topProducts.size(), successCount, failCount);
-                        }
-                    } else {
-                        failCount++;
-                        log.debug("PDF 파일 없음: {}", insuCd);
-                    }
-                    
-                    // CPU 부하 분산을 위한 짧은 대기
-                    if ((i + 1) % 5 == 0) {
-                        Thread.sleep(100);
-                    }
-                    
-                } catch (Exception e) {
-                    failCount++;
-                    log.warn("캐시 워밍업 실패: {} - {}", insuCd, e.getMessage());
-                }
-            }
-            
+            Map<File, List<String>> documents = groupByDocument(codes);
+            int[] counts = warmDocuments(documents, false).join();
             long duration = System.currentTimeMillis() - startTime;
             
             log.info("╔═══════════════════════════════════════════════════════╗");
             log.info("║          캐시 워밍업 완료                              ║");
-            log.info("║  - 대상: {} 개 상품                                   ║", topProducts.size());
-            log.info("║  - 성공: {} 개                                        ║", successCount);
-            log.info("║  - 실패: {} 개                                        ║", failCount);
+            log.info("║  - 문서: {} 개                                        ║", documents.size());
+            log.info("║  - 성공: {} 개 코드                                   ║", counts[0]);
+            log.info("║  - 실패: {} 개 문서                                   ║", counts[1]);
             log.info("║  - 소요 시간: {} 초                                   ║", duration / 1000);
-            log.info("║  - 평균 처리 시간: {} ms/건                           ║", 
-                    successCount > 0 ? (duration / successCount) : 0);
+            log.info("║  - 평균 처리 시간: {} ms/문서                         ║",
+                    documents.isEmpty() ? 0 : (duration / documents.size()));
             log.info("╚═══════════════════════════════════════════════════════╝");
-            
+        
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.error("캐시 워밍업 중 치명적 오류 발생", e);
         }
     }
     
     /**
-     * PDF 파일 스캔
+     * 선제 갱신: 상위 코드 중 캐시에 없거나 만료가 가까운 엔트리를 문서 단위로 다시 파싱
+     * (사용자 요청이 만료된 엔트리에서 동기 재계산을 기다리지 않도록)
+     * - 대상 선정/파싱 모두 batchExecutor에서 실행, 이전 갱신이 진행 중이면 이번 주기는 건너뜀
+     */
+    @Scheduled(fixedDelayString = "${cache.refresh-ahead.interval-ms:600000}",
+               initialDelayString = "${cache.refresh-ahead.interval-ms:600000}")
+    public void refreshAhead() {
+        if (!refreshAheadEnabled || !warmupEnabled || running.get()) {
+            return;
+        }
+        try {
+            batchExecutor.execute(this::refreshDue);
+        } catch (RejectedExecutionException e) {
+            log.info("캐시 선제 갱신 건너뜀: 배치 작업 큐가 가득 참");
+        }
+    }
+    
+    /**
+     * 만료가 가까운 상위 코드를 골라 갱신 시작 (완료 로그는 갱신이 끝난 뒤)
+     */
+    void refreshDue() {
+        List<String> hot = popularityService.hottest(topProductsCount);
+        if (hot.isEmpty()) {
+            return;
+        }
+        
+        Map<File, List<String>> due = new LinkedHashMap<>();
+        for (Map.Entry<File, List<String>> e : groupByDocument(hot).entrySet()) {
+            for (String insuCd : e.getValue()) {
+                if (isDue(e.getKey(), insuCd)) {
+                    due.computeIfAbsent(e.getKey(), k -> new ArrayList<>()).add(insuCd);
+                }
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        
+        warmDocuments(due, true).thenAccept(counts ->
+            log.info("캐시 선제 갱신: 문서 {} 개, 코드 {} 개 갱신, 실패 {} 개 문서", due.size(), counts[0], counts[1]));
+    }
+    
+    /**
+     * 캐시에 없거나 만료까지 refresh 창 이내로 남은 엔트리인지
+     */
+    boolean isDue(File pdfFile, String insuCd) {
+        Cache cache = cacheManager.getCache("parsingCache");
+        if (!(cache instanceof CaffeineCache)) {
+            return false;
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+        String key = hybridParsingService.generateCacheKey(pdfFile, insuCd);
+        Duration window = Duration.ofMinutes(refreshWindowMinutes);
+        
+        // 엔트리별 만료(비용 기반 TTL): 남은 시간으로 판단
+        Optional<Policy.VarExpiration<Object, Object>> variable = nativeCache.policy().expireVariably();
+        if (variable.isPresent()) {
+            Optional<Duration> remaining = variable.get().getExpiresAfter(key);
+            return remaining.isEmpty() || remaining.get().compareTo(window) <= 0;
+        }
+        
+        Optional<Policy.FixedExpiration<Object, Object>> expiry = nativeCache.policy().expireAfterWrite();
+        if (expiry.isEmpty()) {
+            return nativeCache.getIfPresent(key) == null;
+        }
+        Optional<Duration> age = expiry.get().ageOf(key);
+        if (age.isEmpty()) {
+            return true;
+        }
+        Duration ttl = expiry.get().getExpiresAfter();
+        return age.get().compareTo(ttl.minus(window)) >= 0;
+    }
+    
+    /**
+     * 문서 단위 병렬 파싱 (문서 순서 = 빈도순 제출 순서)
+     *
+     * @return 완료 시 {성공 코드 수, 실패 문서 수}
+     */
+    CompletableFuture<int[]> warmDocuments(Map<File, List<String>> documents, boolean refresh) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("캐시 워밍업/갱신이 이미 실행 중입니다");
+            return CompletableFuture.completedFuture(new int[]{0, 0});
+        }
+        
+        int threads = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, documents.size())), r -> {
+            Thread t = new Thread(r, "cache-warmup");
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger fail = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Map.Entry<File, List<String>> e : documents.entrySet()) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    success.addAndGet(hybridParsingService.parseDocument(e.getKey(), e.getValue(), refresh).size());
+                } catch (Exception ex) {
+                    fail.incrementAndGet();
+                    log.warn("캐시 워밍업 실패: {} - {}", e.getKey().getName(), ex.getMessage());
+                }
+                int n = done.incrementAndGet();
+                if (n % 10 == 0) {
+                    log.info("캐시 워밍업 진행: 문서 {}/{} ({} 개 코드 성공, {} 실패)",
+                            n, documents.size(), success.get(), fail.get());
+                }
+            }, executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .handle((v, e) -> {
+                executor.shutdown();
+                running.set(false);
+                return new int[]{success.get(), fail.get()};
+            });
+    }
+    
+    /**
+     * 워밍업 대상: 조회 빈도 상위 → 파일명 순 보충 (중복 제거, 최대 topProductsCount)
+     */
+    private List<String> targetCodes() {
+        LinkedHashSet<String> codes = new LinkedHashSet<>(popularityService.hottest(topProductsCount));
+        if (codes.size() < topProductsCount) {
+            for (String code : scanPdfFiles()) {
+                if (codes.size() >= topProductsCount) break;
+                codes.add(code);
+            }
+        }
+        return new ArrayList<>(codes);
+    }
+    
+    /**
+     * 코드를 PDF별로 묶음 (코드 순서 유지). 적재 기록 색인 → 파일명 → 디렉터리 탐색 순으로 PDF 결정
+     */
+    Map<File, List<String>> groupByDocument(List<String> codes) {
+        Map<String, File> index = ingestionPipelineService.codeIndex();
+        Map<File, List<String>> documents = new LinkedHashMap<>();
+        for (String insuCd : codes) {
+            File pdf = index.get(insuCd);
+            if (pdf == null) {
+                File named = Paths.get(pdfDir, "UW" + insuCd + ".pdf").toFile();
+                pdf = named.isFile() ? named : findPdfFile(insuCd);
+            }
+            if (pdf == null) {
+                log.debug("PDF 파일 없음: {}", insuCd);
+                continue;
+            }
+            documents.computeIfAbsent(pdf, k -> new ArrayList<>()).add(insuCd);
+        }
+        return documents;
+    }
+    
+    /**
+     * PDF 파일 스캔 (UW12345.pdf -> 12345, 코드 순)
      */
     private List<String> scanPdfFiles() {
         List<String> productCodes = new ArrayList<>();
         
         try {
             Path dir = Paths.get(pdfDir);
-            File[] files = dir.toFile().listFiles((d, name) -> 
-                name.toLowerCase().endsWith(".pdf"));
+            File[] files = dir.toFile().listFiles((d, name) -> name.matches("UW\\d{5}\\.pdf"));
             
             if (files != null) {
                 for (File file : files) {
-                    String fileName = file.getName();
-                    // UW12345.pdf -> 12345 추출
-                    if (fileName.matches("UW\\d{5}\\.pdf")) {
-                        String code = fileName.substring(2, 7);
-                        productCodes.add(code);
-                    }
+                    productCodes.add(file.getName().substring(2, 7));
                 }
             }
             
             // 정렬 (코드 순서)
             Collections.sort(productCodes);
-            
+        
         } catch (Exception e) {
             log.error("PDF 파일 스캔 실패: {}", e.getMessage(), e);
         }
@@ -161,7 +321,7 @@ public class CacheWarmupService {
     private File findPdfFile(String insuCd) {
         try {
             Path dir = Paths.get(pdfDir);
-            return PdfParser.findPdfForCode(dir, insuCd);
+            return PdfParser.findPdfForCode(dir, insuCd, sectionLocator);
         } catch (Exception e) {
             log.debug("PDF 파일 검색 실패: {} - {}", insuCd, e.getMessage());
             return null;
@@ -176,4 +336,3 @@ public class CacheWarmupService {
         warmupCache();
     }
 }
-
@@ -0,0 +1,456 @@
+package com.example.insu.service;
+
+import com.example.insu.util.DocumentScope;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PDF 디렉터리 변경 감시 (insu.pdf-dir)
+ *
+ * - WatchService로 생성/수정/삭제 감지, 등록 실패·이벤트 유실(OVERFLOW) 시 주기적 폴링으로 대체
+ * - 파일별 디바운스: 마지막 이벤트 후 insu.watch.debounce-ms 동안 조용하면 1회 처리 (쓰기 중 연속 이벤트 병합)
+ * - 크기/수정시각이 같으면 무시, 달라지면 SHA-256 재계산 → 내용이 같으면(touch) 무시
+ *   (시작 시 기준 해시는 감시 스레드에서 이벤트 처리보다 먼저 계산, 그 사이 바뀐 파일만 해시 없이 변경으로 취급)
+ * - 변경 시 모든 계층 무효화: parsingCache(문서 키), 코드 기반 캐시, 해시 메모, 섹션 인덱스, 한도 매트릭스, 적재 기록
+ * - 영향받은 코드(+ 새 코드표의 코드)는 batchExecutor에서 문서 단위로 백그라운드 재파싱
+ *   (큐가 가득 차면 재파싱을 건너뜀 → 캐시는 이미 무효화되어 다음 요청에서 다시 파싱, 감시 스레드에서 파싱하지 않음)
+ * - 업로드는 교체 전에 expect()로 새 지문을 등록하고 교체 후 applyChange()로 무효화 (재파싱은 업로드 색인 작업이 수행),
+ *   그 밖의 내부 변경은 DocumentChangedEvent
+ */
+@Slf4j
+@Service
+public class DocumentChangeMonitor {
+
+    /** 키에 보험코드가 '_' 구분 토큰으로 들어가는 캐시 (문서 키를 역산할 수 없어 코드 단위로 제거) */
+    private static final List<String> CODE_KEYED_CACHES = List.of("uwMappingParsingCache", "validationCache", "learningCache");
+    private static final Pattern UW_FILE = Pattern.compile("UW(\\d{5})\\.pdf");
+
+    private final ImprovedHybridParsingService hybridParsingService;
+    private final PdfSectionLocator sectionLocator;
+    private final LimitMatrixService limitMatrixService;
+    private final IngestionPipelineService ingestionPipelineService;
+    private final CacheManager cacheManager;
+    private final Executor reparseExecutor;
+    private final Path pdfDir;
+    private final boolean enabled;
+    private final long debounceMs;
+    private final long pollIntervalMs;
+    private final boolean forcePolling;
+    private final boolean reparse;
+
+    private final Map<Path, String[]> known = new ConcurrentHashMap<>();   // 파일 → {크기-수정시각, SHA-256(모르면 null)}
+    private final Map<Path, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "pdf-change");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong changed = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong reparsed = new AtomicLong();
+    private final AtomicLong reparseFailed = new AtomicLong();
+    private final AtomicLong reparseSkipped = new AtomicLong();
+    private final AtomicLong baselineHashed = new AtomicLong();
+    private volatile WatchService watchService;
+    private volatile ScheduledFuture<?> pollTask;
+    private volatile String mode = "STOPPED";
+    private volatile Instant lastChange;
+
+    public DocumentChangeMonitor(ImprovedHybridParsingService hybridParsingService,
+                                 PdfSectionLocator sectionLocator,
+                                 LimitMatrixService limitMatrixService,
+                                 IngestionPipelineService ingestionPipelineService,
+                                 CacheManager cacheManager,
+                                 @Qualifier("batchExecutor") Executor reparseExecutor,
+                                 @Value("${insu.pdf-dir}") String pdfDir,
+                                 @Value("${insu.watch.enabled:true}") boolean enabled,
+                                 @Value("${insu.watch.debounce-ms:2000}") long debounceMs,
+                                 @Value("${insu.watch.poll-interval-ms:30000}") long pollIntervalMs,
+                                 @Value("${insu.watch.force-polling:false}") boolean forcePolling,
+                                 @Value("${insu.watch.reparse:true}") boolean reparse) {
+        this.hybridParsingService = hybridParsingService;
+        this.sectionLocator = sectionLocator;
+        this.limitMatrixService = limitMatrixService;
+        this.ingestionPipelineService = ingestionPipelineService;
+        this.cacheManager = cacheManager;
+        this.reparseExecutor = reparseExecutor;
+        this.pdfDir = Paths.get(pdfDir).toAbsolutePath().normalize();
+        this.enabled = enabled;
+        this.debounceMs = debounceMs;
+        this.pollIntervalMs = pollIntervalMs;
+        this.forcePolling = forcePolling;
+        this.reparse = reparse;
+    }
+
+    /**
+     * 감시 시작: 현재 파일 상태(크기-수정시각)를 기록하고 내용 해시는 감시 스레드에서 먼저 계산
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || !"STOPPED".equals(mode)) {
+            return;
+        }
+        for (Path p : listPdfs()) {
+            known.put(p, new String[]{PdfSectionLocator.fingerprint(p.toFile()), null});
+        }
+        scheduler.execute(this::hashBaseline);
+        if (!forcePolling && startWatching()) {
+            mode = "WATCH";
+        } else {
+            startPolling();
+        }
+        log.info("[watch] PDF 변경 감시 시작: {} ({}, 파일 {}개)", pdfDir, mode, known.size());
+    }
+
+    /**
+     * 기준 해시 계산 (scheduler 단일 스레드 → 디바운스된 변경 처리보다 먼저 실행)
+     * - 등록 후 이미 바뀐 파일은 해시를 비워 둠 (이전 내용을 알 수 없으므로 변경으로 처리)
+     */
+    private void hashBaseline() {
+        for (Map.Entry<Path, String[]> e : known.entrySet()) {
+            String[] entry = e.getValue();
+            if (entry[1] != null) continue;
+            File file = e.getKey().toFile();
+            try {
+                String hash = IngestionPipelineService.sha256(file);
+                if (entry[0].equals(PdfSectionLocator.fingerprint(file))) {
+                    known.replace(e.getKey(), entry, new String[]{entry[0], hash});
+                    baselineHashed.incrementAndGet();
+                }
+            } catch (IOException ex) {
+                log.debug("[watch] 기준 해시 계산 실패: {} - {}", file.getName(), ex.getMessage());
+            }
+        }
+        log.info("[watch] 기준 해시 계산 완료: {}개", baselineHashed.get());
+    }
+
+    /** 애플리케이션 내부 변경 알림 (감시 이벤트와 같이 디바운스됨) */
+    @EventListener
+    public void onDocumentChanged(DocumentChangedEvent event) {
+        log.debug("[watch] 변경 이벤트: {}", event);
+        submit(event.getFile().toPath());
+    }
+
+    /**
+     * 곧 교체될 문서의 새 지문을 미리 등록 (업로드: 임시 파일 → 이름 변경 전에 호출)
+     * - 이름 변경은 크기/수정시각을 유지하므로 이동 직후의 감시 이벤트는 같은 지문으로 보고 무시
+     *
+     * @param stamp 임시 파일의 크기-수정시각 (PdfSectionLocator.fingerprint)
+     */
+    public void expect(File pdf, String stamp, String sha256) {
+        known.put(pdf.toPath().toAbsolutePath().normalize(), new String[]{stamp, sha256});
+    }
+
+    /**
+     * 애플리케이션이 직접 교체한 문서 반영 (업로드): 새 지문을 먼저 기록해 뒤따르는 감시 이벤트는 무시되게 하고 모든 계층 무효화
+     *
+     * @return 영향받은 보험코드 (재파싱은 호출자가 수행)
+     */
+    public Set<String> applyChange(File pdf, String sha256) {
+        Path path = pdf.toPath().toAbsolutePath().normalize();
+        known.put(path, new String[]{PdfSectionLocator.fingerprint(pdf), sha256});
+        changed.incrementAndGet();
+        lastChange = Instant.now();
+        return invalidate(pdf);
+    }
+
+    /**
+     * 문서 하나의 모든 캐시 계층 무효화
+     *
+     * @return 영향받은 보험코드 (캐시 키 + 적재 기록 + 파일명)
+     */
+    public Set<String> invalidate(File pdf) {
+        Set<String> codes = new LinkedHashSet<>();
+        Map<String, String> parsingKeys = hybridParsingService.invalidateDocument(pdf);
+        codes.addAll(parsingKeys.values());
+        try {
+            IngestionPipelineService.DocumentRecord record = ingestionPipelineService.record(pdf);
+            if (record != null && record.getCodes() != null) {
+                codes.addAll(record.getCodes().keySet());
+            }
+        } catch (IOException e) {
+            log.debug("[watch] 적재 기록 읽기 실패: {} - {}", pdf.getName(), e.getMessage());
+        }
+        Matcher m = UW_FILE.matcher(pdf.getName());
+        if (m.matches()) {
+            codes.add(m.group(1));
+        }
+
+        Cache parsingCache = cacheManager.getCache("parsingCache");
+        if (parsingCache != null) {
+            parsingKeys.keySet().forEach(parsingCache::evict);
+        }
+        int evicted = 0;
+        for (String name : CODE_KEYED_CACHES) {
+            evicted += evictCodes(cacheManager.getCache(name), codes);
+        }
+        sectionLocator.invalidate(pdf);
+        limitMatrixService.invalidate(pdf);
+        ingestionPipelineService.invalidate(pdf);
+
+        log.info("[watch] 무효화: {} - 코드 {}개, parsingCache {}건, 코드 기반 캐시 {}건",
+                pdf.getName(), codes.size(), parsingKeys.size(), evicted);
+        return codes;
+    }
+
+    /** 감시 상태 (모니터링용) */
+    public Map<String, Object> status() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("mode", mode);
+        out.put("dir", pdfDir.toString());
+        out.put("trackedFiles", known.size());
+        out.put("pending", pending.size());
+        out.put("events", events.get());
+        out.put("changed", changed.get());
+        out.put("unchanged", unchanged.get());
+        out.put("deleted", deleted.get());
+        out.put("reparsed", reparsed.get());
+        out.put("reparseFailed", reparseFailed.get());
+        out.put("reparseSkipped", reparseSkipped.get());
+        out.put("baselineHashed", baselineHashed.get());
+        out.put("lastChange", lastChange != null ? lastChange.toString() : null);
+        return out;
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        mode = "STOPPED";
+        closeWatchService();
+        scheduler.shutdownNow();
+    }
+
+    /** 파일별 디바운스: 이전 예약을 취소하고 다시 예약 */
+    void submit(Path path) {
+        Path file = path.toAbsolutePath().normalize();
+        if (!isPdf(file) || scheduler.isShutdown()) {
+            return;
+        }
+        events.incrementAndGet();
+        pending.compute(file, (k, prev) -> {
+            if (prev != null) {
+                prev.cancel(false);
+            }
+            return scheduler.schedule(() -> {
+                pending.remove(k);
+                process(k);
+            }, debounceMs, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /** 디바운스된 변경 1건 처리 (scheduler 단일 스레드에서 실행) */
+    private void process(Path path) {
+        File file = path.toFile();
+        String[] prev = known.get(path);
+        if (!file.isFile()) {
+            if (known.remove(path) != null) {
+                deleted.incrementAndGet();
+                lastChange = Instant.now();
+                invalidate(file);
+            }
+            return;
+        }
+
+        String stamp = PdfSectionLocator.fingerprint(file);
+        if (prev != null && stamp.equals(prev[0])) {
+            unchanged.incrementAndGet();
+            return;
+        }
+        String hash;
+        try {
+            hash = IngestionPipelineService.sha256(file);
+        } catch (IOException e) {
+            // 아직 쓰는 중이거나 잠김 → 다음 이벤트/폴링에서 재시도
+            log.debug("[watch] 지문 계산 실패: {} - {}", file.getName(), e.getMessage());
+            return;
+        }
+        known.put(path, new String[]{stamp, hash});
+        if (prev != null && hash.equals(prev[1])) {
+            unchanged.incrementAndGet();
+            return;
+        }
+
+        changed.incrementAndGet();
+        lastChange = Instant.now();
+        Set<String> codes = invalidate(file);
+        if (reparse) {
+            try {
+                reparseExecutor.execute(() -> reparse(file, codes));
+            } catch (RejectedExecutionException e) {
+                reparseSkipped.incrementAndGet();
+                log.info("[watch] 재파싱 건너뜀 (작업 큐 가득 참, 다음 요청에서 파싱): {}", file.getName());
+            }
+        }
+    }
+
+    /** 이전 코드 + 새 코드표의 코드를 문서 단위로 다시 파싱 (텍스트 추출은 1회) */
+    private void reparse(File file, Set<String> previousCodes) {
+        long startTime = System.currentTimeMillis();
+        try (DocumentScope.Scope scope = DocumentScope.open()) {
+            Set<String> codes = new LinkedHashSet<>(previousCodes);
+            codes.addAll(hybridParsingService.discoverCodes(file));
+            Map<String, Map<String, String>> results = hybridParsingService.parseDocument(file, codes, true);
+            reparsed.incrementAndGet();
+            log.info("[watch] 재파싱 완료: {} - {}개 코드, {}ms",
+                    file.getName(), results.size(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            reparseFailed.incrementAndGet();
+            log.warn("[watch] 재파싱 실패: {} - {}", file.getName(), e.getMessage());
+        }
+    }
+
+    private boolean startWatching() {
+        try {
+            WatchService ws = FileSystems.getDefault().newWatchService();
+            pdfDir.register(ws, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            watchService = ws;
+            Thread t = new Thread(() -> watchLoop(ws), "pdf-watch");
+            t.setDaemon(true);
+            t.start();
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            log.warn("[watch] WatchService 등록 실패, 폴링으로 대체: {} - {}", pdfDir, e.toString());
+            closeWatchService();
+            return false;
+        }
+    }
+
+    private void watchLoop(WatchService ws) {
+        try {
+            while (true) {
+                WatchKey key = ws.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        log.info("[watch] 이벤트 유실(OVERFLOW), 전체 재검사");
+                        scheduler.execute(this::rescan);
+                    } else {
+                        submit(pdfDir.resolve((Path) event.context()));
+                    }
+                }
+                if (!key.reset()) {
+                    log.warn("[watch] 감시 키 무효화 (디렉터리 삭제/접근 불가), 폴링으로 대체: {}", pdfDir);
+                    closeWatchService();
+                    startPolling();
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // stop()
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void startPolling() {
+        if (pollTask != null || scheduler.isShutdown()) {
+            return;
+        }
+        mode = "POLL";
+        long interval = Math.max(1000, pollIntervalMs);
+        pollTask = scheduler.scheduleWithFixedDelay(this::rescan, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /** 디렉터리 전체를 기록과 비교해 추가/변경/삭제 파일 제출 */
+    private void rescan() {
+        try {
+            Set<Path> seen = new HashSet<>();
+            for (Path p : listPdfs()) {
+                seen.add(p);
+                String[] prev = known.get(p);
+                if (prev == null || !prev[0].equals(PdfSectionLocator.fingerprint(p.toFile()))) {
+                    submit(p);
+                }
+            }
+            for (Path p : new ArrayList<>(known.keySet())) {
+                if (!seen.contains(p)) {
+                    submit(p);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("[watch] 재검사 실패: {}", e.toString());
+        }
+    }
+
+    private List<Path> listPdfs() {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(pdfDir)) {
+            return files;
+        }
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(pdfDir, p -> isPdf(p) && Files.isRegularFile(p))) {
+            ds.forEach(p -> files.add(p.toAbsolutePath().normalize()));
+        } catch (IOException e) {
+            log.warn("[watch] PDF 목록 조회 실패: {} - {}", pdfDir, e.getMessage());
+        }
+        return files;
+    }
+
+    private static boolean isPdf(Path p) {
+        Path name = p.getFileName();
+        return name != null && name.toString().toLowerCase().endsWith(".pdf");
+    }
+
+    /** 키를 '_'로 나눈 토큰 중 하나가 영향받은 코드면 제거 (Caffeine 캐시만) */
+    private static int evictCodes(Cache cache, Set<String> codes) {
+        if (!(cache instanceof CaffeineCache) || codes.isEmpty()) {
+            return 0;
+        }
+        Set<Object> keys = ((CaffeineCache) cache).getNativeCache().asMap().keySet();
+        int before = keys.size();
+        keys.removeIf(k -> Arrays.stream(String.valueOf(k).split("_")).anyMatch(codes::contains));
+        return before - keys.size();
+    }
+
+    private void closeWatchService() {
+        WatchService ws = watchService;
+        watchService = null;
+        if (ws != null) {
+            try {
+                ws.close();
+            } catch (IOException e) {
+                log.debug("[watch] WatchService 종료 실패: {}", e.toString());
+            }
+        }
+    }
+}
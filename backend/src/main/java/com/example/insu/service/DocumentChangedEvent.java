@@ -0,0 +1,32 @@
+package com.example.insu.service;
+
+import java.io.File;
+
+/**
+ * PDF 문서 변경 이벤트 (업로드/교체/삭제)
+ * - FileController 업로드 완료 시 직접 발행, 디렉터리 감시도 같은 경로로 처리
+ */
+public class DocumentChangedEvent {
+
+    private final File file;
+    private final String source;
+
+    public DocumentChangedEvent(File file, String source) {
+        this.file = file;
+        this.source = source;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /** 발생 경로 (upload, watch, poll) */
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentChangedEvent{" + file.getName() + ", " + source + "}";
+    }
+}
@@ -1,9 +1,9 @@
 package com.example.insu.service;
 
+import com.example.insu.util.DocumentScope;
+import com.example.insu.util.PdfLoader;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
 
 import java.io.File;
 import java.util.LinkedHashMap;
@@ -144,10 +144,7 @@ public class FewShotLlmParsingStrategy implements ParsingStrategy {
      * PDF 텍스트 추출
      */
     private String extractPdfText(File pdfFile) throws Exception {
-        try (PDDocument document = PDDocument.load(pdfFile)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
-        }
+        return DocumentScope.text(pdfFile, "raw", f -> PdfLoader.text(f, false, 1, Integer.MAX_VALUE));
     }
     
     /**
@@ -0,0 +1,222 @@
+package com.example.insu.service;
+
+import com.example.insu.dto.LearningStatistics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 헬스/메트릭 스냅샷
+ *
+ * - 구성요소(CSV Few-Shot, 학습 통계, 파싱 메트릭, 폴백)별 상태를 백그라운드에서 주기적으로 갱신
+ * - 헬스 요청은 마지막 스냅샷만 읽음 → 프로브가 DB COUNT/전체 조회를 유발하지 않음
+ * - 갱신 실패 시 직전 값을 유지하고 오류와 갱신 시각(경과 시간)을 함께 노출 → 오래된 값은 stale 표시
+ * - 갱신은 전용 스레드(health-refresh)에서 실행 → 공용 @Scheduled 스레드를 오래 잡는 작업이 있어도 스냅샷이 밀리지 않음
+ */
+@Slf4j
+@Service
+public class HealthSnapshotService {
+
+    public static final String CSV_FEW_SHOT = "csvFewShot";
+    public static final String LEARNING = "learning";
+    public static final String PARSING = "parsing";
+    public static final String FALLBACK = "fallback";
+
+    private final Map<String, Supplier<Map<String, Object>>> sources;
+    private final Map<String, ComponentSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final long refreshIntervalMs;
+    private final long staleAfterMs;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "health-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Autowired
+    public HealthSnapshotService(IncrementalLearningService learningService,
+                                 ObjectProvider<UwCodeMappingFewShotService> uwCodeMappingFewShotService,
+                                 ObjectProvider<ParsingMetricsService> metricsService,
+                                 ObjectProvider<ParsingFallbackService> fallbackService,
+                                 @Value("${insu.health.refresh-interval-ms:30000}") long refreshIntervalMs,
+                                 @Value("${insu.health.stale-after-ms:0}") long staleAfterMs) {
+        this(components(learningService, uwCodeMappingFewShotService.getIfAvailable(),
+                        metricsService.getIfAvailable(), fallbackService.getIfAvailable()),
+             refreshIntervalMs, staleAfterMs > 0 ? staleAfterMs : refreshIntervalMs * 3);
+    }
+
+    HealthSnapshotService(Map<String, Supplier<Map<String, Object>>> sources, long staleAfterMs) {
+        this(sources, 0, staleAfterMs);
+    }
+
+    /** refreshIntervalMs <= 0 이면 주기 갱신 없음 (refresh() 직접 호출) */
+    HealthSnapshotService(Map<String, Supplier<Map<String, Object>>> sources, long refreshIntervalMs, long staleAfterMs) {
+        this.sources = sources;
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.staleAfterMs = staleAfterMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (refreshIntervalMs > 0) {
+            scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private static Map<String, Supplier<Map<String, Object>>> components(
+            IncrementalLearningService learningService,
+            UwCodeMappingFewShotService uwCodeMappingFewShotService,
+            ParsingMetricsService metricsService,
+            ParsingFallbackService fallbackService) {
+        Map<String, Supplier<Map<String, Object>>> sources = new LinkedHashMap<>();
+        if (uwCodeMappingFewShotService != null) {
+            sources.put(CSV_FEW_SHOT, uwCodeMappingFewShotService::getStatistics);
+        }
+        sources.put(LEARNING, () -> learningStatistics(learningService.getStatistics()));
+        if (metricsService != null) {
+            sources.put(PARSING, metricsService::getCurrentMetrics);
+        }
+        if (fallbackService != null) {
+            sources.put(FALLBACK, fallbackService::getFallbackStatistics);
+        }
+        return sources;
+    }
+
+    private static Map<String, Object> learningStatistics(LearningStatistics stats) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("status", "OK");
+        result.put("totalCorrections", stats.getTotalCorrections());
+        result.put("totalPatterns", stats.getTotalPatterns());
+        result.put("totalFewShotExamples", stats.getTotalFewShotExamples());
+        result.put("currentAccuracy", stats.getCurrentAccuracy());
+        result.put("accuracyImprovement", stats.getAccuracyImprovement());
+        result.put("fieldAccuracies", Map.of(
+            "insuTerm", stats.getInsuTermAccuracy(),
+            "payTerm", stats.getPayTermAccuracy(),
+            "ageRange", stats.getAgeRangeAccuracy(),
+            "renew", stats.getRenewAccuracy()
+        ));
+        return result;
+    }
+
+    /**
+     * 전체 구성요소 갱신 (구성요소별 독립: 하나가 실패해도 나머지는 갱신)
+     */
+    public void refresh() {
+        for (String name : sources.keySet()) {
+            refresh(name);
+        }
+    }
+
+    void refresh(String name) {
+        Supplier<Map<String, Object>> source = sources.get(name);
+        if (source == null) return;
+
+        long started = System.currentTimeMillis();
+        ComponentSnapshot previous = snapshots.get(name);
+        try {
+            Map<String, Object> data = source.get();
+            snapshots.put(name, new ComponentSnapshot(data, started, System.currentTimeMillis() - started, null));
+        } catch (Exception e) {
+            log.warn("[health] {} 갱신 실패: {}", name, e.getMessage());
+            snapshots.put(name, new ComponentSnapshot(
+                previous != null ? previous.data : null,
+                previous != null ? previous.refreshedAt : 0,
+                System.currentTimeMillis() - started,
+                e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+        }
+    }
+
+    public boolean has(String name) {
+        return sources.containsKey(name);
+    }
+
+    /**
+     * 구성요소 데이터 (미구성이면 NOT_AVAILABLE, 첫 갱신 전이면 PENDING, 성공한 적 없이 실패면 ERROR)
+     */
+    public Map<String, Object> data(String name) {
+        if (!sources.containsKey(name)) {
+            return Map.of("status", "NOT_AVAILABLE");
+        }
+        ComponentSnapshot snapshot = snapshots.get(name);
+        if (snapshot == null) {
+            return Map.of("status", "PENDING");
+        }
+        if (snapshot.data == null) {
+            return Map.of("status", "ERROR", "message", snapshot.error);
+        }
+        return snapshot.data;
+    }
+
+    /**
+     * 구성요소별 신선도: 마지막 성공 시각, 경과 시간, stale 여부, 마지막 갱신 소요/오류
+     */
+    public Map<String, Object> freshness() {
+        long now = System.currentTimeMillis();
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (String name : sources.keySet()) {
+            ComponentSnapshot snapshot = snapshots.get(name);
+            Map<String, Object> f = new LinkedHashMap<>();
+            if (snapshot == null || snapshot.refreshedAt == 0) {
+                f.put("refreshedAt", null);
+                f.put("ageMs", null);
+                f.put("stale", true);
+            } else {
+                long age = now - snapshot.refreshedAt;
+                f.put("refreshedAt", snapshot.refreshedAt);
+                f.put("ageMs", age);
+                f.put("stale", age > staleAfterMs);
+            }
+            if (snapshot != null) {
+                f.put("lastRefreshMs", snapshot.durationMs);
+                f.put("error", snapshot.error);
+            }
+            out.put(name, f);
+        }
+        return out;
+    }
+
+    /** 오래되었거나 마지막 갱신이 실패한 구성요소가 있으면 DEGRADED */
+    public String overallStatus() {
+        long now = System.currentTimeMillis();
+        for (String name : sources.keySet()) {
+            ComponentSnapshot snapshot = snapshots.get(name);
+            if (snapshot == null || snapshot.error != null
+                    || snapshot.refreshedAt == 0 || now - snapshot.refreshedAt > staleAfterMs) {
+                return "DEGRADED";
+            }
+        }
+        return "UP";
+    }
+
+    private static final class ComponentSnapshot {
+        private final Map<String, Object> data;
+        private final long refreshedAt;
+        private final long durationMs;
+        private final String error;
+
+        ComponentSnapshot(Map<String, Object> data, long refreshedAt, long durationMs, String error) {
+            this.data = data;
+            this.refreshedAt = refreshedAt;
+            this.durationMs = durationMs;
+            this.error = error;
+        }
+    }
+}
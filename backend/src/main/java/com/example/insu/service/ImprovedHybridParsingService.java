@@ -1,14 +1,21 @@
 package com.example.insu.service;
 
+import com.example.insu.util.DocumentScope;
+import com.example.insu.util.PdfParser;
+import com.example.insu.util.TraceContext;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.security.MessageDigest;
 import java.util.*;
 import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 개선된 하이브리드 파싱 서비스 (Caffeine Cache 적용)
@@ -22,10 +29,18 @@ import java.util.Base64;
 public class ImprovedHybridParsingService {
     
     private final List<ParsingStrategy> strategies;
+    private final ParseTracer parseTracer;
+    private final CacheManager cacheManager;
+    private final Map<String, String[]> fileHashes = new ConcurrentHashMap<>();   // 경로 → {크기-수정시각, 해시}
+    private final Map<String, CacheSource> sources = new ConcurrentHashMap<>();   // 캐시 키 → 원본/계산 비용
+    private final Map<String, List<String>> documentCodes = new ConcurrentHashMap<>();   // PDF 해시 → 코드 목록
     private static final String PARSER_VERSION = "1.0.0";  // 배포 시 변경
     
-    public ImprovedHybridParsingService(List<ParsingStrategy> strategies) {
+    public ImprovedHybridParsingService(List<ParsingStrategy> strategies, ParseTracer parseTracer,
+                                        CacheManager cacheManager) {
         this.strategies = strategies;
+        this.parseTracer = parseTracer;
+        this.cacheManager = cacheManager;
         
         // 우선순위 순으로 정렬
         this.strategies.sort(Comparator.comparingInt(ParsingStrategy::getPriority));
@@ -54,6 +69,187 @@ public class ImprovedHybridParsingService {
      */
     @Cacheable(value = "parsingCache", key = "#root.target.generateCacheKey(#pdfFile, #insuCd)")
     public Map<String, String> parseWithMultipleStrategies(File pdfFile, String insuCd) {
+        try (TraceContext.Scope ignored = parseTracer.trace("hybridParse", insuCd)) {
+            long t0 = System.nanoTime();
+            Map<String, String> result = parseWithStrategies(pdfFile, insuCd);
+            recordSource(generateCacheKey(pdfFile, insuCd), pdfFile, insuCd, System.nanoTime() - t0);
+            return result;
+        }
+    }
+    
+    /**
+     * 캐시 갱신(refreshAfterWrite)용 재파싱: 키의 원본 PDF/코드로 다시 파싱
+     * - PDF가 없어졌거나 내용이 바뀌어 키가 달라졌으면 null (엔트리 제거)
+     * - 알 수 없는 키는 예외 (기존 값 유지)
+     */
+    public Map<String, String> reload(Object key) {
+        CacheSource source = sources.get(String.valueOf(key));
+        if (source == null) {
+            throw new IllegalStateException("원본을 알 수 없는 캐시 키: " + key);
+        }
+        if (!source.pdfFile.isFile() || !key.equals(generateCacheKey(source.pdfFile, source.insuCd))) {
+            log.info("캐시 갱신 생략 (PDF 변경/삭제): {}", key);
+            return null;
+        }
+        
+        try (TraceContext.Scope ignored = parseTracer.trace("refreshParse", source.insuCd)) {
+            long t0 = System.nanoTime();
+            Map<String, String> result = parseWithStrategies(source.pdfFile, source.insuCd);
+            recordSource((String) key, source.pdfFile, source.insuCd, System.nanoTime() - t0);
+            log.info("캐시 백그라운드 갱신 완료: {}", key);
+            return result;
+        }
+    }
+    
+    /** 키의 마지막 계산 비용 (모르면 -1) */
+    public long loadCostNanos(Object key) {
+        CacheSource source = sources.get(String.valueOf(key));
+        return source != null ? source.costNanos : -1;
+    }
+    
+    /** 캐시에서 제거된 키의 원본 정보 정리 */
+    public void forget(Object key) {
+        sources.remove(String.valueOf(key));
+    }
+    
+    /**
+     * 문서 교체/삭제 시 무효화: 해시 메모를 지우고 이 문서로 만든 parsingCache 키 반환
+     * (키 → 보험코드, 캐시 엔트리 제거는 호출자가 수행)
+     */
+    public Map<String, String> invalidateDocument(File pdfFile) {
+        String path = pdfFile.getAbsolutePath();
+        fileHashes.remove(path);
+        Map<String, String> keys = new LinkedHashMap<>();
+        sources.forEach((key, source) -> {
+            if (source.pdfFile.getAbsolutePath().equals(path)) {
+                keys.put(key, source.insuCd);
+            }
+        });
+        return keys;
+    }
+    
+    private void recordSource(String key, File pdfFile, String insuCd, long costNanos) {
+        sources.put(key, new CacheSource(pdfFile, insuCd, costNanos));
+    }
+    
+    /**
+     * 문서 단위 파싱: block3 코드표의 모든 코드를 한 번에 파싱해 코드별 parsingCache 엔트리 채움
+     * 
+     * - PDF 해시는 문서당 1회 계산 (코드별 키 형식은 parseWithMultipleStrategies와 동일)
+     * - DocumentScope 안에서 실행 → 전략들의 텍스트 추출도 문서당 1회
+     * - 이미 캐시된 코드는 건너뜀
+     * 
+     * @return 보험코드 → 파싱 결과 (코드표 순서)
+     */
+    public Map<String, Map<String, String>> parseDocument(File pdfFile) throws IOException {
+        try (DocumentScope.Scope scope = DocumentScope.open()) {
+            return parseDocument(pdfFile, discoverCodes(pdfFile));
+        }
+    }
+    
+    /**
+     * 문서 단위 캐시 조회 (파싱/텍스트 추출 없음)
+     * - 코드 목록은 이 문서(같은 해시)를 파싱할 때 기록한 코드 기준
+     * 
+     * @return 보험코드 → 캐시된 결과 (아직 캐시에 없는 코드는 제외)
+     */
+    public Map<String, Map<String, String>> cachedDocument(File pdfFile) {
+        Map<String, Map<String, String>> results = new LinkedHashMap<>();
+        Cache cache = cacheManager.getCache("parsingCache");
+        String pdfHash = calculateFileHash(pdfFile);
+        if (cache == null) {
+            return results;
+        }
+        for (String insuCd : documentCodes(pdfFile)) {
+            Cache.ValueWrapper hit = cache.get(cacheKey(pdfHash, insuCd));
+            if (hit != null && hit.get() != null) {
+                @SuppressWarnings("unchecked")
+                Map<String, String> value = (Map<String, String>) hit.get();
+                results.put(insuCd, value);
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * 문서 단위 파싱에서 기록한 코드 목록 (파싱한 적 없거나 내용이 바뀌었으면 빈 목록)
+     */
+    public List<String> documentCodes(File pdfFile) {
+        return documentCodes.getOrDefault(calculateFileHash(pdfFile), List.of());
+    }
+    
+    /**
+     * 문서 단위 파싱 (코드 목록 지정)
+     */
+    public Map<String, Map<String, String>> parseDocument(File pdfFile, Collection<String> insuCds) {
+        return parseDocument(pdfFile, insuCds, false);
+    }
+    
+    /**
+     * 문서 단위 파싱 (refresh=true면 캐시를 무시하고 다시 파싱해 덮어씀 → 만료 전 선제 갱신)
+     */
+    public Map<String, Map<String, String>> parseDocument(File pdfFile, Collection<String> insuCds, boolean refresh) {
+        Map<String, Map<String, String>> results = new LinkedHashMap<>();
+        if (insuCds.isEmpty()) {
+            return results;
+        }
+        
+        Cache cache = cacheManager.getCache("parsingCache");
+        String pdfHash = calculateFileHash(pdfFile);
+        documentCodes.merge(pdfHash, List.copyOf(insuCds), (known, added) -> {
+            LinkedHashSet<String> codes = new LinkedHashSet<>(known);
+            codes.addAll(added);
+            return List.copyOf(codes);
+        });
+        int cached = 0;
+        long startTime = System.currentTimeMillis();
+        
+        try (DocumentScope.Scope scope = DocumentScope.open();
+             TraceContext.Scope ignored = parseTracer.trace("documentParse", pdfFile.getName())) {
+            for (String insuCd : insuCds) {
+                String key = cacheKey(pdfHash, insuCd);
+                Cache.ValueWrapper hit = cache != null && !refresh ? cache.get(key) : null;
+                if (hit != null && hit.get() != null) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, String> value = (Map<String, String>) hit.get();
+                    results.put(insuCd, value);
+                    cached++;
+                    continue;
+                }
+                
+                long t0 = System.nanoTime();
+                Map<String, String> result = parseWithStrategies(pdfFile, insuCd);
+                recordSource(key, pdfFile, insuCd, System.nanoTime() - t0);
+                if (cache != null) {
+                    cache.put(key, result);
+                }
+                results.put(insuCd, result);
+            }
+        }
+        
+        log.info("=== 문서 단위 파싱 완료: {} - {} 개 코드 (캐시 {} 개), {}ms ===",
+                pdfFile.getName(), results.size(), cached, System.currentTimeMillis() - startTime);
+        return results;
+    }
+    
+    /**
+     * 문서의 보험코드 목록 (block3 코드표 + 4열 코드표, 없으면 파일명 코드)
+     */
+    public List<String> discoverCodes(File pdfFile) throws IOException {
+        PdfParser.Sections sec = PdfParser.splitSections(PdfParser.readAllText(pdfFile));
+        LinkedHashSet<String> codes = new LinkedHashSet<>(PdfParser.parseCodeTable(sec.block3).keySet());
+        codes.addAll(PdfParser.parseCodeTableFourCols(sec.block3).keySet());
+        
+        if (codes.isEmpty()) {
+            String fileName = pdfFile.getName();
+            if (fileName.matches("UW\\d{5}\\.pdf")) {
+                codes.add(fileName.substring(2, 7));
+            }
+        }
+        return new ArrayList<>(codes);
+    }
+    
+    private Map<String, String> parseWithStrategies(File pdfFile, String insuCd) {
         log.info("=== 개선된 하이브리드 파싱 시작: {} ===", insuCd);
         
         // 각 전략 시도
@@ -114,14 +310,28 @@ public class ImprovedHybridParsingService {
      * - 파서 버전 (배포 시 무효화)
      */
     public String generateCacheKey(File pdfFile, String insuCd) {
-        String pdfHash = calculateFileHash(pdfFile);
+        return cacheKey(calculateFileHash(pdfFile), insuCd);
+    }
+    
+    private static String cacheKey(String pdfHash, String insuCd) {
         return String.format("%s_%s_%s", pdfHash, insuCd, PARSER_VERSION);
     }
     
     /**
-     * PDF 파일 해시 계산 (SHA-256)
+     * PDF 파일 해시 계산 (SHA-256, 크기/수정시각이 같으면 이전 해시 재사용)
      */
     private String calculateFileHash(File file) {
+        String stamp = file.length() + "-" + file.lastModified();
+        String[] memo = fileHashes.get(file.getAbsolutePath());
+        if (memo != null && memo[0].equals(stamp)) {
+            return memo[1];
+        }
+        String hash = computeFileHash(file);
+        fileHashes.put(file.getAbsolutePath(), new String[]{stamp, hash});
+        return hash;
+    }
+    
+    private String computeFileHash(File file) {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
             try (FileInputStream fis = new FileInputStream(file)) {
@@ -197,6 +407,21 @@ public class ImprovedHybridParsingService {
         return result;
     }
     
+    /**
+     * 캐시 엔트리 원본 (백그라운드 갱신/비용 기반 만료용)
+     */
+    private static class CacheSource {
+        private final File pdfFile;
+        private final String insuCd;
+        private final long costNanos;
+        
+        CacheSource(File pdfFile, String insuCd, long costNanos) {
+            this.pdfFile = pdfFile;
+            this.insuCd = insuCd;
+            this.costNanos = costNanos;
+        }
+    }
+    
     /**
      * 파싱 결과 클래스
      */
@@ -3,6 +3,7 @@ package com.example.insu.service;
 import com.example.insu.dto.*;
 import com.example.insu.mapper.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +24,10 @@ public class IncrementalLearningService {
     private final FewShotExampleMapper fewShotExampleMapper;
     private final LearningStatisticsMapper statisticsMapper;
     private final FewShotExamples fewShotExamples;
+    private final BatchPersistenceService batchPersistence;
+    
+    @Autowired(required = false)
+    private LearnedPatternScoringService patternScoringService;
     
     private double initialAccuracy = 75.0; // 기본 초기 정확도
     
@@ -31,12 +36,14 @@ public class IncrementalLearningService {
             LearnedPatternMapper learnedPatternMapper,
             FewShotExampleMapper fewShotExampleMapper,
             LearningStatisticsMapper statisticsMapper,
-            FewShotExamples fewShotExamples) {
+            FewShotExamples fewShotExamples,
+            BatchPersistenceService batchPersistence) {
         this.correctionLogMapper = correctionLogMapper;
         this.learnedPatternMapper = learnedPatternMapper;
         this.fewShotExampleMapper = fewShotExampleMapper;
         this.statisticsMapper = statisticsMapper;
         this.fewShotExamples = fewShotExamples;
+        this.batchPersistence = batchPersistence;
     }
     
     /**
@@ -99,6 +106,31 @@ public class IncrementalLearningService {
         log.info("✅ 학습 완료: {}", insuCd);
     }
     
+    /**
+     * 수정사항 일괄 기록 및 학습 (트랜잭션)
+     * 로그 저장 / 패턴 UPSERT / 학습 완료 처리는 각각 배치로, 통계 갱신은 1회
+     */
+    @Transactional
+    public int logCorrections(List<CorrectionInput> inputs) {
+        List<CorrectionLog> logs = new ArrayList<>(inputs.size());
+        for (CorrectionInput in : inputs) {
+            logs.add(buildCorrectionLog(
+                in.insuCd, in.originalResult, in.correctedResult, in.pdfText, in.correctionReason
+            ));
+        }
+        batchPersistence.insertCorrectionLogs(logs);
+        log.info("✅ CORRECTION_LOG 일괄 저장 완료: {} 건", logs.size());
+        
+        learnFromCorrections(logs);
+        updateStatistics();
+        for (CorrectionLog correctionLog : logs) {
+            generateFewShotExampleIfNeeded(correctionLog.getInsuCd(), correctionLog);
+        }
+        
+        log.info("✅ 일괄 학습 완료: {} 건", logs.size());
+        return logs.size();
+    }
+    
     /**
      * CorrectionLog 객체 생성
      */
@@ -170,43 +202,56 @@ public class IncrementalLearningService {
      * 개별 수정사항에서 패턴 학습
      */
     public void learnFromCorrection(CorrectionLog correctionLog) {
+        learnFromCorrections(List.of(correctionLog));
+    }
+    
+    /**
+     * 여러 수정사항에서 패턴 학습 (LEARNED_PATTERN UPSERT / 학습 완료 처리를 각각 배치로)
+     * 로그의 LEARNING_PATTERN_ID는 마지막으로 학습한 필드의 패턴 ID (학습한 필드가 없으면 LOG_ID)
+     */
+    @Transactional
+    public void learnFromCorrections(List<CorrectionLog> correctionLogs) {
         String[] fields = {"insuTerm", "payTerm", "ageRange", "renew"};
-        Long lastPatternId = null;
-        
-        for (String fieldName : fields) {
-            String original = getFieldValue(correctionLog, fieldName, true);
-            String corrected = getFieldValue(correctionLog, fieldName, false);
-            
-            if (original != null && corrected != null && !original.equals(corrected)) {
-                // LEARNED_PATTERN에 저장 (UPSERT)
-                LearnedPattern pattern = LearnedPattern.builder()
-                    .insuCd(correctionLog.getInsuCd())
-                    .fieldName(fieldName)
-                    .patternValue(corrected)
-                    .confidenceScore(80) // 사용자 수정은 80점으로 시작
-                    .learningSource("USER_CORRECTION")
-                    .learnedFromLogId(correctionLog.getId())
-                    .priority(50)
-                    .build();
-                
-                learnedPatternMapper.upsert(pattern);
+        List<LearnedPattern> patterns = new ArrayList<>();
+        List<BatchPersistenceService.LearnedMark> marks = new ArrayList<>(correctionLogs.size());
+        
+        for (CorrectionLog correctionLog : correctionLogs) {
+            String lastField = null;
+            for (String fieldName : fields) {
+                String original = getFieldValue(correctionLog, fieldName, true);
+                String corrected = getFieldValue(correctionLog, fieldName, false);
                 
-                // 패턴 ID 조회 (마지막으로 생성/업데이트된 패턴 ID)
-                LearnedPattern savedPattern = learnedPatternMapper.selectByInsuCdAndField(
-                    correctionLog.getInsuCd(), fieldName
-                );
-                if (savedPattern != null) {
-                    lastPatternId = savedPattern.getPatternId();
+                if (original != null && corrected != null && !original.equals(corrected)) {
+                    patterns.add(LearnedPattern.builder()
+                        .insuCd(correctionLog.getInsuCd())
+                        .fieldName(fieldName)
+                        .patternValue(corrected)
+                        .confidenceScore(80) // 사용자 수정은 80점으로 시작
+                        .learningSource("USER_CORRECTION")
+                        .learnedFromLogId(correctionLog.getId())
+                        .priority(50)
+                        .build());
+                    lastField = fieldName;
+                    
+                    log.info("패턴 학습: {}_{} = {}", 
+                        correctionLog.getInsuCd(), fieldName, corrected);
                 }
-                
-                log.info("패턴 학습: {}_{} = {}", 
-                    correctionLog.getInsuCd(), fieldName, corrected);
             }
+            marks.add(new BatchPersistenceService.LearnedMark(
+                correctionLog.getId(), correctionLog.getInsuCd(), lastField));
         }
         
-        // 학습 완료 표시 (마지막 패턴 ID 또는 correctionLog ID 사용)
-        Long patternIdForLog = lastPatternId != null ? lastPatternId : correctionLog.getId();
-        correctionLogMapper.markAsLearned(correctionLog.getId(), patternIdForLog);
+        // LEARNED_PATTERN에 저장 (UPSERT)
+        batchPersistence.upsertPatterns(patterns);
+        
+        // 학습 완료 표시
+        batchPersistence.markAsLearned(marks);
+        
+        // 패턴 순위 캐시 무효화는 배치 쓰기가 모두 끝난 뒤 등록 → 커밋 후에 제거 (롤백되면 기존 순위 유지)
+        if (patternScoringService != null) {
+            patterns.stream().map(LearnedPattern::getInsuCd).distinct()
+                .forEach(patternScoringService::invalidate);
+        }
     }
     
     /**
@@ -224,6 +269,8 @@ public class IncrementalLearningService {
     
     /**
      * 학습된 패턴 적용 (파싱 시 호출)
+     * - 스코어링 서비스가 있으면 보험코드당 한 번 만든 순위에서 필드별 최고 점수 적용 가능 패턴 (DB 조회 없음)
+     * - 없으면 필드별로 DB에서 우선순위/신뢰도 순 첫 패턴
      */
     public Map<String, String> applyLearnedPatterns(
             String insuCd, 
@@ -231,12 +278,17 @@ public class IncrementalLearningService {
         
         Map<String, String> enhanced = new HashMap<>(rawResult);
         boolean applied = false;
+        Map<String, LearnedPatternScoringService.ScoredPattern> best = patternScoringService != null
+            ? patternScoringService.bestApplicable(insuCd) : null;
         
-        // DB에서 학습된 패턴 조회
         for (String fieldName : Arrays.asList("insuTerm", "payTerm", "ageRange", "renew")) {
-            LearnedPattern pattern = learnedPatternMapper.selectByInsuCdAndField(
-                insuCd, fieldName
-            );
+            LearnedPattern pattern;
+            if (best != null) {
+                LearnedPatternScoringService.ScoredPattern scored = best.get(fieldName);
+                pattern = scored != null ? scored.getPattern() : null;
+            } else {
+                pattern = learnedPatternMapper.selectByInsuCdAndField(insuCd, fieldName);
+            }
             
             if (pattern != null) {
                 enhanced.put(fieldName, pattern.getPatternValue());
@@ -244,6 +296,9 @@ public class IncrementalLearningService {
                 
                 // 적용 횟수 증가
                 learnedPatternMapper.incrementApplyCount(pattern.getPatternId(), 0);
+                if (patternScoringService != null) {
+                    patternScoringService.recordApply(insuCd, fieldName, pattern.getPatternId(), false);
+                }
                 
                 log.debug("학습 패턴 적용: {}_{} = {}", 
                     insuCd, fieldName, pattern.getPatternValue());
@@ -1582,4 +1637,23 @@ public class IncrementalLearningService {
         }
     }
     
+    /**
+     * 일괄 기록용 수정사항 (logCorrection 인자와 같은 구성)
+     */
+    public static class CorrectionInput {
+        final String insuCd;
+        final Map<String, String> originalResult;
+        final Map<String, String> correctedResult;
+        final String pdfText;
+        final String correctionReason;
+        
+        public CorrectionInput(String insuCd, Map<String, String> originalResult,
+                               Map<String, String> correctedResult, String pdfText, String correctionReason) {
+            this.insuCd = insuCd;
+            this.originalResult = originalResult;
+            this.correctedResult = correctedResult;
+            this.pdfText = pdfText;
+            this.correctionReason = correctionReason;
+        }
+    }
 }
@@ -0,0 +1,655 @@
+package com.example.insu.service;
+
+import com.example.insu.util.DocumentScope;
+import com.example.insu.util.PdfLoader;
+import com.example.insu.util.PdfParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * PDF 디렉터리 일괄 적재 파이프라인 (DebugController.scanAll / 오프라인 batch_parse 스크립트의 순차 처리 대체)
+ *
+ * 단계: 탐색 → 지문(SHA-256) → 텍스트 추출 → 섹션 분리 → 코드 색인 → 조건 파싱 → 저장
+ * - 단계 사이는 크기 제한 큐 (가득 차면 앞 단계가 대기 = 배압), 단계별 작업 스레드 수 설정
+ * - 텍스트 추출은 PdfBoxGate 상한 안에서 코어 수만큼 병렬
+ * - 저장 단계가 인덱스 디렉터리(insu.index-dir)의 <파일명>.ingest.json 기록 후 체크포인트(ingest.checkpoint)에 지문 추가
+ *   → 중단된 실행은 resume 시 체크포인트에 있는 문서를 건너뛰고 이어서 진행
+ *   → 체크포인트 쓰기는 일괄 작업/단건 적재 모두 하나의 writer 경유, 파일명당 마지막 지문만 유지
+ * - hybrid 모드: 조건 파싱 단계에서 문서 단위 하이브리드 파싱으로 parsingCache까지 적재
+ * - 한 번에 한 작업만 실행, 진행률/ETA는 progress()
+ */
+@Slf4j
+@Service
+public class IngestionPipelineService {
+
+    private static final String CHECKPOINT_FILE = "ingest.checkpoint";
+    private static final int MAX_ERRORS = 20;
+
+    private final ImprovedHybridParsingService hybridParsingService;
+    private final Path pdfDir;
+    private final Path indexDir;
+    private final int queueCapacity;
+    private final Map<String, Integer> workers = new LinkedHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<Job> current = new AtomicReference<>();
+    private final Object checkpointLock = new Object();
+    private final Map<String, String> checkpointEntries = new LinkedHashMap<>();   // 파일명 → 지문 (checkpointLock)
+    private BufferedWriter checkpointWriter;                                          // checkpointLock
+
+    public IngestionPipelineService(ImprovedHybridParsingService hybridParsingService,
+                                    @Value("${insu.pdf-dir}") String pdfDir,
+                                    @Value("${insu.index-dir:${user.home}/insu_app/index}") String indexDir,
+                                    @Value("${insu.ingest.queue-capacity:4}") int queueCapacity,
+                                    @Value("${insu.ingest.workers.fingerprint:2}") int fingerprintWorkers,
+                                    @Value("${insu.ingest.workers.extract:0}") int extractWorkers,
+                                    @Value("${insu.ingest.workers.split:1}") int splitWorkers,
+                                    @Value("${insu.ingest.workers.index:1}") int indexWorkers,
+                                    @Value("${insu.ingest.workers.terms:2}") int termsWorkers,
+                                    @Value("${insu.ingest.workers.persist:1}") int persistWorkers) {
+        this.hybridParsingService = hybridParsingService;
+        this.pdfDir = Paths.get(pdfDir);
+        this.indexDir = Paths.get(indexDir);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        int cores = Runtime.getRuntime().availableProcessors();
+        workers.put("fingerprint", Math.max(1, fingerprintWorkers));
+        workers.put("extract", extractWorkers > 0 ? extractWorkers : cores);
+        workers.put("split", Math.max(1, splitWorkers));
+        workers.put("index", Math.max(1, indexWorkers));
+        workers.put("terms", Math.max(1, termsWorkers));
+        workers.put("persist", Math.max(1, persistWorkers));
+    }
+
+    /**
+     * 적재 시작 (비동기). 실행 중인 작업이 있으면 IllegalStateException
+     *
+     * @param resume true면 체크포인트의 문서를 건너뜀, false면 체크포인트를 비우고 전체 재구축
+     * @param hybrid true면 조건 파싱 단계에서 문서 단위 하이브리드 파싱 실행 (parsingCache 적재)
+     */
+    public synchronized Job start(boolean resume, boolean hybrid) throws IOException {
+        Job running = current.get();
+        if (running != null && !running.isFinished()) {
+            throw new IllegalStateException("이미 실행 중인 적재 작업이 있습니다: " + running.id);
+        }
+
+        Set<String> done = ConcurrentHashMap.newKeySet();
+        done.addAll(openCheckpoint(!resume));
+
+        Job job = new Job(resume, hybrid, done);
+        current.set(job);
+        job.run();
+        log.info("[ingest] 작업 시작: {} (resume={}, hybrid={}, 체크포인트 {}건, 작업자 {})",
+            job.id, resume, hybrid, done.size(), workers);
+        return job;
+    }
+
+    /** 실행 후 완료까지 대기, 이번 실행에서 처리한 문서 기록 반환 (건너뛴 문서 제외) */
+    public List<DocumentRecord> runAndWait(boolean resume, boolean hybrid) throws IOException {
+        Job job = start(resume, hybrid);
+        job.completion.join();
+        List<DocumentRecord> records = new ArrayList<>(job.records);
+        records.sort((a, b) -> a.getFile().compareTo(b.getFile()));
+        return records;
+    }
+
+    /** 실행 중인 작업 취소 (남은 문서는 버리고 진행 중인 문서까지만 완료) */
+    public boolean cancel() {
+        Job job = current.get();
+        if (job == null || job.isFinished()) return false;
+        job.cancelled = true;
+        return true;
+    }
+
+    /** 마지막(또는 실행 중인) 작업의 진행률 */
+    public Map<String, Object> progress() {
+        Job job = current.get();
+        if (job == null) {
+            return Map.of("state", "IDLE");
+        }
+        return job.progress();
+    }
+
+    /** 저장된 문서 기록 (없으면 null) */
+    public DocumentRecord record(File pdf) throws IOException {
+        Path file = recordFile(pdf.getName());
+        return Files.isRegularFile(file) ? objectMapper.readValue(file.toFile(), DocumentRecord.class) : null;
+    }
+
+    /** 문서 적재 기록 삭제 (문서 교체/삭제 시, 기록이 없으면 재개 실행에서도 다시 적재됨) */
+    public void invalidate(File pdf) {
+        try {
+            Files.deleteIfExists(recordFile(pdf.getName()));
+        } catch (IOException e) {
+            log.debug("[ingest] 적재 기록 삭제 실패: {}", e.toString());
+        }
+    }
+
+    /**
+     * 저장된 적재 기록으로 만든 보험코드 → PDF 색인 (PDF를 다시 읽지 않음, 적재 전이면 빈 맵)
+     */
+    public Map<String, File> codeIndex() {
+        Map<String, File> index = new LinkedHashMap<>();
+        if (!Files.isDirectory(indexDir)) return index;
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(indexDir, "*.ingest.json")) {
+            for (Path p : ds) {
+                try {
+                    DocumentRecord r = objectMapper.readValue(p.toFile(), DocumentRecord.class);
+                    File pdf = pdfDir.resolve(r.getFile()).toFile();
+                    if (r.getCodes() != null && pdf.isFile()) {
+                        r.getCodes().keySet().forEach(code -> index.putIfAbsent(code, pdf));
+                    }
+                } catch (IOException e) {
+                    log.debug("[ingest] 적재 기록 읽기 실패: {} - {}", p, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("[ingest] 적재 기록 목록 조회 실패: {}", e.getMessage());
+        }
+        return index;
+    }
+
+    /**
+     * 문서 한 건 즉시 적재 (업로드 직후): 추출 → 섹션 → 코드 색인 → 조건 → 하이브리드 파싱 → 기록/체크포인트
+     * - 텍스트는 한 번만 추출해 문서 범위로 하이브리드 전략들과 공유
+     * - 일괄 작업과 독립적으로 실행 (같은 문서를 동시에 적재해도 기록은 원자적 교체)
+     *
+     * @param fingerprint 업로드 중 계산한 SHA-256 (null이면 여기서 계산)
+     */
+    public DocumentRecord ingest(File pdf, String fingerprint) throws IOException {
+        long startNanos = System.nanoTime();
+        String fp = fingerprint != null ? fingerprint : sha256(pdf);
+        DocumentRecord record = new DocumentRecord();
+        try (DocumentScope.Scope scope = DocumentScope.open()) {
+            PdfParser.Sections sec = PdfParser.splitSections(PdfParser.readAllText(pdf));
+            Map<String, String> codes = codesOf(sec);
+            record.setCodes(codes);
+            record.setTerms(PdfParser.parseTerms(sec.block4));
+            if (!codes.isEmpty()) {
+                record.setParsed(hybridParsingService.parseDocument(pdf, codes.keySet()));
+            }
+        }
+        record.setFile(pdf.getName());
+        record.setFingerprint(fp);
+        record.setIngestedAt(System.currentTimeMillis());
+        record.setElapsedMs((System.nanoTime() - startNanos) / 1_000_000);
+        writeRecord(record);
+        appendCheckpoint(fp, pdf.getName());
+        log.info("[ingest] 단건 적재: {} - 코드 {}개, {}ms", pdf.getName(), record.getCodes().size(), record.getElapsedMs());
+        return record;
+    }
+
+    /**
+     * 같은 내용(SHA-256)으로 적재된 다른 문서 (없으면 null)
+     */
+    public String findByFingerprint(String fingerprint, String exceptPdfName) {
+        if (fingerprint == null || !Files.isDirectory(indexDir)) return null;
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(indexDir, "*.ingest.json")) {
+            for (Path p : ds) {
+                try {
+                    DocumentRecord r = objectMapper.readValue(p.toFile(), DocumentRecord.class);
+                    if (fingerprint.equals(r.getFingerprint()) && !r.getFile().equals(exceptPdfName)
+                            && Files.isRegularFile(pdfDir.resolve(r.getFile()))) {
+                        return r.getFile();
+                    }
+                } catch (IOException e) {
+                    log.debug("[ingest] 적재 기록 읽기 실패: {} - {}", p, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("[ingest] 적재 기록 목록 조회 실패: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /** 코드표(block3) → 보험코드 색인 (코드표, 4열 코드표, 없으면 코드 나열 패턴) */
+    private static Map<String, String> codesOf(PdfParser.Sections sec) {
+        Map<String, String> codes = new LinkedHashMap<>(PdfParser.parseCodeTable(sec.block3));
+        PdfParser.parseCodeTableFourCols(sec.block3).forEach(codes::putIfAbsent);
+        if (codes.isEmpty()) codes.putAll(PdfParser.parseCodes(sec.block3));
+        return codes;
+    }
+
+    private void writeRecord(DocumentRecord record) throws IOException {
+        Files.createDirectories(indexDir);
+        Path target = recordFile(record.getFile());
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        objectMapper.writeValue(tmp.toFile(), record);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 체크포인트 다시 열기: 기존 항목을 파일명당 마지막 지문으로 정리해 다시 쓰고 append writer를 염
+     *
+     * @param truncate true면 기존 항목을 버림 (전체 재구축)
+     * @return 체크포인트에 있는 지문
+     */
+    private Set<String> openCheckpoint(boolean truncate) throws IOException {
+        synchronized (checkpointLock) {
+            closeCheckpoint();
+            Files.createDirectories(indexDir);
+            Path checkpoint = indexDir.resolve(CHECKPOINT_FILE);
+            checkpointEntries.clear();
+            if (!truncate && Files.isRegularFile(checkpoint)) {
+                for (String line : Files.readAllLines(checkpoint, StandardCharsets.UTF_8)) {
+                    int tab = line.indexOf('\t');
+                    if (tab > 0) {
+                        String name = line.substring(tab + 1);
+                        checkpointEntries.remove(name);
+                        checkpointEntries.put(name, line.substring(0, tab));
+                    }
+                }
+            }
+            List<String> lines = new ArrayList<>();
+            checkpointEntries.forEach((name, fp) -> lines.add(fp + "\t" + name));
+            Path tmp = indexDir.resolve(CHECKPOINT_FILE + ".tmp");
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            checkpointWriter = Files.newBufferedWriter(checkpoint, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            return Set.copyOf(checkpointEntries.values());
+        }
+    }
+
+    /** 체크포인트 한 줄 추가 (같은 파일명·지문이 이미 있으면 생략, 줄 단위 flush) */
+    private void appendCheckpoint(String fingerprint, String pdfName) throws IOException {
+        synchronized (checkpointLock) {
+            if (checkpointWriter == null) {
+                openCheckpoint(false);
+            }
+            if (fingerprint.equals(checkpointEntries.get(pdfName))) {
+                return;
+            }
+            checkpointEntries.remove(pdfName);
+            checkpointEntries.put(pdfName, fingerprint);
+            checkpointWriter.write(fingerprint + "\t" + pdfName);
+            checkpointWriter.newLine();
+            checkpointWriter.flush();
+        }
+    }
+
+    @PreDestroy
+    void closeCheckpoint() {
+        synchronized (checkpointLock) {
+            if (checkpointWriter == null) return;
+            try {
+                checkpointWriter.close();
+            } catch (IOException e) {
+                log.warn("[ingest] 체크포인트 닫기 실패: {}", e.getMessage());
+            }
+            checkpointWriter = null;
+        }
+    }
+
+    private Path recordFile(String pdfName) {
+        return indexDir.resolve(pdfName + ".ingest.json");
+    }
+
+    static String sha256(File file) throws IOException {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                md.update(buffer, 0, n);
+            }
+            return HexFormat.of().formatHex(md.digest());
+        } catch (java.security.NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 단계 사이를 흐르는 문서 (단계를 지나며 필드를 채우고, 다 쓴 텍스트는 비움) */
+    private static final class Doc {
+        static final Doc END = new Doc(null);
+
+        final File file;
+        final long startNanos = System.nanoTime();
+        String fingerprint;
+        String text;
+        String rawText;
+        PdfParser.Sections sec;
+        Map<String, String> codes;
+        Map<String, String> terms;
+        Map<String, Map<String, String>> parsed;
+
+        Doc(File file) {
+            this.file = file;
+        }
+    }
+
+    /** 문서 한 건 처리 (null 반환 = 이후 단계로 넘기지 않음) */
+    @FunctionalInterface
+    private interface Step {
+        Doc apply(Doc doc) throws Exception;
+    }
+
+    /**
+     * 파이프라인 단계: 입력 큐에서 꺼내 처리 후 출력 큐로 전달.
+     * 종료 신호(END)는 형제 작업자에게 되돌려 놓고, 마지막 작업자가 다음 단계로 넘김
+     */
+    private final class Stage {
+        final String name;
+        final int workerCount;
+        final BlockingQueue<Doc> in;
+        final BlockingQueue<Doc> out;
+        final Step step;
+        final AtomicInteger alive;
+        final AtomicInteger processed = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicLong busyNanos = new AtomicLong();
+
+        Stage(String name, BlockingQueue<Doc> in, BlockingQueue<Doc> out, Step step) {
+            this.name = name;
+            this.workerCount = workers.get(name);
+            this.in = in;
+            this.out = out;
+            this.step = step;
+            this.alive = new AtomicInteger(workerCount);
+        }
+
+        void work(Job job) {
+            try {
+                while (true) {
+                    Doc doc = in.take();
+                    if (doc == Doc.END) {
+                        in.put(Doc.END);
+                        break;
+                    }
+                    if (job.cancelled) continue;
+
+                    long t0 = System.nanoTime();
+                    Doc next = null;
+                    try {
+                        next = step.apply(doc);
+                        processed.incrementAndGet();
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        job.fail(doc, name, e);
+                    } finally {
+                        busyNanos.addAndGet(System.nanoTime() - t0);
+                    }
+                    if (next != null && out != null) out.put(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (alive.decrementAndGet() == 0) {
+                    if (out != null) {
+                        putQuietly(out, Doc.END);
+                    } else {
+                        job.finish();
+                    }
+                }
+            }
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("name", name);
+            m.put("workers", workerCount);
+            m.put("processed", processed.get());
+            m.put("failed", failed.get());
+            m.put("busyMs", busyNanos.get() / 1_000_000);
+            m.put("queued", in.stream().filter(d -> d != Doc.END).count());
+            return m;
+        }
+    }
+
+    private static void putQuietly(BlockingQueue<Doc> queue, Doc doc) {
+        try {
+            queue.put(doc);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** 적재 작업 한 건 */
+    public final class Job {
+        final String id = UUID.randomUUID().toString().substring(0, 8);
+        final boolean resume;
+        final boolean hybrid;
+        final Set<String> checkpointed;
+        final long startedAt = System.currentTimeMillis();
+        final CompletableFuture<Void> completion = new CompletableFuture<>();
+        final List<DocumentRecord> records = Collections.synchronizedList(new ArrayList<>());
+        final ConcurrentLinkedDeque<Map<String, Object>> errors = new ConcurrentLinkedDeque<>();
+        final AtomicInteger discovered = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final List<Stage> stages = new ArrayList<>();
+        volatile boolean discoveryDone;
+        volatile boolean cancelled;
+        volatile long finishedAt;
+        private ExecutorService threads;
+
+        Job(boolean resume, boolean hybrid, Set<String> checkpointed) {
+            this.resume = resume;
+            this.hybrid = hybrid;
+            this.checkpointed = checkpointed;
+        }
+
+        public String getId() { return id; }
+
+        public boolean isFinished() { return completion.isDone(); }
+
+        void run() {
+            List<BlockingQueue<Doc>> queues = new ArrayList<>();
+            for (int i = 0; i < 6; i++) queues.add(new ArrayBlockingQueue<>(queueCapacity));
+
+            stages.add(new Stage("fingerprint", queues.get(0), queues.get(1), this::fingerprint));
+            stages.add(new Stage("extract", queues.get(1), queues.get(2), this::extract));
+            stages.add(new Stage("split", queues.get(2), queues.get(3), this::split));
+            stages.add(new Stage("index", queues.get(3), queues.get(4), this::index));
+            stages.add(new Stage("terms", queues.get(4), queues.get(5), this::terms));
+            stages.add(new Stage("persist", queues.get(5), null, this::persist));
+
+            AtomicInteger seq = new AtomicInteger();
+            int total = 1 + stages.stream().mapToInt(s -> s.workerCount).sum();
+            threads = Executors.newFixedThreadPool(total, r -> {
+                Thread t = new Thread(r, "ingest-" + id + "-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            threads.execute(() -> discover(queues.get(0)));
+            for (Stage stage : stages) {
+                for (int i = 0; i < stage.workerCount; i++) {
+                    threads.execute(() -> stage.work(this));
+                }
+            }
+        }
+
+        /** 탐색: UW*.pdf 파일명 순으로 첫 큐에 투입 (큐가 차면 대기) */
+        private void discover(BlockingQueue<Doc> out) {
+            try (DirectoryStream<Path> ds = Files.newDirectoryStream(pdfDir, "UW*.pdf")) {
+                List<Path> files = new ArrayList<>();
+                ds.forEach(files::add);
+                Collections.sort(files);
+                discovered.set(files.size());
+                discoveryDone = true;
+                for (Path p : files) {
+                    if (cancelled) break;
+                    out.put(new Doc(p.toFile()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                log.error("[ingest] PDF 디렉터리 탐색 실패: {} - {}", pdfDir, e.getMessage());
+                errors.add(Map.of("stage", "discover", "message", String.valueOf(e.getMessage())));
+            } finally {
+                discoveryDone = true;
+                putQuietly(out, Doc.END);
+            }
+        }
+
+        private Doc fingerprint(Doc doc) throws IOException {
+            doc.fingerprint = sha256(doc.file);
+            if (resume && checkpointed.contains(doc.fingerprint) && Files.isRegularFile(recordFile(doc.file.getName()))) {
+                skipped.incrementAndGet();
+                return null;
+            }
+            return doc;
+        }
+
+        /** 하이브리드 모드는 한 번 연 문서에서 정렬/원문 텍스트를 함께 추출 (전략들은 원문 텍스트를 읽음) */
+        private Doc extract(Doc doc) throws IOException {
+            if (!hybrid) {
+                doc.text = PdfParser.readAllText(doc.file);
+                return doc;
+            }
+            try (PdfLoader.Loaded loaded = PdfLoader.open(doc.file)) {
+                doc.text = loaded.textStripper(true, 1, Integer.MAX_VALUE).getText(loaded.document());
+                doc.rawText = loaded.textStripper(false, 1, Integer.MAX_VALUE).getText(loaded.document());
+            }
+            return doc;
+        }
+
+        private Doc split(Doc doc) {
+            doc.sec = PdfParser.splitSections(doc.text);
+            if (!hybrid) doc.text = null;  // 하이브리드 파싱에서 재사용할 때만 유지
+            return doc;
+        }
+
+        private Doc index(Doc doc) {
+            doc.codes = codesOf(doc.sec);
+            return doc;
+        }
+
+        private Doc terms(Doc doc) throws IOException {
+            doc.terms = PdfParser.parseTerms(doc.sec.block4);
+            if (hybrid && !doc.codes.isEmpty()) {
+                // 추출 단계의 텍스트를 문서 범위에 올려 하이브리드 전략들이 PDF를 다시 읽지 않게 함
+                String text = doc.text;
+                String rawText = doc.rawText;
+                try (DocumentScope.Scope scope = DocumentScope.open()) {
+                    DocumentScope.text(doc.file, "sorted", f -> text);
+                    DocumentScope.text(doc.file, "raw", f -> rawText);
+                    doc.parsed = hybridParsingService.parseDocument(doc.file, doc.codes.keySet());
+                }
+            }
+            doc.text = null;
+            doc.rawText = null;
+            doc.sec = null;
+            return doc;
+        }
+
+        private Doc persist(Doc doc) throws IOException {
+            DocumentRecord record = new DocumentRecord();
+            record.setFile(doc.file.getName());
+            record.setFingerprint(doc.fingerprint);
+            record.setIngestedAt(System.currentTimeMillis());
+            record.setElapsedMs((System.nanoTime() - doc.startNanos) / 1_000_000);
+            record.setCodes(doc.codes);
+            record.setTerms(doc.terms);
+            record.setParsed(doc.parsed);
+            writeRecord(record);
+
+            appendCheckpoint(doc.fingerprint, doc.file.getName());
+            records.add(record);
+            completed.incrementAndGet();
+            return null;
+        }
+
+        void fail(Doc doc, String stage, Exception e) {
+            failed.incrementAndGet();
+            log.warn("[ingest] {} 단계 실패: {} - {}", stage, doc.file.getName(), e.getMessage());
+            errors.add(Map.of("file", doc.file.getName(), "stage", stage, "message", String.valueOf(e.getMessage())));
+            while (errors.size() > MAX_ERRORS) errors.pollFirst();
+        }
+
+        void finish() {
+            finishedAt = System.currentTimeMillis();
+            threads.shutdown();
+            log.info("[ingest] 작업 {}: {} (완료 {}, 건너뜀 {}, 실패 {}, {}ms)", id, cancelled ? "취소" : "종료",
+                completed.get(), skipped.get(), failed.get(), finishedAt - startedAt);
+            completion.complete(null);
+        }
+
+        Map<String, Object> progress() {
+            long now = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+            long elapsed = now - startedAt;
+            int total = discovered.get();
+            int finished = completed.get() + skipped.get() + failed.get();
+
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("id", id);
+            m.put("state", isFinished() ? (cancelled ? "CANCELLED" : "COMPLETED") : (cancelled ? "CANCELLING" : "RUNNING"));
+            m.put("resume", resume);
+            m.put("hybrid", hybrid);
+            m.put("total", discoveryDone ? total : null);
+            m.put("completed", completed.get());
+            m.put("skipped", skipped.get());
+            m.put("failed", failed.get());
+            m.put("elapsedMs", elapsed);
+
+            // ETA: 건너뛴 문서를 제외한 실제 처리 속도 기준
+            int processed = completed.get() + failed.get();
+            double docsPerSec = elapsed > 0 ? processed * 1000.0 / elapsed : 0;
+            m.put("docsPerSec", Math.round(docsPerSec * 100) / 100.0);
+            int remaining = Math.max(0, total - finished);
+            Long eta = null;
+            if (isFinished()) {
+                eta = 0L;
+            } else if (discoveryDone && docsPerSec > 0) {
+                eta = (long) (remaining / docsPerSec * 1000);
+            }
+            m.put("etaMs", eta);
+
+            List<Map<String, Object>> stageSnapshots = new ArrayList<>();
+            for (Stage s : stages) stageSnapshots.add(s.snapshot());
+            m.put("stages", stageSnapshots);
+            m.put("errors", new ArrayList<>(errors));
+            return m;
+        }
+    }
+
+    /**
+     * 문서 적재 기록 (인덱스 디렉터리/<파일명>.ingest.json)
+     */
+    @Data
+    @NoArgsConstructor
+    public static class DocumentRecord {
+        private String file;
+        private String fingerprint;
+        private long ingestedAt;
+        private long elapsedMs;
+        private Map<String, String> codes;
+        private Map<String, String> terms;
+        private Map<String, Map<String, String>> parsed;
+    }
+}
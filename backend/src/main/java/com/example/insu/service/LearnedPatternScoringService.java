@@ -1,22 +1,67 @@
 package com.example.insu.service;
 
 import com.example.insu.dto.LearnedPattern;
+import com.example.insu.mapper.LearnedPatternMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 학습된 패턴 품질 스코어링 서비스
  * 
  * 학습 패턴의 품질을 다양한 지표로 평가하여
  * 부정확한 패턴의 적용을 방지하고 고품질 패턴을 우선 사용
+ * 
+ * 점수는 (보험코드, 필드)별 순위로 미리 계산해 두고
+ * 적용/성공 횟수 변경 또는 최근성 구간 경계 통과 시에만 해당 필드를 갱신
+ * 
+ * DB 적재는 맵 잠금 밖에서 수행 (먼저 Future를 등록한 호출만 적재, 나머지는 그 Future를 기다림)
+ * 트랜잭션 안의 무효화는 커밋 후에 반영 (커밋 전 재적재로 이전 순위가 다시 캐시되지 않도록)
  */
 @Slf4j
 @Service
 public class LearnedPatternScoringService {
     
+    /** 적용 가능 최소 품질 점수 */
+    public static final int MIN_APPLICABLE_SCORE = 60;
+    
+    private static final int[] RECENCY_BOUNDARY_DAYS = {1, 7, 30};
+    
+    /** 동점이면 우선순위 → 신뢰도 높은 순 (기존 정렬 기준) */
+    private static final Comparator<ScoredPattern> RANK_ORDER = Comparator
+        .comparingInt(ScoredPattern::getScore).reversed()
+        .thenComparing(sp -> nvl(sp.pattern.getPriority()), Comparator.reverseOrder())
+        .thenComparing(sp -> nvl(sp.pattern.getConfidenceScore()), Comparator.reverseOrder());
+    
+    /** 보험코드 → 필드 → 점수순 순위 (패턴 변경/적용 기록 시에만 부분 갱신) */
+    private final Map<String, CompletableFuture<Map<String, FieldRanking>>> rankings = new ConcurrentHashMap<>();
+    
+    @Autowired(required = false)
+    private LearnedPatternMapper learnedPatternMapper;
+    
+    public LearnedPatternScoringService() {
+    }
+    
+    LearnedPatternScoringService(LearnedPatternMapper learnedPatternMapper) {
+        this.learnedPatternMapper = learnedPatternMapper;
+    }
+    
     /**
      * 학습 패턴 품질 점수 계산
      * 
@@ -24,38 +69,114 @@ public class LearnedPatternScoringService {
      * @return 품질 점수 (0-100)
      */
     public int calculatePatternScore(LearnedPattern pattern) {
-        int score = pattern.getConfidenceScore(); // 기본 점수 (80)
-        
-        log.debug("패턴 스코어링 시작: {} (기본 점수: {})", 
-                 pattern.getPatternId(), score);
-        
-        // 1. 적용 성공률 반영 (+20점)
-        score += calculateSuccessRateBonus(pattern);
-        
-        // 2. 최근성 반영 (+10점)
-        score += calculateRecencyBonus(pattern);
-        
-        // 3. 사용 빈도 반영 (+5점)
-        score += calculateFrequencyBonus(pattern);
-        
-        // 4. 우선순위 반영 (+5점)
-        score += calculatePriorityBonus(pattern);
-        
-        // 5. 패턴 복잡도 페널티 (-10점)
-        score -= calculateComplexityPenalty(pattern);
-        
-        int finalScore = Math.max(0, Math.min(score, 100)); // 0-100 범위로 제한
-        
-        log.debug("패턴 스코어링 완료: {} -> {} 점", 
-                 pattern.getPatternId(), finalScore);
-        
-        return finalScore;
+        return new ScoredPattern(pattern, LocalDate.now()).score;
+    }
+    
+    /**
+     * 필드별 최고 점수의 적용 가능 패턴 (없으면 null)
+     * - 순위는 보험코드당 한 번 만들고 재사용, 최근성 구간 경계를 넘은 필드만 재채점
+     */
+    public ScoredPattern bestApplicable(String insuCd, String fieldName) {
+        FieldRanking ranking = rankingsOf(insuCd).get(fieldName);
+        return ranking != null ? ranking.best(LocalDate.now()) : null;
+    }
+    
+    /**
+     * 보험코드의 필드별 최고 점수 적용 가능 패턴 (필드 순서 유지)
+     */
+    public Map<String, ScoredPattern> bestApplicable(String insuCd) {
+        LocalDate today = LocalDate.now();
+        Map<String, ScoredPattern> best = new LinkedHashMap<>();
+        rankingsOf(insuCd).forEach((field, ranking) -> {
+            ScoredPattern top = ranking.best(today);
+            if (top != null) best.put(field, top);
+        });
+        return best;
+    }
+    
+    /**
+     * 적용 기록 반영 (DB의 APPLY_COUNT/SUCCESS_COUNT 증가와 같은 시점에 호출)
+     * - 해당 패턴 점수만 다시 계산하고 그 필드 순위만 재정렬
+     */
+    public void recordApply(String insuCd, String fieldName, Long patternId, boolean success) {
+        CompletableFuture<Map<String, FieldRanking>> loaded = rankings.get(insuCd);
+        Map<String, FieldRanking> byField = loaded != null && loaded.isDone() && !loaded.isCompletedExceptionally()
+            ? loaded.join() : null;
+        FieldRanking ranking = byField != null ? byField.get(fieldName) : null;
+        if (ranking != null) {
+            ranking.recordApply(patternId, success, LocalDateTime.now());
+        }
+    }
+    
+    /**
+     * 패턴 저장/비활성화 후 호출: 다음 조회 시 DB에서 다시 적재
+     * - 트랜잭션 안이면 커밋 후에 제거 (롤백되면 유지)
+     */
+    public void invalidate(String insuCd) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(insuCd);
+                }
+            });
+        } else {
+            evict(insuCd);
+        }
+    }
+    
+    private void evict(String insuCd) {
+        if (insuCd == null) {
+            rankings.clear();
+        } else {
+            rankings.remove(insuCd);
+        }
+    }
+    
+    private Map<String, FieldRanking> rankingsOf(String insuCd) {
+        if (learnedPatternMapper == null) {
+            return Map.of();
+        }
+        CompletableFuture<Map<String, FieldRanking>> cur = rankings.get(insuCd);
+        if (cur == null) {
+            CompletableFuture<Map<String, FieldRanking>> mine = new CompletableFuture<>();
+            cur = rankings.putIfAbsent(insuCd, mine);
+            if (cur == null) {
+                try {
+                    Map<String, FieldRanking> built = load(insuCd);
+                    mine.complete(built);
+                    return built;
+                } catch (RuntimeException e) {
+                    rankings.remove(insuCd, mine);
+                    mine.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        try {
+            return cur.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+    
+    private Map<String, FieldRanking> load(String insuCd) {
+        LocalDate today = LocalDate.now();
+        Map<String, List<ScoredPattern>> byField = new LinkedHashMap<>();
+        for (LearnedPattern pattern : learnedPatternMapper.selectAllByInsuCd(insuCd)) {
+            byField.computeIfAbsent(pattern.getFieldName(), f -> new ArrayList<>())
+                   .add(new ScoredPattern(pattern, today));
+        }
+        Map<String, FieldRanking> built = new LinkedHashMap<>();
+        byField.forEach((field, scored) -> built.put(field, new FieldRanking(scored)));
+        log.debug("패턴 순위 적재: {} ({}개 필드)", insuCd, built.size());
+        return built;
     }
     
     /**
      * 적용 성공률 보너스 계산 (최대 +20점)
      */
-    private int calculateSuccessRateBonus(LearnedPattern pattern) {
+    private static int calculateSuccessRateBonus(LearnedPattern pattern) {
         if (pattern.getApplyCount() == null || pattern.getApplyCount() == 0) {
             return 0; // 적용 이력 없음
         }
@@ -66,23 +187,20 @@ public class LearnedPatternScoringService {
         
         int bonus = (int) (successRate * 20); // 100% 성공률 시 +20점
         
-        log.trace("성공률 보너스: {}% -> +{} 점", 
-                 (int)(successRate * 100), bonus);
-        
         return bonus;
     }
     
     /**
      * 최근성 보너스 계산 (최대 +10점)
      */
-    private int calculateRecencyBonus(LearnedPattern pattern) {
+    private static int calculateRecencyBonus(LearnedPattern pattern, LocalDate today) {
         if (pattern.getUpdatedAt() == null) {
             return 0;
         }
         
         long daysSinceUpdate = ChronoUnit.DAYS.between(
             pattern.getUpdatedAt().toLocalDate(), 
-            LocalDate.now()
+            today
         );
         
         int bonus = 0;
@@ -94,15 +212,30 @@ public class LearnedPatternScoringService {
             bonus = 3; // 1개월 이내: +3점
         }
         
-        log.trace("최근성 보너스: {}일 전 -> +{} 점", daysSinceUpdate, bonus);
-        
         return bonus;
     }
     
+    /**
+     * 최근성 보너스가 바뀌는 다음 날짜 (1일/7일/30일 경계, 더 바뀌지 않으면 null)
+     */
+    private static LocalDate nextRecencyBoundary(LearnedPattern pattern, LocalDate today) {
+        if (pattern.getUpdatedAt() == null) {
+            return null;
+        }
+        LocalDate updated = pattern.getUpdatedAt().toLocalDate();
+        for (int days : RECENCY_BOUNDARY_DAYS) {
+            LocalDate boundary = updated.plusDays(days);
+            if (today.isBefore(boundary)) {
+                return boundary;
+            }
+        }
+        return null;
+    }
+    
     /**
      * 사용 빈도 보너스 계산 (최대 +5점)
      */
-    private int calculateFrequencyBonus(LearnedPattern pattern) {
+    private static int calculateFrequencyBonus(LearnedPattern pattern) {
         if (pattern.getApplyCount() == null) {
             return 0;
         }
@@ -118,15 +251,13 @@ public class LearnedPatternScoringService {
             bonus = 1; // 가끔 사용: +1점
         }
         
-        log.trace("빈도 보너스: {} 회 -> +{} 점", applyCount, bonus);
-        
         return bonus;
     }
     
     /**
      * 우선순위 보너스 계산 (최대 +5점)
      */
-    private int calculatePriorityBonus(LearnedPattern pattern) {
+    private static int calculatePriorityBonus(LearnedPattern pattern) {
         if (pattern.getPriority() == null) {
             return 0;
         }
@@ -142,15 +273,13 @@ public class LearnedPatternScoringService {
             bonus = 1; // 중간 우선순위: +1점
         }
         
-        log.trace("우선순위 보너스: {} -> +{} 점", priority, bonus);
-        
         return bonus;
     }
     
     /**
      * 패턴 복잡도 페널티 계산 (최대 -10점)
      */
-    private int calculateComplexityPenalty(LearnedPattern pattern) {
+    private static int calculateComplexityPenalty(LearnedPattern pattern) {
         if (pattern.getPatternValue() == null) {
             return 0;
         }
@@ -179,9 +308,6 @@ public class LearnedPatternScoringService {
             penalty += 2; // 특수 문자 과다: -2점
         }
         
-        log.trace("복잡도 페널티: 길이={}, 특수문자={} -> -{} 점", 
-                 value.length(), specialCharCount, penalty);
-        
         return penalty;
     }
     
@@ -204,7 +330,7 @@ public class LearnedPatternScoringService {
         int score = calculatePatternScore(pattern);
         
         // 60점 이상만 적용 가능
-        boolean applicable = score >= 60;
+        boolean applicable = score >= MIN_APPLICABLE_SCORE;
         
         if (!applicable) {
             log.warn("패턴 품질 부족으로 적용 불가: {} (점수: {}, 등급: {})",
@@ -213,9 +339,118 @@ public class LearnedPatternScoringService {
         
         return applicable;
     }
+    
+    private static int nvl(Integer value) {
+        return value != null ? value : 0;
+    }
+    
+    /**
+     * 채점된 패턴 (불변)
+     * - 최근성을 뺀 점수는 적용/성공 횟수가 바뀔 때만, 최근성은 구간 경계를 넘을 때만 다시 계산
+     */
+    public static final class ScoredPattern {
+        private final LearnedPattern pattern;
+        private final int baseScore;
+        private final int score;
+        private final LocalDate rescoreOn;
+        
+        ScoredPattern(LearnedPattern pattern, LocalDate today) {
+            this(pattern, nvl(pattern.getConfidenceScore())   // 기본 점수 (80)
+                    + calculateSuccessRateBonus(pattern)       // 적용 성공률 (+20점)
+                    + calculateFrequencyBonus(pattern)         // 사용 빈도 (+5점)
+                    + calculatePriorityBonus(pattern)          // 우선순위 (+5점)
+                    - calculateComplexityPenalty(pattern),     // 패턴 복잡도 (-10점)
+                 today);
+        }
+        
+        private ScoredPattern(LearnedPattern pattern, int baseScore, LocalDate today) {
+            this.pattern = pattern;
+            this.baseScore = baseScore;
+            // 최근성 반영 (+10점) 후 0-100 범위로 제한
+            this.score = Math.max(0, Math.min(baseScore + calculateRecencyBonus(pattern, today), 100));
+            this.rescoreOn = nextRecencyBoundary(pattern, today);
+        }
+        
+        ScoredPattern rescore(LocalDate today) {
+            return new ScoredPattern(pattern, baseScore, today);
+        }
+        
+        public LearnedPattern getPattern() { return pattern; }
+        
+        public int getScore() { return score; }
+        
+        public boolean isApplicable() { return score >= MIN_APPLICABLE_SCORE; }
+    }
+    
+    /**
+     * (보험코드, 필드) 순위: 점수 내림차순 배열 + 최고 적용 가능 패턴
+     * - 조회는 잠금 없이 O(1), 갱신(적용 기록/경계 통과)은 이 필드만 재정렬
+     */
+    static final class FieldRanking {
+        private volatile ScoredPattern[] ordered;
+        private volatile ScoredPattern best;
+        private volatile LocalDate rescoreOn;
+        
+        FieldRanking(List<ScoredPattern> scored) {
+            publish(scored.toArray(new ScoredPattern[0]));
+        }
+        
+        ScoredPattern best(LocalDate today) {
+            LocalDate due = rescoreOn;
+            if (due != null && !today.isBefore(due)) {
+                rescore(today);
+            }
+            return best;
+        }
+        
+        synchronized void rescore(LocalDate today) {
+            ScoredPattern[] current = ordered;
+            ScoredPattern[] next = new ScoredPattern[current.length];
+            for (int i = 0; i < current.length; i++) {
+                next[i] = current[i].rescore(today);
+            }
+            publish(next);
+        }
+        
+        synchronized void recordApply(Long patternId, boolean success, LocalDateTime at) {
+            ScoredPattern[] current = ordered;
+            for (int i = 0; i < current.length; i++) {
+                LearnedPattern p = current[i].pattern;
+                if (Objects.equals(p.getPatternId(), patternId)) {
+                    LearnedPattern updated = LearnedPattern.builder()
+                        .patternId(p.getPatternId())
+                        .insuCd(p.getInsuCd())
+                        .fieldName(p.getFieldName())
+                        .patternValue(p.getPatternValue())
+                        .confidenceScore(p.getConfidenceScore())
+                        .applyCount(nvl(p.getApplyCount()) + 1)
+                        .successCount(nvl(p.getSuccessCount()) + (success ? 1 : 0))
+                        .learnedFromLogId(p.getLearnedFromLogId())
+                        .learningSource(p.getLearningSource())
+                        .createdAt(p.getCreatedAt())
+                        .updatedAt(at)
+                        .isActive(p.getIsActive())
+                        .priority(p.getPriority())
+                        .build();
+                    ScoredPattern[] next = current.clone();
+                    next[i] = new ScoredPattern(updated, at.toLocalDate());
+                    publish(next);
+                    return;
+                }
+            }
+        }
+        
+        private void publish(ScoredPattern[] next) {
+            Arrays.sort(next, RANK_ORDER);
+            LocalDate due = null;
+            for (ScoredPattern sp : next) {
+                if (sp.rescoreOn != null && (due == null || sp.rescoreOn.isBefore(due))) {
+                    due = sp.rescoreOn;
+                }
+            }
+            ordered = next;
+            best = next.length > 0 && next[0].isApplicable() ? next[0] : null;
+            rescoreOn = due;
+        }
+    }
 }
-
-
-
-
-
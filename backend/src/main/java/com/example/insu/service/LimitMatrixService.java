@@ -0,0 +1,508 @@
+package com.example.insu.service;
+
+import com.example.insu.util.LayoutStripper;
+import com.example.insu.util.LimitTableExtractor;
+import com.example.insu.util.PdfParser;
+import com.example.insu.util.TableGrid;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 문서별 가입한도 매트릭스 (상품 × 연령대)
+ *
+ * - 문서당 한 번: 전체 텍스트/섹션 분리, 코드표 파싱, 가입한도 페이지/헤더 탐색, 단순 한도표 파싱
+ *   → 코드표의 모든 상품명 × 6개 연령대에 기존 폴백 체인(레이아웃 → AgeBand → 헤더열 → 느슨한 정규식 → 단순표) 적용
+ * - /api/limit/{insuCd}?age= 는 매트릭스 조회만 수행
+ * - 매트릭스는 인덱스 디렉터리(insu.index-dir)의 <파일명>.limits.json 에 보관 (크기/수정시각이 바뀌면 재생성)
+ * - 생성은 문서별 메모이즈 Future 1개 → 같은 문서 동시 요청은 같은 생성을 기다리고, 다른 문서는 서로 막지 않음
+ * - 감사용 일괄 내보내기는 저장된 매트릭스만 반환, 없는 문서는 배치 Executor에서 백그라운드 생성
+ * - 코드표에 없는 코드는 첫 조회 때 퍼지 명칭 탐색으로 행을 추가하고, 못 찾으면 unresolved로 기록
+ */
+@Slf4j
+@Service
+public class LimitMatrixService {
+
+    /** 연령대 (기존 파서들의 구간 경계와 동일: 60 / 65 / 70 / 75 / 80) */
+    public static final List<String> BANDS = List.of("60세이하", "61~65", "66~70", "71~75", "76~80", "81세이상");
+    private static final int[] BAND_AGES = {60, 65, 70, 75, 80, 81};  // 각 구간 대표 나이
+    static final int DEFAULT_AGE = 15;  // 나이 미지정 시 (기존 getLimit 기본값)
+    static final int FORMAT = 2;        // 추출 규칙이 바뀌면 올림 → 저장된 매트릭스 재생성
+
+    private final PdfSectionLocator sectionLocator;
+    private final Path indexDir;
+    private final Executor backgroundExecutor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, CompletableFuture<LimitMatrix>> matrices = new ConcurrentHashMap<>();
+
+    public LimitMatrixService(PdfSectionLocator sectionLocator,
+                              @Value("${insu.index-dir:${user.home}/insu_app/index}") String indexDir,
+                              @Qualifier("batchExecutor") Executor backgroundExecutor) {
+        this.sectionLocator = sectionLocator;
+        this.indexDir = Paths.get(indexDir);
+        this.backgroundExecutor = backgroundExecutor;
+    }
+
+    /** 나이 → 연령대 인덱스 */
+    public static int bandIndex(Integer age) {
+        int a = age != null ? age : DEFAULT_AGE;
+        for (int i = 0; i < BAND_AGES.length - 1; i++) {
+            if (a <= BAND_AGES[i]) return i;
+        }
+        return BAND_AGES.length - 1;
+    }
+
+    /**
+     * 코드의 한도 행 (매트릭스에 없으면 퍼지 명칭 탐색으로 추가). 명칭을 못 찾으면 null
+     * 추가는 쓰기끼리만 잠금으로 직렬화하고 맵/집합은 복사본으로 교체 → 내보내기(CSV/JSON)는 잠금 없이 순회
+     */
+    public ProductLimits lookup(File pdf, String insuCd) throws IOException {
+        LimitMatrix matrix = matrixFor(pdf);
+        String name = matrix.getCodes().get(insuCd);
+        if (name != null) {
+            return matrix.getProducts().get(name);
+        }
+        if (matrix.getUnresolved().contains(insuCd)) {
+            return null;
+        }
+        synchronized (matrix) {
+            name = matrix.getCodes().get(insuCd);
+            if (name != null) {
+                return matrix.getProducts().get(name);
+            }
+            if (matrix.getUnresolved().contains(insuCd)) {
+                return null;
+            }
+            // 코드표에 없는 코드: 기존 퍼지 탐색 → 해당 상품 행만 추가 계산
+            Sources src = Sources.read(pdf, sectionLocator);
+            name = PdfParser.fuzzyFindNameByCode(src.sec.block3, insuCd);
+            if (name == null) {
+                Set<String> unresolved = new LinkedHashSet<>(matrix.getUnresolved());
+                unresolved.add(insuCd);
+                matrix.setUnresolved(Collections.unmodifiableSet(unresolved));
+            } else {
+                Map<String, ProductLimits> products = new LinkedHashMap<>(matrix.getProducts());
+                products.computeIfAbsent(name, src::limitsFor);
+                Map<String, String> codes = new LinkedHashMap<>(matrix.getCodes());
+                codes.put(insuCd, name);
+                // 행을 먼저 게시 → 새 코드를 본 읽기는 항상 그 행도 봄
+                matrix.setProducts(Collections.unmodifiableMap(products));
+                matrix.setCodes(Collections.unmodifiableMap(codes));
+                log.debug("[limit-matrix] {} 퍼지 명칭으로 행 추가: {}", insuCd, name);
+            }
+            save(pdf, matrix);
+            return name == null ? null : matrix.getProducts().get(name);
+        }
+    }
+
+    /**
+     * 문서의 매트릭스 (메모리 → 저장 파일 → 새로 생성 순)
+     * 생성은 맵 잠금 밖에서 수행: 먼저 Future를 등록한 호출만 생성하고 나머지는 그 Future를 기다림
+     */
+    public LimitMatrix matrixFor(File pdf) throws IOException {
+        String key = pdf.getAbsolutePath();
+        String fingerprint = PdfSectionLocator.fingerprint(pdf);
+        while (true) {
+            CompletableFuture<LimitMatrix> cur = matrices.get(key);
+            if (cur != null) {
+                LimitMatrix m = await(cur);
+                if (fingerprint.equals(m.getFingerprint())) {
+                    return m;
+                }
+                CompletableFuture<LimitMatrix> mine = new CompletableFuture<>();
+                if (matrices.replace(key, cur, mine)) {
+                    return complete(key, mine, pdf, fingerprint);
+                }
+                continue;  // 다른 스레드가 먼저 교체 → 그 Future를 기다림
+            }
+            CompletableFuture<LimitMatrix> mine = new CompletableFuture<>();
+            if (matrices.putIfAbsent(key, mine) == null) {
+                return complete(key, mine, pdf, fingerprint);
+            }
+        }
+    }
+
+    /**
+     * 저장된 매트릭스만 조회 (메모리 또는 지문이 같은 저장 파일, 생성 중이거나 없으면 null)
+     */
+    public LimitMatrix persistedMatrix(File pdf) throws IOException {
+        String fingerprint = PdfSectionLocator.fingerprint(pdf);
+        CompletableFuture<LimitMatrix> cur = matrices.get(pdf.getAbsolutePath());
+        if (cur != null && cur.isDone() && !cur.isCompletedExceptionally()) {
+            LimitMatrix m = cur.join();
+            if (fingerprint.equals(m.getFingerprint())) {
+                return m;
+            }
+        }
+        LimitMatrix saved = loadSaved(pdf, fingerprint);
+        if (saved != null) {
+            matrices.putIfAbsent(pdf.getAbsolutePath(), CompletableFuture.completedFuture(saved));
+        }
+        return saved;
+    }
+
+    /**
+     * 백그라운드 생성 요청 (배치 Executor, 이미 생성 중이면 중복 제출 안 함)
+     */
+    public void buildInBackground(File pdf) {
+        CompletableFuture<LimitMatrix> cur = matrices.get(pdf.getAbsolutePath());
+        if (cur != null && !cur.isDone()) {
+            return;
+        }
+        try {
+            backgroundExecutor.execute(() -> {
+                try {
+                    matrixFor(pdf);
+                } catch (Exception e) {
+                    log.warn("[limit-matrix] {} 백그라운드 생성 실패: {}", pdf.getName(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("[limit-matrix] 배치 Executor 포화, 다음 요청 때 재시도: {}", pdf.getName());
+        }
+    }
+
+    private LimitMatrix complete(String key, CompletableFuture<LimitMatrix> future, File pdf, String fingerprint)
+            throws IOException {
+        try {
+            LimitMatrix m = loadOrBuild(pdf, fingerprint);
+            future.complete(m);
+            return m;
+        } catch (IOException | RuntimeException e) {
+            // 실패한 Future는 남기지 않음 → 다음 호출이 다시 생성
+            matrices.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static LimitMatrix await(CompletableFuture<LimitMatrix> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    /** 문서 매트릭스 무효화 (문서 교체/삭제 시) */
+    public void invalidate(File pdf) {
+        matrices.remove(pdf.getAbsolutePath());
+        try {
+            Files.deleteIfExists(matrixFile(pdf));
+        } catch (IOException e) {
+            log.debug("[limit-matrix] 매트릭스 파일 삭제 실패: {}", e.toString());
+        }
+    }
+
+    /**
+     * 감사용 CSV (코드 단위 행 × 연령대)
+     */
+    public static String toCsv(List<LimitMatrix> list) {
+        StringBuilder sb = new StringBuilder("document,insuCd,name,band,minWon,maxWon,stepWon,source,matchedLine\n");
+        for (LimitMatrix m : list) {
+            for (Map.Entry<String, String> code : m.getCodes().entrySet()) {
+                ProductLimits p = m.getProducts().get(code.getValue());
+                if (p == null) continue;
+                for (int i = 0; i < BANDS.size(); i++) {
+                    LimitCell c = p.getBands().get(i);
+                    sb.append(csv(m.getDocument())).append(',')
+                      .append(csv(code.getKey())).append(',')
+                      .append(csv(p.getName())).append(',')
+                      .append(csv(BANDS.get(i))).append(',')
+                      .append(c == null ? "" : plain(c.getMinWon())).append(',')
+                      .append(c == null ? "" : plain(c.getMaxWon())).append(',')
+                      .append(c == null ? "" : plain(c.getStepWon())).append(',')
+                      .append(c == null ? "" : csv(c.getSource())).append(',')
+                      .append(c == null ? "" : csv(c.getMatchedLine())).append('\n');
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String plain(BigDecimal v) {
+        return v == null ? "" : v.toPlainString();
+    }
+
+    private static String csv(String s) {
+        if (s == null) return "";
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) return s;
+        return '"' + s.replace("\"", "\"\"").replace("\n", " ") + '"';
+    }
+
+    private LimitMatrix loadOrBuild(File pdf, String fingerprint) throws IOException {
+        LimitMatrix saved = loadSaved(pdf, fingerprint);
+        if (saved != null) {
+            return saved;
+        }
+        LimitMatrix m = build(pdf, fingerprint);
+        save(pdf, m);
+        return m;
+    }
+
+    private LimitMatrix loadSaved(File pdf, String fingerprint) {
+        Path file = matrixFile(pdf);
+        if (Files.isRegularFile(file)) {
+            try {
+                LimitMatrix m = objectMapper.readValue(file.toFile(), LimitMatrix.class);
+                if (fingerprint.equals(m.getFingerprint()) && m.getFormat() == FORMAT) {
+                    return m;
+                }
+            } catch (IOException e) {
+                log.debug("[limit-matrix] 매트릭스 파일 읽기 실패, 재생성: {}", e.toString());
+            }
+        }
+        return null;
+    }
+
+    private LimitMatrix build(File pdf, String fingerprint) throws IOException {
+        long t0 = System.currentTimeMillis();
+        Sources src = Sources.read(pdf, sectionLocator);
+
+        // 코드→명칭: 기존 조회 순서 유지 (코드표 우선, 없으면 4열 표)
+        Map<String, String> code2name = new LinkedHashMap<>(PdfParser.parseCodeTable(src.sec.block3));
+        PdfParser.parseCodeTableFourCols(src.sec.block3).forEach(code2name::putIfAbsent);
+
+        LimitMatrix m = new LimitMatrix();
+        m.setFingerprint(fingerprint);
+        m.setFormat(FORMAT);
+        m.setDocument(pdf.getName());
+        m.setBuiltAt(System.currentTimeMillis());
+        for (Map.Entry<String, String> e : code2name.entrySet()) {
+            m.getCodes().put(e.getKey(), e.getValue());
+            m.getProducts().computeIfAbsent(e.getValue(), src::limitsFor);
+        }
+        log.info("[limit-matrix] {} 생성: 코드 {}개, 상품 {}개, {}ms", pdf.getName(),
+            m.getCodes().size(), m.getProducts().size(), System.currentTimeMillis() - t0);
+        return m;
+    }
+
+    private void save(File pdf, LimitMatrix matrix) {
+        try {
+            Files.createDirectories(indexDir);
+            Path target = matrixFile(pdf);
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), matrix);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // 저장 실패는 재기동 후 재생성 비용일 뿐 → 메모리 매트릭스로 계속
+            log.warn("[limit-matrix] 매트릭스 저장 실패: {} - {}", pdf.getName(), e.getMessage());
+        }
+    }
+
+    private Path matrixFile(File pdf) {
+        return indexDir.resolve(pdf.getName() + ".limits.json");
+    }
+
+    /**
+     * 문서당 한 번 준비하는 파싱 재료 (보험코드/가입한도 섹션, 가입한도 페이지 헤더·앵커, 단순 한도표)
+     * 섹션은 PdfSectionLocator가 해당 페이지만 추출 (전체 텍스트 분리와 같은 내용)
+     */
+    private static class Sources {
+        PdfParser.Sections sec;
+        String block5;
+        TableGrid.Columns columns = TableGrid.Columns.EMPTY;
+        List<TableGrid.Row> limitRows = List.of();   // 헤더 아래 행 (줄바꿈 병합, 셀은 행당 1회 구성)
+        List<PdfParser.SimpleLimitRow> simpleRows;
+
+        static Sources read(File pdf, PdfSectionLocator locator) throws IOException {
+            Sources s = new Sources();
+            s.sec = locator.sections(pdf, 3, 5);
+            s.block5 = s.sec.block5;
+            s.simpleRows = PdfParser.parseSimpleLimitTable(s.block5);
+            try {
+                PdfSectionLocator.LocatedPage hit = locator.locate(pdf, PdfSectionLocator.LIMIT);
+                if (hit != null) {
+                    int header = indexOf(hit.lines, l -> l.text.contains("60세") && l.text.contains("최저"));
+                    if (header < 0) {
+                        header = indexOf(hit.lines, l -> l.text.contains("가입단위") || l.text.contains("가입한도"));
+                    }
+                    if (header >= 0) {
+                        s.columns = LimitTableExtractor.headerColumns(hit.lines.get(header));
+                        if (!s.columns.isEmpty()) {
+                            List<LayoutStripper.Line> body = hit.lines.subList(header + 1, hit.lines.size());
+                            s.limitRows = TableGrid.mergeWrapped(TableGrid.rows(body, s.columns));
+                        }
+                    }
+                    log.debug("[limit-matrix][layout] '가입한도' page={}, columns={}", hit.page, s.columns.labels());
+                }
+            } catch (Exception e) {
+                log.debug("[limit-matrix][layout] error {}", e.toString());
+            }
+            return s;
+        }
+
+        private static int indexOf(List<LayoutStripper.Line> lines, java.util.function.Predicate<LayoutStripper.Line> p) {
+            for (int i = 0; i < lines.size(); i++) {
+                if (p.test(lines.get(i))) return i;
+            }
+            return -1;
+        }
+
+        ProductLimits limitsFor(String name) {
+            ProductLimits p = new ProductLimits();
+            p.setName(name);
+            p.setNameNorm(PdfParser.normalizeTitle(name));
+
+            // 연령 무관 전략은 상품당 한 번만
+            TableGrid.Row layoutRow = layoutRow(name);
+            LimitCell loose = null;
+            boolean looseDone = false;
+            LimitCell simple = null;
+            boolean simpleDone = false;
+
+            for (int i = 0; i < BANDS.size(); i++) {
+                int age = BAND_AGES[i];
+                LimitCell cell = layout(layoutRow, age);
+                if (cell == null) cell = ageBand(name, age);
+                if (cell == null) cell = headerColumns(name, age);
+                if (cell == null) {
+                    if (!looseDone) {
+                        loose = of(PdfParser.parseMinMaxLooseByName(block5, name), "loose");
+                        looseDone = true;
+                    }
+                    cell = loose;
+                }
+                if (cell == null) {
+                    if (!simpleDone) {
+                        PdfParser.SimpleLimitRow r = PdfParser.findSimpleLimitRow(simpleRows, p.getNameNorm());
+                        if (r != null && (r.minWon != null || r.maxWon != null)) {
+                            simple = new LimitCell(r.minWon, r.maxWon, r.stepWon, "simple", r.rowText);
+                        }
+                        simpleDone = true;
+                    }
+                    cell = simple;
+                }
+                p.getBands().add(cell);
+            }
+            return p;
+        }
+
+        /** 가입한도 표의 대상 행 (기존 부분일치 규칙 그대로) */
+        private TableGrid.Row layoutRow(String name) {
+            final String normTarget = LimitTableExtractor.normalizeName(name);
+            return limitRows.stream()
+                .filter(l -> {
+                    String s = LimitTableExtractor.normalizeName(l.text);
+                    boolean hitName = s.contains(normTarget) || s.contains("다사랑3N5");
+                    boolean looksRow = s.contains("주계약") || s.contains("보장") || s.contains("간편");
+                    return hitName && looksRow;
+                })
+                .findFirst().orElse(null);
+        }
+
+        private LimitCell layout(TableGrid.Row row, int age) {
+            if (row == null) return null;
+            try {
+                // 단위 힌트: 표 본문에 "(가입단위 : 만)" 문구가 흔함
+                BigDecimal maxBD = LimitTableExtractor.valueAt(row, LimitTableExtractor.bandColumn(columns, age), "만");
+                BigDecimal minBD = LimitTableExtractor.valueAt(row, LimitTableExtractor.minColumn(columns), "만");
+                if (maxBD != null || minBD != null) {
+                    return new LimitCell(minBD, maxBD, null, "layout", row.text);
+                }
+            } catch (Exception e) {
+                log.debug("[limit-matrix][layout] error {}", e.toString());
+            }
+            return null;
+        }
+
+        private LimitCell ageBand(String name, int age) {
+            try {
+                PdfParser.AgeBandLimit abl = PdfParser.parseAgeBandLimitByNameAndAge(block5, name, age);
+                if (abl != null && (abl.minWon != null || abl.maxWon != null)) {
+                    return new LimitCell(abl.minWon, abl.maxWon, null, "ageBand", abl.matchedLine);
+                }
+            } catch (Exception ignore) {}
+            return null;
+        }
+
+        private LimitCell headerColumns(String name, int age) {
+            try {
+                PdfParser.AgeBandLimit abl = PdfParser.parseAgeBandLimitByHeaderColumns(block5, name, age);
+                if (abl != null && (abl.minWon != null || abl.maxWon != null)) {
+                    return new LimitCell(abl.minWon, abl.maxWon, null, "headerColumns", abl.matchedLine);
+                }
+            } catch (Exception ignore) {}
+            return null;
+        }
+
+        private static LimitCell of(PdfParser.MinMaxLimit mm, String source) {
+            if (mm == null || (mm.minWon == null && mm.maxWon == null && mm.perUnitWon == null)) return null;
+            return new LimitCell(mm.minWon, mm.maxWon, mm.perUnitWon, source, mm.matchedLine);
+        }
+    }
+
+    /**
+     * 문서 한 건의 한도 매트릭스 (JSON 저장)
+     * 게시 후에는 codes/products/unresolved를 제자리에서 바꾸지 않고 새 복사본으로 교체 (lookup)
+     */
+    @Data
+    public static class LimitMatrix {
+        private String fingerprint;
+        private int format;
+        private String document;
+        private long builtAt;
+        private volatile Map<String, String> codes = new LinkedHashMap<>();              // 코드 → 상품명
+        private volatile Map<String, ProductLimits> products = new LinkedHashMap<>();    // 상품명 → 연령대별 한도
+        private volatile Set<String> unresolved = new LinkedHashSet<>();                 // 명칭을 못 찾은 코드
+    }
+
+    /** 상품 한 건의 연령대별 한도 (bands 순서 = BANDS, 없으면 null) */
+    @Data
+    public static class ProductLimits {
+        private String name;
+        private String nameNorm;
+        private List<LimitCell> bands = new ArrayList<>();
+
+        public LimitCell cellFor(Integer age) {
+            int i = bandIndex(age);
+            return i < bands.size() ? bands.get(i) : null;
+        }
+    }
+
+    /** 한도 셀: 어떤 전략에서 어느 행으로 찾았는지 함께 보관 (감사용) */
+    @Data
+    @NoArgsConstructor
+    public static class LimitCell {
+        private BigDecimal minWon;
+        private BigDecimal maxWon;
+        private BigDecimal stepWon;
+        private String source;
+        private String matchedLine;
+
+        public LimitCell(BigDecimal minWon, BigDecimal maxWon, BigDecimal stepWon, String source, String matchedLine) {
+            this.minWon = minWon;
+            this.maxWon = maxWon;
+            this.stepWon = stepWon;
+            this.source = source;
+            this.matchedLine = matchedLine;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.insu.service;
 
+import com.example.insu.util.ParsePhaseMetrics;
+import com.example.insu.util.ParsePhaseMetrics.Phase;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -24,6 +26,7 @@ public class MultiLayerValidationService {
      */
     public ValidationResult validate(Map<String, String> terms, String pdfText, String insuCd) {
         log.info("=== 다층 검증 시작: {} ===", insuCd);
+        long t0 = System.nanoTime();
         
         int totalScore = 0;
         List<String> failureReasons = new ArrayList<>();
@@ -51,6 +54,7 @@ public class MultiLayerValidationService {
         log.info("=== 검증 완료: 총점 {}/100 ===", totalScore);
         
         String status = totalScore >= 90 ? "PASS" : (totalScore >= 70 ? "WARNING" : "FAIL");
+        ParsePhaseMetrics.record(Phase.VALIDATION, t0);
         
         return new ValidationResult(
             totalScore,
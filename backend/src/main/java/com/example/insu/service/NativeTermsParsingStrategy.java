@@ -0,0 +1,142 @@
+package com.example.insu.service;
+
+import com.example.insu.util.DocumentScope;
+import com.example.insu.util.ImprovedTermsExtractor;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * parse_pdf_improved.py 규칙의 JVM 내 구현 (ImprovedTermsExtractor) 파싱 전략
+ *
+ * - Python 프로세스 실행/JSON(CP949) 왕복 없이 PDFBox 텍스트에 같은 규칙 적용
+ * - 텍스트는 DocumentScope "raw" 항목을 사업방법서 전략과 공유 (범위 안에서는 문서당 1회 추출)
+ * - 수동 매핑(manual_mapping.json)은 기동 시 1회 로드, 파일이 없으면 빈 매핑
+ * - Python 경로는 insu.parsing.python-fallback.enabled=true 일 때만 후순위 전략으로 남음
+ */
+@Slf4j
+@Service
+public class NativeTermsParsingStrategy implements ParsingStrategy {
+
+    private static final List<String> FIELDS = List.of("insuTerm", "payTerm", "ageRange", "renew");
+
+    private final Map<String, Map<String, String>> manualMapping;
+
+    public NativeTermsParsingStrategy(@Value("${insu.terms.manual-mapping-file:C:/insu_app/manual_mapping.json}") String manualMappingFile) {
+        this.manualMapping = loadManualMapping(Paths.get(manualMappingFile));
+    }
+
+    @Override
+    public Map<String, String> parse(File pdfFile, String insuCd) {
+        try {
+            log.info("Native 조건 파싱 시작: {}", insuCd);
+
+            Map<String, Object> terms = extractTerms(pdfFile, insuCd);
+            if (terms == null) {
+                log.warn("Native 조건 파싱 결과 없음: {}", insuCd);
+                return getEmptyResult();
+            }
+
+            Map<String, String> resultMap = new LinkedHashMap<>();
+            for (String field : FIELDS) {
+                resultMap.put(field, toText(terms.get(field)));
+            }
+            Object notes = terms.get("specialNotes");
+            resultMap.put("specialNotes", notes instanceof String s && !s.isEmpty() ? s : "Native 조건 파싱");
+
+            log.info("Native 조건 파싱 완료: {} (신뢰도: {})", insuCd, evaluateConfidence(resultMap));
+            return resultMap;
+
+        } catch (Exception e) {
+            log.error("Native 조건 파싱 오류: {}", e.getMessage(), e);
+            return getEmptyResult();
+        }
+    }
+
+    /**
+     * 스크립트 출력의 terms와 같은 형식 (값은 문자열 또는 문자열 목록)
+     *
+     * @return terms (원본 스크립트가 실패하는 입력이면 null)
+     */
+    public Map<String, Object> extractTerms(File pdfFile, String insuCd) throws IOException {
+        String text = DocumentScope.text(pdfFile, "raw", BusinessMethodParsingStrategy::loadPdfText);
+        return ImprovedTermsExtractor.extract(text, insuCd, manualMapping);
+    }
+
+    @Override
+    public String getStrategyName() {
+        return "Native Terms";
+    }
+
+    @Override
+    public int getPriority() {
+        return 1; // 가장 먼저 시도 (기존 Python OCR 자리)
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public int evaluateConfidence(Map<String, String> result) {
+        if (result == null || result.isEmpty()) {
+            return 0;
+        }
+
+        int score = 0;
+        for (String field : FIELDS) {
+            if (isValidField(result.get(field))) score += 25;
+        }
+        return score;
+    }
+
+    private boolean isValidField(String value) {
+        return value != null && !value.isEmpty() && !value.equals("—");
+    }
+
+    /** 목록 값(주계약 표 폴백)은 ", "로 연결, 빈 값은 "—" */
+    private static String toText(Object value) {
+        String text = value instanceof List<?> list
+            ? String.join(", ", list.stream().map(String::valueOf).toList())
+            : value != null ? value.toString() : "";
+        return text.isEmpty() ? "—" : text;
+    }
+
+    private Map<String, String> getEmptyResult() {
+        Map<String, String> result = new LinkedHashMap<>();
+        result.put("insuTerm", "—");
+        result.put("payTerm", "—");
+        result.put("ageRange", "—");
+        result.put("renew", "—");
+        result.put("specialNotes", "Native 조건 파싱 실패");
+        return result;
+    }
+
+    private static Map<String, Map<String, String>> loadManualMapping(Path file) {
+        if (!Files.isRegularFile(file)) {
+            log.info("수동 매핑 파일 없음: {} (수동 매핑 미사용)", file);
+            return Map.of();
+        }
+        try {
+            Map<String, Map<String, String>> mapping = new ObjectMapper().readValue(file.toFile(),
+                    new TypeReference<Map<String, Map<String, String>>>() {});
+            log.info("수동 매핑 로드: {}개 ({})", mapping.size(), file);
+            return Map.copyOf(mapping);
+        } catch (Exception e) {
+            log.warn("수동 매핑 로드 실패: {} ({})", file, e.getMessage());
+            return Map.of();
+        }
+    }
+}
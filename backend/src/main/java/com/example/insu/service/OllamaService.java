@@ -1,23 +1,48 @@
 package com.example.insu.service;
 
+import com.example.insu.util.PartialJsonFieldScanner;
+import com.example.insu.util.TraceContext;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 
 @Slf4j
 @Service
 public class OllamaService {
     
+    /** 쿼럼에 참여하는 모델 (표시명 → Ollama 모델 ID) */
+    public static final Map<String, String> MODELS = Map.of(
+        "Llama", "llama3.1:8b",
+        "Mistral", "mistral:7b",
+        "CodeLlama", "codellama:7b"
+    );
+    public static final List<String> MODEL_NAMES = List.of("Llama", "Mistral", "CodeLlama");
+    
+    // 스트리밍 시뮬레이션 청크 크기 (문자)
+    private static final int SIMULATED_CHUNK_SIZE = 24;
+    
     // 결과 캐싱
     private final Map<String, Map<String, String>> resultCache = new ConcurrentHashMap<>();
     
+    // 공유 유계 LLM Executor (ForkJoin 공용 풀 대신)
+    private final Executor llmExecutor;
+    
     // 마지막 결과 저장
     private volatile Map<String, String> lastLlamaResult;
     private volatile Map<String, String> lastMistralResult;
     private volatile Map<String, String> lastCodeLlamaResult;
     
+    public OllamaService(@Qualifier("llmExecutor") Executor llmExecutor) {
+        this.llmExecutor = llmExecutor;
+    }
+    
     /**
      * Llama 3.1 모델로 파싱
      */
@@ -39,7 +64,7 @@ public class OllamaService {
                 log.error("Llama 3.1 파싱 실패: {}", e.getMessage());
                 return getDefaultResult();
             }
-        });
+        }, llmExecutor);
     }
     
     /**
@@ -62,7 +87,7 @@ public class OllamaService {
                 log.error("Mistral 파싱 실패: {}", e.getMessage());
                 return getDefaultResult();
             }
-        });
+        }, llmExecutor);
     }
     
     /**
@@ -85,7 +110,56 @@ public class OllamaService {
                 log.error("CodeLlama 파싱 실패: {}", e.getMessage());
                 return getDefaultResult();
             }
-        });
+        }, llmExecutor);
+    }
+    
+    /**
+     * 스트리밍 파싱 (호출 스레드에서 블로킹 실행)
+     * - 응답 토큰이 도착할 때마다 완성된 JSON 필드를 fieldListener로 즉시 전달
+     * - 호출 스레드 인터럽트 시 스트림을 끊고 InterruptedException 발생 (실제 취소)
+     *
+     * @param modelName 모델 표시명 (Llama, Mistral, CodeLlama)
+     * @return 스트림 종료 시점까지 완성된 필드
+     */
+    public Map<String, String> parseStreaming(String modelName, String text, String insuCd,
+                                              BiConsumer<String, String> fieldListener)
+            throws InterruptedException {
+        String model = MODELS.get(modelName);
+        if (model == null) {
+            throw new IllegalArgumentException("알 수 없는 모델: " + modelName);
+        }
+        
+        String prompt;
+        switch (modelName) {
+            case "Mistral":
+                prompt = buildMistralPrompt(text, insuCd);
+                break;
+            case "CodeLlama":
+                prompt = buildCodeLlamaPrompt(text, insuCd);
+                break;
+            default:
+                prompt = buildLlamaPrompt(text, insuCd);
+        }
+        
+        PartialJsonFieldScanner scanner = new PartialJsonFieldScanner(fieldListener);
+        try (TraceContext.Scope ignored = TraceContext.startSpan("ollamaStream").tag("model", model)) {
+            streamOllamaAPI(model, prompt, scanner::feed);
+        }
+        
+        Map<String, String> result = new LinkedHashMap<>(scanner.getFields());
+        switch (modelName) {
+            case "Mistral":
+                lastMistralResult = result;
+                break;
+            case "CodeLlama":
+                lastCodeLlamaResult = result;
+                break;
+            default:
+                lastLlamaResult = result;
+        }
+        
+        log.debug("{} 스트리밍 파싱 완료: {}", modelName, insuCd);
+        return result;
     }
     
     /**
@@ -179,6 +253,22 @@ public class OllamaService {
         return simulateOllamaResponse(model, prompt);
     }
     
+    /**
+     * Ollama 스트리밍 API 호출
+     * 실제 구현에서는 /api/generate (stream=true)의 NDJSON 라인마다 "response" 조각을 전달
+     */
+    private void streamOllamaAPI(String model, String prompt,
+                                 java.util.function.Consumer<String> onChunk) throws InterruptedException {
+        // 현재는 시뮬레이션 응답을 청크 단위로 흘려보냄
+        String response = simulateOllamaResponse(model, prompt);
+        for (int i = 0; i < response.length(); i += SIMULATED_CHUNK_SIZE) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException(model + " 스트림 취소");
+            }
+            onChunk.accept(response.substring(i, Math.min(response.length(), i + SIMULATED_CHUNK_SIZE)));
+        }
+    }
+    
     /**
      * Ollama 응답 시뮬레이션
      */
@@ -0,0 +1,211 @@
+package com.example.insu.service;
+
+import com.example.insu.util.TraceContext;
+import com.example.insu.util.TraceContext.Scope;
+import com.example.insu.util.TraceContext.Span;
+import com.example.insu.util.TraceContext.Trace;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * 파싱 트레이서
+ *
+ * - 진입점(parseAsync, 하이브리드 파싱)에서 샘플링 후 루트 스팬 생성
+ * - 완료된 트레이스는 메모리 링 버퍼에 보관 (+ 선택 시 JSON Lines 파일로 내보냄)
+ * - 느린 트레이스의 임계 경로(critical path) 계산
+ */
+@Slf4j
+@Service
+public class ParseTracer {
+
+    private final double sampleRate;
+    private final AtomicReferenceArray<Trace> ring;
+    private final AtomicLong cursor = new AtomicLong();
+    private final Path exportFile;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ParseTracer(@Value("${insu.tracing.sample-rate:0.1}") double sampleRate,
+                       @Value("${insu.tracing.buffer-size:200}") int bufferSize,
+                       @Value("${insu.tracing.export-file:}") String exportFile) {
+        this.sampleRate = sampleRate;
+        this.ring = new AtomicReferenceArray<>(Math.max(1, bufferSize));
+        this.exportFile = exportFile == null || exportFile.isBlank() ? null : Paths.get(exportFile);
+        log.info("파싱 트레이서 초기화: 샘플링={}, 버퍼={}, 파일={}", sampleRate, bufferSize,
+                this.exportFile != null ? this.exportFile : "없음");
+    }
+
+    /**
+     * 트레이스 진입: 진행 중 트레이스가 있으면 자식 스팬, 없으면 샘플링해 루트 스팬 시작
+     */
+    public Scope trace(String name, String insuCd) {
+        Scope scope;
+        if (TraceContext.current() != null) {
+            scope = TraceContext.startSpan(name);
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            scope = TraceContext.startRoot(name, this::onFinish);
+        } else {
+            return TraceContext.startSpan(name);  // NOOP
+        }
+        return scope.tag("insuCd", insuCd);
+    }
+
+    private void onFinish(Trace trace) {
+        ring.set((int) (cursor.getAndIncrement() % ring.length()), trace);
+        if (exportFile != null) {
+            export(trace);
+        }
+    }
+
+    private synchronized void export(Trace trace) {
+        try (Writer w = Files.newBufferedWriter(exportFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            w.write(objectMapper.writeValueAsString(toMap(trace, false)));
+            w.write('\n');
+        } catch (IOException e) {
+            log.warn("트레이스 파일 기록 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 최근 트레이스 요약 (최신순)
+     */
+    public List<Map<String, Object>> recent(int limit) {
+        return snapshot().stream()
+            .sorted(Comparator.comparingLong(Trace::getStartEpochMillis).reversed())
+            .limit(limit)
+            .map(this::summary)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 가장 느린 최근 트레이스의 임계 경로
+     */
+    public List<Map<String, Object>> slowest(int limit) {
+        return snapshot().stream()
+            .sorted(Comparator.comparingLong((Trace t) -> durationNanos(t.getRoot())).reversed())
+            .limit(limit)
+            .map(t -> toMap(t, true))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 단일 트레이스 상세 (전체 스팬 + 임계 경로)
+     */
+    public Optional<Map<String, Object>> find(String traceId) {
+        return snapshot().stream()
+            .filter(t -> t.getTraceId().equals(traceId))
+            .findFirst()
+            .map(t -> toMap(t, true));
+    }
+
+    private List<Trace> snapshot() {
+        List<Trace> traces = new ArrayList<>(ring.length());
+        for (int i = 0; i < ring.length(); i++) {
+            Trace t = ring.get(i);
+            if (t != null) traces.add(t);
+        }
+        return traces;
+    }
+
+    private Map<String, Object> summary(Trace trace) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("traceId", trace.getTraceId());
+        m.put("name", trace.getRoot().getName());
+        m.put("tags", trace.getRoot().getTags());
+        m.put("startedAt", trace.getStartEpochMillis());
+        m.put("durationMs", toMillis(durationNanos(trace.getRoot())));
+        return m;
+    }
+
+    private Map<String, Object> toMap(Trace trace, boolean withCriticalPath) {
+        Map<String, Object> m = summary(trace);
+        List<Span> spans = trace.getSpans();
+        long origin = trace.getRoot().getStartNanos();
+        m.put("spans", spans.stream().map(s -> spanMap(s, origin)).collect(Collectors.toList()));
+        if (withCriticalPath) {
+            m.put("criticalPath", criticalPath(trace));
+        }
+        return m;
+    }
+
+    private Map<String, Object> spanMap(Span s, long origin) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", s.getSpanId());
+        m.put("parentId", s.getParentId());
+        m.put("name", s.getName());
+        m.put("thread", s.getThread());
+        m.put("startMs", toMillis(s.getStartNanos() - origin));
+        m.put("durationMs", s.isEnded() ? toMillis(durationNanos(s)) : null);
+        if (!s.getTags().isEmpty()) {
+            m.put("tags", s.getTags());
+        }
+        return m;
+    }
+
+    /**
+     * 임계 경로: 루트 종료 시점에서 거꾸로, 매 구간 가장 늦게 끝난 자식을 따라감
+     * - 부모 종료 이후에 끝난 자식(취소된 비동기 호출 등)은 경로에서 제외
+     * - selfMs = 해당 스팬 시간 중 경로상 자식이 덮지 않는 부분
+     */
+    List<Map<String, Object>> criticalPath(Trace trace) {
+        Map<Integer, List<Span>> children = trace.getSpans().stream()
+            .filter(Span::isEnded)
+            .collect(Collectors.groupingBy(Span::getParentId));
+        List<Map<String, Object>> path = new ArrayList<>();
+        walk(trace.getRoot(), children, trace.getRoot().getStartNanos(), 0, path);
+        return path;
+    }
+
+    private void walk(Span span, Map<Integer, List<Span>> children, long origin, int depth,
+                      List<Map<String, Object>> path) {
+        List<Span> kids = new ArrayList<>(children.getOrDefault(span.getSpanId(), List.of()));
+        kids.sort(Comparator.comparingLong(Span::getEndNanos).reversed());
+
+        long end = span.isEnded() ? span.getEndNanos() : Long.MAX_VALUE;
+        long cursor = end;
+        Deque<Span> chain = new ArrayDeque<>();
+        for (Span kid : kids) {
+            if (kid.getEndNanos() <= cursor && kid.getEndNanos() <= end) {
+                chain.addFirst(kid);
+                cursor = kid.getStartNanos();
+            }
+        }
+
+        long covered = chain.stream().mapToLong(this::durationNanos).sum();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("depth", depth);
+        m.put("name", span.getName());
+        m.put("thread", span.getThread());
+        m.put("startMs", toMillis(span.getStartNanos() - origin));
+        m.put("durationMs", toMillis(durationNanos(span)));
+        m.put("selfMs", toMillis(Math.max(0, durationNanos(span) - covered)));
+        path.add(m);
+
+        for (Span kid : chain) {
+            walk(kid, children, origin, depth + 1, path);
+        }
+    }
+
+    private long durationNanos(Span span) {
+        return span.isEnded() ? span.getEndNanos() - span.getStartNanos() : 0;
+    }
+
+    private double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
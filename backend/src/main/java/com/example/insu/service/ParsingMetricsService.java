@@ -1,122 +1,90 @@
 package com.example.insu.service;
 
-import com.example.insu.util.PdfParser;
-import lombok.Data;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.TimeUnit;
 
 /**
- * 파싱 성능 메트릭 수집 서비스
+ * 파싱 성능 메트릭 수집 서비스 (Micrometer)
  * 
- * - 파싱 시간 추적
- * - 성공/실패 카운터
- * - 전략별 성능 비교
- * - 실시간 모니터링
+ * - 전략별 Timer: insu.parsing.strategy{strategy, outcome=success|failure}
+ *   (백분위 히스토그램 포함 → /actuator/prometheus 에서 p95/p99 집계)
+ * - Timer는 (전략, 결과)당 한 번만 생성해 캐시 → 기록 경로는 맵 조회 1회
+ * - 요약 조회(getCurrentMetrics)는 Timer 값에서 계산 (별도 카운터 없음)
  */
 @Slf4j
 @Service
 public class ParsingMetricsService {
     
-    // 전략별 메트릭
-    private final Map<String, StrategyMetrics> strategyMetrics = new ConcurrentHashMap<>();
+    static final String STRATEGY_TIMER = "insu.parsing.strategy";
     
-    // 전체 메트릭
-    private final AtomicInteger totalAttempts = new AtomicInteger(0);
-    private final AtomicInteger totalSuccess = new AtomicInteger(0);
-    private final AtomicInteger totalFailures = new AtomicInteger(0);
-    private final AtomicLong totalDuration = new AtomicLong(0);
+    private final MeterRegistry meterRegistry;
     
-    @Value("${insu.pdf-dir}")
-    private String pdfDir;
+    // 전략별 Timer (strategy → [success, failure])
+    private final Map<String, Timer[]> strategyTimers = new ConcurrentHashMap<>();
     
-    private static final DateTimeFormatter FORMATTER = 
-        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // 학습(수정 로그) 처리 Timer
+    private final Timer learningTimer;
+    
+    public ParsingMetricsService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.learningTimer = Timer.builder("insu.learning.correction")
+            .description("사용자 수정 학습 처리 시간")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
     
     /**
      * 파싱 메트릭 기록
      */
     public void recordParsing(String strategy, long durationMs, boolean success) {
-        // 전략별 메트릭 업데이트
-        StrategyMetrics metrics = strategyMetrics.computeIfAbsent(
-            strategy, k -> new StrategyMetrics(strategy)
-        );
-        
-        metrics.recordAttempt(durationMs, success);
-        
-        // 전체 메트릭 업데이트
-        totalAttempts.incrementAndGet();
-        if (success) {
-            totalSuccess.incrementAndGet();
-        } else {
-            totalFailures.incrementAndGet();
-        }
-        totalDuration.addAndGet(durationMs);
-        
-        log.debug("파싱 메트릭 기록: {} - {}ms ({})", 
-                 strategy, durationMs, success ? "성공" : "실패");
+        recordParsingNanos(strategy, TimeUnit.MILLISECONDS.toNanos(durationMs), success);
     }
     
     /**
-     * 1분마다 메트릭 요약 출력
+     * 파싱 메트릭 기록 (나노초)
      */
-    @Scheduled(fixedRate = 60000)
-    public void reportMetrics() {
-        if (totalAttempts.get() == 0) {
-            return; // 메트릭이 없으면 스킵
-        }
-        
-        log.info("╔═══════════════════════════════════════════════════════╗");
-        log.info("║          파싱 성능 메트릭 ({})           ║", 
-                LocalDateTime.now().format(FORMATTER));
-        log.info("╠═══════════════════════════════════════════════════════╣");
-        log.info("║  전체 통계:                                            ║");
-        log.info("║    - 총 시도: {} 건                                   ║", totalAttempts.get());
-        log.info("║    - 성공: {} 건 ({}%)                               ║", 
-                totalSuccess.get(), 
-                calculatePercentage(totalSuccess.get(), totalAttempts.get()));
-        log.info("║    - 실패: {} 건 ({}%)                               ║", 
-                totalFailures.get(),
-                calculatePercentage(totalFailures.get(), totalAttempts.get()));
-        log.info("║    - 평균 처리 시간: {} ms                            ║", 
-                totalAttempts.get() > 0 ? (totalDuration.get() / totalAttempts.get()) : 0);
-        log.info("╠═══════════════════════════════════════════════════════╣");
-        log.info("║  전략별 성능:                                          ║");
-        
-        // 전략별 메트릭 출력 (성공률 높은 순)
-        strategyMetrics.values().stream()
-            .sorted((m1, m2) -> Double.compare(m2.getSuccessRate(), m1.getSuccessRate()))
-            .forEach(metrics -> {
-                log.info("║    [{:20s}]                                  ║", metrics.getStrategy());
-                log.info("║      시도: {} 건, 성공률: {}%, 평균: {} ms        ║",
-                        metrics.getAttempts(),
-                        (int)(metrics.getSuccessRate() * 100),
-                        metrics.getAverageDuration());
-            });
-        
-        log.info("╚═══════════════════════════════════════════════════════╝");
+    public void recordParsingNanos(String strategy, long durationNanos, boolean success) {
+        Timer[] timers = strategyTimers.computeIfAbsent(strategy, this::registerTimers);
+        timers[success ? 0 : 1].record(durationNanos, TimeUnit.NANOSECONDS);
     }
     
     /**
-     * 메트릭 초기화
+     * 학습 처리 시간 기록 (나노초)
+     */
+    public void recordLearningNanos(long durationNanos) {
+        learningTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    private Timer[] registerTimers(String strategy) {
+        return new Timer[] { strategyTimer(strategy, "success"), strategyTimer(strategy, "failure") };
+    }
+    
+    private Timer strategyTimer(String strategy, String outcome) {
+        return Timer.builder(STRATEGY_TIMER)
+            .description("파싱 전략별 처리 시간")
+            .tag("strategy", strategy)
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+    
+    /**
+     * 메트릭 초기화 (등록된 전략 Timer 제거)
      */
     public void resetMetrics() {
-        strategyMetrics.clear();
-        totalAttempts.set(0);
-        totalSuccess.set(0);
-        totalFailures.set(0);
-        totalDuration.set(0);
+        strategyTimers.values().forEach(timers -> {
+            for (Timer t : timers) {
+                meterRegistry.remove(t);
+            }
+        });
+        strategyTimers.clear();
         log.info("파싱 메트릭 초기화 완료");
     }
     
@@ -126,24 +94,37 @@ public class ParsingMetricsService {
     public Map<String, Object> getCurrentMetrics() {
         Map<String, Object> metrics = new HashMap<>();
         
-        metrics.put("totalAttempts", totalAttempts.get());
-        metrics.put("totalSuccess", totalSuccess.get());
-        metrics.put("totalFailures", totalFailures.get());
-        metrics.put("successRate", calculatePercentage(totalSuccess.get(), totalAttempts.get()));
-        metrics.put("averageDuration", 
-                   totalAttempts.get() > 0 ? (totalDuration.get() / totalAttempts.get()) : 0);
+        long totalSuccess = 0;
+        long totalFailures = 0;
+        double totalMs = 0;
         
         // 전략별 메트릭
         Map<String, Map<String, Object>> strategyStats = new HashMap<>();
-        strategyMetrics.forEach((name, m) -> {
+        for (Map.Entry<String, Timer[]> e : strategyTimers.entrySet()) {
+            Timer ok = e.getValue()[0];
+            Timer fail = e.getValue()[1];
+            long attempts = ok.count() + fail.count();
+            double sumMs = ok.totalTime(TimeUnit.MILLISECONDS) + fail.totalTime(TimeUnit.MILLISECONDS);
+            
             Map<String, Object> stats = new HashMap<>();
-            stats.put("attempts", m.getAttempts());
-            stats.put("success", m.getSuccess());
-            stats.put("failures", m.getFailures());
-            stats.put("successRate", m.getSuccessRate() * 100);
-            stats.put("averageDuration", m.getAverageDuration());
-            strategyStats.put(name, stats);
-        });
+            stats.put("attempts", attempts);
+            stats.put("success", ok.count());
+            stats.put("failures", fail.count());
+            stats.put("successRate", attempts > 0 ? ok.count() * 100.0 / attempts : 0.0);
+            stats.put("averageDuration", attempts > 0 ? (long) (sumMs / attempts) : 0);
+            strategyStats.put(e.getKey(), stats);
+            
+            totalSuccess += ok.count();
+            totalFailures += fail.count();
+            totalMs += sumMs;
+        }
+        
+        long totalAttempts = totalSuccess + totalFailures;
+        metrics.put("totalAttempts", totalAttempts);
+        metrics.put("totalSuccess", totalSuccess);
+        metrics.put("totalFailures", totalFailures);
+        metrics.put("successRate", calculatePercentage(totalSuccess, totalAttempts));
+        metrics.put("averageDuration", totalAttempts > 0 ? (long) (totalMs / totalAttempts) : 0);
         metrics.put("strategies", strategyStats);
         
         return metrics;
@@ -152,56 +133,7 @@ public class ParsingMetricsService {
     /**
      * 백분율 계산
      */
-    private int calculatePercentage(int value, int total) {
-        return total > 0 ? (value * 100 / total) : 0;
-    }
-    
-    /**
-     * PDF 파일 찾기
-     */
-    private File findPdfFile(String insuCd) {
-        try {
-            Path dir = Paths.get(pdfDir);
-            return PdfParser.findPdfForCode(dir, insuCd);
-        } catch (Exception e) {
-            return null;
-        }
-    }
-    
-    /**
-     * 전략별 메트릭 DTO
-     */
-    @Data
-    private static class StrategyMetrics {
-        private final String strategy;
-        private final AtomicInteger attempts = new AtomicInteger(0);
-        private final AtomicInteger success = new AtomicInteger(0);
-        private final AtomicInteger failures = new AtomicInteger(0);
-        private final AtomicLong totalDuration = new AtomicLong(0);
-        
-        public StrategyMetrics(String strategy) {
-            this.strategy = strategy;
-        }
-        
-        public void recordAttempt(long durationMs, boolean isSuccess) {
-            attempts.incrementAndGet();
-            if (isSuccess) {
-                success.incrementAndGet();
-            } else {
-                failures.incrementAndGet();
-            }
-            totalDuration.addAndGet(durationMs);
-        }
-        
-        public double getSuccessRate() {
-            int total = attempts.get();
-            return total > 0 ? (double) success.get() / total : 0.0;
-        }
-        
-        public long getAverageDuration() {
-            int total = attempts.get();
-            return total > 0 ? (totalDuration.get() / total) : 0;
-        }
+    private int calculatePercentage(long value, long total) {
+        return total > 0 ? (int) (value * 100 / total) : 0;
     }
 }
-
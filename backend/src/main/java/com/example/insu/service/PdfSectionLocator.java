@@ -0,0 +1,508 @@
+package com.example.insu.service;
+
+import com.example.insu.util.LayoutStripper;
+import com.example.insu.util.ParsePhaseMetrics;
+import com.example.insu.util.ParsePhaseMetrics.Phase;
+import com.example.insu.util.PdfLoader;
+import com.example.insu.util.PdfParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlineNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PDF 섹션 페이지 탐색기
+ *
+ * - 문서를 한 번만 열고 페이지를 순서대로 스캔, 목표 제목이 나오는 첫 페이지에서 중단
+ * - 스캔하면서 본 섹션 제목("가입한도", "보험코드", "사업방법")의 첫 페이지를 문서별 인덱스로 저장
+ *   → 다음 조회는 해당 페이지만 바로 읽음
+ * - 섹션(3.보험코드 / 4.사업방법 / 5.가입한도) 페이지 범위도 같은 인덱스에 기록
+ *   → sections()는 필요한 섹션 페이지만 readPagesText로 추출해 splitSections 적용 (전체 텍스트 추출 없음)
+ *   범위 찾기: 문서 개요(북마크)가 세 섹션을 모두 가리키면 개요, 아니면 1회 페이지 스캔
+ *   (스캔 범위는 splitSections와 같은 규칙이라 섹션 내용이 전체 텍스트 분리 결과와 같음)
+ * - PdfParser.SectionReader 구현: 코드 탐색(findPdfForCode)에 주입하면 보험코드 섹션 페이지만 추출,
+ *   섹션에 없을 때의 전체 텍스트 폴백은 문서별로 캐시한 단어 집합으로
+ * - 인덱스는 앱 데이터 디렉터리(insu.index-dir)의 <파일명>.pages.json 에 보관 (크기/수정시각이 바뀌면 재생성, PDF 디렉터리에는 쓰지 않음)
+ */
+@Slf4j
+@Service
+public class PdfSectionLocator implements PdfParser.SectionReader {
+
+    public static final String LIMIT = "가입한도";
+    public static final String CODES = "보험코드";
+    public static final String BUSINESS_METHOD = "사업방법";
+
+    static final List<String> HEADINGS = List.of(LIMIT, CODES, BUSINESS_METHOD);
+    static final int MAX_PAGES = 80;  // 기존 탐색 범위 유지
+    static final int[] BLOCKS = {3, 4, 5};
+
+    static final String OUTLINE = "outline";
+    static final String SCAN = "scan";
+    private static final Pattern NUMBERED = Pattern.compile("^\\s*(\\d{1,3})\\.");
+
+    private final Path indexDir;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, PageIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<String, DocumentWords> words = new ConcurrentHashMap<>();  // 경로 → 전체 텍스트 단어 집합 (메모리만)
+
+    public PdfSectionLocator(@Value("${insu.index-dir:${user.home}/insu_app/index}") String indexDir) {
+        this.indexDir = Paths.get(indexDir);
+    }
+
+    /**
+     * 제목이 처음 나오는 페이지와 그 페이지의 라인들 (없으면 null)
+     * @param heading LIMIT / CODES / BUSINESS_METHOD 중 하나 (인덱스 대상 제목만 지원)
+     */
+    public LocatedPage locate(File pdf, String heading) throws IOException {
+        if (!HEADINGS.contains(heading)) {
+            throw new IllegalArgumentException("인덱스 대상이 아닌 제목: " + heading);
+        }
+        PageIndex index = indexFor(pdf);
+        synchronized (index) {
+            Integer known = index.getHeadings().get(heading);
+            if (known != null) {
+                List<LayoutStripper.Line> lines = LayoutStripper.readPageLines(pdf, known);
+                if (containsHeading(lines, heading)) {
+                    return new LocatedPage(known, lines);
+                }
+                // 인덱스가 문서와 어긋남 → 처음부터 다시 스캔
+                log.warn("[locator] 인덱스 불일치, 재스캔: {} {}p '{}'", pdf.getName(), known, heading);
+                index.reset(fingerprint(pdf));
+            }
+            if (index.isComplete()) {
+                return null;
+            }
+
+            LocatedPage[] hit = new LocatedPage[1];
+            int from = index.getScannedThrough() + 1;
+            int pageCount = LayoutStripper.scanPages(pdf, from, MAX_PAGES, (page, lines) -> {
+                for (String h : HEADINGS) {
+                    if (!index.getHeadings().containsKey(h) && containsHeading(lines, h)) {
+                        index.getHeadings().put(h, page);
+                    }
+                }
+                index.setScannedThrough(page);
+                if (containsHeading(lines, heading)) {
+                    hit[0] = new LocatedPage(page, lines);
+                    return false;
+                }
+                return true;
+            });
+            index.setPageCount(pageCount);
+            log.debug("[locator] {} {}~{}p 스캔, 제목 인덱스={}", pdf.getName(), from, index.getScannedThrough(),
+                    index.getHeadings());
+            save(pdf, index);
+            return hit[0];
+        }
+    }
+
+    /**
+     * 요청한 섹션만 페이지 범위로 추출해 분리 (요청하지 않은 섹션은 null, 섹션이 없으면 빈 문자열)
+     * 개요 범위로 읽은 섹션이 비어 있으면 개요가 어긋난 것으로 보고 스캔 범위로 다시 읽음
+     * @param blocks 3(보험코드) / 4(사업방법) / 5(가입한도) 중 필요한 것
+     */
+    public PdfParser.Sections sections(File pdf, int... blocks) throws IOException {
+        for (int b : blocks) {
+            if (b < 3 || b > 5) {
+                throw new IllegalArgumentException("섹션 번호는 3~5: " + b);
+            }
+        }
+        PageIndex index = indexFor(pdf);
+        synchronized (index) {
+            List<String> scannedPages = null;
+            if (index.getSectionSource() == null) {
+                scannedPages = locateSections(pdf, index);
+            }
+            PdfParser.Sections sec = read(pdf, index, scannedPages, blocks);
+            if (OUTLINE.equals(index.getSectionSource()) && hasBlank(sec, blocks)) {
+                log.warn("[locator] 개요 범위의 섹션이 비어 있음, 스캔으로 재탐색: {} {}", pdf.getName(),
+                        index.getSections());
+                scannedPages = scanSections(pdf, index);
+                save(pdf, index);
+                sec = read(pdf, index, scannedPages, blocks);
+            }
+            if (scannedPages != null) {
+                rememberWords(pdf, index.getFingerprint(), scannedPages);
+            }
+            return sec;
+        }
+    }
+
+    /** 코드 탐색(PdfParser.findPdfForCode)용: sections와 같음 */
+    @Override
+    public PdfParser.Sections read(File pdf, int... blocks) throws IOException {
+        return sections(pdf, blocks);
+    }
+
+    /**
+     * 현재 문서 기준 인덱스에 섹션 범위가 있는지 (문서를 열지 않음; 인덱스가 없거나 오래됐으면 false)
+     */
+    public boolean indexed(File pdf, int block) {
+        PageIndex index = indexFor(pdf);
+        synchronized (index) {
+            return index.getSectionSource() != null && index.getSections().containsKey(key(block));
+        }
+    }
+
+    /**
+     * 문서의 섹션 페이지 범위 ("block3" → 시작/끝 페이지, 아직 찾지 않았으면 빈 맵)
+     */
+    public Map<String, SectionRange> sectionRanges(File pdf) {
+        PageIndex index = indexFor(pdf);
+        synchronized (index) {
+            return new LinkedHashMap<>(index.getSections());
+        }
+    }
+
+    /**
+     * 문서의 현재 제목 인덱스 (제목 → 첫 페이지)
+     */
+    public Map<String, Integer> headingPages(File pdf) {
+        PageIndex index = indexFor(pdf);
+        synchronized (index) {
+            return new LinkedHashMap<>(index.getHeadings());
+        }
+    }
+
+    /**
+     * 문서 전체 텍스트의 단어 집합 (코드 탐색 폴백용, 크기/수정시각이 바뀌면 다시 추출)
+     * 전체 텍스트 대신 단어 집합만 보관 → 문서마다 한 번만 전체 추출, 이후 폴백은 집합 조회
+     */
+    @Override
+    public Set<String> words(File pdf) throws IOException {
+        String fingerprint = fingerprint(pdf);
+        DocumentWords cached = words.get(pdf.getAbsolutePath());
+        if (cached != null && cached.fingerprint.equals(fingerprint)) {
+            return cached.words;
+        }
+        Set<String> extracted = Set.copyOf(PdfParser.wordsOf(PdfParser.readAllText(pdf)));
+        words.put(pdf.getAbsolutePath(), new DocumentWords(fingerprint, extracted));
+        return extracted;
+    }
+
+    /** 스캔으로 이미 모든 페이지를 추출했으면 그 텍스트로 단어 집합 저장 (이후 폴백이 다시 전체 추출하지 않게) */
+    private void rememberWords(File pdf, String fingerprint, List<String> scannedPages) {
+        Set<String> extracted = Set.copyOf(PdfParser.wordsOf(normalize(String.join("", scannedPages))));
+        words.put(pdf.getAbsolutePath(), new DocumentWords(fingerprint, extracted));
+    }
+
+    /**
+     * 문서 인덱스 무효화 (문서 교체/삭제 시)
+     */
+    public void invalidate(File pdf) {
+        indexes.remove(pdf.getAbsolutePath());
+        words.remove(pdf.getAbsolutePath());
+        try {
+            Files.deleteIfExists(indexFile(pdf));
+        } catch (IOException e) {
+            log.debug("[locator] 인덱스 파일 삭제 실패: {}", e.toString());
+        }
+    }
+
+    /** 개요 → 스캔 순으로 섹션 범위를 찾아 인덱스에 기록 (스캔했으면 페이지별 텍스트 반환) */
+    private List<String> locateSections(File pdf, PageIndex index) throws IOException {
+        Map<String, SectionRange> ranges = outlineRanges(pdf);
+        if (ranges != null) {
+            index.setSections(ranges);
+            index.setSectionSource(OUTLINE);
+            save(pdf, index);
+            log.debug("[locator] {} 개요 섹션 범위={}", pdf.getName(), ranges);
+            return null;
+        }
+        List<String> pages = scanSections(pdf, index);
+        save(pdf, index);
+        log.debug("[locator] {} 스캔 섹션 범위={}", pdf.getName(), index.getSections());
+        return pages;
+    }
+
+    /** 요청 섹션 범위를 합친 페이지만 추출 → splitSections (스캔 직후면 스캔한 텍스트 재사용) */
+    private static PdfParser.Sections read(File pdf, PageIndex index, List<String> scannedPages, int[] blocks)
+            throws IOException {
+        int start = Integer.MAX_VALUE;
+        int end = 0;
+        for (int b : blocks) {
+            SectionRange r = index.getSections().get(key(b));
+            if (r != null) {
+                start = Math.min(start, r.getStart());
+                end = Math.max(end, r.getEnd());
+            }
+        }
+        String text;
+        if (end == 0) {
+            text = "";
+        } else if (scannedPages != null) {
+            text = normalize(String.join("", scannedPages.subList(start - 1, end)));
+        } else {
+            text = PdfParser.readPagesText(pdf, start, end);
+        }
+        PdfParser.Sections all = PdfParser.splitSections(text);
+        return new PdfParser.Sections(
+                requested(blocks, 3) ? all.block3 : null,
+                requested(blocks, 4) ? all.block4 : null,
+                requested(blocks, 5) ? all.block5 : null);
+    }
+
+    /**
+     * 문서 개요(북마크)에서 섹션 범위: 섹션 항목 페이지 ~ 다음 번호 섹션 항목 페이지(같은 페이지에 이어질 수 있어 포함)
+     * 제목은 "3." 같은 번호 또는 섹션 이름으로 판별, 번호 없는 하위 항목은 경계로 보지 않음
+     * 세 섹션이 모두 있어야 사용 (아니면 null → 스캔)
+     */
+    private static Map<String, SectionRange> outlineRanges(File pdf) throws IOException {
+        try (PdfLoader.Loaded loaded = PdfLoader.open(pdf)) {
+            PDDocument doc = loaded.document();
+            PDDocumentOutline outline = doc.getDocumentCatalog().getDocumentOutline();
+            if (outline == null) {
+                return null;
+            }
+            List<int[]> items = new ArrayList<>();  // {번호(번호 없는 항목 0), 페이지}
+            collectOutline(doc, outline, items);
+
+            Map<String, SectionRange> ranges = new LinkedHashMap<>();
+            int pageCount = doc.getNumberOfPages();
+            for (int b : BLOCKS) {
+                for (int i = 0; i < items.size(); i++) {
+                    if (items.get(i)[0] != b) continue;
+                    int end = pageCount;
+                    for (int j = i + 1; j < items.size(); j++) {
+                        if (items.get(j)[0] > b) {
+                            end = Math.max(items.get(i)[1], items.get(j)[1]);
+                            break;
+                        }
+                    }
+                    ranges.put(key(b), new SectionRange(items.get(i)[1], end));
+                    break;
+                }
+            }
+            return ranges.size() == BLOCKS.length ? ranges : null;
+        }
+    }
+
+    private static void collectOutline(PDDocument doc, PDOutlineNode node, List<int[]> items) throws IOException {
+        for (PDOutlineItem item : node.children()) {
+            PDPage page = item.findDestinationPage(doc);
+            int index = page != null ? doc.getPages().indexOf(page) : -1;
+            if (index >= 0) {
+                items.add(new int[]{outlineBlock(item.getTitle()), index + 1});
+            }
+            collectOutline(doc, item, items);
+        }
+    }
+
+    /** 개요 제목 → 섹션 번호 ("6. 기타" → 6, 번호 없이 섹션 이름만 있으면 3~5, 그 밖의 제목은 0) */
+    static int outlineBlock(String title) {
+        if (title == null) return 0;
+        Matcher m = NUMBERED.matcher(title);
+        if (m.find()) {
+            return Integer.parseInt(m.group(1));
+        }
+        if (title.contains(CODES)) return 3;
+        if (title.contains(BUSINESS_METHOD)) return 4;
+        if (title.contains(LIMIT)) return 5;
+        return 0;
+    }
+
+    /**
+     * 페이지별 정렬 텍스트를 한 번 훑어 splitSections와 같은 규칙으로 섹션 범위 기록
+     * ("3."/"4."/"5."로 시작하는 줄이 모드 전환, 모드는 페이지를 넘어 유지)
+     * 섹션 내용이 담긴 모든 페이지를 덮으므로 범위만 분리해도 전체 텍스트 분리와 같은 섹션 내용
+     * 모드가 문서 끝까지 이어지므로(뒤쪽 "3." 줄도 전환) 앞쪽 일부만 훑으면 같은 결과가 보장되지 않음 → 전 페이지 1회,
+     * 추출한 텍스트는 범위 읽기와 코드 탐색 단어 집합에 재사용
+     */
+    private static List<String> scanSections(File pdf, PageIndex index) throws IOException {
+        List<String> pages = new ArrayList<>();
+        Map<String, SectionRange> ranges = new LinkedHashMap<>();
+        try (PdfLoader.Loaded loaded = PdfLoader.open(pdf)) {
+            PDDocument doc = loaded.document();
+            int pageCount = doc.getNumberOfPages();
+            int mode = 0;
+            for (int p = 1; p <= pageCount; p++) {
+                long t1 = System.nanoTime();
+                String text = loaded.textStripper(true, p, p).getText(doc);
+                ParsePhaseMetrics.record(Phase.STRIP, t1);
+                pages.add(text);
+                for (String raw : normalize(text).split("\n")) {
+                    String s = raw.trim();
+                    if (s.startsWith("3.")) mode = 3;
+                    else if (s.startsWith("4.")) mode = 4;
+                    else if (s.startsWith("5.")) mode = 5;
+                    if (mode == 0) continue;
+                    int page = p;
+                    ranges.compute(key(mode), (k, r) -> r == null
+                            ? new SectionRange(page, page) : new SectionRange(r.getStart(), page));
+                }
+            }
+        }
+        Map<String, SectionRange> ordered = new LinkedHashMap<>();
+        for (int b : BLOCKS) {
+            SectionRange r = ranges.get(key(b));
+            if (r != null) ordered.put(key(b), r);
+        }
+        index.setSections(ordered);
+        index.setSectionSource(SCAN);
+        return pages;
+    }
+
+    /** PdfParser 추출 텍스트와 같은 정규화 (NBSP → 공백, 줄바꿈 LF) */
+    private static String normalize(String text) {
+        return text.replace('\u00A0', ' ').replace("\r\n", "\n").replace("\r", "\n");
+    }
+
+    private static boolean hasBlank(PdfParser.Sections sec, int[] blocks) {
+        for (int b : blocks) {
+            String block = b == 3 ? sec.block3 : b == 4 ? sec.block4 : sec.block5;
+            if (block.isBlank()) return true;
+        }
+        return false;
+    }
+
+    private static boolean requested(int[] blocks, int block) {
+        for (int b : blocks) {
+            if (b == block) return true;
+        }
+        return false;
+    }
+
+    private static String key(int block) {
+        return "block" + block;
+    }
+
+    private static boolean containsHeading(List<LayoutStripper.Line> lines, String heading) {
+        return lines.stream().anyMatch(l -> l.text.contains(heading));
+    }
+
+    private PageIndex indexFor(File pdf) {
+        String fingerprint = fingerprint(pdf);
+        PageIndex index = indexes.computeIfAbsent(pdf.getAbsolutePath(), k -> load(pdf, fingerprint));
+        synchronized (index) {
+            if (!fingerprint.equals(index.getFingerprint())) {
+                index.reset(fingerprint);
+            }
+        }
+        return index;
+    }
+
+    private PageIndex load(File pdf, String fingerprint) {
+        Path file = indexFile(pdf);
+        if (Files.isRegularFile(file)) {
+            try {
+                PageIndex index = objectMapper.readValue(file.toFile(), PageIndex.class);
+                if (fingerprint.equals(index.getFingerprint())) {
+                    return index;
+                }
+            } catch (IOException e) {
+                log.debug("[locator] 인덱스 파일 읽기 실패, 재생성: {}", e.toString());
+            }
+        }
+        PageIndex index = new PageIndex();
+        index.reset(fingerprint);
+        return index;
+    }
+
+    private void save(File pdf, PageIndex index) {
+        try {
+            Files.createDirectories(indexDir);
+            Path target = indexFile(pdf);
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), index);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // 저장 실패는 성능 저하일 뿐 → 메모리 인덱스로 계속
+            log.warn("[locator] 인덱스 저장 실패: {} - {}", pdf.getName(), e.getMessage());
+        }
+    }
+
+    private Path indexFile(File pdf) {
+        return indexDir.resolve(pdf.getName() + ".pages.json");
+    }
+
+    static String fingerprint(File pdf) {
+        return pdf.length() + "-" + pdf.lastModified();
+    }
+
+    /** 문서 단어 집합 캐시 항목 (추출 당시 크기/수정시각) */
+    private static class DocumentWords {
+        final String fingerprint;
+        final Set<String> words;
+
+        DocumentWords(String fingerprint, Set<String> words) {
+            this.fingerprint = fingerprint;
+            this.words = words;
+        }
+    }
+
+    /**
+     * 탐색 결과
+     */
+    public static class LocatedPage {
+        public final int page;
+        public final List<LayoutStripper.Line> lines;
+
+        public LocatedPage(int page, List<LayoutStripper.Line> lines) {
+            this.page = page;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * 문서별 제목 페이지 인덱스 (JSON 저장)
+     */
+    @Data
+    public static class PageIndex {
+        private String fingerprint;
+        private int scannedThrough;
+        private int pageCount = -1;
+        private Map<String, Integer> headings = new LinkedHashMap<>();
+        private String sectionSource;  // outline / scan (null = 섹션 범위 미탐색)
+        private Map<String, SectionRange> sections = new LinkedHashMap<>();
+
+        void reset(String fingerprint) {
+            this.fingerprint = fingerprint;
+            this.scannedThrough = 0;
+            this.pageCount = -1;
+            this.headings = new LinkedHashMap<>();
+            this.sectionSource = null;
+            this.sections = new LinkedHashMap<>();
+        }
+
+        boolean isComplete() {
+            return pageCount >= 0 && scannedThrough >= Math.min(pageCount, MAX_PAGES);
+        }
+    }
+
+    /**
+     * 섹션 페이지 범위 (1-based, 양끝 포함)
+     */
+    @Data
+    @NoArgsConstructor
+    public static class SectionRange {
+        private int start;
+        private int end;
+
+        public SectionRange(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
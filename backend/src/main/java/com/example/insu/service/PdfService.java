@@ -4,6 +4,7 @@ package com.example.insu.service;
 import com.example.insu.dto.CodeEntryDto;
 import com.example.insu.dto.PdfFileDto;
 import com.example.insu.util.PdfParser;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -15,8 +16,11 @@ import java.util.regex.*;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class PdfService {
 
+    private final PdfSectionLocator sectionLocator;
+
     public List<PdfFileDto> listPdfs(Path dir) {
         File[] arr = dir.toFile().listFiles((d,f)-> f.toLowerCase().endsWith(".pdf"));
         if (arr==null) return List.of();
@@ -36,14 +40,13 @@ public class PdfService {
         Map<String, String> result = new LinkedHashMap<>();
         
         try {
-            String text = PdfParser.readAllText(pdfFile);
-            log.info("PDF 텍스트 길이: {} 문자", text != null ? text.length() : 0);
-
-            PdfParser.Sections sec = PdfParser.splitSections(text);
-            log.info("splitSections 결과 - block3 길이: {}", sec.block3 != null ? sec.block3.length() : 0);
+            // 보험코드 섹션 페이지만 추출, 비어 있을 때만 전체 텍스트
+            PdfParser.Sections sec = sectionLocator.sections(pdfFile, 3);
+            log.info("sections 결과 - block3 길이: {}", sec.block3 != null ? sec.block3.length() : 0);
 
-            String scope = (sec.block3 != null && !sec.block3.trim().isEmpty() ? sec.block3 : text);
-            log.info("사용할 스코프: {}", (sec.block3 != null && !sec.block3.trim().isEmpty()) ? "block3" : "전체 텍스트");
+            boolean hasBlock3 = sec.block3 != null && !sec.block3.trim().isEmpty();
+            String scope = hasBlock3 ? sec.block3 : PdfParser.readAllText(pdfFile);
+            log.info("사용할 스코프: {}", hasBlock3 ? "block3" : "전체 텍스트");
 
             if (scope == null || scope.trim().isEmpty()) {
                 log.warn("스코프가 비어있습니다.");
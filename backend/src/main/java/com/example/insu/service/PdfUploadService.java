@@ -0,0 +1,270 @@
+package com.example.insu.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF 업로드 저장 + 즉시 색인
+ *
+ * - 저장: 요청 본문을 임시 파일로 스트리밍하면서 같은 패스에서 SHA-256 계산, PDF 헤더(%PDF-) 확인
+ * - 중복: 같은 이름·같은 내용이면 교체하지 않음, 다른 이름의 같은 내용은 응답에 표시 (자기 자신은 제외)
+ * - 교체: 같은 디렉터리 임시 파일 → 원자적 이동 (기존 파일 삭제 후 이름 변경 단계 없음, 잠김 시에만 재시도)
+ *   → 이동 전에 변경 감시에 새 지문 등록 (감시가 먼저 재파싱하지 않음), 이동 직후 캐시 계층 무효화
+ * - 색인: indexingExecutor(AbortPolicy)에서 단건 적재(텍스트 1회 추출, 코드 색인, 문서 단위 파싱) → 한도 매트릭스
+ *   → 작업 ID로 진행 상태 조회, 완료 후 첫 상품 조회는 캐시 적중
+ *   → 대기열이 가득 차면 REJECTED (HTTP 스레드에서 색인하지 않음, 캐시는 이미 무효화되어 첫 조회 시 파싱)
+ */
+@Slf4j
+@Service
+public class PdfUploadService {
+
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_JOBS = 100;
+    private static final int MOVE_RETRIES = 3;
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final DocumentChangeMonitor changeMonitor;
+    private final IngestionPipelineService ingestionPipelineService;
+    private final LimitMatrixService limitMatrixService;
+    private final Executor indexingExecutor;
+    private final Path pdfDir;
+    private final Map<String, UploadJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UploadJob> eldest) {
+            return size() > MAX_JOBS;
+        }
+    };
+
+    public PdfUploadService(DocumentChangeMonitor changeMonitor,
+                            IngestionPipelineService ingestionPipelineService,
+                            LimitMatrixService limitMatrixService,
+                            @Qualifier("indexingExecutor") Executor indexingExecutor,
+                            @Value("${insu.pdf-dir}") String pdfDir) {
+        this.changeMonitor = changeMonitor;
+        this.ingestionPipelineService = ingestionPipelineService;
+        this.limitMatrixService = limitMatrixService;
+        this.indexingExecutor = indexingExecutor;
+        this.pdfDir = Paths.get(pdfDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 업로드 본문 저장 (스트리밍 + 해시 + 원자적 교체)
+     *
+     * @throws IllegalArgumentException 파일명이 디렉터리를 벗어나거나 PDF가 아닐 때
+     */
+    public StoredPdf store(String fileName, InputStream body) throws IOException {
+        Files.createDirectories(pdfDir);
+        Path target = pdfDir.resolve(fileName).normalize();
+        if (!pdfDir.equals(target.getParent())) {
+            throw new IllegalArgumentException("유효하지 않은 파일명입니다: " + fileName);
+        }
+
+        Path tmp = Files.createTempFile(pdfDir, ".upload-", ".tmp");
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] header = new byte[PDF_MAGIC.length];
+            long size = 0;
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                byte[] buffer = new byte[64 * 1024];
+                int n;
+                while ((n = body.read(buffer)) != -1) {
+                    if (size < header.length) {
+                        System.arraycopy(buffer, 0, header, (int) size, (int) Math.min(n, header.length - size));
+                    }
+                    md.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                    size += n;
+                }
+            }
+            if (!Arrays.equals(header, PDF_MAGIC)) {
+                throw new IllegalArgumentException("PDF 형식이 아닙니다: " + fileName);
+            }
+            String sha256 = HexFormat.of().formatHex(md.digest());
+            String name = target.getFileName().toString();
+
+            if (Files.isRegularFile(target) && sha256.equals(IngestionPipelineService.sha256(target.toFile()))) {
+                log.info("업로드 중복 (같은 이름·같은 내용), 교체 생략: {}", name);
+                return new StoredPdf(target.toFile(), sha256, size, false, null);
+            }
+            String duplicateOf = ingestionPipelineService.findByFingerprint(sha256, name);
+
+            changeMonitor.expect(target.toFile(), PdfSectionLocator.fingerprint(tmp.toFile()), sha256);
+            moveIntoPlace(tmp, target);
+            changeMonitor.applyChange(target.toFile(), sha256);
+            log.info("업로드 저장: {} ({} bytes, sha256={})", target, size, sha256.substring(0, 12));
+            return new StoredPdf(target.toFile(), sha256, size, true, duplicateOf);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * 저장된 문서의 색인 작업 시작 (교체되지 않은 중복 업로드는 작업 없이 DONE)
+     */
+    public UploadJob startIndexing(StoredPdf stored) {
+        UploadJob job = new UploadJob(UUID.randomUUID().toString().substring(0, 8), stored);
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+        }
+        if (!stored.replaced) {
+            job.finish("DONE", null);
+            return job;
+        }
+        try {
+            indexingExecutor.execute(() -> index(job));
+        } catch (RejectedExecutionException e) {
+            log.warn("업로드 색인 대기열 포화, 색인 생략 (첫 조회 시 파싱): {}", stored.file.getName());
+            job.finish("REJECTED", "색인 작업 대기열이 가득 찼습니다");
+        }
+        return job;
+    }
+
+    /** 작업 상태 (없거나 오래되어 밀려났으면 null) */
+    public Map<String, Object> job(String id) {
+        UploadJob job;
+        synchronized (jobs) {
+            job = jobs.get(id);
+        }
+        return job != null ? job.toMap() : null;
+    }
+
+    private void index(UploadJob job) {
+        File pdf = job.stored.file;
+        job.state = "RUNNING";
+        try {
+            job.stage = "index";
+            IngestionPipelineService.DocumentRecord record = ingestionPipelineService.ingest(pdf, job.stored.sha256);
+            job.codes = record.getCodes() != null ? record.getCodes().size() : 0;
+            job.parsed = record.getParsed() != null ? record.getParsed().size() : 0;
+
+            job.stage = "limits";
+            limitMatrixService.matrixFor(pdf);
+
+            job.finish("DONE", null);
+            log.info("업로드 색인 완료: {} - 코드 {}개, 파싱 {}개, {}ms",
+                    pdf.getName(), job.codes, job.parsed, job.elapsedMs());
+        } catch (Exception e) {
+            log.warn("업로드 색인 실패: {} ({} 단계) - {}", pdf.getName(), job.stage, e.getMessage());
+            job.finish("FAILED", e.getMessage());
+        }
+    }
+
+    /** 임시 파일 → 대상 원자적 이동 (다른 프로세스가 대상 파일을 잡고 있으면 재시도) */
+    private static void moveIntoPlace(Path tmp, Path target) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                try {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return;
+            } catch (FileSystemException e) {
+                log.warn("파일 교체 시도 {} 실패: {}", attempt, e.getMessage());
+                if (attempt >= MOVE_RETRIES) {
+                    throw new IOException("파일이 다른 프로세스에 의해 사용 중입니다. 잠시 후 다시 시도해주세요.", e);
+                }
+                try {
+                    TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MS * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("재시도 중 중단됨", ie);
+                }
+            }
+        }
+    }
+
+    /**
+     * 저장 결과
+     */
+    public static final class StoredPdf {
+        public final File file;
+        public final String sha256;
+        public final long size;
+        /** false = 같은 내용이 이미 있어 교체하지 않음 */
+        public final boolean replaced;
+        /** 같은 내용의 기존 문서 (없으면 null) */
+        public final String duplicateOf;
+
+        public StoredPdf(File file, String sha256, long size, boolean replaced, String duplicateOf) {
+            this.file = file;
+            this.sha256 = sha256;
+            this.size = size;
+            this.replaced = replaced;
+            this.duplicateOf = duplicateOf;
+        }
+    }
+
+    /**
+     * 업로드 색인 작업 (QUEUED → RUNNING → DONE/FAILED, 대기열 포화 시 REJECTED)
+     */
+    public static final class UploadJob {
+        private final String id;
+        private final StoredPdf stored;
+        private final long startedAt = System.currentTimeMillis();
+        private volatile String state = "QUEUED";
+        private volatile String stage;
+        private volatile int codes;
+        private volatile int parsed;
+        private volatile String error;
+        private volatile long finishedAt;
+
+        UploadJob(String id, StoredPdf stored) {
+            this.id = id;
+            this.stored = stored;
+        }
+
+        public String getId() { return id; }
+
+        public String getState() { return state; }
+
+        void finish(String state, String error) {
+            this.error = error;
+            this.finishedAt = System.currentTimeMillis();
+            this.state = state;
+        }
+
+        long elapsedMs() {
+            return (finishedAt > 0 ? finishedAt : System.currentTimeMillis()) - startedAt;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("jobId", id);
+            out.put("fileName", stored.file.getName());
+            out.put("state", state);
+            out.put("stage", stage);
+            out.put("codes", codes);
+            out.put("parsed", parsed);
+            out.put("elapsedMs", elapsedMs());
+            out.put("error", error);
+            return out;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.insu.service;
+
+import com.example.insu.dto.ProductInfoResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 상품 정보 일괄 조회 (UI의 주계약 → 관련 특약 N+1 순차 호출 대체)
+ *
+ * - 코드별 getProductInfo를 blockingExecutor에서 병렬 실행 (요청당 동시 제출은 insu.product.batch.parallelism개,
+ *   하나가 끝나면 다음 코드 제출 → 한 요청이 공유 파싱 풀의 대기열을 혼자 채우지 않음)
+ * - 풀이 포화되어 첫 제출이 거절되면 RejectedExecutionException 그대로 (호출자 503), 이후 거절은 해당 코드의 오류 응답
+ * - 같은 PDF를 쓰는 코드들은 요청 단위로 문서 상태(텍스트/섹션/코드표)를 한 번만 읽어 공유
+ *   (문서별 메모이즈 Future: 읽기는 맵 잠금 밖에서, 나머지 코드는 그 Future를 기다림)
+ * - 결과는 요청 순서대로 반환하거나, 완료되는 대로 콜백(스트리밍)으로 전달
+ * - 코드별 실패는 해당 코드의 오류 응답(message)으로 대체 → 한 코드가 일괄 조회 전체를 실패시키지 않음
+ */
+@Slf4j
+@Service
+public class ProductBatchService {
+
+    private final ProductService productService;
+    private final Executor blockingExecutor;
+    private final int maxCodes;
+    private final int parallelism;
+
+    public ProductBatchService(ProductService productService,
+                               @Qualifier("blockingExecutor") Executor blockingExecutor,
+                               @Value("${insu.product.batch.max-codes:100}") int maxCodes,
+                               @Value("${insu.product.batch.parallelism:8}") int parallelism) {
+        this.productService = productService;
+        this.blockingExecutor = blockingExecutor;
+        this.maxCodes = maxCodes;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * 주계약 + 관련 특약 전체 (relatedCodes 응답 형식 유지 + products)
+     */
+    public Map<String, Object> getBundle(String mainCode) {
+        Map<String, Object> related = productService.getRelatedCodes(mainCode);
+        List<String> codes = bundleCodes(mainCode, related);
+
+        List<ProductInfoResponse> products = getProducts(codes);
+        Map<String, Object> result = new LinkedHashMap<>(related);
+        result.put("main", products.get(0));
+        result.put("products", products.subList(1, products.size()));
+        return result;
+    }
+
+    /** 주계약 + 관련 특약 코드 목록 (주계약이 맨 앞) */
+    public List<String> bundleCodes(String mainCode, Map<String, Object> related) {
+        List<String> codes = new ArrayList<>();
+        codes.add(mainCode);
+        Object list = related.get("relatedCodes");
+        if (list instanceof List) {
+            for (Object item : (List<?>) list) {
+                if (item instanceof Map && ((Map<?, ?>) item).get("insuCd") != null) {
+                    codes.add(String.valueOf(((Map<?, ?>) item).get("insuCd")));
+                }
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * 코드 목록 일괄 조회 (요청 순서 유지, 중복 코드는 한 번만 계산)
+     */
+    public List<ProductInfoResponse> getProducts(List<String> codes) {
+        Map<String, CompletableFuture<ProductInfoResponse>> futures = submit(codes, r -> {});
+
+        List<ProductInfoResponse> out = new ArrayList<>(codes.size());
+        for (String code : codes) {
+            out.add(futures.get(code).join());
+        }
+        return out;
+    }
+
+    /**
+     * 스트리밍: 완료되는 대로 onEach 호출 (호출 스레드는 작업 스레드), 전체 완료 시 반환 future 완료
+     */
+    public CompletableFuture<Void> streamProducts(List<String> codes, Consumer<ProductInfoResponse> onEach) {
+        Map<String, CompletableFuture<ProductInfoResponse>> futures = submit(codes, onEach);
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]));
+    }
+
+    private Map<String, CompletableFuture<ProductInfoResponse>> submit(List<String> codes,
+                                                                       Consumer<ProductInfoResponse> onEach) {
+        LinkedHashSet<String> unique = new LinkedHashSet<>(codes);
+        if (unique.isEmpty()) {
+            throw new IllegalArgumentException("조회할 코드가 없습니다");
+        }
+        if (unique.size() > maxCodes) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 코드는 최대 " + maxCodes + "개입니다: " + unique.size());
+        }
+
+        // 요청 범위 문서 공유: 같은 PDF는 첫 코드가 읽고 나머지는 그 Future를 기다린 뒤 재사용
+        Map<String, CompletableFuture<ProductService.DocumentState>> documents = new ConcurrentHashMap<>();
+        Function<File, ProductService.DocumentState> shared = pdf -> sharedDocument(documents, pdf);
+
+        long t0 = System.currentTimeMillis();
+        Map<String, CompletableFuture<ProductInfoResponse>> futures = new LinkedHashMap<>();
+        for (String code : unique) {
+            futures.put(code, new CompletableFuture<>());
+        }
+        Queue<String> pending = new ConcurrentLinkedQueue<>(unique);
+        for (int i = 0; i < parallelism; i++) {
+            String code = pending.poll();
+            if (code == null) break;
+            start(code, pending, futures, shared, onEach);  // 거절은 호출자로 (503)
+        }
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+            .whenComplete((v, e) -> log.info("[product-batch] {}개 코드, 문서 {}개, {}ms",
+                unique.size(), documents.size(), System.currentTimeMillis() - t0));
+        return futures;
+    }
+
+    /** 코드 하나 제출, 끝나면 결과 전달 후 다음 대기 코드 제출 */
+    private void start(String code, Queue<String> pending, Map<String, CompletableFuture<ProductInfoResponse>> futures,
+                       Function<File, ProductService.DocumentState> shared, Consumer<ProductInfoResponse> onEach) {
+        CompletableFuture<ProductInfoResponse> result = futures.get(code);
+        CompletableFuture
+            .supplyAsync(() -> productService.getProductInfo(code, shared), blockingExecutor)
+            .exceptionally(e -> failed(code, e))
+            .whenComplete((r, e) -> {
+                try {
+                    deliver(result, r, onEach);
+                } finally {
+                    startNext(pending, futures, shared, onEach);
+                }
+            });
+    }
+
+    /** 작업 스레드에서 다음 코드 제출 (거절되면 그 코드는 오류 응답, 남은 코드도 차례로 시도) */
+    private void startNext(Queue<String> pending, Map<String, CompletableFuture<ProductInfoResponse>> futures,
+                           Function<File, ProductService.DocumentState> shared, Consumer<ProductInfoResponse> onEach) {
+        String code;
+        while ((code = pending.poll()) != null) {
+            try {
+                start(code, pending, futures, shared, onEach);
+                return;
+            } catch (RejectedExecutionException e) {
+                deliver(futures.get(code), failed(code, e), onEach);
+            }
+        }
+    }
+
+    private static void deliver(CompletableFuture<ProductInfoResponse> result, ProductInfoResponse r,
+                                Consumer<ProductInfoResponse> onEach) {
+        try {
+            if (r != null) onEach.accept(r);
+            result.complete(r);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private ProductService.DocumentState sharedDocument(
+            Map<String, CompletableFuture<ProductService.DocumentState>> documents, File pdf) {
+        CompletableFuture<ProductService.DocumentState> mine = new CompletableFuture<>();
+        CompletableFuture<ProductService.DocumentState> cur = documents.putIfAbsent(pdf.getAbsolutePath(), mine);
+        if (cur == null) {
+            try {
+                mine.complete(productService.readDocument(pdf));
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+            }
+            cur = mine;
+        }
+        try {
+            return cur.join();
+        } catch (CompletionException e) {
+            // 읽은 코드와 같은 예외로 (getProductInfo가 UncheckedIOException 원인을 풀어 메시지로 사용)
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    private static ProductInfoResponse failed(String code, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        log.warn("[product-batch] {} 조회 실패: {}", code, cause.toString());
+        return ProductInfoResponse.builder()
+            .insuCd(code)
+            .message("상품 정보 조회 중 오류: " + cause.getMessage())
+            .build();
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.insu.service;
+
+import com.example.insu.util.CountMinSketch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 상품 조회 빈도 추적 (캐시 워밍업/선제 갱신 순서 결정용)
+ *
+ * - 보험코드별 요청 빈도를 감쇠형 Count-Min Sketch로 근사 (고정 메모리)
+ * - 호출자는 상품으로 확인된 코드만 기록 (없는 코드는 후보에 들어오지 않음)
+ * - 후보 코드는 추정 빈도 기준 고정 크기 상위 K 힙 (insu.popularity.max-candidates, 가득 차면 최솟값과 교체)
+ * - 감쇠 후 0이 된 코드는 후보에서 제거
+ * - 하루 한 번 감쇠 → 최근 요청이 많은 상품이 상위
+ * - 인덱스 디렉터리(insu.index-dir)의 popularity.json 에 주기적으로 저장, 재시작 시 복원
+ */
+@Slf4j
+@Service
+public class ProductPopularityService {
+
+    private static final String FILE = "popularity.json";
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 2048;
+
+    private final Path file;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int maxCandidates;
+    private final Map<String, Integer> scores = new HashMap<>();   // 후보 → 힙에 넣을 때의 추정 빈도 (heap 잠금)
+    private final PriorityQueue<String> heap = new PriorityQueue<>(
+        Comparator.<String>comparingInt(scores::get).thenComparing(Comparator.reverseOrder()));   // 최솟값이 머리
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile CountMinSketch sketch = new CountMinSketch(DEPTH, WIDTH);
+
+    public ProductPopularityService(@Value("${insu.index-dir:${user.home}/insu_app/index}") String indexDir,
+                                    @Value("${insu.popularity.max-candidates:512}") int maxCandidates) {
+        this.file = Paths.get(indexDir).resolve(FILE);
+        this.maxCandidates = Math.max(1, maxCandidates);
+        load();
+    }
+
+    /** 요청 1건 기록 (상품으로 확인된 코드만) */
+    public void record(String insuCd) {
+        if (insuCd == null || insuCd.isBlank()) return;
+        CountMinSketch s = sketch;
+        s.add(insuCd);
+        offer(insuCd, s.estimate(insuCd));
+        dirty.set(true);
+    }
+
+    /** 상위 K 힙 갱신: 이미 후보면 점수 갱신, 자리가 없으면 최솟값보다 클 때만 교체 */
+    private void offer(String insuCd, int estimate) {
+        synchronized (heap) {
+            if (scores.containsKey(insuCd)) {
+                heap.remove(insuCd);
+            } else if (heap.size() >= maxCandidates) {
+                String min = heap.peek();
+                if (estimate <= scores.get(min)) return;
+                heap.poll();
+                scores.remove(min);
+            }
+            scores.put(insuCd, estimate);
+            heap.add(insuCd);
+        }
+    }
+
+    /** 후보 전체를 현재 스케치로 다시 채점 (0이면 제거) */
+    private void rescore(List<String> codes) {
+        synchronized (heap) {
+            heap.clear();
+            scores.clear();
+            CountMinSketch s = sketch;
+            for (String code : codes) {
+                int n = s.estimate(code);
+                if (n > 0) offer(code, n);
+            }
+        }
+    }
+
+    private List<String> candidates() {
+        synchronized (heap) {
+            return new ArrayList<>(scores.keySet());
+        }
+    }
+
+    public int estimate(String insuCd) {
+        return sketch.estimate(insuCd);
+    }
+
+    /** 빈도 상위 코드 (빈도 내림차순, 같으면 코드순) */
+    public List<String> hottest(int limit) {
+        CountMinSketch s = sketch;
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        for (String code : candidates()) {
+            int n = s.estimate(code);
+            if (n > 0) scores.put(code, n);
+        }
+        List<String> codes = new ArrayList<>(scores.keySet());
+        codes.sort(Comparator.<String>comparingInt(scores::get).reversed().thenComparing(Comparator.naturalOrder()));
+        return codes.size() > limit ? new ArrayList<>(codes.subList(0, limit)) : codes;
+    }
+
+    /** 상위 코드와 추정 빈도 (모니터링용) */
+    public Map<String, Integer> snapshot(int limit) {
+        Map<String, Integer> out = new LinkedHashMap<>();
+        for (String code : hottest(limit)) out.put(code, estimate(code));
+        return out;
+    }
+
+    /** 감쇠: 모든 빈도 절반, 0이 된 후보 제거 */
+    @Scheduled(cron = "${insu.popularity.decay-cron:0 0 4 * * *}")
+    public void decay() {
+        sketch.decay();
+        rescore(candidates());
+        dirty.set(true);
+        log.info("[popularity] 감쇠 완료: 후보 {}개", candidates().size());
+    }
+
+    @Scheduled(fixedDelayString = "${insu.popularity.save-interval-ms:300000}",
+               initialDelayString = "${insu.popularity.save-interval-ms:300000}")
+    public void saveIfDirty() {
+        if (dirty.compareAndSet(true, false)) {
+            save();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        saveIfDirty();
+    }
+
+    private void save() {
+        try {
+            Files.createDirectories(file.getParent());
+            State state = new State();
+            state.setDepth(DEPTH);
+            state.setWidth(WIDTH);
+            state.setCounts(sketch.counts());
+            state.setCodes(candidates());
+            Path tmp = file.resolveSibling(FILE + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), state);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("[popularity] 저장 실패: {} - {}", file, e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) return;
+        try {
+            State state = objectMapper.readValue(file.toFile(), State.class);
+            if (state.getDepth() == DEPTH && state.getWidth() == WIDTH) {
+                sketch = CountMinSketch.of(DEPTH, WIDTH, state.getCounts());
+                if (state.getCodes() != null) rescore(state.getCodes());
+                log.info("[popularity] 복원: 후보 {}개", candidates().size());
+            }
+        } catch (IOException e) {
+            log.warn("[popularity] 복원 실패, 빈 상태로 시작: {} - {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * 저장 형식
+     */
+    @Data
+    @NoArgsConstructor
+    public static class State {
+        private int depth;
+        private int width;
+        private int[][] counts;
+        private List<String> codes;
+    }
+}
@@ -4,6 +4,8 @@ import com.example.insu.dto.*;
 import com.example.insu.mapper.InsuMapper;
 import com.example.insu.mapper.LearnedPatternMapper;
 import com.example.insu.mapper.PremRateRow;
+import com.example.insu.util.BusinessMethodRules;
+import com.example.insu.util.DocumentScope;
 import com.example.insu.util.PdfParser;
 import com.example.insu.util.PdfParser.Sections;
 import lombok.RequiredArgsConstructor;
@@ -13,17 +15,18 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
 import java.util.stream.Collectors;
 import java.nio.file.Paths;
-import com.example.insu.util.LayoutStripper;
-import com.example.insu.util.LimitTableExtractor;
 
 @Slf4j
 @Service
@@ -33,12 +36,19 @@ public class ProductService {
   private final InsuMapper insuMapper;
   private final LearnedPatternMapper learnedPatternMapper;
   private final PythonPdfService pythonPdfService;
+  private final NativeTermsParsingStrategy nativeTermsStrategy; // parse_pdf_improved.py 규칙의 JVM 내 구현
   private final ImprovedHybridParsingService hybridParsingService; // Phase 1 개선: Caffeine Cache 적용
   private final UwMappingHybridParsingService uwMappingHybridParsingService; // UW_CODE_MAPPING 기반 검증
   private final UwCodeMappingValidationService uwMappingValidationService; // UW_CODE_MAPPING 검증 서비스
+  private final LimitMatrixService limitMatrixService; // 문서별 가입한도 매트릭스
+  private final ProductPopularityService popularityService; // 조회 빈도 (워밍업 순서)
+  private final PdfSectionLocator sectionLocator; // 코드 탐색: 인덱스가 있는 문서는 보험코드 섹션만 확인
 
   @Value("${insu.pdf-dir}")
   private String pdfDir;
+
+  @Value("${insu.parsing.python-fallback.enabled:false}")
+  private boolean pythonFallbackEnabled;
   
   // 학습된 패턴 캐시 (메모리 캐시)
   private final Map<String, String> learnedPatternCache = new ConcurrentHashMap<>();
@@ -50,6 +60,14 @@ public class ProductService {
 
   /** ① 상품 정보(이름/사업방법 요약/정계산 가능여부) - 조합별 행 생성 */
   public ProductInfoResponse getProductInfo(String insuCd) {
+    return getProductInfo(insuCd, this::readDocument);
+  }
+
+  /**
+   * ① 상품 정보 - 문서 상태(텍스트/섹션/코드표)를 외부에서 공급
+   * (일괄 조회 시 같은 PDF의 여러 코드가 한 번 읽은 문서를 공유)
+   */
+  public ProductInfoResponse getProductInfo(String insuCd, Function<File, DocumentState> documents) {
     log.info("[product] try insuCd={}, pdfDir={}", insuCd, pdfDir);
 
     // 가드#1: 정계산 가능여부는 매퍼 시그니처 차이 가능성 때문에 방어적으로
@@ -64,7 +82,7 @@ public class ProductService {
     }
 
     Path dir = Paths.get(pdfDir);
-    File pdf = PdfParser.findPdfForCode(dir, insuCd);   // 시그니처 유지
+    File pdf = PdfParser.findPdfForCode(dir, insuCd, sectionLocator);
     if (pdf == null) {
       log.warn("[product] no PDF matched for insuCd={} under {}", insuCd, pdfDir);
       return ProductInfoResponse.builder()
@@ -74,19 +92,13 @@ public class ProductService {
     }
 
     log.info("[product] matched PDF={} for insuCd={}", pdf.getAbsolutePath(), insuCd);
+    popularityService.record(insuCd);   // PDF에서 확인된 코드만 빈도 후보로
 
     try {
-      String text = PdfParser.readAllText(pdf);
-      PdfParser.Sections sec = PdfParser.splitSections(text);
+      DocumentState doc = documents.apply(pdf);
 
       // 이름 찾기: 일반표 → 4열(10P) → 라인형 → 퍼지(백업)
-      Map<String,String> code2name = new LinkedHashMap<>();
-      code2name.putAll(PdfParser.parseCodeTable(sec.block3));
-      if (!code2name.containsKey(insuCd))
-        code2name.putAll(PdfParser.parseCodeTableFourCols(sec.block3));
-      String name = code2name.get(insuCd);
-      if (name == null)
-        name = PdfParser.fuzzyFindNameByCode(sec.block3 != null ? sec.block3 : text, insuCd);
+      String name = doc.nameOf(insuCd);
       log.info("[product] mapped name for {} => {}", insuCd, name);
 
       // Python 파싱으로 보험기간, 납입기간, 가입나이 정보 추출
@@ -102,17 +114,57 @@ public class ProductService {
           .build();
 
     } catch (Exception e) {
-      log.error("[product] PDF parse error for {}: {}", insuCd, e.toString());
+      Throwable cause = e instanceof UncheckedIOException ? e.getCause() : e;
+      log.error("[product] PDF parse error for {}: {}", insuCd, cause.toString());
       return ProductInfoResponse.builder()
           .insuCd(insuCd).calcAvailable(calcAvail)
-          .message("PDF 파싱 중 오류: " + e.getMessage())
+          .message("PDF 파싱 중 오류: " + cause.getMessage())
           .build();
     }
   }
 
-  /** ② 가입한도(연령대 반영) */
+  /** 문서 읽기: 전체 텍스트 → 섹션 → 코드표 (I/O 오류는 UncheckedIOException) */
+  public DocumentState readDocument(File pdf) {
+    try {
+      String text = PdfParser.readAllText(pdf);
+      Sections sec = PdfParser.splitSections(text);
+      return new DocumentState(text, sec,
+          PdfParser.parseCodeTable(sec.block3), PdfParser.parseCodeTableFourCols(sec.block3));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** 문서 단위 파싱 상태 (읽기 전용, 스레드 간 공유 가능) */
+  public static final class DocumentState {
+    public final String text;
+    public final Sections sec;
+    private final Map<String,String> codeTable;
+    private final Map<String,String> fourCols;
+    private final Map<String,Optional<String>> fuzzyNames = new ConcurrentHashMap<>();
+
+    DocumentState(String text, Sections sec, Map<String,String> codeTable, Map<String,String> fourCols) {
+      this.text = text;
+      this.sec = sec;
+      this.codeTable = codeTable;
+      this.fourCols = fourCols;
+    }
+
+    /** 코드 → 명칭 (일반표 → 4열 → 퍼지, 퍼지 결과는 문서 상태에 보관) */
+    public String nameOf(String insuCd) {
+      String name = codeTable.get(insuCd);
+      if (name == null) name = fourCols.get(insuCd);
+      if (name == null) {
+        name = fuzzyNames.computeIfAbsent(insuCd, cd -> Optional.ofNullable(
+            PdfParser.fuzzyFindNameByCode(sec.block3 != null ? sec.block3 : text, cd))).orElse(null);
+      }
+      return name;
+    }
+  }
+
+  /** ② 가입한도(연령대 반영) — 문서별 한도 매트릭스 조회 */
   public LimitInfo getLimit(String insuCd, Integer age) {
-    File pdf = PdfParser.findPdfForCode(Path.of(pdfDir), insuCd);
+    File pdf = PdfParser.findPdfForCode(Path.of(pdfDir), insuCd, sectionLocator);
     if (pdf == null) {
       return LimitInfo.builder()
           .insuCd(insuCd)
@@ -121,131 +173,34 @@ public class ProductService {
     }
 
     try {
-      String text = PdfParser.readAllText(pdf);
-      PdfParser.Sections sec = PdfParser.splitSections(text);
-
-      // [로그] 36p 덤프 (pdfbox 3.x 대응 readPageText 사용 가정)
-      try {
-        String p36 = PdfParser.readPageText(pdf, 36);
-        log.debug("[limit][page36.head] {}", p36.substring(0, Math.min(600, p36.length())).replace("\n","\\n"));
-        if (p36.length() > 600) {
-          log.debug("[limit][page36.tail] {}", p36.substring(Math.max(0, p36.length()-600)).replace("\n","\\n"));
-        }
-      } catch (Exception e) {
-        log.debug("[limit] page36 dump failed: {}", e.toString());
-      }
-
-      // 1) 코드→명칭
-      Map<String,String> code2name = new LinkedHashMap<>();
-      code2name.putAll(PdfParser.parseCodeTable(sec.block3));
-      if (!code2name.containsKey(insuCd)) {
-        code2name.putAll(PdfParser.parseCodeTableFourCols(sec.block3)); // 있으면 사용
-      }
-      String name = code2name.get(insuCd);
-      if (name == null) {
-        name = PdfParser.fuzzyFindNameByCode(sec.block3 != null ? sec.block3 : text, insuCd);
-      }
-      if (name == null) {
+      // 1) 코드→상품 행 (문서당 한 번 생성된 매트릭스, 없는 코드는 퍼지 명칭으로 추가)
+      LimitMatrixService.ProductLimits row = limitMatrixService.lookup(pdf, insuCd);
+      if (row == null) {
         return LimitInfo.builder()
             .insuCd(insuCd)
             .message("PDF에 코드가 있으나 명칭을 찾지 못했습니다")
             .build();
       }
 
-      final int targetAge = (age != null ? age : 15);
-
-      // 2) 한도 수집: 레이아웃 → 구조 → 헤더열 → 느슨한 정규식
-      PdfParser.MinMaxLimit mm = null;
-
-      // 2-1) 좌표 기반(레이아웃) 최우선
-      mm = fetchMinMaxFromPdf(pdf, name, targetAge);
-      if (isEmptyLimit(mm)) {
-        // 2-2) 구조적 AgeBand
-        try {
-          PdfParser.AgeBandLimit abl =
-              PdfParser.parseAgeBandLimitByNameAndAge(sec.block5 != null ? sec.block5 : text, name, targetAge);
-          if (abl != null && (abl.minWon != null || abl.maxWon != null)) {
-            mm = new PdfParser.MinMaxLimit(abl.minWon, abl.maxWon, null, null, null, abl.matchedLine);
-          }
-        } catch (Exception ignore) {}
-      }
-      if (isEmptyLimit(mm)) {
-        // 2-3) 헤더열 정렬 방식
-        try {
-          PdfParser.AgeBandLimit abl2 =
-              PdfParser.parseAgeBandLimitByHeaderColumns(sec.block5 != null ? sec.block5 : text, name, targetAge);
-          if (abl2 != null && (abl2.minWon != null || abl2.maxWon != null)) {
-            mm = new PdfParser.MinMaxLimit(abl2.minWon, abl2.maxWon, null, null, null, abl2.matchedLine);
-          }
-        } catch (Exception ignore) {}
-      }
-      if (isEmptyLimit(mm)) {
-        // 2-4) 느슨한 라인 정규식 폴백
-        mm = PdfParser.parseMinMaxLooseByName(sec.block5 != null ? sec.block5 : text, name);
-      }
-      log.debug("[limit 1] nameRaw='{}', nameNorm='{}'", name, PdfParser.normalizeTitle(name));
-
-      if (mm != null) {
-        log.debug("[limit 1] matchedLine='{}'", mm.matchedLine);
-      }
-      // 4) UW21239 유형(단순 한도표) 폴백
-      if (isEmptyLimit(mm)) {
-        String nameNorm = PdfParser.normalizeTitle(name);
-        PdfParser.MinMaxLimit simple =
-            PdfParser.parseSimpleLimitByName(sec.block5 != null ? sec.block5 : text, nameNorm);
-        if (simple != null && (simple.minWon != null || simple.maxWon != null)) {
-          mm = simple;
-          log.debug("[limit][simple] row='{}'", simple.matchedLine);
-        }
-      }
-
-      log.debug("[limit 2] nameRaw='{}', nameNorm='{}'", name, PdfParser.normalizeTitle(name));
-      
-      if (mm != null) {
-        log.debug("[limit 2] matchedLine='{}'", mm.matchedLine);
-      }
-
-      // 3) 최종 판정
-      if (isEmptyLimit(mm)) {
-        log.debug("[limit] all strategies failed for name='{}'", name);
+      // 2) 나이 → 연령대 셀
+      LimitMatrixService.LimitCell cell = row.cellFor(age);
+      if (cell == null) {
+        log.debug("[limit] all strategies failed for name='{}'", row.getName());
         return LimitInfo.builder()
-            .insuCd(insuCd).name(name)
+            .insuCd(insuCd).name(row.getName())
             .message("가입한도 내용이 없습니다")
             .build();
       }
+      log.debug("[limit] source={}, matched line='{}', min={}, max={}",
+          cell.getSource(), cell.getMatchedLine(), cell.getMinWon(), cell.getMaxWon());
 
-      // 4) 표시 문자열
-      String display;
-      if (mm != null) {
-        if (mm.minWon != null && mm.maxWon != null) {
-          display = "최소 " + prettyKR(mm.minWon) + " ~ 최대 " + prettyKR(mm.maxWon);
-        } else if (mm.maxWon != null) {
-          display = "최대 " + prettyKR(mm.maxWon);
-        } else if (mm.minWon != null) {
-          display = "최소 " + prettyKR(mm.minWon);
-        } else {
-          display = "—";
-        }
-      } else {
-        display = "—";
-      }
-
-      if (mm != null) {
-        log.debug("[limit] matched line='{}', min={}, max={}", mm.matchedLine, mm.minWon, mm.maxWon);
-        
-        // 5) 리턴 (mm가 null이 아닌 경우)
-        return LimitInfo.builder()
-            .insuCd(insuCd).name(name)
-            .minWon(mm.minWon).maxWon(mm.maxWon)
-            .display(display)
-            .build();
-      } else {
-        log.debug("[limit] mm이 null이므로 기본값 반환");
-        return LimitInfo.builder()
-            .insuCd(insuCd).name(name)
-            .display(display)
-            .build();
-      }
+      // 3) 표시 문자열
+      String display = buildDisplay(cell.getMinWon(), cell.getMaxWon());
+      return LimitInfo.builder()
+          .insuCd(insuCd).name(row.getName())
+          .minWon(cell.getMinWon()).maxWon(cell.getMaxWon())
+          .display(display != null ? display : "—")
+          .build();
 
     } catch (Exception e) {
       return LimitInfo.builder()
@@ -255,85 +210,43 @@ public class ProductService {
     }
   }
 
+  /** 가입한도 매트릭스 (코드가 속한 문서 전체, 감사용) */
+  public LimitMatrixService.LimitMatrix getLimitMatrix(String insuCd) throws IOException {
+    File pdf = PdfParser.findPdfForCode(Path.of(pdfDir), insuCd, sectionLocator);
+    return pdf == null ? null : limitMatrixService.matrixFor(pdf);
+  }
 
-  /* ===== 내부 유틸 ===== */
-  private PdfParser.MinMaxLimit fetchMinMaxFromPdf(File pdf, String productName, Integer ageOrNull) {
-    try {
-      // 1) "가입한도" 페이지 탐색 (1~80p 내에서 첫 매치)
-      List<LayoutStripper.Line> linesOfHitPage = null;
-      @SuppressWarnings("unused")
-      int hitPage = -1;
-      for (int p = 1; p <= 80; p++) {
-        var ls = LayoutStripper.readPageLines(pdf, p);
-        if (ls.stream().anyMatch(l -> l.text.contains("가입한도"))) {
-          linesOfHitPage = ls;
-          hitPage = p;
-          break;
+  /**
+   * 가입한도 매트릭스 일괄 (PDF 디렉터리의 모든 문서, 감사용)
+   * GET 요청 안에서는 생성하지 않음: 저장된 매트릭스만 반환, 없거나 낡은 문서는 백그라운드 생성 요청
+   */
+  public List<LimitMatrixService.LimitMatrix> getAllLimitMatrices() {
+    List<LimitMatrixService.LimitMatrix> list = new ArrayList<>();
+    File[] pdfs = new File(pdfDir).listFiles((d, n) -> n.toLowerCase().endsWith(".pdf"));
+    if (pdfs == null) return list;
+    Arrays.sort(pdfs);
+    int pending = 0;
+    for (File pdf : pdfs) {
+      try {
+        LimitMatrixService.LimitMatrix m = limitMatrixService.persistedMatrix(pdf);
+        if (m != null) {
+          list.add(m);
+        } else {
+          limitMatrixService.buildInBackground(pdf);
+          pending++;
         }
+      } catch (Exception e) {
+        log.warn("[limit-matrix] {} 조회 실패: {}", pdf.getName(), e.getMessage());
       }
-      if (linesOfHitPage == null) return null;
-
-      // 2) 헤더 라인 잡기
-      LayoutStripper.Line header = linesOfHitPage.stream()
-          .filter(l -> l.text.contains("60세") && l.text.contains("최저"))
-          .findFirst().orElse(null);
-      if (header == null) {
-        // 헤더 대체: "가입한도" 다음 라인을 헤더로 보는 등 보완 가능
-        header = linesOfHitPage.stream()
-            .filter(l -> l.text.contains("가입단위") || l.text.contains("가입한도"))
-            .findFirst().orElse(null);
-      }
-      if (header == null) {
-        log.debug("헤더 라인을 찾을 수 없음");
-        return null;
-      }
-
-      Map<String, Float> anchors = LimitTableExtractor.detectHeaderAnchors(header);
-      if (anchors.isEmpty()) return null;
-
-      // 3) 대상 행(부분일치) 찾기: 상품명 정규화 후 "주계약/다사랑3N5" 등 키워드 매칭
-      final String normTarget = LimitTableExtractor.normalizeName(productName);
-      LayoutStripper.Line row = linesOfHitPage.stream()
-          .filter(l -> {
-            String s = LimitTableExtractor.normalizeName(l.text);
-            // 주계약/특약 공통 처리 가능. 필요 시 키워드 늘리세요.
-            // 예) 다사랑3N5, 사망보장, 재해사망 …
-            boolean hitName = s.contains(normTarget) || s.contains("다사랑3N5");
-            boolean looksRow = s.contains("주계약") || s.contains("보장") || s.contains("간편");
-            return hitName && looksRow;
-          })
-          .findFirst().orElse(null);
-
-      if (row == null) return null;
-
-      // 4) 나이에 따른 밴드 결정
-      String band;
-      Integer age = ageOrNull;
-      if (age == null) age = 60; // 기본값
-      if (age <= 60) band = "60세이하";
-      else if (age <= 65) band = "65세이하";
-      else if (age <= 70) band = "70세이하";
-      else band = "80세이하";
-
-      // 5) 단위 힌트 (표 본문에 "(가입단위 : 만)" 이 문구가 흔함)
-      String unitHint = "만";
-
-      // 6) 좌표기반 슬라이스에서 값 추출
-      BigDecimal maxBD = LimitTableExtractor.extractAtBand(row, band, anchors, unitHint);
-      BigDecimal minBD = LimitTableExtractor.extractAtBand(row, "최저", anchors, unitHint);
-
-      if (maxBD != null || minBD != null) {
-        String matched = row.text;
-        return new PdfParser.MinMaxLimit(minBD, maxBD, null, null, null, matched);
-      }
-    } catch (Exception e) {
-      log.debug("[limit][layout] error {}", e.toString());
     }
-    return null;
+    if (pending > 0) {
+      log.info("[limit-matrix] 저장된 매트릭스 없는 문서 {}개 → 백그라운드 생성 요청", pending);
+    }
+    return list;
   }
 
 
-  @SuppressWarnings("unused")
+  /* ===== 내부 유틸 ===== */
   private String buildDisplay(BigDecimal min, BigDecimal max) {
     if (min != null && max != null) return "최소 " + prettyKR(min) + " ~ 최대 " + prettyKR(max);
     if (max != null) return "최대 " + prettyKR(max);
@@ -418,11 +331,6 @@ public class ProductService {
         .build();
   }
 
-  private static boolean isEmptyLimit(PdfParser.MinMaxLimit m) {
-    return m == null
-        || (m.minWon == null && m.maxWon == null && m.perUnitWon == null);
-  }
-
   private static BigDecimal nz(BigDecimal v) { return v == null ? BigDecimal.ZERO : v; }
 
   private PremiumCalcResponse.PremiumCalcResponseBuilder baseResp(PremiumCalcRequest req) {
@@ -1113,14 +1021,17 @@ public class ProductService {
     return defaultTerms;
   }
   
-  /** 사업방법서 기반 조건 추출 (PDF 내용에서 상품명칭으로 조건 찾기) */
+  /**
+   * 사업방법서 기반 조건 추출 (PDF 내용에서 상품명칭으로 조건 찾기)
+   * - BusinessMethodRules.LINES 규칙 엔진, 문서 모델은 DocumentScope 안에서 문서당 1회
+   */
   private Map<String, String> getBusinessMethodTerms(File pdfFile, String insuCd) {
     try {
-      // PDF에서 텍스트 추출
-      String text = PdfParser.readAllText(pdfFile);
+      BusinessMethodRules.Document document = DocumentScope.model(pdfFile, "business-method-lines",
+          BusinessMethodRules.Document.class, f -> BusinessMethodRules.LINES.document(PdfParser.readAllText(f)));
       
       // 상품명칭 찾기
-      String productName = findProductNameByCode(text, insuCd);
+      String productName = document.productName(insuCd);
       if (productName == null) {
         log.warn("상품명칭을 찾을 수 없음: {}", insuCd);
         return getDefaultTerms(insuCd);
@@ -1129,7 +1040,7 @@ public class ProductService {
       log.info("상품명칭 발견: {} -> {}", insuCd, productName);
       
       // 사업방법서에서 해당 상품명칭의 조건 추출
-      return extractTermsFromBusinessMethod(text, productName, insuCd);
+      return extractTermsFromBusinessMethod(document, productName, insuCd);
       
     } catch (Exception e) {
       log.error("사업방법서 기반 조건 추출 오류: {}", e.getMessage(), e);
@@ -1137,64 +1048,25 @@ public class ProductService {
     }
   }
   
-  /** 상품코드로 상품명칭 찾기 */
-  private String findProductNameByCode(String text, String insuCd) {
-    try {
-      // 상품코드 주변의 텍스트에서 상품명 추출
-      String pattern = String.format("([^\\n]*?)\\s*%s\\s*([^\\n]*)", insuCd);
-      java.util.regex.Pattern regex = java.util.regex.Pattern.compile(pattern);
-      java.util.regex.Matcher matcher = regex.matcher(text);
-      
-      if (matcher.find()) {
-        String beforeCode = matcher.group(1).trim();
-        String afterCode = matcher.group(2).trim();
-        String fullName = (beforeCode + " " + afterCode).trim();
-        
-        // 의미있는 상품명인지 확인 (너무 짧거나 특수문자만 있으면 제외)
-        if (fullName.length() > 5 && !fullName.matches("[^가-힣]*")) {
-          return fullName;
-        }
-      }
-      
-      // 대안: 상품코드가 포함된 라인 전체에서 상품명 추출
-      String[] lines = text.split("\\n");
-      for (String line : lines) {
-        if (line.contains(insuCd)) {
-          // 상품코드 제거 후 나머지 텍스트를 상품명으로 사용
-          String productName = line.replaceAll("\\s*" + insuCd + "\\s*", "").trim();
-          if (productName.length() > 3 && productName.matches(".*[가-힣].*")) {
-            return productName;
-          }
-        }
-      }
-      
-    } catch (Exception e) {
-      log.debug("상품명칭 찾기 실패: {}", e.getMessage());
-    }
-    
-    return null;
-  }
-  
-  /** 사업방법서에서 상품명칭으로 조건 추출 */
-  private Map<String, String> extractTermsFromBusinessMethod(String text, String productName, String insuCd) {
+  /** 사업방법서에서 상품명칭으로 조건 추출 (상품명칭 줄 ±3줄) */
+  private Map<String, String> extractTermsFromBusinessMethod(BusinessMethodRules.Document document, String productName, String insuCd) {
     Map<String, String> terms = new LinkedHashMap<>();
     
     try {
       // "4. 사업방법" 섹션 찾기
-      String businessMethodSection = extractBusinessMethodSection(text);
-      if (businessMethodSection == null) {
+      if (!document.hasSection()) {
         log.warn("사업방법 섹션을 찾을 수 없음");
         return getDefaultTerms(insuCd);
       }
       
       // 상품명칭이 사업방법서에 있는지 확인
-      if (!businessMethodSection.contains(productName)) {
+      if (!document.sectionContains(productName)) {
         log.warn("상품명칭이 사업방법서에 없음: {}", productName);
         return getDefaultTerms(insuCd);
       }
       
       // 상품명칭 주변에서 조건 추출
-      terms = extractTermsAroundProductName(businessMethodSection, productName);
+      terms = document.termsNear(productName);
       
       // 추출된 조건이 유효한지 확인
       if (terms.get("insuTerm").equals("—") && terms.get("payTerm").equals("—")) {
@@ -1210,165 +1082,29 @@ public class ProductService {
     
     return terms;
   }
-  
-  /** 사업방법 섹션 추출 */
-  private String extractBusinessMethodSection(String text) {
-    try {
-      // "4. 사업방법" 섹션 추출
-      String[] patterns = {
-        "4\\.\\s*사업방법(.*?)(?=5\\.|6\\.|7\\.|$)",
-        "4\\.\\s*사업방법(.*?)(?=\\n\\s*[-\\*]\\s*\\(무\\)|$)",
-        "4\\.\\s*사업방법(.*?)(?=\\n주\\)|$)"
-      };
-      
-      for (String pattern : patterns) {
-        java.util.regex.Pattern regex = java.util.regex.Pattern.compile(pattern, java.util.regex.Pattern.DOTALL);
-        java.util.regex.Matcher matcher = regex.matcher(text);
-        
-        if (matcher.find()) {
-          String section = matcher.group(1).trim();
-          if (section.length() > 100) { // 최소 길이 체크
-            return section;
-          }
-        }
-      }
-      
-    } catch (Exception e) {
-      log.debug("사업방법 섹션 추출 실패: {}", e.getMessage());
-    }
-    
-    return null;
-  }
-  
-  /** 상품명칭 주변에서 조건 추출 */
-  private Map<String, String> extractTermsAroundProductName(String section, String productName) {
-    Map<String, String> terms = new LinkedHashMap<>();
-    terms.put("insuTerm", "—");
-    terms.put("payTerm", "—");
-    terms.put("ageRange", "—");
-    terms.put("renew", "—");
-    
-    try {
-      // 상품명칭이 포함된 라인 찾기
-      String[] lines = section.split("\\n");
-      int productLineIndex = -1;
-      
-      for (int i = 0; i < lines.length; i++) {
-        if (lines[i].contains(productName)) {
-          productLineIndex = i;
-          break;
-        }
-      }
-      
-      if (productLineIndex == -1) {
-        return terms;
-      }
-      
-      // 상품명칭 주변 라인들에서 조건 추출
-      for (int i = Math.max(0, productLineIndex - 3); i <= Math.min(lines.length - 1, productLineIndex + 3); i++) {
-        String line = lines[i].trim();
-        
-        // 보험기간 추출
-        if (terms.get("insuTerm").equals("—")) {
-          String insuTerm = extractInsuranceTerm(line);
-          if (!insuTerm.equals("—")) {
-            terms.put("insuTerm", insuTerm);
-          }
-        }
-        
-        // 납입기간 추출
-        if (terms.get("payTerm").equals("—")) {
-          String payTerm = extractPaymentTerm(line);
-          if (!payTerm.equals("—")) {
-            terms.put("payTerm", payTerm);
-          }
-        }
-        
-        // 가입나이 추출
-        if (terms.get("ageRange").equals("—")) {
-          String ageRange = extractAgeRange(line);
-          if (!ageRange.equals("—")) {
-            terms.put("ageRange", ageRange);
-          }
-        }
-        
-        // 갱신여부 추출
-        if (terms.get("renew").equals("—")) {
-          if (line.contains("갱신형")) {
-            terms.put("renew", "갱신형");
-          } else if (line.contains("비갱신")) {
-            terms.put("renew", "비갱신형");
-          }
-        }
-      }
-      
-    } catch (Exception e) {
-      log.debug("상품명칭 주변 조건 추출 실패: {}", e.getMessage());
-    }
-    
-    return terms;
-  }
-  
-  /** 보험기간 추출 */
-  private String extractInsuranceTerm(String line) {
-    String[] patterns = {
-      "종신", "평생", "\\d+세\\s*까지", "\\d+세\\s*종료", "\\d+년만기"
-    };
-    
-    for (String pattern : patterns) {
-      if (line.matches(".*" + pattern + ".*")) {
-        return line.replaceAll(".*?(" + pattern + ").*", "$1").trim();
-      }
-    }
-    
-    return "—";
-  }
-  
-  /** 납입기간 추출 */
-  private String extractPaymentTerm(String line) {
-    String[] patterns = {
-      "전기납", "일시납", "\\d+년납", "월납"
-    };
-    
-    for (String pattern : patterns) {
-      if (line.matches(".*" + pattern + ".*")) {
-        return line.replaceAll(".*?(" + pattern + ").*", "$1").trim();
-      }
-    }
-    
-    return "—";
-  }
-  
-  /** 가입나이 추출 */
-  private String extractAgeRange(String line) {
-    String[] patterns = {
-      "만?\\s*\\d+세\\s*~\\s*\\d+세",
-      "\\d+세\\s*~\\s*\\d+세"
-    };
-    
-    for (String pattern : patterns) {
-      java.util.regex.Pattern regex = java.util.regex.Pattern.compile(pattern);
-      java.util.regex.Matcher matcher = regex.matcher(line);
-      
-      if (matcher.find()) {
-        return matcher.group().trim();
-      }
-    }
-    
-    return "—";
-  }
 
-  /** Python을 사용한 PDF 파싱으로 보험기간, 납입기간, 가입나이 정보 추출 */
+  /**
+   * parse_pdf_improved.py 규칙으로 보험기간, 납입기간, 가입나이 정보 추출
+   * - 기본은 JVM 내 구현 (NativeTermsParsingStrategy), 결과가 없고 대체 경로가 켜져 있으면 Python 스크립트
+   */
   public Map<String, Object> parsePdfWithPython(String insuCd) {
     try {
       // PDF 파일 찾기
-      File pdfFile = PdfParser.findPdfForCode(pdfDir, insuCd);
+      File pdfFile = PdfParser.findPdfForCode(pdfDir, insuCd, sectionLocator);
       if (pdfFile == null) {
         return Map.of("error", "PDF 파일을 찾을 수 없습니다: " + insuCd);
       }
       
-      // Python 스크립트로 파싱
-      Map<String, Object> result = pythonPdfService.extractProductInfo(pdfFile.getAbsolutePath(), insuCd);
+      Map<String, Object> result;
+      Map<String, Object> nativeTerms = nativeTermsStrategy.extractTerms(pdfFile, insuCd);
+      if (nativeTerms != null) {
+        result = Map.of("insuCd", insuCd, "terms", nativeTerms);
+      } else if (pythonFallbackEnabled) {
+        // Python 스크립트로 파싱 (대체 경로)
+        result = pythonPdfService.extractProductInfo(pdfFile.getAbsolutePath(), insuCd);
+      } else {
+        return Map.of("error", "조건 추출 실패: " + insuCd);
+      }
       
       if (result.containsKey("error")) {
         return result;
@@ -1409,7 +1145,7 @@ public class ProductService {
   public Map<String, Object> parsePdfHybrid(String insuCd) {
     try {
       // PDF 파일 찾기
-      File pdfFile = PdfParser.findPdfForCode(pdfDir, insuCd);
+      File pdfFile = PdfParser.findPdfForCode(pdfDir, insuCd, sectionLocator);
       if (pdfFile == null) {
         return Map.of("error", "PDF 파일을 찾을 수 없습니다: " + insuCd);
       }
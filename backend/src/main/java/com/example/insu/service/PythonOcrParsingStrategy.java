@@ -1,6 +1,7 @@
 package com.example.insu.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
@@ -9,15 +10,19 @@ import java.util.Map;
 
 /**
  * Python OCR 기반 파싱 전략 (기존 방식)
+ * - 같은 규칙을 NativeTermsParsingStrategy가 프로세스 없이 처리 → 기본 비활성, 후순위 대체 경로로만 사용
  */
 @Slf4j
 @Service
 public class PythonOcrParsingStrategy implements ParsingStrategy {
     
     private final PythonPdfService pythonPdfService;
+    private final boolean enabled;
     
-    public PythonOcrParsingStrategy(PythonPdfService pythonPdfService) {
+    public PythonOcrParsingStrategy(PythonPdfService pythonPdfService,
+                                    @Value("${insu.parsing.python-fallback.enabled:false}") boolean enabled) {
         this.pythonPdfService = pythonPdfService;
+        this.enabled = enabled;
     }
     
     @Override
@@ -69,13 +74,13 @@ public class PythonOcrParsingStrategy implements ParsingStrategy {
     
     @Override
     public int getPriority() {
-        return 1; // 가장 먼저 시도
+        return 5; // Native 조건 파싱과 LLM 전략 이후의 대체 경로
     }
     
     @Override
     public boolean isAvailable() {
-        // Python 서비스가 사용 가능한지 확인
-        return pythonPdfService != null;
+        // 대체 경로가 켜져 있고 Python 서비스가 사용 가능한지 확인
+        return enabled && pythonPdfService != null;
     }
     
     @Override
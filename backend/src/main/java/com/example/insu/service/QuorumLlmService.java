@@ -1,38 +1,74 @@
 package com.example.insu.service;
 
+import com.example.insu.util.ParsePhaseMetrics;
+import com.example.insu.util.ParsePhaseMetrics.Phase;
+import com.example.insu.util.RollingLatencyHistogram;
+import com.example.insu.util.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * 쿼럼 기반 LLM 서비스
  * 문제 해결:
  * - All-or-Nothing → 2/3 일치 시 조기 종료
- * - 고정 30초 타임아웃 → 모델별 동적 타임아웃
+ * - 고정 30초 타임아웃 → 모델별 동적 타임아웃 (성공 지연의 롤링 HdrHistogram p99, 타임아웃 시 별도로 상향)
  * - 부분 성공 미처리 → 2개 성공 시 OK
+ * - 목록 순서 대기 → 완료 순서 수집 (CompletionService)
+ * - 응답 완료 후 투표 → 스트리밍 필드 단위 투표 (insuTerm/payTerm 2표 일치 시 즉시 확정)
+ * - CompletableFuture.cancel (중단 안 됨) → FutureTask 인터럽트로 실제 취소
+ * - 꼬리 지연 → p90 경과 시 같은 모델에 헤지 요청 발사, 먼저 끝난 쪽 채택
  */
 @Slf4j
 @Service
 public class QuorumLlmService {
     
+    /** 쿼럼 확정 기준 핵심 필드 */
+    private static final List<String> QUORUM_FIELDS = List.of("insuTerm", "payTerm");
+    private static final int QUORUM_SIZE = 2;
+    private static final long MAX_WAIT_MS = 30000;  // 전체 최대 30초
+    
+    // 동적 타임아웃: 윈도우 p99, 헤지 시점: 윈도우 p90
+    private static final double TIMEOUT_PERCENTILE = 0.99;
+    private static final double HEDGE_PERCENTILE = 0.90;
+    private static final long MIN_SAMPLES = 20;         // 이 미만이면 초기 타임아웃 유지, 헤지 안 함
+    private static final long MIN_TIMEOUT_MS = 5000;
+    private static final long MAX_TIMEOUT_MS = 20000;
+    private static final double TIMEOUT_BACKOFF = 1.5;  // 타임아웃 1회마다 타임아웃 상향 배수
+    private static final long WINDOW_SLOT_MS = 60_000;  // 1분 구간 × 15 = 15분 윈도우
+    private static final int WINDOW_SLOTS = 15;
+    
     private final OllamaService ollamaService;
-    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+    private final Executor executor;  // 공유 유계 LLM Executor
+    private final MeterRegistry meterRegistry;
     
-    // 모델별 동적 타임아웃 (p95 기반)
-    private final Map<String, Long> modelTimeouts = new ConcurrentHashMap<>();
+    @Value("${llm.quorum.hedge.enabled:true}")
+    private boolean hedgeEnabled = true;
     
-    public QuorumLlmService(OllamaService ollamaService) {
+    // 모델별 지연 분포 + 동적 타임아웃
+    private final Map<String, ModelLatency> latencies = new LinkedHashMap<>();
+    
+    public QuorumLlmService(OllamaService ollamaService,
+                            @Qualifier("llmExecutor") Executor executor,
+                            MeterRegistry meterRegistry) {
         this.ollamaService = ollamaService;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
         
-        // 초기 타임아웃 설정
-        modelTimeouts.put("Llama", 10000L);      // 10초
-        modelTimeouts.put("Mistral", 8000L);     // 8초
-        modelTimeouts.put("CodeLlama", 9000L);   // 9초
+        // 초기 타임아웃 설정 (표본이 쌓이기 전까지 사용)
+        latencies.put("Llama", new ModelLatency("Llama", 10000L));          // 10초
+        latencies.put("Mistral", new ModelLatency("Mistral", 8000L));       // 8초
+        latencies.put("CodeLlama", new ModelLatency("CodeLlama", 9000L));   // 9초
     }
     
     /**
@@ -43,147 +79,262 @@ public class QuorumLlmService {
      * @return 통합된 파싱 결과
      */
     public Map<String, String> parseWithQuorum(String prompt, String insuCd) {
+        try (TraceContext.Scope ignored = TraceContext.startSpan("llmQuorum")) {
+            return parseQuorum(prompt, insuCd);
+        }
+    }
+    
+    private Map<String, String> parseQuorum(String prompt, String insuCd) {
         log.info("=== 쿼럼 기반 LLM 파싱 시작: {} ===", insuCd);
         
         long overallStart = System.currentTimeMillis();
+        long overallStartNanos = System.nanoTime();
+        long deadline = overallStart + MAX_WAIT_MS;
         
-        // 3개 모델 병렬 실행 (각자의 타임아웃)
-        List<CompletableFuture<ModelResult>> futures = Arrays.asList(
-            CompletableFuture.supplyAsync(() -> 
-                callModel("Llama", () -> ollamaService.parseWithLlama(prompt, insuCd)), executor),
-            CompletableFuture.supplyAsync(() -> 
-                callModel("Mistral", () -> ollamaService.parseWithMistral(prompt, insuCd)), executor),
-            CompletableFuture.supplyAsync(() -> 
-                callModel("CodeLlama", () -> ollamaService.parseWithCodeLlama(prompt, insuCd)), executor)
-        );
+        // 완료 순서 큐: 모델 완료 또는 필드 쿼럼 확정 신호가 들어옴
+        BlockingQueue<Future<ModelResult>> completionQueue = new LinkedBlockingQueue<>();
+        CompletionService<ModelResult> completion = new ExecutorCompletionService<>(executor, completionQueue);
+        Future<ModelResult> settledSignal = CompletableFuture.completedFuture(null);
+        FieldVotes votes = new FieldVotes(QUORUM_FIELDS, QUORUM_SIZE,
+            () -> completionQueue.offer(settledSignal));
         
-        // 결과 수집 (쿼럼 달성 시 조기 종료)
+        // 3개 모델 병렬 실행 (각자의 타임아웃)
+        Map<Future<ModelResult>, Attempt> pending = new LinkedHashMap<>();
+        Set<String> hedged = new HashSet<>();
         List<ModelResult> results = new ArrayList<>();
-        long maxWaitTime = 30000;  // 전체 최대 30초
-        long deadline = overallStart + maxWaitTime;
         
-        for (CompletableFuture<ModelResult> future : futures) {
-            try {
-                long remaining = deadline - System.currentTimeMillis();
-                if (remaining <= 0) {
+        for (String modelName : OllamaService.MODEL_NAMES) {
+            if (!launch(completion, pending, modelName, prompt, insuCd, votes, false)) {
+                results.add(new ModelResult(modelName, null, false, false, 0));
+            }
+        }
+        
+        // 결과 수집 (완료 순서, 쿼럼 달성 시 조기 종료)
+        try {
+            while (!pending.isEmpty() && !votes.isSettled()) {
+                long now = System.currentTimeMillis();
+                if (now >= deadline) {
                     log.warn("전체 타임아웃 도달");
                     break;
                 }
                 
-                ModelResult result = future.get(remaining, TimeUnit.MILLISECONDS);
-                results.add(result);
+                // 개별 타임아웃이 지난 시도는 실제로 중단
+                expireTimedOut(pending, results, now);
+                if (pending.isEmpty()) {
+                    break;
+                }
                 
-                log.info("[{}] 완료 - 성공: {}, 소요: {}ms", 
-                        result.getModelName(), result.isSuccess(), result.getElapsedTime());
+                // p90을 넘긴 모델은 헤지 요청 발사 (모델당 1회)
+                launchHedges(completion, pending, hedged, prompt, insuCd, votes, now);
                 
-                // 쿼럼 확인: 2개 이상 일치 시 조기 종료
-                if (results.size() >= 2 && hasQuorum(results)) {
+                Future<ModelResult> done = completion.poll(Math.max(1, nextWakeup(pending, hedged, deadline) - now),
+                    TimeUnit.MILLISECONDS);
+                if (done == null || done == settledSignal) {
+                    continue;  // 타임아웃/헤지 재확인 또는 쿼럼 확정 → 루프 조건에서 처리
+                }
+                
+                Attempt attempt = pending.remove(done);
+                ModelResult result = getQuietly(done);
+                if (attempt == null || result == null) {
+                    continue;
+                }
+                
+                boolean siblingPending = pending.values().stream()
+                    .anyMatch(a -> a.modelName.equals(attempt.modelName));
+                if (result.isSuccess()) {
+                    // 먼저 끝난 시도 채택, 같은 모델의 나머지 시도는 취소
+                    cancelSiblings(pending, attempt.modelName);
+                    results.add(result);
+                } else if (!siblingPending) {
+                    results.add(result);
+                }
+                log.info("[{}{}] 완료 - 성공: {}, 소요: {}ms", attempt.modelName, attempt.hedge ? "/헤지" : "",
+                        result.isSuccess(), result.getElapsedTime());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("쿼럼 대기 중 인터럽트: {}", insuCd);
+        } finally {
+            // 나머지 요청 실제 취소 (작업 스레드 인터럽트)
+            if (!pending.isEmpty()) {
+                if (votes.isSettled()) {
                     long elapsed = System.currentTimeMillis() - overallStart;
                     log.info("✓ 쿼럼 달성 (2/3 합의), 조기 종료! 총 소요: {}ms", elapsed);
-                    
-                    // 나머지 요청 취소
-                    futures.forEach(f -> f.cancel(true));
-                    break;
                 }
-                
-            } catch (TimeoutException e) {
-                log.warn("모델 대기 타임아웃");
-            } catch (Exception e) {
-                log.error("모델 실행 오류: {}", e.getMessage());
+                Set<String> collected = new HashSet<>();
+                pending.forEach((f, attempt) -> {
+                    if (f.isDone()) {
+                        // 확정 신호와 동시에 끝난 모델은 결과로 포함
+                        ModelResult result = getQuietly(f);
+                        if (result != null && result.isSuccess() && collected.add(attempt.modelName)) {
+                            results.add(result);
+                        }
+                        return;
+                    }
+                    f.cancel(true);
+                    log.debug("[{}] 미완료 요청 취소", attempt.modelName);
+                });
             }
         }
         
         long totalElapsed = System.currentTimeMillis() - overallStart;
+        ParsePhaseMetrics.record(Phase.LLM, overallStartNanos);
         log.info("=== 쿼럼 파싱 완료: {}ms (성공: {}/3) ===", totalElapsed, 
                 results.stream().filter(ModelResult::isSuccess).count());
         
-        // 결과 통합
-        Map<String, String> integrated = integrateResultsWithQuorum(results);
+        // 결과 통합 (완료 모델 + 취소된 모델이 스트리밍으로 보낸 필드까지)
+        Map<String, String> integrated = integrateResultsWithQuorum(votes.snapshot());
         
-        // 타임아웃 동적 조정 (p95 학습)
+        // 타임아웃 동적 조정 (롤링 p99 / 헤지 p90)
         updateDynamicTimeouts(results);
         
         return integrated;
     }
     
     /**
-     * 모델 호출 (개별 타임아웃 적용)
+     * 모델 호출 (LLM Executor 스레드에서 블로킹 스트리밍)
+     * - 완성된 필드는 도착 즉시 투표
+     * - 타임아웃은 수집 루프가 cancel(true)로 인터럽트
      */
-    private ModelResult callModel(String modelName, 
-                                  Supplier<CompletableFuture<Map<String, String>>> supplier) {
+    private ModelResult callModel(String modelName, String prompt, String insuCd, FieldVotes votes) {
         long start = System.currentTimeMillis();
-        long timeout = modelTimeouts.getOrDefault(modelName, 10000L);
         
-        try {
-            log.debug("[{}] 호출 시작 (타임아웃: {}ms)", modelName, timeout);
+        try (TraceContext.Scope ignored = TraceContext.startSpan("llm:" + modelName)) {
+            log.debug("[{}] 호출 시작", modelName);
             
-            Map<String, String> result = supplier.get()
-                .get(timeout, TimeUnit.MILLISECONDS);
+            Map<String, String> result = ollamaService.parseStreaming(modelName, prompt, insuCd,
+                (field, value) -> votes.vote(modelName, field, value));
             
             long elapsed = System.currentTimeMillis() - start;
             
-            return new ModelResult(modelName, result, true, elapsed);
+            return new ModelResult(modelName, result, true, false, elapsed);
             
-        } catch (TimeoutException e) {
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             long elapsed = System.currentTimeMillis() - start;
-            log.warn("[{}] 타임아웃: {}ms", modelName, elapsed);
-            return new ModelResult(modelName, null, false, elapsed);
+            log.debug("[{}] 취소됨: {}ms", modelName, elapsed);
+            return new ModelResult(modelName, null, false, false, elapsed);
             
         } catch (Exception e) {
             long elapsed = System.currentTimeMillis() - start;
             log.error("[{}] 실패: {} ({}ms)", modelName, e.getMessage(), elapsed);
-            return new ModelResult(modelName, null, false, elapsed);
+            return new ModelResult(modelName, null, false, false, elapsed);
         }
     }
     
     /**
-     * 쿼럼 확인: 2개 이상의 모델이 핵심 필드에서 일치하는지
+     * 모델 호출 제출 (거절 시 false)
      */
-    private boolean hasQuorum(List<ModelResult> results) {
-        if (results.size() < 2) {
+    private boolean launch(CompletionService<ModelResult> completion, Map<Future<ModelResult>, Attempt> pending,
+                           String modelName, String prompt, String insuCd, FieldVotes votes, boolean hedge) {
+        try {
+            long start = System.currentTimeMillis();
+            Future<ModelResult> f = completion.submit(() -> callModel(modelName, prompt, insuCd, votes));
+            pending.put(f, new Attempt(modelName, start, start + latencies.get(modelName).timeoutMs, hedge));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("[{}] LLM Executor 포화로 호출 거절{}", modelName, hedge ? " (헤지)" : "");
             return false;
         }
-        
-        // 성공한 모델만 필터링
-        List<Map<String, String>> successResults = results.stream()
-            .filter(ModelResult::isSuccess)
-            .map(ModelResult::getResult)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
-        
-        if (successResults.size() < 2) {
-            return false;
+    }
+    
+    /**
+     * 헤지 요청: 단일 시도가 모델의 p90 지연을 넘기면 같은 모델로 한 번 더 호출
+     * - 투표는 모델 단위로 집계되므로 헤지가 표를 두 번 던지지 않음
+     */
+    private void launchHedges(CompletionService<ModelResult> completion, Map<Future<ModelResult>, Attempt> pending,
+                              Set<String> hedged, String prompt, String insuCd, FieldVotes votes, long now) {
+        if (!hedgeEnabled) {
+            return;
+        }
+        for (Attempt attempt : new ArrayList<>(pending.values())) {
+            long hedgeDelay = latencies.get(attempt.modelName).hedgeDelayMs;
+            if (hedgeDelay <= 0 || hedged.contains(attempt.modelName) || now - attempt.start < hedgeDelay) {
+                continue;
+            }
+            hedged.add(attempt.modelName);
+            if (launch(completion, pending, attempt.modelName, prompt, insuCd, votes, true)) {
+                latencies.get(attempt.modelName).hedges.increment();
+                log.info("[{}] p90({}ms) 초과 → 헤지 요청 발사", attempt.modelName, hedgeDelay);
+            }
+        }
+    }
+    
+    /**
+     * 다음 재확인 시점: 전체 마감, 각 시도의 타임아웃, 아직 헤지 안 한 모델의 p90 시점 중 가장 이른 것
+     */
+    private long nextWakeup(Map<Future<ModelResult>, Attempt> pending, Set<String> hedged, long deadline) {
+        long wakeup = deadline;
+        for (Attempt attempt : pending.values()) {
+            wakeup = Math.min(wakeup, attempt.deadline);
+            long hedgeDelay = latencies.get(attempt.modelName).hedgeDelayMs;
+            if (hedgeEnabled && hedgeDelay > 0 && !hedged.contains(attempt.modelName)) {
+                wakeup = Math.min(wakeup, attempt.start + hedgeDelay);
+            }
+        }
+        return wakeup;
+    }
+    
+    /**
+     * 개별 타임아웃 초과 시도 중단 (같은 모델의 다른 시도가 없으면 타임아웃으로 기록)
+     */
+    private void expireTimedOut(Map<Future<ModelResult>, Attempt> pending, List<ModelResult> results, long now) {
+        List<Attempt> expired = new ArrayList<>();
+        Iterator<Map.Entry<Future<ModelResult>, Attempt>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Future<ModelResult>, Attempt> e = it.next();
+            if (now >= e.getValue().deadline) {
+                e.getKey().cancel(true);
+                it.remove();
+                expired.add(e.getValue());
+            }
+        }
+        for (Attempt attempt : expired) {
+            boolean siblingPending = pending.values().stream()
+                .anyMatch(a -> a.modelName.equals(attempt.modelName));
+            log.warn("[{}{}] 타임아웃: {}ms", attempt.modelName, attempt.hedge ? "/헤지" : "", now - attempt.start);
+            if (!siblingPending) {
+                results.add(new ModelResult(attempt.modelName, null, false, true, now - attempt.start));
+            }
+        }
+    }
+    
+    private void cancelSiblings(Map<Future<ModelResult>, Attempt> pending, String modelName) {
+        Iterator<Map.Entry<Future<ModelResult>, Attempt>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Future<ModelResult>, Attempt> e = it.next();
+            if (e.getValue().modelName.equals(modelName)) {
+                e.getKey().cancel(true);
+                it.remove();
+            }
+        }
+    }
+    
+    private ModelResult getQuietly(Future<ModelResult> future) {
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            log.error("모델 실행 오류: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return null;
         }
-        
-        // 핵심 필드 (insuTerm, payTerm) 일치도 확인
-        Map<String, Long> insuTermVotes = successResults.stream()
-            .map(r -> r.get("insuTerm"))
-            .filter(Objects::nonNull)
-            .collect(Collectors.groupingBy(v -> v, Collectors.counting()));
-        
-        Map<String, Long> payTermVotes = successResults.stream()
-            .map(r -> r.get("payTerm"))
-            .filter(Objects::nonNull)
-            .collect(Collectors.groupingBy(v -> v, Collectors.counting()));
-        
-        // 2개 이상이 동일한 값이면 쿼럼
-        boolean insuTermQuorum = insuTermVotes.values().stream().anyMatch(count -> count >= 2);
-        boolean payTermQuorum = payTermVotes.values().stream().anyMatch(count -> count >= 2);
-        
-        return insuTermQuorum && payTermQuorum;
     }
     
     /**
      * 쿼럼 기반 결과 통합 (투표)
+     * 
+     * @param modelFields 모델별로 스트리밍 수신 완료된 필드
      */
-    private Map<String, String> integrateResultsWithQuorum(List<ModelResult> results) {
+    private Map<String, String> integrateResultsWithQuorum(Map<String, Map<String, String>> modelFields) {
         Map<String, String> integrated = new LinkedHashMap<>();
         
-        // 성공한 모델만 사용
-        List<Map<String, String>> successResults = results.stream()
-            .filter(ModelResult::isSuccess)
-            .map(ModelResult::getResult)
-            .filter(Objects::nonNull)
+        // 필드를 하나라도 보낸 모델만 사용
+        List<Map<String, String>> successResults = modelFields.values().stream()
+            .filter(m -> !m.isEmpty())
             .collect(Collectors.toList());
         
         if (successResults.isEmpty()) {
@@ -199,7 +350,7 @@ public class QuorumLlmService {
         
         // 메타 정보
         integrated.put("specialNotes", 
-            String.format("쿼럼 기반 통합 (%d/3 모델 성공)", successResults.size()));
+            String.format("쿼럼 기반 통합 (%d/3 모델 응답)", successResults.size()));
         
         return integrated;
     }
@@ -210,7 +361,7 @@ public class QuorumLlmService {
     private String voteForField(String field, List<Map<String, String>> results) {
         Map<String, Long> votes = results.stream()
             .map(r -> r.get(field))
-            .filter(Objects::nonNull)
+            .filter(v -> v != null && !v.isBlank())
             .filter(v -> !v.equals("—"))
             .collect(Collectors.groupingBy(v -> v, Collectors.counting()));
         
@@ -226,28 +377,51 @@ public class QuorumLlmService {
     }
     
     /**
-     * 동적 타임아웃 업데이트 (p95 기반)
+     * 동적 타임아웃 업데이트 (롤링 분포 기반)
+     * - 윈도우에는 성공 지연만 기록: 타임아웃 표본(= 당시 타임아웃 값)이 섞이면 p99가 자기 값에 고정됨
+     * - 이번 호출에서 타임아웃 → 연속 타임아웃 수 증가, 타임아웃을 TIMEOUT_BACKOFF배로 명시적 상향 (최대 20초)
+     * - 성공 → 연속 타임아웃 초기화, 타임아웃 = 윈도우 p99, 헤지 시점 = 윈도우 p90 (표본 부족 시 기존 값 유지)
      */
-    private void updateDynamicTimeouts(List<ModelResult> results) {
+    void updateDynamicTimeouts(List<ModelResult> results) {
         for (ModelResult result : results) {
-            if (result.isSuccess()) {
-                String modelName = result.getModelName();
-                long elapsed = result.getElapsedTime();
-                
-                // 현재 타임아웃의 120%로 조정 (여유 있게)
-                long newTimeout = (long) (elapsed * 1.2);
-                
-                // 최소 5초, 최대 20초
-                newTimeout = Math.max(5000, Math.min(20000, newTimeout));
-                
-                modelTimeouts.put(modelName, newTimeout);
-                
-                log.debug("[{}] 타임아웃 조정: {}ms → {}ms", 
-                        modelName, elapsed, newTimeout);
+            ModelLatency latency = latencies.get(result.getModelName());
+            if (latency == null) {
+                continue;
+            }
+            if (result.isTimedOut()) {
+                latency.recordTimeout(result.getElapsedTime());
+                long raised = Math.min(MAX_TIMEOUT_MS, (long) (latency.timeoutMs * TIMEOUT_BACKOFF));
+                log.debug("[{}] 타임아웃 {}회 연속 → 타임아웃 상향: {}ms → {}ms",
+                        latency.modelName, latency.timeoutStreak, latency.timeoutMs, raised);
+                latency.timeoutMs = raised;
+                if (latency.hedgeDelayMs >= raised) {
+                    latency.hedgeDelayMs = -1;
+                }
+            } else if (result.isSuccess()) {
+                latency.recordSuccess(result.getElapsedTime());
+                adjustFromWindow(latency);
             }
         }
     }
     
+    private void adjustFromWindow(ModelLatency latency) {
+        long p99 = latency.window.percentile(TIMEOUT_PERCENTILE, MIN_SAMPLES);
+        if (p99 < 0) {
+            return;
+        }
+        long p90 = latency.window.percentile(HEDGE_PERCENTILE, MIN_SAMPLES);
+        
+        // 최소 5초, 최대 20초
+        long newTimeout = Math.max(MIN_TIMEOUT_MS, Math.min(MAX_TIMEOUT_MS, p99));
+        if (newTimeout != latency.timeoutMs) {
+            log.debug("[{}] 타임아웃 조정: {}ms → {}ms (p90={}ms, p99={}ms)",
+                    latency.modelName, latency.timeoutMs, newTimeout, p90, p99);
+        }
+        latency.timeoutMs = newTimeout;
+        // 헤지는 타임아웃 이전에만 의미 있음
+        latency.hedgeDelayMs = p90 < newTimeout ? p90 : -1;
+    }
+    
     /**
      * 기본 결과
      */
@@ -261,6 +435,65 @@ public class QuorumLlmService {
         return result;
     }
     
+    /**
+     * 스트리밍 필드 투표판
+     * - 모델 스레드들이 필드 완성 시점에 vote() 호출
+     * - 핵심 필드가 모두 quorumSize 표 이상 같은 값이면 확정, onSettled 1회 호출
+     */
+    static class FieldVotes {
+        private final List<String> quorumFields;
+        private final int quorumSize;
+        private final Runnable onSettled;
+        private final Map<String, Map<String, String>> byModel = new LinkedHashMap<>();
+        private volatile boolean settled = false;
+        
+        FieldVotes(List<String> quorumFields, int quorumSize, Runnable onSettled) {
+            this.quorumFields = quorumFields;
+            this.quorumSize = quorumSize;
+            this.onSettled = onSettled;
+        }
+        
+        void vote(String modelName, String field, String value) {
+            boolean justSettled;
+            synchronized (this) {
+                byModel.computeIfAbsent(modelName, k -> new LinkedHashMap<>()).put(field, value);
+                if (settled || !quorumFields.contains(field)) {
+                    return;
+                }
+                justSettled = quorumFields.stream().allMatch(this::hasAgreement);
+                settled = justSettled;
+            }
+            if (justSettled) {
+                log.debug("필드 쿼럼 확정: {}", quorumFields);
+                onSettled.run();
+            }
+        }
+        
+        private boolean hasAgreement(String field) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (Map<String, String> fields : byModel.values()) {
+                String v = fields.get(field);
+                if (v == null || v.isBlank() || "—".equals(v)) {
+                    continue;
+                }
+                if (counts.merge(v, 1, Integer::sum) >= quorumSize) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        boolean isSettled() {
+            return settled;
+        }
+        
+        synchronized Map<String, Map<String, String>> snapshot() {
+            Map<String, Map<String, String>> copy = new LinkedHashMap<>();
+            byModel.forEach((k, v) -> copy.put(k, new LinkedHashMap<>(v)));
+            return copy;
+        }
+    }
+    
     /**
      * 모델 결과 DTO
      */
@@ -269,14 +502,109 @@ public class QuorumLlmService {
         private final String modelName;
         private final Map<String, String> result;
         private final boolean success;
+        private final boolean timedOut;
         private final long elapsedTime;
     }
     
     /**
-     * 타임아웃 통계 조회
+     * 개별 호출 시도 (원 요청 또는 헤지)
+     */
+    private static class Attempt {
+        private final String modelName;
+        private final long start;
+        private final long deadline;
+        private final boolean hedge;
+        
+        Attempt(String modelName, long start, long deadline, boolean hedge) {
+            this.modelName = modelName;
+            this.start = start;
+            this.deadline = deadline;
+            this.hedge = hedge;
+        }
+    }
+    
+    /**
+     * 모델별 지연 상태: 롤링 분포 + 현재 타임아웃/헤지 시점 + Micrometer 미터
+     */
+    private class ModelLatency {
+        private final String modelName;
+        private final RollingLatencyHistogram window =
+            new RollingLatencyHistogram(MAX_WAIT_MS, WINDOW_SLOT_MS, WINDOW_SLOTS);
+        private final Timer successTimer;
+        private final Timer timeoutTimer;
+        private final Counter hedges;
+        private final Counter timeouts;
+        private volatile long timeoutMs;
+        private volatile long hedgeDelayMs = -1;
+        private volatile int timeoutStreak = 0;
+        
+        ModelLatency(String modelName, long initialTimeoutMs) {
+            this.modelName = modelName;
+            this.timeoutMs = initialTimeoutMs;
+            this.successTimer = latencyTimer(modelName, "success");
+            this.timeoutTimer = latencyTimer(modelName, "timeout");
+            this.hedges = Counter.builder("insu.llm.model.hedges")
+                .description("p90 초과로 발사한 헤지 요청 수")
+                .tag("model", modelName)
+                .register(meterRegistry);
+            this.timeouts = Counter.builder("insu.llm.model.timeouts")
+                .description("개별 타임아웃으로 중단한 호출 수")
+                .tag("model", modelName)
+                .register(meterRegistry);
+            Gauge.builder("insu.llm.model.timeout", this, l -> l.timeoutMs)
+                .description("현재 동적 타임아웃 (ms)")
+                .tag("model", modelName)
+                .register(meterRegistry);
+            Gauge.builder("insu.llm.model.hedge.delay", this, l -> l.hedgeDelayMs)
+                .description("헤지 발사 시점 (ms, -1이면 비활성)")
+                .tag("model", modelName)
+                .register(meterRegistry);
+        }
+        
+        void recordSuccess(long elapsedMs) {
+            window.record(elapsedMs);
+            successTimer.record(elapsedMs, TimeUnit.MILLISECONDS);
+            timeoutStreak = 0;
+        }
+        
+        void recordTimeout(long elapsedMs) {
+            timeoutTimer.record(elapsedMs, TimeUnit.MILLISECONDS);
+            timeouts.increment();
+            timeoutStreak++;
+        }
+    }
+    
+    private Timer latencyTimer(String modelName, String outcome) {
+        return Timer.builder("insu.llm.model.latency")
+            .description("LLM 모델별 호출 지연")
+            .tag("model", modelName)
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.9, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+    
+    /**
+     * 타임아웃 통계 조회 (모델별 현재 타임아웃/헤지 시점 + 윈도우 분위수)
      */
-    public Map<String, Long> getTimeoutStatistics() {
-        return new HashMap<>(modelTimeouts);
+    public Map<String, Map<String, Object>> getTimeoutStatistics() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        latencies.forEach((modelName, latency) -> {
+            org.HdrHistogram.Histogram h = latency.window.snapshot();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("timeoutMs", latency.timeoutMs);
+            m.put("hedgeDelayMs", latency.hedgeDelayMs);
+            m.put("samples", h.getTotalCount());
+            m.put("p50", h.getValueAtPercentile(50.0));
+            m.put("p90", h.getValueAtPercentile(90.0));
+            m.put("p95", h.getValueAtPercentile(95.0));
+            m.put("p99", h.getValueAtPercentile(99.0));
+            m.put("hedges", (long) latency.hedges.count());
+            m.put("timeouts", (long) latency.timeouts.count());
+            m.put("timeoutStreak", latency.timeoutStreak);
+            stats.put(modelName, m);
+        });
+        return stats;
     }
 }
 
@@ -109,76 +109,40 @@ public class UwMappingValidatedParsingStrategy implements ParsingStrategy {
     
     /**
      * 학습된 패턴 적용
+     * - 필드별 후보는 스코어링 서비스의 (보험코드, 필드) 순위에서 바로 조회 (파싱마다 정렬/재채점 없음)
      */
     private Map<String, String> applyLearnedPatterns(String insuCd, Map<String, String> llmResult) {
         try {
-            log.info("학습된 패턴 조회 시작: {}", insuCd);
+            Map<String, LearnedPattern> candidates = selectPatternCandidates(insuCd);
             
-            // 해당 상품코드의 모든 학습된 패턴 조회
-            List<LearnedPattern> patterns = learnedPatternMapper.selectAllByInsuCd(insuCd);
-            
-            if (patterns.isEmpty()) {
-                log.info("학습된 패턴 없음: {}", insuCd);
+            if (candidates.isEmpty()) {
+                log.info("적용 가능한 학습된 패턴 없음: {}", insuCd);
                 return llmResult;
             }
             
-            log.info("학습된 패턴 {} 개 발견: {}", patterns.size(), insuCd);
-            
-            // 각 패턴의 상세 정보 로그
-            for (LearnedPattern pattern : patterns) {
-                log.info("패턴 상세: {} {} = {} (신뢰도: {}%, 우선순위: {})", 
-                        insuCd, pattern.getFieldName(), pattern.getPatternValue(), 
-                        pattern.getConfidenceScore(), pattern.getPriority());
-            }
-            
-            // 패턴을 우선순위별로 정렬 (높은 우선순위부터)
-            patterns.sort((p1, p2) -> Integer.compare(p2.getPriority(), p1.getPriority()));
-            
             // 각 필드에 대해 학습된 패턴 적용
             Map<String, String> result = new LinkedHashMap<>(llmResult);
             boolean patternApplied = false;
             
-            for (LearnedPattern pattern : patterns) {
-                String fieldName = pattern.getFieldName();
+            for (Map.Entry<String, LearnedPattern> candidate : candidates.entrySet()) {
+                String fieldName = candidate.getKey();
+                LearnedPattern pattern = candidate.getValue();
                 String patternValue = pattern.getPatternValue();
-                int confidence = pattern.getConfidenceScore();
-                int priority = pattern.getPriority();
-                
-                // 품질 스코어링 적용
-                int qualityScore = confidence; // 기본값
-                if (patternScoringService != null) {
-                    qualityScore = patternScoringService.calculatePatternScore(pattern);
-                    log.debug("패턴 품질 점수: {} {} = {} 점 (등급: {})", 
-                             insuCd, fieldName, qualityScore, 
-                             patternScoringService.getQualityGrade(qualityScore));
-                }
-                
-                // 품질 점수 60 이상만 적용 (기존: 신뢰도 70, 우선순위 50)
-                boolean isApplicable = patternScoringService != null ? 
-                                      patternScoringService.isApplicable(pattern) :
-                                      (confidence >= 70 && priority >= 50);
+                String currentValue = result.get(fieldName);
                 
-                if (isApplicable) {
-                    String currentValue = result.get(fieldName);
+                // 현재 값이 기본값이거나 복잡한 파싱 결과인 경우 패턴 적용
+                if (currentValue == null || currentValue.trim().isEmpty() || 
+                    currentValue.equals("—") || 
+                    currentValue.contains("종신:") || 
+                    currentValue.length() > 100) { // 복잡한 파싱 결과도 덮어쓰기
                     
-                    // 현재 값이 기본값이거나 복잡한 파싱 결과인 경우 패턴 적용
-                    if (currentValue == null || currentValue.trim().isEmpty() || 
-                        currentValue.equals("—") || 
-                        currentValue.contains("종신:") || 
-                        currentValue.length() > 100) { // 복잡한 파싱 결과도 덮어쓰기
-                        
-                        result.put(fieldName, patternValue);
-                        patternApplied = true;
-                        
-                        log.info("✅ 학습된 패턴 적용: {} {} = {} (품질점수: {}, 신뢰도: {}%, 우선순위: {})", 
-                                insuCd, fieldName, patternValue, qualityScore, confidence, priority);
-                    } else {
-                        log.debug("패턴 적용 스킵: {} {} 현재값='{}' (품질점수: {})", 
-                                insuCd, fieldName, currentValue, qualityScore);
-                    }
+                    result.put(fieldName, patternValue);
+                    patternApplied = true;
+                    
+                    log.info("✅ 학습된 패턴 적용: {} {} = {} (신뢰도: {}%, 우선순위: {})", 
+                            insuCd, fieldName, patternValue, pattern.getConfidenceScore(), pattern.getPriority());
                 } else {
-                    log.warn("❌ 패턴 품질 부족으로 적용 불가: {} {} (품질점수: {})", 
-                            insuCd, fieldName, qualityScore);
+                    log.debug("패턴 적용 스킵: {} {} 현재값='{}'", insuCd, fieldName, currentValue);
                 }
             }
             
@@ -197,6 +161,29 @@ public class UwMappingValidatedParsingStrategy implements ParsingStrategy {
         }
     }
     
+    /**
+     * 필드별 적용 후보 패턴
+     * - 스코어링 서비스가 있으면 품질 점수 60 이상 중 최고 점수
+     * - 없으면 우선순위 순으로 신뢰도 70, 우선순위 50 이상인 첫 패턴
+     */
+    private Map<String, LearnedPattern> selectPatternCandidates(String insuCd) {
+        Map<String, LearnedPattern> candidates = new LinkedHashMap<>();
+        if (patternScoringService != null) {
+            patternScoringService.bestApplicable(insuCd)
+                .forEach((field, scored) -> candidates.put(field, scored.getPattern()));
+            return candidates;
+        }
+        
+        List<LearnedPattern> patterns = learnedPatternMapper.selectAllByInsuCd(insuCd);
+        patterns.sort((p1, p2) -> Integer.compare(p2.getPriority(), p1.getPriority()));
+        for (LearnedPattern pattern : patterns) {
+            if (pattern.getConfidenceScore() >= 70 && pattern.getPriority() >= 50) {
+                candidates.putIfAbsent(pattern.getFieldName(), pattern);
+            }
+        }
+        return candidates;
+    }
+    
     /**
      * 가입나이 패턴 보완 정책 적용
      * 같은 코드 내의 다른 납입기간/보험기간의 정상적인 가입나이 패턴을 참조
@@ -0,0 +1,398 @@
+// src/main/java/com/example/insu/util/BusinessMethodRules.java
+package com.example.insu.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 사업방법 조건 추출 규칙 엔진 (선언형 규칙, 클래스 로딩 시 한 번 컴파일)
+ *
+ * - 규칙 = 필드 + 정규식 + 값 변환 + 필수 키워드 (정규식이 매치되면 반드시 포함되는 문자열)
+ * - 모든 규칙의 키워드를 Aho-Corasick 오토마톤 하나로 묶어 사업방법 섹션을 1회 스캔
+ *   → 탐색 구간 안에 키워드가 나온 규칙만 정규식 실행
+ * - 필드 안의 규칙 순서 = 우선순위 (앞 규칙이 구간 어디서든 매치되면 채택)
+ * - 문서 모델(Document): 섹션, 키워드 위치, 상품명 색인을 한 번 만들어 문서의 모든 보험코드가 공유
+ *   (DocumentScope.model과 함께 쓰면 문서당 1개)
+ *
+ * 프로필 (기존 두 구현의 동작을 그대로 규칙으로 옮김, 갱신여부는 "비갱신"을 먼저 확인):
+ * - LABELED: "보험기간: 20년만기" 처럼 라벨 뒤 값, 상품명 앞 200자 ~ 뒤 500자 (BusinessMethodParsingStrategy)
+ * - LINES: 줄 안의 값 자체 (종신, 20년납, 15세~60세 ...), 상품명 줄 ±3줄, 앞 줄 값 우선 (ProductService)
+ */
+public final class BusinessMethodRules {
+
+  public static final String NONE = "—";
+  public static final List<String> FIELDS = List.of("insuTerm", "payTerm", "ageRange", "renew");
+
+  private static final Function<Matcher, String> WHOLE = m -> m.group().trim();
+
+  public static final BusinessMethodRules LABELED = new Builder(true, 200, 500, 0)
+      .section("4\\.\\s*사업방법([\\s\\S]*?)(?:5\\.|$)", 0)
+      .section("사업방법상의\\s*내용([\\s\\S]*?)(?:주\\s*요\\s*내\\s*용|$)", 0)
+      .section("사업방법([\\s\\S]*?)(?:가입한도|$)", 0)
+      .rule("insuTerm", "보험기간[:\\s]*(종신|\\d+세만기|\\d+년만기)[,\\s]*(종신|\\d+세만기|\\d+년만기)?",
+          BusinessMethodRules::joinGroups, "보험기간")
+      .rule("payTerm", "납입기간[:\\s]*(\\d+년납)[,\\s]*(\\d+년납)?[,\\s]*(\\d+년납)?[,\\s]*(\\d+년납)?",
+          BusinessMethodRules::joinGroups, "납입기간")
+      .rule("ageRange", "가입나이[:\\s]*([^\\n]{10,100})",
+          m -> m.group(1).trim().replace("만", "").replace("세", ""), "가입나이")
+      .rule("renew", "비갱신형", m -> "비갱신형", "비갱신형")
+      .rule("renew", "갱신형", m -> "갱신형", "갱신형")
+      .build();
+
+  public static final BusinessMethodRules LINES = new Builder(false, 3, 3, 101)
+      .section("4\\.\\s*사업방법(.*?)(?=5\\.|6\\.|7\\.|$)", Pattern.DOTALL)
+      .section("4\\.\\s*사업방법(.*?)(?=\\n\\s*[-\\*]\\s*\\(무\\)|$)", Pattern.DOTALL)
+      .section("4\\.\\s*사업방법(.*?)(?=\\n주\\)|$)", Pattern.DOTALL)
+      .rule("insuTerm", "종신", WHOLE, "종신")
+      .rule("insuTerm", "평생", WHOLE, "평생")
+      .rule("insuTerm", "\\d+세\\s*까지", WHOLE, "까지")
+      .rule("insuTerm", "\\d+세\\s*종료", WHOLE, "종료")
+      .rule("insuTerm", "\\d+년만기", WHOLE, "년만기")
+      .rule("payTerm", "전기납", WHOLE, "전기납")
+      .rule("payTerm", "일시납", WHOLE, "일시납")
+      .rule("payTerm", "\\d+년납", WHOLE, "년납")
+      .rule("payTerm", "월납", WHOLE, "월납")
+      .rule("ageRange", "만?\\s*\\d+세\\s*~\\s*\\d+세", WHOLE, "~")
+      .rule("renew", "비갱신", m -> "비갱신형", "비갱신")
+      .rule("renew", "갱신형", WHOLE, "갱신형")
+      .build();
+
+  /** 코드 뒤 상품명 (LABELED: 코드별로 우선순위 순) */
+  private static final Pattern[] HEADING_NAMES = {
+      Pattern.compile("(\\d{5})\\s+([^\\n]+특약|[^\\n]+보험)"),
+      Pattern.compile("\\[(\\d{5})\\]\\s+([^\\n]+)"),
+      Pattern.compile("(\\d{5})\\s*:\\s*([^\\n]+)")
+  };
+
+  private static final class Rule {
+    final int field;
+    final Pattern pattern;
+    final Function<Matcher, String> value;
+    final String[] keywords;
+
+    Rule(int field, Pattern pattern, Function<Matcher, String> value, String[] keywords) {
+      this.field = field;
+      this.pattern = pattern;
+      this.value = value;
+      this.keywords = keywords;
+    }
+  }
+
+  private final boolean headingStyle;
+  private final int before;
+  private final int after;
+  private final int minSectionLength;
+  private final List<Pattern> sections;
+  private final Rule[] rules;
+  private final KeywordAutomaton automaton;
+  private final int[] keywordRule;
+
+  private BusinessMethodRules(Builder b) {
+    this.headingStyle = b.headingStyle;
+    this.before = b.before;
+    this.after = b.after;
+    this.minSectionLength = b.minSectionLength;
+    this.sections = List.copyOf(b.sections);
+    List<Rule> sorted = new ArrayList<>(b.rules);
+    sorted.sort((x, y) -> Integer.compare(x.field, y.field));  // 안정 정렬: 필드 안 선언 순서 유지
+    this.rules = sorted.toArray(new Rule[0]);
+    List<String> keywords = new ArrayList<>();
+    List<Integer> owners = new ArrayList<>();
+    for (int r = 0; r < rules.length; r++) {
+      for (String kw : rules[r].keywords) {
+        keywords.add(kw);
+        owners.add(r);
+      }
+    }
+    this.automaton = new KeywordAutomaton(keywords);
+    this.keywordRule = owners.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /** 문서 모델 생성 (섹션 탐색 + 키워드 1회 스캔) */
+  public Document document(String text) {
+    return new Document(text);
+  }
+
+  /** 주어진 텍스트 전체에서 필드 하나 추출 (표 셀 등 짧은 텍스트용, 없으면 "—") */
+  public String value(String field, String text) {
+    int f = FIELDS.indexOf(field);
+    for (Rule rule : rules) {
+      if (rule.field != f || Arrays.stream(rule.keywords).noneMatch(text::contains)) continue;
+      Matcher m = rule.pattern.matcher(text);
+      if (m.find()) return rule.value.apply(m);
+    }
+    return NONE;
+  }
+
+  /**
+   * 문서 하나의 공유 모델
+   * - 섹션/키워드 위치는 생성 시 1회, 상품명 색인과 줄별 값은 처음 필요할 때 1회
+   * - 스레드 한정 사용 전제 (DocumentScope 안 또는 호출마다 새로 생성)
+   */
+  public final class Document {
+    private final String text;
+    private final String section;
+    private final int[][] hitStarts;
+    private final int[][] hitEnds;
+    private int[] lineStarts;
+    private final Map<Integer, String[]> lineValues = new HashMap<>();
+    private List<Map<String, String>> headingNames;
+    private final Map<String, String> names = new HashMap<>();
+
+    private Document(String text) {
+      this.text = text;
+      this.section = findSection(text);
+      this.hitStarts = new int[rules.length][];
+      this.hitEnds = new int[rules.length][];
+      if (section == null) return;
+
+      List<List<int[]>> hits = new ArrayList<>();
+      for (int r = 0; r < rules.length; r++) hits.add(new ArrayList<>());
+      automaton.scan(section, (k, start, end) -> hits.get(keywordRule[k]).add(new int[]{start, end}));
+      for (int r = 0; r < rules.length; r++) {
+        List<int[]> list = hits.get(r);
+        list.sort((x, y) -> Integer.compare(x[0], y[0]));
+        hitStarts[r] = list.stream().mapToInt(h -> h[0]).toArray();
+        hitEnds[r] = list.stream().mapToInt(h -> h[1]).toArray();
+      }
+    }
+
+    public boolean hasSection() {
+      return section != null;
+    }
+
+    public boolean sectionContains(String s) {
+      return section != null && section.contains(s);
+    }
+
+    /** 보험코드의 상품명 (없으면 null) */
+    public String productName(String insuCd) {
+      if (names.containsKey(insuCd)) return names.get(insuCd);
+      String name = headingStyle ? headingName(insuCd) : lineName(insuCd);
+      names.put(insuCd, name);
+      return name;
+    }
+
+    /**
+     * 섹션에서 상품명 주변 조건 (필드 순서 고정, 못 찾은 필드는 "—")
+     * @return 섹션이 없거나 상품명이 섹션에 없으면 null
+     */
+    public Map<String, String> termsNear(String productName) {
+      if (section == null) return null;
+      int idx = section.indexOf(productName);
+      if (idx < 0) return null;
+
+      String[] values;
+      if (headingStyle) {
+        values = evaluate(Math.max(0, idx - before), Math.min(section.length(), idx + after));
+      } else {
+        int[] starts = lineStarts();
+        int line = lineOf(starts, idx);
+        values = new String[FIELDS.size()];
+        Arrays.fill(values, NONE);
+        for (int i = Math.max(0, line - before); i <= Math.min(starts.length - 1, line + after); i++) {
+          String[] lv = lineValues.computeIfAbsent(i, n -> evaluate(starts[n], lineEnd(starts, n)));
+          for (int f = 0; f < values.length; f++) {
+            if (NONE.equals(values[f])) values[f] = lv[f];
+          }
+        }
+      }
+      Map<String, String> terms = new LinkedHashMap<>();
+      for (int f = 0; f < FIELDS.size(); f++) terms.put(FIELDS.get(f), values[f]);
+      return terms;
+    }
+
+    /** 구간 [from, to)에서 필드별 값: 키워드가 구간 안에 있는 규칙만 정규식 실행 */
+    private String[] evaluate(int from, int to) {
+      String[] values = new String[FIELDS.size()];
+      Arrays.fill(values, NONE);
+      for (int r = 0; r < rules.length; r++) {
+        Rule rule = rules[r];
+        if (!NONE.equals(values[rule.field]) || !hasHit(r, from, to)) continue;
+        Matcher m = rule.pattern.matcher(section).region(from, to);
+        if (m.find()) values[rule.field] = rule.value.apply(m);
+      }
+      return values;
+    }
+
+    private boolean hasHit(int rule, int from, int to) {
+      int[] starts = hitStarts[rule];
+      int i = Arrays.binarySearch(starts, from);
+      if (i < 0) i = -i - 1;
+      while (i > 0 && starts[i - 1] >= from) i--;
+      for (; i < starts.length && starts[i] < to; i++) {
+        if (hitEnds[rule][i] <= to) return true;
+      }
+      return false;
+    }
+
+    /** split("\n")과 같은 줄 경계 (끝의 빈 줄 제외) */
+    private int[] lineStarts() {
+      if (lineStarts == null) {
+        List<Integer> starts = new ArrayList<>();
+        starts.add(0);
+        for (int i = section.indexOf('\n'); i >= 0; i = section.indexOf('\n', i + 1)) starts.add(i + 1);
+        while (starts.size() > 1 && starts.get(starts.size() - 1) >= section.length()) starts.remove(starts.size() - 1);
+        lineStarts = starts.stream().mapToInt(Integer::intValue).toArray();
+      }
+      return lineStarts;
+    }
+
+    private int lineEnd(int[] starts, int line) {
+      return line + 1 < starts.length ? starts[line + 1] - 1 : section.length();
+    }
+
+    /** LABELED: 세 가지 "코드 상품명" 형식을 문서 전체에서 한 번씩 훑어 모든 코드의 상품명 색인 */
+    private String headingName(String insuCd) {
+      if (!insuCd.matches("\\d{5}")) {
+        return headingNameFor(insuCd);
+      }
+      if (headingNames == null) {
+        headingNames = new ArrayList<>();
+        for (Pattern p : HEADING_NAMES) {
+          Map<String, String> found = new HashMap<>();
+          Matcher m = p.matcher(text);
+          int pos = 0;
+          while (pos < text.length() && m.find(pos)) {
+            found.putIfAbsent(m.group(1), m.group(2).trim());
+            pos = m.start() + 1;   // 겹치는 위치의 다른 코드도 찾도록 한 칸씩 전진
+          }
+          headingNames.add(found);
+        }
+      }
+      for (Map<String, String> found : headingNames) {
+        String name = found.get(insuCd);
+        if (name != null) return name;
+      }
+      return null;
+    }
+
+    /** 형식 밖 코드 (5자리 숫자가 아님): 코드별 정규식 */
+    private String headingNameFor(String insuCd) {
+      String[] patterns = {
+          insuCd + "\\s+([^\\n]+특약|[^\\n]+보험)",
+          "\\[" + insuCd + "\\]\\s+([^\\n]+)",
+          insuCd + "\\s*:\\s*([^\\n]+)"
+      };
+      for (String p : patterns) {
+        Matcher m = Pattern.compile(p).matcher(text);
+        if (m.find()) return m.group(1).trim();
+      }
+      return null;
+    }
+
+    /**
+     * LINES: 코드 첫 출현의 앞뒤 텍스트 (공백/줄바꿈을 건너뛴 앞 줄 끝 ~ 뒤 줄 끝)
+     * 부족하면 코드가 든 줄에서 코드를 뺀 나머지
+     */
+    private String lineName(String insuCd) {
+      int p = text.indexOf(insuCd);
+      if (p < 0) return null;
+
+      int q = p;
+      while (q > 0 && isRegexSpace(text.charAt(q - 1))) q--;
+      String beforeCode = text.substring(text.lastIndexOf('\n', q - 1) + 1, q).trim();
+      int r = p + insuCd.length();
+      while (r < text.length() && isRegexSpace(text.charAt(r))) r++;
+      int eol = text.indexOf('\n', r);
+      String afterCode = text.substring(r, eol < 0 ? text.length() : eol).trim();
+      String fullName = (beforeCode + " " + afterCode).trim();
+      if (fullName.length() > 5 && hasHangul(fullName)) return fullName;
+
+      Pattern strip = Pattern.compile("\\s*" + Pattern.quote(insuCd) + "\\s*");
+      int lastLine = -1;
+      for (int at = p; at >= 0; at = text.indexOf(insuCd, at + 1)) {
+        int ls = text.lastIndexOf('\n', at) + 1;
+        if (ls == lastLine) continue;
+        lastLine = ls;
+        int le = text.indexOf('\n', at);
+        String name = strip.matcher(text.substring(ls, le < 0 ? text.length() : le)).replaceAll("").trim();
+        if (name.length() > 3 && hasHangul(name)) return name;
+      }
+      return null;
+    }
+  }
+
+  private String findSection(String text) {
+    for (Pattern p : sections) {
+      Matcher m = p.matcher(text);
+      if (!m.find()) continue;
+      if (minSectionLength <= 0) return m.group(1);
+      String s = m.group(1).trim();
+      if (s.length() >= minSectionLength) return s;
+    }
+    return null;
+  }
+
+  private static int lineOf(int[] starts, int offset) {
+    int i = Arrays.binarySearch(starts, offset);
+    return i >= 0 ? i : -i - 2;
+  }
+
+  private static String joinGroups(Matcher m) {
+    StringBuilder sb = new StringBuilder(m.group(1));
+    for (int g = 2; g <= m.groupCount(); g++) {
+      String v = m.group(g);
+      if (v != null && !v.isEmpty()) sb.append(", ").append(v);
+    }
+    return sb.toString();
+  }
+
+  /** 정규식 \s 와 같은 공백 집합 */
+  private static boolean isRegexSpace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+  }
+
+  private static boolean hasHangul(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c >= '가' && c <= '힣') return true;
+    }
+    return false;
+  }
+
+  private static final class Builder {
+    final boolean headingStyle;
+    final int before;
+    final int after;
+    final int minSectionLength;
+    final List<Pattern> sections = new ArrayList<>();
+    final List<Rule> rules = new ArrayList<>();
+
+    /**
+     * @param headingStyle true = LABELED (문자 구간, 제목형 상품명), false = LINES (줄 구간, 줄 상품명)
+     * @param before 상품명 앞 구간 (문자 수 또는 줄 수)
+     * @param after 상품명 뒤 구간
+     * @param minSectionLength 0 = 첫 매치 섹션 그대로, 그 외 = 앞뒤 공백 제거 후 이 길이 이상인 첫 섹션
+     */
+    Builder(boolean headingStyle, int before, int after, int minSectionLength) {
+      this.headingStyle = headingStyle;
+      this.before = before;
+      this.after = after;
+      this.minSectionLength = minSectionLength;
+    }
+
+    Builder section(String regex, int flags) {
+      sections.add(Pattern.compile(regex, flags));
+      return this;
+    }
+
+    Builder rule(String field, String regex, Function<Matcher, String> value, String... keywords) {
+      int f = FIELDS.indexOf(field);
+      if (f < 0) throw new IllegalArgumentException("unknown field: " + field);
+      rules.add(new Rule(f, Pattern.compile(regex), value, keywords));
+      return this;
+    }
+
+    BusinessMethodRules build() {
+      return new BusinessMethodRules(this);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+// src/main/java/com/example/insu/util/CountMinSketch.java
+package com.example.insu.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 감쇠형 Count-Min Sketch (키별 요청 빈도 근사, 고정 메모리)
+ * - add(): 보수적 갱신 (최솟값 행만 증가) → 과대 추정 완화
+ * - decay(): 모든 카운터 절반 → 최근 요청에 가중치 (주기적으로 호출)
+ * - 추정값은 실제 빈도 이상 (과소 추정 없음)
+ * - counts()/of()로 직렬화/복원 (재시작 후 유지)
+ */
+public final class CountMinSketch {
+
+  private final int depth;
+  private final int width;
+  private final int[][] counts;
+
+  public CountMinSketch(int depth, int width) {
+    if (depth <= 0 || width <= 0) throw new IllegalArgumentException("depth/width must be positive");
+    this.depth = depth;
+    this.width = width;
+    this.counts = new int[depth][width];
+  }
+
+  /** 저장된 카운터로 복원 (크기가 다르면 빈 스케치) */
+  public static CountMinSketch of(int depth, int width, int[][] saved) {
+    CountMinSketch s = new CountMinSketch(depth, width);
+    if (saved != null && saved.length == depth) {
+      for (int i = 0; i < depth; i++) {
+        if (saved[i] == null || saved[i].length != width) return new CountMinSketch(depth, width);
+        System.arraycopy(saved[i], 0, s.counts[i], 0, width);
+      }
+    }
+    return s;
+  }
+
+  public int depth() { return depth; }
+  public int width() { return width; }
+
+  public synchronized void add(String key) {
+    long h = hash64(key);
+    int[] idx = new int[depth];
+    int min = Integer.MAX_VALUE;
+    for (int i = 0; i < depth; i++) {
+      idx[i] = index(h, i);
+      min = Math.min(min, counts[i][idx[i]]);
+    }
+    if (min == Integer.MAX_VALUE) return;
+    for (int i = 0; i < depth; i++) {
+      if (counts[i][idx[i]] == min) counts[i][idx[i]]++;
+    }
+  }
+
+  public synchronized int estimate(String key) {
+    long h = hash64(key);
+    int min = Integer.MAX_VALUE;
+    for (int i = 0; i < depth; i++) {
+      min = Math.min(min, counts[i][index(h, i)]);
+    }
+    return min;
+  }
+
+  /** 모든 카운터 절반 (에이징) */
+  public synchronized void decay() {
+    for (int[] row : counts) {
+      for (int j = 0; j < row.length; j++) row[j] >>>= 1;
+    }
+  }
+
+  /** 카운터 복사본 (직렬화용) */
+  public synchronized int[][] counts() {
+    int[][] copy = new int[depth][];
+    for (int i = 0; i < depth; i++) copy[i] = Arrays.copyOf(counts[i], width);
+    return copy;
+  }
+
+  /** 행별 인덱스: 64비트 해시의 두 절반으로 이중 해싱 (h1 + i*h2) */
+  private int index(long h, int row) {
+    int h1 = (int) h;
+    int h2 = (int) (h >>> 32);
+    int combined = h1 + row * (h2 | 1);
+    return Math.floorMod(combined, width);
+  }
+
+  /** FNV-1a 64 + splitmix 마무리 */
+  private static long hash64(String key) {
+    long h = 0xcbf29ce484222325L;
+    for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b;
+      h *= 0x100000001b3L;
+    }
+    h ^= (h >>> 33);
+    h *= 0xff51afd7ed558ccdL;
+    h ^= (h >>> 33);
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= (h >>> 33);
+    return h;
+  }
+}
@@ -0,0 +1,91 @@
+// src/main/java/com/example/insu/util/DocumentScope.java
+package com.example.insu.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 문서 단위 파싱 범위 (스레드 한정 텍스트 공유)
+ * - 범위 밖: text()/model()은 매번 loader 호출 (기존 동작 그대로, 비용 = ThreadLocal 조회 1회)
+ * - 범위 안: 같은 파일/추출 방식의 텍스트는 한 번만 로드해 재사용
+ *   → 문서 하나의 모든 코드를 파싱하는 동안 전략들이 PDF를 코드마다 다시 읽지 않음
+ * - model(): 텍스트에서 만든 파생 모델(섹션 색인 등)도 같은 방식으로 문서당 1회
+ *
+ * 사용: try (DocumentScope.Scope s = DocumentScope.open()) { ... 코드별 파싱 ... }
+ */
+public final class DocumentScope {
+
+  private static final ThreadLocal<Map<String, Object>> ENTRIES = new ThreadLocal<>();
+
+  private DocumentScope() {}
+
+  /** 텍스트 로더 (PDFBox 로드/추출) */
+  @FunctionalInterface
+  public interface Loader {
+    String load(File pdf) throws IOException;
+  }
+
+  /** 파생 모델 로더 */
+  @FunctionalInterface
+  public interface ModelLoader<T> {
+    T load(File pdf) throws IOException;
+  }
+
+  /** 범위 시작 (중첩 시 바깥 범위를 그대로 사용) */
+  public static Scope open() {
+    if (ENTRIES.get() != null) return Scope.NESTED;
+    ENTRIES.set(new HashMap<>());
+    return new Scope();
+  }
+
+  public static boolean isActive() {
+    return ENTRIES.get() != null;
+  }
+
+  /**
+   * 범위 안이면 캐시된 텍스트, 없으면 로드 후 저장
+   * @param kind 추출 방식 구분 (정렬 여부 등 결과가 다른 추출기를 섞지 않기 위함)
+   */
+  public static String text(File pdf, String kind, Loader loader) throws IOException {
+    Map<String, Object> entries = ENTRIES.get();
+    if (entries == null) return loader.load(pdf);
+    String key = pdf.getAbsolutePath() + "#" + kind;
+    String text = (String) entries.get(key);
+    if (text == null) {
+      text = loader.load(pdf);
+      entries.put(key, text);
+    }
+    return text;
+  }
+
+  /**
+   * 범위 안이면 캐시된 파생 모델, 없으면 생성 후 저장 (텍스트와 키 공간 분리)
+   * @param kind 모델 종류 (같은 종류는 같은 타입이어야 함)
+   */
+  public static <T> T model(File pdf, String kind, Class<T> type, ModelLoader<T> loader) throws IOException {
+    Map<String, Object> entries = ENTRIES.get();
+    if (entries == null) return loader.load(pdf);
+    String key = pdf.getAbsolutePath() + "#model:" + kind;
+    Object model = entries.get(key);
+    if (model == null) {
+      model = loader.load(pdf);
+      entries.put(key, model);
+    }
+    return type.cast(model);
+  }
+
+  /** 범위: try-with-resources로 닫으면 공유 텍스트 해제 */
+  public static class Scope implements AutoCloseable {
+    static final Scope NESTED = new Scope() {
+      @Override
+      public void close() {}
+    };
+
+    @Override
+    public void close() {
+      ENTRIES.remove();
+    }
+  }
+}
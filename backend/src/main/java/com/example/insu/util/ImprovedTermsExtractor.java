@@ -0,0 +1,340 @@
+// src/main/java/com/example/insu/util/ImprovedTermsExtractor.java
+package com.example.insu.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * parse_pdf_improved.py(ImprovedPDFParser)의 terms 추출 규칙을 그대로 옮긴 것 (프로세스/IPC 없이 JVM 안에서 실행)
+ *
+ * - 결과 형식도 스크립트 JSON과 같음: 필드 값은 문자열, 21686 주계약 경로에서 표를 못 찾으면 문자열 목록
+ * - 정규식은 Python re 의미에 맞춤 (유니코드 \s·\d, '.'는 \n만 제외, 길이는 코드 포인트 기준)
+ * - 스크립트가 예외로 끝나는 입력(빈 텍스트, "보험기간 종신" 라벨)은 null → 호출 측에서 결과 없음 처리
+ * - 골든 파일 검증: src/test/resources/golden/terms (generate_expected.py로 원본 스크립트 결과 생성)
+ */
+public final class ImprovedTermsExtractor {
+
+  /** 스크립트가 주계약 전용 파싱을 하는 보험코드 */
+  public static final String MAIN_CONTRACT_CODE = "21686";
+
+  private static final int PY = Pattern.UNICODE_CHARACTER_CLASS | Pattern.UNIX_LINES;
+  private static final int PY_DOTALL_I = PY | Pattern.DOTALL | Pattern.CASE_INSENSITIVE;
+  private static final int PY_I = PY | Pattern.CASE_INSENSITIVE;
+
+  private static final List<Pattern> SECTION_PATTERNS = compile(PY_DOTALL_I,
+      "4\\.\\s*사업방법(.*?)(?=5\\.|6\\.|7\\.|$)",
+      "4\\.\\s*사업방법(.*?)(?=\\n\\s*-\\s*\\(무\\)|$)",
+      "4\\.\\s*사업방법(.*?)(?=\\n주\\)|$)");
+
+  private static final List<Pattern> TABLE_SECTION_PATTERNS = compile(PY_DOTALL_I,
+      "(구\\s*분\\s*보험기간.*?가입나이.*?)(?=5\\.\\s*가입한도|6\\.\\s*선택특약|7\\.|$)",
+      "(보험기간\\s*보험료\\s*납입기간\\s*가입나이.*?)(?=5\\.\\s*가입한도|6\\.\\s*선택특약|7\\.|$)",
+      "(보험기간보험료\\s*납입기간가입나이.*?)(?=5\\.\\s*가입한도|6\\.\\s*선택특약|7\\.|$)");
+
+  /** 보험기간 표 패턴 (종류: 찾은 값 → 표기) */
+  private static final Pattern TERM_AGE_UNTIL = Pattern.compile("(\\d+)세\\s*까지", PY);
+  private static final Pattern TERM_AGE_END = Pattern.compile("(\\d+)세\\s*종료", PY);
+  private static final Pattern TERM_AGE = Pattern.compile("(\\d+)세만기", PY);
+  private static final List<Pattern> TERM_YEAR = compile(PY,
+      "(\\d+년)만기", "(\\d+)년만기", "(\\d+)\\s*년\\s*만기");
+  private static final Pattern TERM_YEAR_PAY = Pattern.compile("(\\d+)년(?=\\s+일시납|\\s+전기납)", PY);
+
+  private static final Pattern PAY_YEARS = Pattern.compile("(\\d+)년납", PY);
+  private static final Pattern PAY_YEARS_SUFFIXED = Pattern.compile("(\\d+년)납", PY);
+  private static final Pattern PAY_YEARS_SPACED = Pattern.compile("(\\d+)\\s*년\\s*납", PY);
+  private static final Pattern PAY_TIMES = Pattern.compile("(\\d+)회납", PY);
+
+  private static final List<Pattern> AGE_PATTERNS = compile(PY,
+      "만\\s*(\\d+)세\\s*~\\s*(\\d+)세",
+      "(\\d+)세\\s*~\\s*(\\d+)세",
+      "(\\d+)세~(\\d+)세",
+      "만\\s*(\\d+)\\s*세\\s*~\\s*만\\s*(\\d+)\\s*세");
+
+  private static final List<Pattern> DIRECT_INSU_PATTERNS = compile(PY_I,
+      "보험기간\\s*[:：]\\s*([^\\n]+)",
+      "보험기간\\s*([0-9]+년)",
+      "보험기간\\s*([0-9]+세\\s*까지)",
+      "보험기간\\s*종신");
+
+  private static final List<Pattern> DIRECT_PAY_PATTERNS = compile(PY_I,
+      "납입기간\\s*[:：]\\s*([^\\n]+)",
+      "납입기간\\s*([0-9]+년납)",
+      "납입기간\\s*전기납",
+      "납입기간\\s*일시납");
+
+  private static final List<Pattern> DIRECT_AGE_PATTERNS = compile(PY_I,
+      "가입나이\\s*[:：]\\s*만?\\s*(\\d+)세\\s*~\\s*(\\d+)세",
+      "가입나이\\s*[:：]\\s*(\\d+)세\\s*~\\s*(\\d+)세",
+      "가입나이\\s*[:：]\\s*([^\\n]+)",
+      "가입연령\\s*[:：]\\s*만?\\s*(\\d+)세\\s*~\\s*(\\d+)세",
+      "만?\\s*(\\d+)세\\s*~\\s*만?\\s*(\\d+)세",
+      "(\\d+)세~(\\d+)세");
+
+  private static final Pattern DIRECT_RENEW = Pattern.compile("갱신형|갱신\\s*계약", PY);
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+", PY);
+
+  /** 주계약 표 판정: 스크립트의 네 정규식 중 하나라도 매치되는 조건 (키워드가 이 순서로 등장) */
+  private static final List<List<String>> MAIN_CONTRACT_SEQUENCES = List.of(
+      List.of("종신", "10년납", "15년납", "20년납", "30년납"),
+      List.of("종신", "10년납", "만15세", "80세", "15년납", "만15세", "70세"));
+
+  private static final String MAIN_PAY_TERM = "10년납, 15년납, 20년납, 30년납";
+  private static final String MAIN_AGE_RANGE = "10년납(남:만15세~80세,여:만15세~80세), 15년납(남:만15세~70세,여:만15세~70세), "
+      + "20년납(남:만15세~70세,여:만15세~70세), 30년납(남:만15세~70세,여:만15세~70세)";
+
+  private ImprovedTermsExtractor() {
+  }
+
+  /**
+   * 스크립트 parse()의 terms 부분
+   *
+   * @param text          PDF 전체 텍스트
+   * @param insuCd        보험코드
+   * @param manualMapping 보험코드 → 수동 매핑 (manual_mapping.json, 빈 필드만 채우고 notes는 specialNotes로)
+   * @return terms (스크립트가 실패하는 입력이면 null)
+   */
+  public static Map<String, Object> extract(String text, String insuCd, Map<String, Map<String, String>> manualMapping) {
+    if (text == null || text.isEmpty()) {
+      return null;
+    }
+
+    Map<String, Object> terms;
+    if (MAIN_CONTRACT_CODE.equals(insuCd)) {
+      terms = mainContractTerms(text);
+    } else {
+      Map<String, Object> table = tableData(text);
+      Map<String, String> direct = directPatterns(text);
+      if (direct == null) {
+        return null;
+      }
+
+      terms = new LinkedHashMap<>();
+      for (String field : List.of("insuTerm", "payTerm", "ageRange")) {
+        @SuppressWarnings("unchecked")
+        List<String> values = (List<String>) table.get(field);
+        if (!values.isEmpty()) {
+          terms.put(field, String.join(", ", values));
+        } else {
+          terms.put(field, direct.get(field));
+        }
+      }
+      if (!((String) table.get("renew")).isEmpty()) {
+        terms.put("renew", table.get("renew"));
+      } else if (!direct.get("renew").isEmpty()) {
+        terms.put("renew", direct.get("renew"));
+      } else {
+        terms.put("renew", text.contains("갱신") ? "갱신형" : "비갱신형");
+      }
+      terms.put("specialNotes", "");
+    }
+
+    Map<String, String> manual = manualMapping != null ? manualMapping.get(insuCd) : null;
+    if (manual != null && !manual.isEmpty()) {
+      for (String field : List.of("insuTerm", "payTerm", "ageRange", "renew")) {
+        if (isEmpty(terms.get(field)) && !isEmpty(manual.get(field))) {
+          terms.put(field, manual.get(field));
+        }
+      }
+      if (!isEmpty(manual.get("notes"))) {
+        terms.put("specialNotes", manual.get("notes"));
+      }
+    }
+    return terms;
+  }
+
+  /** find_section_4: 명시적 "4. 사업방법"(100자 초과) → 표 헤더부터(30자 초과) → 전체 텍스트 */
+  static String findSection4(String text) {
+    String section = firstGroup(SECTION_PATTERNS, text, 100);
+    if (section == null) {
+      section = firstGroup(TABLE_SECTION_PATTERNS, text, 30);
+    }
+    return section != null ? section : text;
+  }
+
+  private static String firstGroup(List<Pattern> patterns, String text, int minLength) {
+    for (Pattern pattern : patterns) {
+      Matcher m = pattern.matcher(text);
+      if (m.find()) {
+        String section = m.group(1);
+        if (section.codePointCount(0, section.length()) > minLength) {
+          return section;
+        }
+      }
+    }
+    return null;
+  }
+
+  /** extract_table_data: 값 목록(중복 제거, 등장 순서) + 갱신여부 */
+  static Map<String, Object> tableData(String section) {
+    List<String> insuTerm = new ArrayList<>();
+    List<String> payTerm = new ArrayList<>();
+    List<String> ageRange = new ArrayList<>();
+
+    for (String word : List.of("종신", "평생")) {
+      if (section.contains(word)) addUnique(insuTerm, word);
+    }
+    findAll(TERM_AGE_UNTIL, section, m -> addUnique(insuTerm, m.group(1) + "세까지"));
+    findAll(TERM_AGE_END, section, m -> addUnique(insuTerm, m.group(1) + "세종료"));
+    findAll(TERM_AGE, section, m -> addUnique(insuTerm, m.group(1) + "세만기"));
+    for (Pattern pattern : TERM_YEAR) {
+      findAll(pattern, section, m -> addUnique(insuTerm, withYear(m.group(1))));
+    }
+    findAll(TERM_YEAR_PAY, section, m -> addUnique(insuTerm, m.group(1) + "년"));
+
+    if (section.contains("전기납")) addUnique(payTerm, "전기납");
+    findAll(PAY_YEARS, section, m -> addUnique(payTerm, withYear(m.group(1)) + "납"));
+    findAll(PAY_YEARS_SUFFIXED, section, m -> addUnique(payTerm, withYear(m.group(1)) + "납"));
+    if (section.contains("일시납")) addUnique(payTerm, "일시납");
+    findAll(PAY_YEARS_SPACED, section, m -> addUnique(payTerm, withYear(m.group(1)) + "납"));
+    if (section.contains("월납")) addUnique(payTerm, "월납");
+    if (section.contains("연납")) addUnique(payTerm, "연납");
+    // 스크립트와 같이 "N회납"도 "N년납"으로 표기
+    findAll(PAY_TIMES, section, m -> addUnique(payTerm, withYear(m.group(1)) + "납"));
+
+    for (Pattern pattern : AGE_PATTERNS) {
+      findAll(pattern, section, m -> addUnique(ageRange, m.group(1) + "세~" + m.group(2) + "세"));
+    }
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("insuTerm", insuTerm);
+    result.put("payTerm", payTerm);
+    result.put("ageRange", ageRange);
+    result.put("renew", section.contains("갱신") ? "갱신형" : "");
+    return result;
+  }
+
+  /** extract_direct_patterns: 라벨 뒤 값 (필드별 첫 매치), 스크립트가 예외를 내는 "보험기간 종신"이면 null */
+  static Map<String, String> directPatterns(String text) {
+    Map<String, String> result = new LinkedHashMap<>();
+
+    String insuTerm = "";
+    for (Pattern pattern : DIRECT_INSU_PATTERNS) {
+      Matcher m = pattern.matcher(text);
+      if (m.find()) {
+        if (m.groupCount() == 0) {
+          return null; // 원본: 그룹 없는 패턴에 group(1) → IndexError
+        }
+        insuTerm = pyStrip(m.group(1));
+        break;
+      }
+    }
+    result.put("insuTerm", insuTerm);
+
+    String payTerm = "";
+    for (Pattern pattern : DIRECT_PAY_PATTERNS) {
+      Matcher m = pattern.matcher(text);
+      if (m.find()) {
+        if (m.groupCount() > 0) {
+          payTerm = pyStrip(m.group(1));
+        } else {
+          String[] words = WHITESPACE.split(pyStrip(m.group()));
+          payTerm = words[words.length - 1];
+        }
+        break;
+      }
+    }
+    result.put("payTerm", payTerm);
+
+    String ageRange = "";
+    for (Pattern pattern : DIRECT_AGE_PATTERNS) {
+      Matcher m = pattern.matcher(text);
+      if (m.find()) {
+        ageRange = m.groupCount() >= 2 ? m.group(1) + "세~" + m.group(2) + "세" : pyStrip(m.group(1));
+        break;
+      }
+    }
+    result.put("ageRange", ageRange);
+
+    result.put("renew", DIRECT_RENEW.matcher(text).find() ? "갱신형" : "");
+    return result;
+  }
+
+  /** extract_main_contract_terms: 주계약 표가 있으면 고정 조건, 없으면 사업방법 섹션의 표 데이터(목록) */
+  static Map<String, Object> mainContractTerms(String text) {
+    String section = findSection4(text);
+    if (section.isEmpty()) {
+      section = text;
+    }
+
+    boolean found = false;
+    for (List<String> sequence : MAIN_CONTRACT_SEQUENCES) {
+      if (containsInOrder(section, sequence)) {
+        found = true;
+        break;
+      }
+    }
+    if (!found) {
+      return tableData(section);
+    }
+
+    Map<String, Object> terms = new LinkedHashMap<>();
+    terms.put("insuTerm", "종신");
+    terms.put("payTerm", MAIN_PAY_TERM);
+    terms.put("ageRange", MAIN_AGE_RANGE);
+    terms.put("renew", "비갱신형");
+    terms.put("specialNotes", "");
+    return terms;
+  }
+
+  /** 키워드가 겹치지 않고 순서대로 등장하는지 (".*?" 연결 정규식과 같은 판정, 역추적 없음) */
+  static boolean containsInOrder(String text, List<String> keywords) {
+    int from = 0;
+    for (String keyword : keywords) {
+      int at = text.indexOf(keyword, from);
+      if (at < 0) {
+        return false;
+      }
+      from = at + keyword.length();
+    }
+    return true;
+  }
+
+  private static String withYear(String value) {
+    return value.contains("년") ? value : value + "년";
+  }
+
+  private static void addUnique(List<String> values, String value) {
+    if (!values.contains(value)) {
+      values.add(value);
+    }
+  }
+
+  private static void findAll(Pattern pattern, String text, Consumer<Matcher> action) {
+    Matcher m = pattern.matcher(text);
+    while (m.find()) {
+      action.accept(m);
+    }
+  }
+
+  /** Python str.strip(): 유니코드 공백 제거 */
+  private static String pyStrip(String value) {
+    int start = 0;
+    int end = value.length();
+    while (start < end && isPyWhitespace(value.charAt(start))) start++;
+    while (end > start && isPyWhitespace(value.charAt(end - 1))) end--;
+    return value.substring(start, end);
+  }
+
+  private static boolean isPyWhitespace(char c) {
+    return Character.isWhitespace(c) || Character.isSpaceChar(c) || (c >= 0x1c && c <= 0x1f) || c == 0x85;
+  }
+
+  private static boolean isEmpty(Object value) {
+    if (value == null) return true;
+    if (value instanceof String s) return s.isEmpty();
+    return value instanceof List<?> list && list.isEmpty();
+  }
+
+  private static List<Pattern> compile(int flags, String... regexes) {
+    List<Pattern> patterns = new ArrayList<>();
+    for (String regex : regexes) {
+      patterns.add(Pattern.compile(regex, flags));
+    }
+    return List.copyOf(patterns);
+  }
+}
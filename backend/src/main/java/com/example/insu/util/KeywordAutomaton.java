@@ -0,0 +1,107 @@
+// src/main/java/com/example/insu/util/KeywordAutomaton.java
+package com.example.insu.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 다중 키워드 검색 오토마톤 (Aho-Corasick)
+ * - 키워드 수와 무관하게 텍스트를 한 번만 훑어 모든 키워드 출현 위치 보고
+ * - 한 번 만들어 여러 스레드에서 공유 가능 (생성 후 불변)
+ * - 용도: 정규식 실행 전 사전 필터 (키워드가 없는 구간에서는 정규식을 돌리지 않음)
+ */
+public final class KeywordAutomaton {
+
+  /** 출현 1건: 키워드 번호(생성 시 순서), [start, end) */
+  @FunctionalInterface
+  public interface Hit {
+    void hit(int keyword, int start, int end);
+  }
+
+  private final String[] keywords;
+  private final List<Map<Character, Integer>> next = new ArrayList<>();
+  private final int[] fail;
+  private final int[][] out;
+
+  public KeywordAutomaton(Collection<String> keywords) {
+    this.keywords = keywords.toArray(new String[0]);
+    List<List<Integer>> outs = new ArrayList<>();
+    next.add(new HashMap<>());
+    outs.add(new ArrayList<>());
+
+    for (int k = 0; k < this.keywords.length; k++) {
+      String kw = this.keywords[k];
+      if (kw == null || kw.isEmpty()) throw new IllegalArgumentException("empty keyword");
+      int s = 0;
+      for (int i = 0; i < kw.length(); i++) {
+        Integer t = next.get(s).get(kw.charAt(i));
+        if (t == null) {
+          t = next.size();
+          next.add(new HashMap<>());
+          outs.add(new ArrayList<>());
+          next.get(s).put(kw.charAt(i), t);
+        }
+        s = t;
+      }
+      outs.get(s).add(k);
+    }
+
+    // 실패 링크 (BFS), 출력은 실패 링크 쪽 출력까지 합침
+    fail = new int[next.size()];
+    ArrayDeque<Integer> queue = new ArrayDeque<>(next.get(0).values());
+    while (!queue.isEmpty()) {
+      int s = queue.poll();
+      for (Map.Entry<Character, Integer> e : next.get(s).entrySet()) {
+        int t = e.getValue();
+        int f = fail[s];
+        while (f != 0 && !next.get(f).containsKey(e.getKey())) f = fail[f];
+        Integer g = next.get(f).get(e.getKey());
+        fail[t] = (g != null && g != t) ? g : 0;
+        outs.get(t).addAll(outs.get(fail[t]));
+        queue.add(t);
+      }
+    }
+    out = new int[outs.size()][];
+    for (int i = 0; i < out.length; i++) {
+      out[i] = outs.get(i).stream().mapToInt(Integer::intValue).toArray();
+    }
+  }
+
+  public int size() { return keywords.length; }
+
+  public String keyword(int index) { return keywords[index]; }
+
+  /** [from, to) 구간 스캔 (키워드는 구간 안에 완전히 들어간 것만 보고) */
+  public void scan(CharSequence text, int from, int to, Hit hit) {
+    int s = 0;
+    for (int i = from; i < to; i++) {
+      char c = text.charAt(i);
+      Integer t;
+      while ((t = next.get(s).get(c)) == null && s != 0) s = fail[s];
+      s = t != null ? t : 0;
+      for (int k : out[s]) {
+        int start = i + 1 - keywords[k].length();
+        if (start >= from) hit.hit(k, start, i + 1);
+      }
+    }
+  }
+
+  public void scan(CharSequence text, Hit hit) {
+    scan(text, 0, text.length(), hit);
+  }
+
+  /** 키워드별 첫 출현 시작 위치 (없으면 -1) */
+  public int[] firstOccurrences(CharSequence text) {
+    int[] first = new int[keywords.length];
+    Arrays.fill(first, -1);
+    scan(text, (k, start, end) -> {
+      if (first[k] < 0) first[k] = start;
+    });
+    return first;
+  }
+}
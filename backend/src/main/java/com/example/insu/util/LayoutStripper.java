@@ -9,7 +9,10 @@ import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.pdfbox.text.TextPosition;
 
-/** PDFBox 2.x 호환: 각 라인별로 (문자열, xStart, yBaseline) 수집 */
+/**
+ * PDFBox 2.x 호환: 각 라인별로 (문자열, xStart, yBaseline) 수집
+ * - 인스턴스는 PdfLoader가 스레드별로 재사용 (문서마다 reset, 문서를 닫을 때 release)
+ */
 public class LayoutStripper extends PDFTextStripper {
 
   @Getter
@@ -26,11 +29,38 @@ public class LayoutStripper extends PDFTextStripper {
   private final Map<Integer,List<Line>> pageLines = new HashMap<>();
   private final List<TextPosition> current = new ArrayList<>();
   private float currentY = -1f;
+  private boolean leased;
 
   public LayoutStripper() throws IOException {
     setSortByPosition(true);
   }
 
+  /** 수집 상태 초기화 (재사용 시 문서마다) */
+  void reset() {
+    lines.clear();
+    pageLines.clear();
+    current.clear();
+    currentY = -1f;
+    setSortByPosition(true);
+  }
+
+  boolean isLeased() {
+    return leased;
+  }
+
+  void lease() {
+    leased = true;
+  }
+
+  /** 반납: 수집 결과와 직전 문서 참조 해제 */
+  void release() {
+    reset();
+    leased = false;
+    document = null;
+    output = null;
+    charactersByArticle.clear();
+  }
+
   @Override
   protected void writeString(String text, List<TextPosition> textPositions) throws IOException {
     if (text == null || text.isEmpty()) return;
@@ -78,12 +108,39 @@ public class LayoutStripper extends PDFTextStripper {
     current.clear();
   }
 
+  /** 페이지 단위 콜백: false 반환 시 스캔 중단 */
+  public interface PageVisitor {
+    boolean visit(int page, List<Line> lines) throws IOException;
+  }
+
+  /**
+   * 문서를 한 번만 열고 [fromPage, toPage] 페이지를 하나의 스트리퍼로 순서대로 전달.
+   * visitor가 false를 반환하면 즉시 중단 (첫 매치 페이지 탐색용).
+   * @return 문서 전체 페이지 수
+   */
+  public static int scanPages(java.io.File pdf, int fromPage, int toPage, PageVisitor visitor) throws IOException {
+    try (PdfLoader.Loaded loaded = PdfLoader.open(pdf)) {
+      PDDocument doc = loaded.document();
+      int pageCount = doc.getNumberOfPages();
+      int last = Math.min(toPage, pageCount);
+      LayoutStripper st = loaded.layoutStripper();
+      for (int p = Math.max(1, fromPage); p <= last; p++) {
+        st.setStartPage(p);
+        st.setEndPage(p);
+        st.getText(doc); // 해당 페이지만 수집
+        List<Line> lines = st.pageLines.remove(p);
+        if (!visitor.visit(p, lines != null ? lines : List.of())) break;
+      }
+      return pageCount;
+    }
+  }
+
   public static List<Line> readPageLines(java.io.File pdf, int pageIndex1Based) throws IOException {
-    try (PDDocument doc = PDDocument.load(pdf)) {
-      LayoutStripper st = new LayoutStripper();
+    try (PdfLoader.Loaded loaded = PdfLoader.open(pdf)) {
+      LayoutStripper st = loaded.layoutStripper();
       st.setStartPage(pageIndex1Based);
       st.setEndPage(pageIndex1Based);
-      st.getText(doc); // 수집 트리거
+      st.getText(loaded.document()); // 수집 트리거
       return st.pageLines.getOrDefault(pageIndex1Based, List.of());
     }
   }
@@ -22,45 +22,75 @@ public class LimitTableExtractor {
     return out;
   }
 
-  /** 헤더 라인에서 열 기준점(xStart) 추출 */
+  /** 헤더 라벨: 나이 구간(60세이하 / 61~65 / 81세이상 …) + 최저/최소 */
+  private static final Pattern P_HEADER =
+      Pattern.compile("(\\d{2})\\s*세?\\s*~\\s*(\\d{2})\\s*세?|(\\d{2})\\s*세\\s*(이하|이상)?|최저|최소");
+
+  /** 헤더 라인에서 열 기준점(xStart) 추출: 라벨(공백 제거) → 첫 글자 x */
   public static Map<String, Float> detectHeaderAnchors(LayoutStripper.Line headerLine) {
     Map<String,Float> anchors = new LinkedHashMap<>();
-    // 헤더 토큰 후보 (필요시 확장)
-    String[] tokens = {"60세이하","65세이하","70세이하","80세이하","최저"};
-    // 각 토큰의 첫 글자 위치 x
-    for (String tk : tokens) {
-      int idx = headerLine.text.indexOf(tk);
-      if (idx >= 0) {
-        float x = xAt(headerLine.positions, idx);
-        anchors.put(tk, x);
-      }
+    if (headerLine == null || headerLine.positions.isEmpty()) return anchors;
+    Matcher m = P_HEADER.matcher(headerLine.text);
+    while (m.find()) {
+      anchors.putIfAbsent(m.group().replaceAll("\\s+", ""), xAt(headerLine.positions, m.start()));
     }
     return anchors;
   }
 
+  /** 헤더 라인 → 열 구성 */
+  public static TableGrid.Columns headerColumns(LayoutStripper.Line headerLine) {
+    return TableGrid.Columns.of(detectHeaderAnchors(headerLine));
+  }
+
+  /**
+   * 나이가 속한 구간 열: 왼쪽부터 상한 ≥ 나이인 첫 열, 모두 작으면 마지막 구간 열 (-1 = 구간 열 없음)
+   */
+  public static int bandColumn(TableGrid.Columns cols, int age) {
+    int last = -1;
+    int best = -1;
+    for (String label : cols.labels()) {
+      int hi = upperAge(label);
+      if (hi < 0) continue;
+      int col = cols.indexOf(label);
+      last = Math.max(last, col);
+      if (hi >= age && (best < 0 || col < best)) best = col;
+    }
+    return best >= 0 ? best : last;
+  }
+
+  /** 최저 가입금액 열 (-1 = 없음) */
+  public static int minColumn(TableGrid.Columns cols) {
+    int c = cols.indexOf("최저");
+    return c >= 0 ? c : cols.indexOf("최소");
+  }
+
+  /** 구간 라벨의 상한 나이 (이상 = 무제한, 구간 라벨이 아니면 -1) */
+  private static int upperAge(String label) {
+    Matcher m = P_HEADER.matcher(label);
+    if (!m.matches()) return -1;
+    if (m.group(2) != null) return Integer.parseInt(m.group(2));
+    if (m.group(3) == null) return -1;
+    return "이상".equals(m.group(4)) ? Integer.MAX_VALUE : Integer.parseInt(m.group(3));
+  }
+
   private static float xAt(List<TextPosition> pos, int charIndexInLine) {
     int i = Math.min(charIndexInLine, pos.size()-1);
     return pos.get(i).getXDirAdj();
   }
 
-  /** 해당 행에서, 기준 x좌표로 슬라이스해 수치 추출 */
+  /** 해당 행에서, 기준 x좌표로 슬라이스해 수치 추출 (단건용: 여러 열을 읽을 때는 TableGrid.row 1회 + valueAt) */
   public static BigDecimal extractAtBand(LayoutStripper.Line row, String bandKey, Map<String,Float> anchors, String unitHint) {
-    if (!anchors.containsKey(bandKey)) return null;
-
-    float fromX = anchors.get(bandKey);
-    float toX = Float.MAX_VALUE;
-    for (var e : anchors.entrySet()) {
-      if (e.getValue() > fromX && e.getValue() < toX) toX = e.getValue();
-    }
+    TableGrid.Columns cols = TableGrid.Columns.of(anchors);
+    int col = cols.indexOf(bandKey);
+    if (col < 0) return null;
+    return valueAt(TableGrid.row(row, cols), col, unitHint);
+  }
 
-    // 해당 x구간의 문자만 취합
-    StringBuilder sb = new StringBuilder();
-    for (TextPosition tp : row.positions) {
-      float x = tp.getXDirAdj();
-      if (x >= fromX && x < toX) sb.append(tp.getUnicode());
-    }
-    String slice = sb.toString().replace('\u00A0',' ').trim();
-    if (log.isDebugEnabled()) log.debug("[limit][slice] band={} text='{}'", bandKey, slice);
+  /** 재구성된 행의 셀에서 첫 수치 (단위 없으면 unitHint) */
+  public static BigDecimal valueAt(TableGrid.Row row, int col, String unitHint) {
+    if (col < 0) return null;
+    String slice = row.cell(col);
+    if (log.isDebugEnabled()) log.debug("[limit][slice] col={} text='{}'", col, slice);
 
     Matcher m = P_NUM.matcher(slice);
     if (m.find()) {
@@ -0,0 +1,121 @@
+// src/main/java/com/example/insu/util/PageParallelStripper.java
+package com.example.insu.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 페이지 병렬 텍스트 추출 (수백 페이지 상품요약서용)
+ *
+ * - 페이지 범위를 절반씩 나눠 전용 ForkJoinPool에서 추출, 결과는 페이지 순서대로 이어 붙임
+ * - PDDocument는 스레드 안전하지 않으므로 작업(페이지 묶음)마다 PdfLoader.open으로 자기 문서를 엶
+ *   (허용권도 작업마다 → 동시 실행은 PdfBoxGate 상한 이내)
+ *   바이트 예산은 파일 크기 × 묶음 페이지 / 문서 페이지 수만 예약: 작업은 자기 묶음의 페이지만 읽으므로
+ *   묶음마다 파일 전체를 예약하면 문서 하나가 예산을 병렬도 배로 차지함
+ * - 정렬 스트리퍼는 페이지마다 독립이라 묶음별 결과를 이어 붙이면 직렬 추출과 같은 텍스트
+ * - 적응형: 페이지 수가 minPages 이상이고 병렬도와 코어 수가 모두 2 이상일 때만
+ *   (작은 문서는 분할·재로드 비용이 더 크고, 단일 코어에서는 직렬보다 느림)
+ * - 기본 꺼짐: 묶음마다 문서를 다시 로드하는 비용 때문에 측정에서 직렬보다 느렸음 (PageParallelBenchmark)
+ *   배포 환경에서 이득을 측정한 뒤에만 insu.pdfbox.parallel-min-pages로 켬
+ *   묶음당 16페이지 / 병렬도 = 가용 프로세서 수, AsyncConfig에서 insu.pdfbox.parallel-* 로 조정
+ */
+public final class PageParallelStripper {
+
+  private static volatile int minPages = Integer.MAX_VALUE;
+  private static volatile int pagesPerTask = 16;
+  private static volatile ForkJoinPool pool = newPool(Runtime.getRuntime().availableProcessors());
+
+  private PageParallelStripper() {}
+
+  /** 설정 변경 (기동 시 1회; minPages 0 이하 = 병렬 추출 끔, parallelism 0 이하 = 가용 프로세서 수) */
+  public static void configure(int minPageCount, int pagesPerTaskCount, int parallelism) {
+    minPages = minPageCount > 0 ? minPageCount : Integer.MAX_VALUE;
+    pagesPerTask = Math.max(1, pagesPerTaskCount);
+    int n = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    ForkJoinPool old = pool;
+    if (old.getParallelism() != n) {
+      pool = newPool(n);
+      old.shutdown();
+    }
+  }
+
+  /**
+   * 이 페이지 수를 병렬로 추출할지
+   * 호출 스레드는 PdfBoxGate 허용권을 반납한 뒤 text()를 불러야 함 (작업들이 그 허용권을 기다리며 막히지 않도록)
+   */
+  public static boolean worthSplitting(int pageCount) {
+    int workers = Math.min(pool.getParallelism(), Runtime.getRuntime().availableProcessors());
+    return pageCount >= minPages && pageCount >= 2 * pagesPerTask && workers > 1;
+  }
+
+  /** [startPage, endPage] 정렬 텍스트 (1-based, endPage는 실제 페이지 수 이내; 문서 페이지 수를 모르면 endPage 기준으로 예약) */
+  public static String text(File pdf, int startPage, int endPage) throws IOException {
+    return text(pdf, startPage, endPage, endPage);
+  }
+
+  /** [startPage, endPage] 정렬 텍스트, pageCount = 문서 전체 페이지 수 (묶음별 바이트 예약 기준) */
+  public static String text(File pdf, int startPage, int endPage, int pageCount) throws IOException {
+    try {
+      return pool.invoke(new Range(pdf, startPage, endPage, pagesPerTask, Math.max(pageCount, endPage)));
+    } catch (RuntimeException e) {
+      // 작업 스레드의 예외는 같은 타입으로 다시 감싸져 올 수 있음 → 원인 사슬에서 IOException 복원
+      for (Throwable t = e; t != null; t = t.getCause()) {
+        if (t instanceof IOException io) throw io;
+      }
+      throw e;
+    }
+  }
+
+  /** 묶음 하나의 바이트 예약량: 파일 크기 × 묶음 페이지 / 문서 페이지 수 (올림, 최소 1바이트) */
+  static long sliceBytes(long fileBytes, int slicePages, int pageCount) {
+    if (pageCount <= 0 || slicePages >= pageCount) return fileBytes;
+    return Math.max(1, (fileBytes * slicePages + pageCount - 1) / pageCount);
+  }
+
+  private static ForkJoinPool newPool(int parallelism) {
+    return new ForkJoinPool(parallelism, p -> {
+      ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+      t.setName("pdf-page-" + t.getPoolIndex());
+      t.setDaemon(true);
+      return t;
+    }, null, false);
+  }
+
+  private static final class Range extends RecursiveTask<String> {
+    private final File pdf;
+    private final int from;
+    private final int to;
+    private final int leafPages;
+    private final int pageCount;
+
+    Range(File pdf, int from, int to, int leafPages, int pageCount) {
+      this.pdf = pdf;
+      this.from = from;
+      this.to = to;
+      this.leafPages = leafPages;
+      this.pageCount = pageCount;
+    }
+
+    @Override
+    protected String compute() {
+      if (to - from + 1 <= leafPages) {
+        try {
+          long reserve = sliceBytes(pdf.length(), to - from + 1, pageCount);
+          return PdfLoader.text(pdf, reserve, true, from, to);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      int mid = (from + to) >>> 1;
+      Range left = new Range(pdf, from, mid, leafPages, pageCount);
+      Range right = new Range(pdf, mid + 1, to, leafPages, pageCount);
+      right.fork();
+      String head = left.compute();
+      return head.concat(right.join());
+    }
+  }
+}
@@ -0,0 +1,54 @@
+// src/main/java/com/example/insu/util/ParsePhaseMetrics.java
+package com.example.insu.util;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF 파싱 단계별 Timer (insu.parse.phase{phase=...})
+ * - 정적 유틸(PdfParser 등)에서도 쓸 수 있도록 전역 레지스트리에 등록
+ *   (Spring Boot가 자동 구성 레지스트리를 Metrics.globalRegistry에 추가)
+ * - Timer는 단계당 한 번만 생성 → 핫패스 비용은 nanoTime 2회 + 기록 1회
+ *
+ * 사용: long t0 = System.nanoTime(); ... ParsePhaseMetrics.record(Phase.LOAD, t0);
+ */
+public final class ParsePhaseMetrics {
+
+  public enum Phase {
+    LOAD("load"),
+    STRIP("strip"),
+    SECTION_SPLIT("section_split"),
+    REGEX("regex"),
+    LLM("llm"),
+    VALIDATION("validation");
+
+    private final String tag;
+    private final String spanName;
+    private final Timer timer;
+
+    Phase(String tag) {
+      this.tag = tag;
+      this.spanName = "phase:" + tag;
+      this.timer = Timer.builder("insu.parse.phase")
+          .description("PDF 파싱 단계별 소요 시간")
+          .tag("phase", tag)
+          .publishPercentiles(0.5, 0.95, 0.99)
+          .publishPercentileHistogram()
+          .register(Metrics.globalRegistry);
+    }
+
+    public String getTag() {
+      return tag;
+    }
+  }
+
+  private ParsePhaseMetrics() {}
+
+  /** startNanos(System.nanoTime())부터 지금까지를 해당 단계로 기록 (트레이스 중이면 스팬도 남김) */
+  public static void record(Phase phase, long startNanos) {
+    phase.timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    TraceContext.recordCompleted(phase.spanName, startNanos);
+  }
+}
@@ -0,0 +1,51 @@
+// src/main/java/com/example/insu/util/PartialJsonFieldScanner.java
+package com.example.insu.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 스트리밍 LLM 응답에서 완성된 "키": "값" 쌍을 토큰 도착 즉시 추출.
+ * - feed()로 청크를 이어붙이고, 닫는 따옴표까지 도착한 필드만 콜백
+ * - 이미 방출한 구간은 다시 스캔하지 않음 (청크당 O(청크 길이))
+ * - 스레드 안전하지 않음: 스트림(모델) 하나당 인스턴스 하나
+ */
+public class PartialJsonFieldScanner {
+
+  private static final Pattern P_FIELD = Pattern.compile("\"(\\w+)\"\\s*:\\s*\"([^\"]*)\"");
+
+  private final StringBuilder buffer = new StringBuilder();
+  private final Map<String, String> fields = new LinkedHashMap<>();
+  private final BiConsumer<String, String> onField;
+  private int scanFrom = 0;
+
+  public PartialJsonFieldScanner(BiConsumer<String, String> onField) {
+    this.onField = onField;
+  }
+
+  /** 청크 추가 후 새로 완성된 필드를 방출 */
+  public void feed(CharSequence chunk) {
+    if (chunk == null || chunk.length() == 0) return;
+    buffer.append(chunk);
+
+    Matcher m = P_FIELD.matcher(buffer);
+    m.region(scanFrom, buffer.length());
+    while (m.find()) {
+      String key = m.group(1);
+      String value = m.group(2).trim();
+      scanFrom = m.end();
+      // 같은 키가 두 번 나오면 첫 값 유지 (JSON 파서와 동일하게 앞선 값 우선)
+      if (fields.putIfAbsent(key, value) == null && onField != null) {
+        onField.accept(key, value);
+      }
+    }
+  }
+
+  /** 지금까지 완성된 필드 (도착 순서) */
+  public Map<String, String> getFields() {
+    return fields;
+  }
+}
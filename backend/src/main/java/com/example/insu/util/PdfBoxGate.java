@@ -0,0 +1,162 @@
+// src/main/java/com/example/insu/util/PdfBoxGate.java
+package com.example.insu.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * PDFBox 동시 실행 제한 (CPU/힙 집약 구간: 문서 로드 + 텍스트 추출)
+ * - 블로킹 I/O 스레드가 많아져도(가상 스레드 모드 포함) PDFBox 작업은 코어 수 이내로 유지
+ * - 기본 허용치 = 가용 프로세서 수, AsyncConfig에서 insu.pdfbox.max-concurrent로 조정
+ * - 열린 PDF 바이트 합계 상한 (가중 세마포어, KiB 단위): 큰 문서 여러 개가 동시에 열려 힙이 몰리는 것 방지
+ *   문서 하나의 가중치는 상한을 넘지 않도록 잘라서 큰 문서도 단독으로는 항상 진행
+ * - 같은 스레드의 중첩 획득(문서를 연 채로 다른 문서를 엶)은 동시 실행 슬롯을 추가로 쓰지 않고,
+ *   바이트 예산도 즉시 얻을 수 있을 때만 차감 → 자기 자신을 기다리는 교착 없음
+ * - 중첩 여부는 스레드가 들고 있는 바깥 허용권 자체로 판단 (깊이 카운터 없음):
+ *   허용권을 다른 스레드에서 닫아도(ForkJoin 작업 등) 획득 스레드의 상태가 어긋나지 않음
+ *
+ * 사용: try (PdfBoxGate.Permit p = PdfBoxGate.acquire(pdf.length())) { PDDocument.load(...) ... }
+ *       (보통은 PdfLoader.open이 대신 획득)
+ */
+public final class PdfBoxGate {
+
+  private static final long KIB = 1024;
+  private static final int DEFAULT_MAX_INFLIGHT_KIB = 256 * 1024;
+
+  private static volatile Semaphore permits = new Semaphore(Runtime.getRuntime().availableProcessors(), true);
+  private static volatile int maxConcurrent = Runtime.getRuntime().availableProcessors();
+  private static volatile ByteBudget bytes = new ByteBudget(DEFAULT_MAX_INFLIGHT_KIB);
+  /** 스레드별 바깥(슬롯을 실제로 차지한) 허용권; 닫히면 다음 조회 때 비움 */
+  private static final ThreadLocal<Permit> HELD = new ThreadLocal<>();
+
+  private PdfBoxGate() {}
+
+  /** 허용치 변경 (기동 시 1회; 0 이하이면 가용 프로세서 수) */
+  public static void configure(int max) {
+    int n = max > 0 ? max : Runtime.getRuntime().availableProcessors();
+    maxConcurrent = n;
+    permits = new Semaphore(n, true);
+  }
+
+  /** 열린 PDF 바이트 합계 상한 변경 (기동 시 1회; 0 이하이면 기본 256MB) */
+  public static void configureInFlightBytes(long maxBytes) {
+    long kib = maxBytes > 0 ? Math.max(1, maxBytes / KIB) : DEFAULT_MAX_INFLIGHT_KIB;
+    bytes = new ByteBudget((int) Math.min(Integer.MAX_VALUE, kib));
+  }
+
+  /** 허용권 획득 (문서 크기 없이: 동시 실행 수만 제한) */
+  public static Permit acquire() throws IOException {
+    return acquire(0);
+  }
+
+  /**
+   * 허용권 획득: 동시 실행 1개 + 문서 크기만큼의 바이트 예산 (항상 이 순서 → 교착 없음)
+   * 인터럽트 시 InterruptedIOException → 기존 IOException 경로로 처리
+   */
+  public static Permit acquire(long size) throws IOException {
+    ByteBudget budget = bytes;
+    int weight = size > 0 ? (int) Math.min(budget.capacityKib, (size + KIB - 1) / KIB) : 0;
+    if (heldPermit() != null) {
+      int taken = weight > 0 && budget.semaphore.tryAcquire(weight) ? weight : 0;
+      return new Permit(null, budget.semaphore, taken, null);
+    }
+
+    Semaphore s = permits;
+    try {
+      s.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("PDFBox 허용권 대기 중 인터럽트");
+    }
+    if (weight > 0) {
+      try {
+        budget.semaphore.acquire(weight);
+      } catch (InterruptedException e) {
+        s.release();
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("PDFBox 바이트 예산 대기 중 인터럽트");
+      }
+    }
+    Permit permit = new Permit(s, budget.semaphore, weight, Thread.currentThread());
+    HELD.set(permit);
+    return permit;
+  }
+
+  /** 현재 스레드가 허용권을 들고 있는지 (문서를 연 채인지) */
+  public static boolean isHeldByCurrentThread() {
+    return heldPermit() != null;
+  }
+
+  /** 현재 스레드의 바깥 허용권 (다른 스레드에서 이미 닫혔으면 비우고 null) */
+  private static Permit heldPermit() {
+    Permit held = HELD.get();
+    if (held != null && held.released.get()) {
+      HELD.remove();
+      return null;
+    }
+    return held;
+  }
+
+  public static int getMaxConcurrent() {
+    return maxConcurrent;
+  }
+
+  public static int getInUse() {
+    Semaphore s = permits;
+    return maxConcurrent - s.availablePermits();
+  }
+
+  public static int getQueueLength() {
+    return permits.getQueueLength() + bytes.semaphore.getQueueLength();
+  }
+
+  public static long getMaxInFlightBytes() {
+    return bytes.capacityKib * KIB;
+  }
+
+  /** 현재 열린 PDF 바이트 합계 (KiB 단위로 올림한 값) */
+  public static long getInFlightBytes() {
+    ByteBudget budget = bytes;
+    return (long) (budget.capacityKib - budget.semaphore.availablePermits()) * KIB;
+  }
+
+  /** 바이트 예산 세마포어와 용량 (configure 시 함께 교체) */
+  private static final class ByteBudget {
+    final int capacityKib;
+    final Semaphore semaphore;
+
+    ByteBudget(int capacityKib) {
+      this.capacityKib = capacityKib;
+      this.semaphore = new Semaphore(capacityKib, true);
+    }
+  }
+
+  /**
+   * 반납은 획득한 세마포어로 (configure 이후에도 안전)
+   * 어느 스레드에서 닫아도 한 번만 반납; 바깥 허용권을 소유 스레드에서 닫으면 스레드 상태도 즉시 비움
+   */
+  public static final class Permit implements AutoCloseable {
+    private final Semaphore semaphore;
+    private final Semaphore byteSemaphore;
+    private final int weight;
+    private final Thread owner;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(Semaphore semaphore, Semaphore byteSemaphore, int weight, Thread owner) {
+      this.semaphore = semaphore;
+      this.byteSemaphore = byteSemaphore;
+      this.weight = weight;
+      this.owner = owner;
+    }
+
+    @Override
+    public void close() {
+      if (!released.compareAndSet(false, true)) return;
+      if (owner == Thread.currentThread() && HELD.get() == this) HELD.remove();
+      if (weight > 0) byteSemaphore.release(weight);
+      if (semaphore != null) semaphore.release();
+    }
+  }
+}
@@ -0,0 +1,178 @@
+// src/main/java/com/example/insu/util/PdfLoader.java
+package com.example.insu.util;
+
+import com.example.insu.util.ParsePhaseMetrics.Phase;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * PDFBox 문서 로드 공통 경로 (모든 추출기가 이 클래스로 문서를 엶)
+ *
+ * - PdfBoxGate 허용권: 동시 실행 1개 + 파일 크기만큼의 바이트 예산 (문서를 닫을 때 반납)
+ * - MemoryUsageSetting 혼합 버퍼: 문서당 힙 상한까지만 메모리, 넘치면 스크래치 파일
+ *   (기본 힙 상한 16MB, AsyncConfig에서 insu.pdfbox.max-main-memory-mb / insu.pdfbox.scratch-dir로 조정)
+ * - PDFTextStripper / LayoutStripper는 스레드별 1개를 재사용 (문서를 닫을 때 문서 참조 해제)
+ *   같은 스레드에서 중첩해 열면 안쪽 문서는 새 인스턴스 사용
+ *
+ * 사용: try (PdfLoader.Loaded pdf = PdfLoader.open(file)) { pdf.textStripper(true, 1, n).getText(pdf.document()); }
+ */
+public final class PdfLoader {
+
+  private static final long MB = 1024L * 1024L;
+
+  private static final ThreadLocal<ReusableTextStripper> TEXT_STRIPPERS = ThreadLocal.withInitial(ReusableTextStripper::create);
+  private static final ThreadLocal<LayoutStripper> LAYOUT_STRIPPERS = ThreadLocal.withInitial(PdfLoader::newLayoutStripper);
+
+  private static volatile long maxMainMemoryBytes = 16 * MB;
+  private static volatile File scratchDir;
+
+  private PdfLoader() {}
+
+  /** 문서당 힙 버퍼 상한과 스크래치 파일 디렉터리 (기동 시 1회; 0 이하이면 기본 16MB, 빈 값이면 java.io.tmpdir) */
+  public static void configure(long maxMainMemoryMb, String scratchDirectory) {
+    maxMainMemoryBytes = (maxMainMemoryMb > 0 ? maxMainMemoryMb : 16) * MB;
+    scratchDir = scratchDirectory == null || scratchDirectory.isBlank() ? null : new File(scratchDirectory);
+  }
+
+  public static long getMaxMainMemoryBytes() {
+    return maxMainMemoryBytes;
+  }
+
+  /** 허용권 획득 후 혼합 버퍼로 로드 (Timer: load, 허용권 대기 포함) */
+  public static Loaded open(File pdf) throws IOException {
+    return open(pdf, pdf.length());
+  }
+
+  /** 바이트 예산을 reserveBytes만큼만 예약해 로드 (문서 일부 페이지만 읽는 작업용) */
+  public static Loaded open(File pdf, long reserveBytes) throws IOException {
+    long t0 = System.nanoTime();
+    PdfBoxGate.Permit permit = PdfBoxGate.acquire(reserveBytes);
+    try {
+      PDDocument document = PDDocument.load(pdf, memoryUsage());
+      ParsePhaseMetrics.record(Phase.LOAD, t0);
+      return new Loaded(permit, document);
+    } catch (IOException | RuntimeException e) {
+      permit.close();
+      throw e;
+    }
+  }
+
+  /** 페이지 범위 텍스트 (Timer: load, strip) */
+  public static String text(File pdf, boolean sortByPosition, int startPage, int endPage) throws IOException {
+    return text(pdf, pdf.length(), sortByPosition, startPage, endPage);
+  }
+
+  /** 페이지 범위 텍스트, 바이트 예산은 reserveBytes만 예약 (PageParallelStripper 묶음) */
+  static String text(File pdf, long reserveBytes, boolean sortByPosition, int startPage, int endPage) throws IOException {
+    try (Loaded loaded = open(pdf, reserveBytes)) {
+      long t1 = System.nanoTime();
+      String text = loaded.textStripper(sortByPosition, startPage, endPage).getText(loaded.document());
+      ParsePhaseMetrics.record(Phase.STRIP, t1);
+      return text;
+    }
+  }
+
+  private static MemoryUsageSetting memoryUsage() {
+    MemoryUsageSetting setting = MemoryUsageSetting.setupMixed(maxMainMemoryBytes);
+    File dir = scratchDir;
+    return dir != null ? setting.setTempDir(dir) : setting;
+  }
+
+  private static LayoutStripper newLayoutStripper() {
+    try {
+      return new LayoutStripper();
+    } catch (IOException e) {
+      throw new IllegalStateException("LayoutStripper 생성 실패", e);
+    }
+  }
+
+  /** 열린 문서 + 허용권 + 이 문서에 빌려준 스트리퍼 (close 시 모두 반납) */
+  public static final class Loaded implements AutoCloseable {
+    private final PdfBoxGate.Permit permit;
+    private final PDDocument document;
+    private ReusableTextStripper leasedText;
+    private LayoutStripper leasedLayout;
+
+    private Loaded(PdfBoxGate.Permit permit, PDDocument document) {
+      this.permit = permit;
+      this.document = document;
+    }
+
+    public PDDocument document() {
+      return document;
+    }
+
+    /** 스레드 재사용 텍스트 스트리퍼 (설정은 매번 지정값으로 초기화) */
+    public PDFTextStripper textStripper(boolean sortByPosition, int startPage, int endPage) throws IOException {
+      ReusableTextStripper stripper = leasedText;
+      if (stripper == null) {
+        ReusableTextStripper shared = TEXT_STRIPPERS.get();
+        stripper = shared.leased ? ReusableTextStripper.create() : shared;
+        stripper.leased = true;
+        leasedText = stripper;
+      }
+      stripper.setSortByPosition(sortByPosition);
+      stripper.setStartPage(startPage);
+      stripper.setEndPage(endPage);
+      return stripper;
+    }
+
+    /** 스레드 재사용 레이아웃 스트리퍼 (수집 상태는 비운 상태로 전달) */
+    public LayoutStripper layoutStripper() throws IOException {
+      LayoutStripper stripper = leasedLayout;
+      if (stripper == null) {
+        LayoutStripper shared = LAYOUT_STRIPPERS.get();
+        stripper = shared.isLeased() ? new LayoutStripper() : shared;
+        stripper.lease();
+        leasedLayout = stripper;
+      }
+      stripper.reset();
+      return stripper;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        document.close();
+      } finally {
+        if (leasedText != null) {
+          leasedText.release();
+          leasedText = null;
+        }
+        if (leasedLayout != null) {
+          leasedLayout.release();
+          leasedLayout = null;
+        }
+        permit.close();
+      }
+    }
+  }
+
+  /** 재사용 가능한 PDFTextStripper: 반납 시 직전 문서/출력 참조를 끊어 닫힌 문서가 스레드에 남지 않게 함 */
+  private static final class ReusableTextStripper extends PDFTextStripper {
+    private boolean leased;
+
+    private ReusableTextStripper() throws IOException {
+      super();
+    }
+
+    static ReusableTextStripper create() {
+      try {
+        return new ReusableTextStripper();
+      } catch (IOException e) {
+        throw new IllegalStateException("PDFTextStripper 생성 실패", e);
+      }
+    }
+
+    void release() {
+      leased = false;
+      document = null;
+      output = null;
+      charactersByArticle.clear();
+    }
+  }
+}
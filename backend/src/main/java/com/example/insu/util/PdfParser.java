@@ -1,9 +1,8 @@
 package com.example.insu.util;
 
+import com.example.insu.util.ParsePhaseMetrics.Phase;
 import org.slf4j.Logger;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
 
 import java.io.File;
 import java.io.IOException;
@@ -19,29 +18,25 @@ import java.util.stream.IntStream;
 @Slf4j
 public class PdfParser {
 
-  /** PDF 전체 텍스트 추출(PDFBox 2.x: PDDocument.load 사용) */
+  /**
+   * 섹션만 읽는 방법 (PdfSectionLocator: 섹션 페이지 범위만 추출)
+   * 빈으로 주입받아 findPdfForCode에 넘김 (정적 등록 없음)
+   */
+  public interface SectionReader {
+    /** 필요한 섹션(3/4/5)만 읽기 (요청하지 않은 섹션은 null일 수 있음) */
+    Sections read(File pdf, int... blocks) throws IOException;
+
+    /** 문서 전체 텍스트의 단어 집합 (wordsOf 규칙, 문서별로 캐시해 코드 탐색 폴백이 매번 전체 추출하지 않게) */
+    Set<String> words(File pdf) throws IOException;
+  }
+
+  /** PDF 전체 텍스트 추출(PdfLoader 경유, DocumentScope 안에서는 문서당 1회) */
   public static String readAllText(File pdf) throws IOException {
-    try (PDDocument doc = PDDocument.load(pdf)) {
-      PDFTextStripper st = new PDFTextStripper();
-      st.setSortByPosition(true);
-      String text = st.getText(doc);
-      return text.replace('\u00A0', ' ')
-                 .replace("\r\n", "\n")
-                 .replace("\r", "\n");
-    }
+    return DocumentScope.text(pdf, "sorted", f -> extractText(f, 1, Integer.MAX_VALUE));
   }
 
   public static String readPageText(File pdf, int page) throws IOException {
-    try (PDDocument doc = PDDocument.load(pdf)) {   //
-      PDFTextStripper st = new PDFTextStripper();
-      st.setSortByPosition(true);
-      st.setStartPage(page);                       // 1-based
-      st.setEndPage(page);
-      String text = st.getText(doc);
-      return text.replace('\u00A0', ' ')
-                .replace("\r\n", "\n")
-                .replace("\r", "\n");
-    }
+    return extractText(pdf, page, page);             // 1-based
   }
 
   public static void debugAround(Logger log, String tag, String block, int centerLine, int window) {
@@ -56,16 +51,36 @@ public class PdfParser {
   }
 
   public static String readPagesText(File pdf, int startPage, int endPage) throws IOException {
-    try (PDDocument doc = PDDocument.load(pdf)) {   //
-      PDFTextStripper st = new PDFTextStripper();
-      st.setSortByPosition(true);
-      st.setStartPage(startPage);
-      st.setEndPage(endPage);
-      String text = st.getText(doc);
-      return text.replace('\u00A0', ' ')
-                .replace("\r\n", "\n")
-                .replace("\r", "\n");
+    return extractText(pdf, startPage, endPage);
+  }
+
+  /**
+   * 로드/추출 공통 경로 (PdfLoader: 허용권·혼합 버퍼·스레드별 스트리퍼, 단계별 Timer: load, strip)
+   * - 페이지 수가 많으면 문서를 닫고 PageParallelStripper로 페이지 병렬 추출 (결과는 직렬과 같음)
+   */
+  private static String extractText(File pdf, int startPage, int endPage) throws IOException {
+    // 이미 다른 문서를 연 스레드(중첩 호출)는 병렬 작업이 그 허용권을 기다리며 막힐 수 있으므로 직렬
+    boolean mayFork = !PdfBoxGate.isHeldByCurrentThread();
+    int last;
+    int pageCount;
+    try (PdfLoader.Loaded loaded = PdfLoader.open(pdf)) {
+      pageCount = loaded.document().getNumberOfPages();
+      last = Math.min(endPage, pageCount);
+      if (!mayFork || !PageParallelStripper.worthSplitting(last - startPage + 1)) {
+        long t1 = System.nanoTime();
+        String text = loaded.textStripper(true, startPage, endPage).getText(loaded.document());
+        ParsePhaseMetrics.record(Phase.STRIP, t1);
+        return normalizeExtracted(text);
+      }
     }
+    // 작업마다 load/strip Timer 기록
+    return normalizeExtracted(PageParallelStripper.text(pdf, startPage, last, pageCount));
+  }
+
+  private static String normalizeExtracted(String text) {
+    return text.replace('\u00A0', ' ')
+               .replace("\r\n", "\n")
+               .replace("\r", "\n");
   }
 
   private static String norm(String s) {
@@ -97,6 +112,7 @@ public class PdfParser {
   /** 3.보험코드 / 4.사업방법 / 5.가입한도 영역 대략 분리 */
   public static Sections splitSections(String text) {
     // “3.”, “4.”, “5.”를 기준으로 매우 느슨하게 블럭 추출
+    long t0 = System.nanoTime();
     String[] lines = text.split("\n");
     StringBuilder b3 = new StringBuilder();
     StringBuilder b4 = new StringBuilder();
@@ -112,6 +128,7 @@ public class PdfParser {
       else if (mode == 4) b4.append(raw).append('\n');
       else if (mode == 5) b5.append(raw).append('\n');
     }
+    ParsePhaseMetrics.record(Phase.SECTION_SPLIT, t0);
     return new Sections(b3.toString(), b4.toString(), b5.toString());
   }
 
@@ -140,6 +157,7 @@ public class PdfParser {
       return map;
     }
     
+    long t0 = System.nanoTime();
     // LLM 프롬프트 템플릿 규칙: 윈도우 결합
     // 표가 줄바꿈으로 분절될 수 있으므로 인접 2~3줄 윈도우로 합쳐서 "상품명 + 5자리코드×열" 패턴 탐지
     String[] lines = block3.split("\n");
@@ -186,31 +204,55 @@ public class PdfParser {
       }
     }
     
+    ParsePhaseMetrics.record(Phase.REGEX, t0);
     log.info("parseCodeTable 결과: {} 개 코드 파싱됨", map.size());
     log.info("===== parseCodeTable 완료 =====");
     return map;
   }
 
-  /** ★ 10P 전용 4열 표 파서(최초/갱신 4개 코드 모두 같은 이름으로 연결) */
+  private static final List<String> FOUR_COL_LABELS = List.of("code1", "code2", "code3", "code4");
+
+  /**
+   * ★ 10P 전용 4열 표 파서(최초/갱신 4개 코드 모두 같은 이름으로 연결)
+   * 텍스트 추출본은 열 간격이 줄마다 달라 표 전체 공통 경계가 없으므로, 행 끝 코드 4개의 시작 위치로
+   * 그 행의 TableGrid 열을 만들고 제목 영역(lead) = 상품명, 셀 4개 = 코드로 읽음 (토큰은 라인당 1회 분리)
+   */
   public static Map<String,String> parseCodeTableFourCols(String block3) {
     Map<String,String> map = new LinkedHashMap<>();
     if (block3 == null) return map;
 
-    // 행 안에 5자리 코드가 2개 이상 등장하고, 그 앞에 상품명이 나오는 패턴
-    Pattern row = Pattern.compile("^(.*?)(?:\\s+)(\\d{5})(?:\\s+)(\\d{5})(?:\\s+)(\\d{5})(?:\\s+)(\\d{5})\\s*$");
-    for (String ln : block3.split("\n")) {
-      Matcher m = row.matcher(ln.trim());
-      if (!m.find()) continue;
-      String name = m.group(1).replaceAll("\\s+", " ").trim();
+    for (String raw : block3.split("\n")) {
+      String ln = raw.trim();
+      List<int[]> tokens = TableGrid.tokenSpans(ln);
+      int n = tokens.size();
+      if (n < 5) continue;
+      boolean codes = true;
+      Map<String, Integer> anchors = new LinkedHashMap<>();
+      for (int i = 0; i < 4 && codes; i++) {
+        int[] t = tokens.get(n - 4 + i);
+        codes = isCode5(ln, t);
+        anchors.put(FOUR_COL_LABELS.get(i), t[0]);
+      }
+      if (!codes) continue;
+      TableGrid.Row row = TableGrid.row(ln, TableGrid.Columns.of(anchors));
+      String name = row.lead().replaceAll("\\s+", " ");
       if (name.isEmpty()) continue;
-      for (int i=2;i<=5;i++) {
-        String cd = m.group(i);
-        if (cd != null) map.put(cd, name);
+      for (String label : FOUR_COL_LABELS) {
+        map.put(row.cell(label), name);
       }
     }
     return map;
   }
 
+  private static boolean isCode5(String ln, int[] token) {
+    if (token[1] - token[0] != 5) return false;
+    for (int i = token[0]; i < token[1]; i++) {
+      char c = ln.charAt(i);
+      if (c < '0' || c > '9') return false;
+    }
+    return true;
+  }
+
   /** 코드 주변에서 이름을 추정(백업) */
   public static String fuzzyFindNameByCode(String scopeText, String insuCd) {
     if (scopeText == null || scopeText.isBlank() || insuCd == null) return null;
@@ -512,22 +554,23 @@ public class PdfParser {
   }
 
   public static File findPdfForCode(Path dir, String insuCd) {
+    return findPdfForCode(dir, insuCd, null);
+  }
+
+  /**
+   * 코드가 들어 있는 첫 PDF (디렉터리 순서대로 한 번만 훑음)
+   * 문서마다 보험코드 섹션(block3) → 못 찾으면 문서 전체 순으로 확인 (인덱스 상태와 무관하게 같은 결과)
+   * - reader 있음: 섹션 페이지만 추출, 전체 폴백은 reader가 캐시한 단어 집합으로 (단어 문자로만 된 코드)
+   * - reader 없음: 문서마다 전체 텍스트 1회 추출
+   */
+  public static File findPdfForCode(Path dir, String insuCd, SectionReader reader) {
     if (dir == null || insuCd == null || insuCd.isBlank()) return null;
     File[] arr = dir.toFile().listFiles((d, f) -> f.toLowerCase().endsWith(".pdf"));
     if (arr == null || arr.length == 0) return null;
 
     for (File pdf : arr) {
       try {
-        // 프로젝트에 이미 있는 유틸 메서드: 전체 텍스트 추출
-        String text = readAllText(pdf);
-        Sections sec = splitSections(text); // 3.보험코드 블록 분리
-
-        // 1) 우선 3번 섹션(block3)에서 코드 탐색
-        if (containsCode(sec.block3, insuCd)) return pdf;
-
-        // 2) 폴백: 문서 전체에서 코드가 보이면 매칭으로 간주
-        if (containsCode(text, insuCd)) return pdf;
-
+        if (matchesCode(pdf, insuCd, reader)) return pdf;
       } catch (Exception ignore) {
         // 읽기 실패한 PDF는 건너뜀
       }
@@ -537,7 +580,53 @@ public class PdfParser {
 
   // 선택: 기존 다른 호출부 호환(문자열 경로 버전이 필요하면 같이 추가)
   public static File findPdfForCode(String dir, String insuCd) {
-    return (dir == null) ? null : findPdfForCode(Paths.get(dir), insuCd);
+    return findPdfForCode(dir, insuCd, null);
+  }
+
+  public static File findPdfForCode(String dir, String insuCd, SectionReader reader) {
+    return (dir == null) ? null : findPdfForCode(Paths.get(dir), insuCd, reader);
+  }
+
+  private static boolean matchesCode(File pdf, String insuCd, SectionReader reader) throws IOException {
+    if (reader == null) {
+      String text = readAllText(pdf);
+      // 1) 우선 3번 섹션(block3)에서 코드 탐색, 2) 폴백: 문서 전체에서 코드가 보이면 매칭으로 간주
+      return containsCode(splitSections(text).block3, insuCd) || containsCode(text, insuCd);
+    }
+    if (containsCode(reader.read(pdf, 3).block3, insuCd)) return true;
+    // 코드 전체가 단어 문자면 \b코드\b 일치 = 단어 집합에 코드가 있음
+    return isWord(insuCd) ? reader.words(pdf).contains(insuCd) : containsCode(readAllText(pdf), insuCd);
+  }
+
+  /**
+   * 텍스트의 단어(정규식 \b 경계와 같은 기준: 문자/숫자/밑줄의 최대 연속) 집합
+   * 단어 문자로만 된 코드는 containsCode(text, code) == wordsOf(text).contains(code)
+   */
+  public static Set<String> wordsOf(String text) {
+    Set<String> words = new HashSet<>();
+    if (text == null) return words;
+    int start = -1;
+    for (int i = 0; i <= text.length(); i++) {
+      boolean word = i < text.length() && isWordChar(text.charAt(i));
+      if (word && start < 0) {
+        start = i;
+      } else if (!word && start >= 0) {
+        words.add(text.substring(start, i));
+        start = -1;
+      }
+    }
+    return words;
+  }
+
+  private static boolean isWord(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      if (!isWordChar(s.charAt(i))) return false;
+    }
+    return true;
+  }
+
+  private static boolean isWordChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '_';
   }
 
   // 내부 헬퍼
@@ -809,8 +898,8 @@ public class PdfParser {
     return null;
   }
 
-  // 1) 헤더 라인 찾고 각 밴드의 시작 인덱스(문자열 기준) 수집
-  private static Map<String,Integer> findHeaderCols(String[] lines, int start, int lookAhead) {
+  // 1) 헤더 라인 찾고 각 밴드의 시작 인덱스(문자열 기준)로 열 구성
+  private static TableGrid.Columns findHeaderCols(String[] lines, int start, int lookAhead) {
     for (int i=start; i<Math.min(lines.length, start+lookAhead); i++) {
       String line = lines[i];
       int hit = 0;
@@ -820,9 +909,9 @@ public class PdfParser {
         if (idx >= 0) { map.put(h, idx); hit++; }
       }
       // 2개 이상만 잡혀도 헤더로 인정
-      if (hit >= 2) return map;
+      if (hit >= 2) return TableGrid.Columns.of(map);
     }
-    return Map.of();
+    return TableGrid.Columns.EMPTY;
   }
 
   // 2) 나이→밴드 라벨
@@ -835,50 +924,30 @@ public class PdfParser {
     return "81세";
   }
 
-  // 3) 주어진 라인에서, 헤더 인덱스 기준으로 원하는 밴드 구간 잘라 숫자 추출
-  private static BigDecimal extractNumberAtBand(String line,String band,Map<String,Integer> headerCols,String unitHint) {
+  // 3) 주어진 라인에서, 헤더 열 기준으로 원하는 밴드 셀을 잘라 숫자 추출
+  private static BigDecimal extractNumberAtBand(String line,String band,TableGrid.Columns headerCols,String unitHint) {
     if (line == null || headerCols == null || headerCols.isEmpty()) return null;
 
-    // 1) 시작 컬럼 결정 (밴드명이 없을 때 보정)
-    String key = band;
-    Integer fromIdx = headerCols.get(key);
-    if (fromIdx == null) {
-      if ("60세".equals(band) && headerCols.containsKey("60세이하")) {
-        key = "60세이하";
-        fromIdx = headerCols.get(key);
-      } else if ("60세이하".equals(band) && headerCols.containsKey("60세")) {
-        key = "60세";
-        fromIdx = headerCols.get(key);
-      } else {
-        // 가장 왼쪽 컬럼으로 폴백
-        fromIdx = headerCols.values().stream().min(Integer::compareTo).orElse(0);
-      }
+    // 1) 열 결정 (밴드명이 없을 때 보정)
+    int col = headerCols.indexOf(band);
+    if (col < 0) {
+      if ("60세".equals(band)) col = headerCols.indexOf("60세이하");
+      else if ("60세이하".equals(band)) col = headerCols.indexOf("60세");
+      // 가장 왼쪽 컬럼으로 폴백
+      if (col < 0) col = 0;
     }
 
-    int from = Math.max(0, Math.min(fromIdx, line.length()));
-    // 2) 끝 컬럼 결정: from보다 큰 값 중 최소
-    int to = line.length();
-    for (Map.Entry<String,Integer> e : headerCols.entrySet()) {
-      int v = e.getValue();
-      if (v > from && v < to) to = v;
-    }
-
-    // 경계 보정
-    if (to < from) {
-      int t = from; from = to; to = t;
-    }
-    if (from >= line.length() || to <= from) {
+    // 2) 셀 = [열 시작, 다음 열 시작) — 경계는 정렬 배열이라 스캔 없이 결정
+    String slice = TableGrid.row(line, headerCols).cell(col);
+    if (slice.isEmpty()) {
       if (log.isDebugEnabled()) {
-        log.debug("[limit][band] invalid slice band={}, from={}, to={}, line='{}'",
-            band, from, to, line);
+        log.debug("[limit][band] empty slice band={}, col={}, line='{}'", band, col, line);
       }
-      return null; // 
+      return null;
     }
 
-    String slice = line.substring(from, to);
-
     if (log.isDebugEnabled()) {
-      log.debug("[limit][band] band={}, from={}, to={}, slice='{}'", band, from, to, slice);
+      log.debug("[limit][band] band={}, col={}, slice='{}'", band, col, slice);
     }
 
     Matcher m = P_NUM.matcher(slice);
@@ -917,7 +986,7 @@ public class PdfParser {
     if (nameIdx < 0) return null;
 
     // 4-2) 헤더 라인과 단위 힌트 탐색
-    Map<String,Integer> headerCols = findHeaderCols(lines, Math.max(0,nameIdx-6), 12);
+    TableGrid.Columns headerCols = findHeaderCols(lines, Math.max(0,nameIdx-6), 12);
     String unitHint = null;
     for (int i=Math.max(0,nameIdx-6); i<Math.min(lines.length, nameIdx+12); i++) {
       String l = lines[i];
@@ -1029,24 +1098,29 @@ public class PdfParser {
 
   // 정규화된 이름으로 가장 잘 매칭되는 단순 한도 행 찾기
   public static MinMaxLimit parseSimpleLimitByName(String block5, String productNameNorm) {
-    List<SimpleLimitRow> rows = parseSimpleLimitTable(block5);
+    SimpleLimitRow r = findSimpleLimitRow(parseSimpleLimitTable(block5), productNameNorm);
+    return r == null ? null : new MinMaxLimit(r.minWon, r.maxWon, null, null, null, r.rowText);
+  }
+
+  /** 이미 파싱된 단순 한도표에서 이름 매칭 행 (표를 한 번만 파싱하고 여러 이름에 재사용할 때) */
+  public static SimpleLimitRow findSimpleLimitRow(List<SimpleLimitRow> rows, String productNameNorm) {
     if (rows.isEmpty() || productNameNorm == null) return null;
 
     // 1) 완전 포함 매칭 우선
     for (SimpleLimitRow r : rows) {
       if (r.titleNorm.contains(productNameNorm) || productNameNorm.contains(r.titleNorm)) {
-        return new MinMaxLimit(r.minWon, r.maxWon, null, null, null, r.rowText);
+        return r;
       }
     }
     // 2) 단어 교집합 기반 루스 매칭(간단)
     String[] words = productNameNorm.split(" ");
-    MinMaxLimit best = null; int bestScore = -1;
+    SimpleLimitRow best = null; int bestScore = -1;
     for (SimpleLimitRow r : rows) {
       int score = 0;
       for (String w : words) if (!w.isBlank() && r.titleNorm.contains(w)) score++;
       if (score > bestScore) {
         bestScore = score;
-        best = new MinMaxLimit(r.minWon, r.maxWon, null, null, null, r.rowText);
+        best = r;
       }
     }
     return best;
@@ -1086,6 +1160,7 @@ public class PdfParser {
     if (block4 == null || block4.trim().isEmpty()) {
       return terms;
     }
+    long t0 = System.nanoTime();
     
     // 보험기간 추출
     String insuTerm = extractInsuTerm(block4);
@@ -1111,6 +1186,7 @@ public class PdfParser {
       terms.put("renew", renew);
     }
     
+    ParsePhaseMetrics.record(Phase.REGEX, t0);
     return terms;
   }
   
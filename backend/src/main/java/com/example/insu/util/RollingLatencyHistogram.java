@@ -0,0 +1,81 @@
+// src/main/java/com/example/insu/util/RollingLatencyHistogram.java
+package com.example.insu.util;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * 슬라이딩 윈도우 지연 분포 (HdrHistogram)
+ * - 기록: Recorder 기반 lock-free (호출 스레드 부담 최소)
+ * - 윈도우: slotCount 개 구간 링, 구간마다 slotMillis 길이 → 오래된 지연은 자동 소멸
+ * - 조회: 링 전체를 합쳐 실제 분위수(p50/p90/p95/p99) 계산
+ */
+public class RollingLatencyHistogram {
+
+  private final long maxTrackableMillis;
+  private final long slotMillis;
+  private final Recorder recorder;
+  private final Histogram[] slots;
+  private Histogram recycle;
+  private int current = 0;
+  private long slotStart;
+
+  /**
+   * @param maxTrackableMillis 기록 상한 (초과값은 상한으로 절삭)
+   * @param slotMillis 구간 길이
+   * @param slotCount 구간 수 (윈도우 = slotMillis × slotCount)
+   */
+  public RollingLatencyHistogram(long maxTrackableMillis, long slotMillis, int slotCount) {
+    this.maxTrackableMillis = maxTrackableMillis;
+    this.slotMillis = slotMillis;
+    this.recorder = new Recorder(maxTrackableMillis, 2);
+    this.slots = new Histogram[slotCount];
+    for (int i = 0; i < slotCount; i++) {
+      slots[i] = new Histogram(maxTrackableMillis, 2);
+    }
+    this.slotStart = System.currentTimeMillis();
+  }
+
+  /** 지연 기록 (ms) */
+  public void record(long millis) {
+    recorder.recordValue(Math.max(1, Math.min(maxTrackableMillis, millis)));
+  }
+
+  /** 현재 윈도우 분포 스냅샷 */
+  public synchronized Histogram snapshot() {
+    drain();
+    Histogram merged = new Histogram(maxTrackableMillis, 2);
+    for (Histogram h : slots) {
+      merged.add(h);
+    }
+    return merged;
+  }
+
+  /** 윈도우 내 분위수 (표본이 minSamples 미만이면 -1) */
+  public long percentile(double percentile, long minSamples) {
+    Histogram h = snapshot();
+    if (h.getTotalCount() < minSamples) return -1;
+    return h.getValueAtPercentile(percentile * 100.0);
+  }
+
+  private void drain() {
+    long now = System.currentTimeMillis();
+    // 경과한 구간만큼 링 전진 (윈도우 전체가 지났으면 모두 비움)
+    long elapsedSlots = (now - slotStart) / slotMillis;
+    if (elapsedSlots > 0) {
+      // 전진 전 누적분은 직전 구간에 반영
+      absorbInterval(slots[current]);
+      for (long i = 0; i < Math.min(elapsedSlots, slots.length); i++) {
+        current = (current + 1) % slots.length;
+        slots[current].reset();
+      }
+      slotStart += elapsedSlots * slotMillis;
+    }
+    absorbInterval(slots[current]);
+  }
+
+  private void absorbInterval(Histogram target) {
+    recycle = recorder.getIntervalHistogram(recycle);
+    target.add(recycle);
+  }
+}
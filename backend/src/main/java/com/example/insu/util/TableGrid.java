@@ -0,0 +1,275 @@
+// src/main/java/com/example/insu/util/TableGrid.java
+package com.example.insu.util;
+
+import java.util.*;
+import org.apache.pdfbox.text.TextPosition;
+
+/**
+ * 좌표 기반 표 재구성 엔진 (LayoutStripper.Line / 일반 텍스트 라인 공용)
+ * - 열(Columns): 헤더 라벨 기준점(x) 또는 본문 토큰 시작 x 군집 → 정렬된 경계 배열
+ * - 행(Row): 문자마다 이진 탐색으로 열을 배정해 행당 한 번만 셀을 만듦 → 셀 조회는 O(log 열)
+ *   (텍스트 라인은 문자 인덱스를 x로 사용)
+ * - 줄바꿈된 행 병합: 제목 영역만 있거나(이름 줄바꿈) 제목 영역이 빈(값 줄바꿈) 라인을 이전 행에 이어 붙임
+ *
+ * 사용: Columns cols = TableGrid.header(headerLine, labels);
+ *       Row r = TableGrid.row(line, cols); r.cell("60세이하")
+ */
+public final class TableGrid {
+
+  private TableGrid() {}
+
+  /** 열 경계: starts[i] ≤ x < starts[i+1] 이면 i열, starts[0] 이전은 행 제목 영역(-1) */
+  public static final class Columns {
+    public static final Columns EMPTY = new Columns(new float[0], Map.of());
+
+    private final float[] starts;
+    private final Map<String, Integer> byLabel;
+
+    private Columns(float[] starts, Map<String, Integer> byLabel) {
+      this.starts = starts;
+      this.byLabel = byLabel;
+    }
+
+    /** 라벨 → 시작 x (같은 위치의 라벨은 한 열을 공유) */
+    public static Columns of(Map<String, ? extends Number> anchors) {
+      if (anchors == null || anchors.isEmpty()) return EMPTY;
+      float[] xs = new float[anchors.size()];
+      int n = 0;
+      for (Number v : anchors.values()) xs[n++] = v.floatValue();
+      Arrays.sort(xs);
+      int m = 0;
+      for (int i = 0; i < n; i++) {
+        if (m == 0 || xs[i] != xs[m - 1]) xs[m++] = xs[i];
+      }
+      float[] starts = Arrays.copyOf(xs, m);
+      Map<String, Integer> byLabel = new LinkedHashMap<>();
+      for (Map.Entry<String, ? extends Number> e : anchors.entrySet()) {
+        byLabel.put(e.getKey(), Arrays.binarySearch(starts, e.getValue().floatValue()));
+      }
+      return new Columns(starts, byLabel);
+    }
+
+    public boolean isEmpty() { return starts.length == 0; }
+    public int size() { return starts.length; }
+    public Set<String> labels() { return byLabel.keySet(); }
+
+    /** x가 속한 열 (-1 = 첫 열 이전) */
+    public int columnOf(float x) {
+      int i = Arrays.binarySearch(starts, x);
+      return i >= 0 ? i : -i - 2;
+    }
+
+    /** 라벨의 열 (-1 = 없음) */
+    public int indexOf(String label) {
+      Integer i = byLabel.get(label);
+      return i == null ? -1 : i;
+    }
+
+    public float start(int col) { return starts[col]; }
+
+    public float end(int col) { return col + 1 < starts.length ? starts[col + 1] : Float.MAX_VALUE; }
+
+    /**
+     * 본문 군집 시작점으로 열 시작을 왼쪽 보정 (헤더가 가운데 정렬이고 값이 더 넓게 시작할 때).
+     * 각 열은 이전 열과의 중간점보다 오른쪽에 있는 군집 시작점까지만 당겨짐
+     */
+    public Columns snapLeft(float[] clusterStarts) {
+      if (isEmpty() || clusterStarts.length == 0) return this;
+      float[] snapped = starts.clone();
+      for (int c = 0; c < snapped.length; c++) {
+        float limit = c > 0 ? (starts[c - 1] + starts[c]) / 2f
+            : starts[0] - (starts.length > 1 ? (starts[1] - starts[0]) / 2f : 0f);
+        int k = Arrays.binarySearch(clusterStarts, limit);
+        k = k >= 0 ? k + 1 : -k - 1;  // limit 초과 첫 군집
+        if (k < clusterStarts.length && clusterStarts[k] < snapped[c]) snapped[c] = clusterStarts[k];
+      }
+      return new Columns(snapped, byLabel);
+    }
+  }
+
+  /** 재구성된 행: 제목 영역(lead) + 열별 셀 */
+  public static final class Row {
+    public final String text;
+    public final float y;
+    final float height;
+    private final Columns columns;
+    private final StringBuilder lead;
+    private final StringBuilder[] cells;
+
+    private Row(String text, float y, float height, Columns columns) {
+      this.text = text;
+      this.y = y;
+      this.height = height;
+      this.columns = columns;
+      this.lead = new StringBuilder();
+      this.cells = new StringBuilder[columns.size()];
+      for (int i = 0; i < cells.length; i++) cells[i] = new StringBuilder();
+    }
+
+    /** 첫 열 이전 텍스트 (보통 상품명/구분) */
+    public String lead() { return clean(lead); }
+
+    public String cell(int col) {
+      return col < 0 || col >= cells.length ? "" : clean(cells[col]);
+    }
+
+    public String cell(String label) { return cell(columns.indexOf(label)); }
+
+    boolean hasCells() {
+      for (StringBuilder c : cells) if (!isBlank(c)) return true;
+      return false;
+    }
+
+    private static String clean(StringBuilder sb) {
+      return sb.toString().replace('\u00A0', ' ').trim();
+    }
+  }
+
+  /** 헤더 라인에서 라벨별 첫 글자 x로 열 구성 (없는 라벨은 제외) */
+  public static Columns header(LayoutStripper.Line headerLine, Collection<String> labels) {
+    if (headerLine == null || headerLine.positions.isEmpty()) return Columns.EMPTY;
+    Map<String, Float> anchors = new LinkedHashMap<>();
+    for (String label : labels) {
+      int idx = headerLine.text.indexOf(label);
+      if (idx >= 0) anchors.put(label, xAt(headerLine.positions, idx));
+    }
+    return Columns.of(anchors);
+  }
+
+  /** 좌표 라인 → 행 (문자 단위 열 배정, 행당 1회) */
+  public static Row row(LayoutStripper.Line line, Columns cols) {
+    float h = line.positions.isEmpty() ? 0f : line.positions.get(0).getHeightDir();
+    Row r = new Row(line.text, line.y, h, cols);
+    for (TextPosition tp : line.positions) {
+      int c = cols.columnOf(tp.getXDirAdj());
+      (c < 0 ? r.lead : r.cells[c]).append(tp.getUnicode());
+    }
+    return r;
+  }
+
+  /** 텍스트 라인 → 행 (문자 인덱스를 x로 사용, 열 경계로 잘라냄) */
+  public static Row row(String line, Columns cols) {
+    Row r = new Row(line, 0f, 0f, cols);
+    int len = line.length();
+    int first = cols.isEmpty() ? len : (int) Math.min(len, Math.max(0f, cols.start(0)));
+    r.lead.append(line, 0, first);
+    for (int c = 0; c < cols.size(); c++) {
+      int from = (int) Math.min(len, cols.start(c));
+      int to = (int) Math.min(len, cols.end(c));
+      if (to > from) r.cells[c].append(line, from, to);
+    }
+    return r;
+  }
+
+  public static List<Row> rows(List<LayoutStripper.Line> lines, Columns cols) {
+    List<Row> out = new ArrayList<>(lines.size());
+    for (LayoutStripper.Line l : lines) out.add(row(l, cols));
+    return out;
+  }
+
+  /**
+   * 줄바꿈된 행 병합 (좌표 라인 전용).
+   * 이전 행과의 세로 간격이 글자 높이(대문자 높이 기준) 2.5배 이내이고, 제목 영역만 있거나 제목 영역이 비어 있으면 이어 붙임
+   */
+  public static List<Row> mergeWrapped(List<Row> rows) {
+    List<Row> out = new ArrayList<>(rows.size());
+    Row prev = null;
+    for (Row r : rows) {
+      boolean close = prev != null && Math.abs(r.y - prev.y) <= Math.max(prev.height, r.height) * 2.5f;
+      boolean leadOnly = !isBlank(r.lead) && !r.hasCells();
+      boolean valuesOnly = isBlank(r.lead) && r.hasCells();
+      if (close && (leadOnly || valuesOnly)) {
+        prev = merge(prev, r);
+        out.set(out.size() - 1, prev);
+      } else {
+        out.add(r);
+        prev = r;
+      }
+    }
+    return out;
+  }
+
+  private static Row merge(Row a, Row b) {
+    Row m = new Row(a.text + " " + b.text, b.y, Math.max(a.height, b.height), a.columns);
+    appendCell(m.lead, a.lead, b.lead);
+    for (int i = 0; i < m.cells.length; i++) appendCell(m.cells[i], a.cells[i], b.cells[i]);
+    return m;
+  }
+
+  private static void appendCell(StringBuilder into, StringBuilder a, StringBuilder b) {
+    into.append(a);
+    if (!isBlank(b)) {
+      if (into.length() > 0) into.append(' ');
+      into.append(b);
+    }
+  }
+
+  /**
+   * 토큰 시작 x 군집화: 허용오차 내 시작점들을 묶고, minSupport개 이상 라인에서 나온 군집의 최소 x를 반환(정렬)
+   */
+  public static float[] clusterStarts(List<LayoutStripper.Line> lines, float tolerance, int minSupport) {
+    List<Float> xs = new ArrayList<>();
+    for (LayoutStripper.Line l : lines) xs.addAll(tokenStarts(l));
+    if (xs.isEmpty()) return new float[0];
+    Collections.sort(xs);
+    float[] out = new float[xs.size()];
+    int n = 0;
+    int i = 0;
+    while (i < xs.size()) {
+      int j = i + 1;
+      while (j < xs.size() && xs.get(j) - xs.get(j - 1) <= tolerance) j++;
+      if (j - i >= minSupport) out[n++] = xs.get(i);
+      i = j;
+    }
+    return Arrays.copyOf(out, n);
+  }
+
+  /** 라인의 토큰 시작 x (공백 문자 또는 공백 폭 이상 벌어진 곳에서 분리) */
+  static List<Float> tokenStarts(LayoutStripper.Line line) {
+    List<Float> starts = new ArrayList<>();
+    float prevEnd = Float.NaN;
+    boolean inToken = false;
+    for (TextPosition tp : line.positions) {
+      String u = tp.getUnicode();
+      if (u == null || u.isBlank()) {
+        inToken = false;
+        continue;
+      }
+      float x = tp.getXDirAdj();
+      float space = tp.getWidthOfSpace() > 0 ? tp.getWidthOfSpace() : tp.getHeightDir() * 0.3f;
+      if (!inToken || Float.isNaN(prevEnd) || x - prevEnd > space * 0.8f) {
+        starts.add(x);
+      }
+      inToken = true;
+      prevEnd = x + tp.getWidthDirAdj();
+    }
+    return starts;
+  }
+
+  /** 텍스트 라인 토큰 (공백 구분) 과 시작 인덱스 */
+  public static List<int[]> tokenSpans(String line) {
+    List<int[]> spans = new ArrayList<>();
+    int i = 0;
+    int len = line.length();
+    while (i < len) {
+      while (i < len && Character.isWhitespace(line.charAt(i))) i++;
+      int s = i;
+      while (i < len && !Character.isWhitespace(line.charAt(i))) i++;
+      if (i > s) spans.add(new int[]{s, i});
+    }
+    return spans;
+  }
+
+  private static float xAt(List<TextPosition> pos, int charIndexInLine) {
+    int i = Math.min(charIndexInLine, pos.size() - 1);
+    return pos.get(i).getXDirAdj();
+  }
+
+  private static boolean isBlank(CharSequence cs) {
+    for (int i = 0; i < cs.length(); i++) {
+      char ch = cs.charAt(i);
+      if (!Character.isWhitespace(ch) && ch != '\u00A0') return false;
+    }
+    return true;
+  }
+}
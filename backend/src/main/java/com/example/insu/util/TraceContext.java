@@ -0,0 +1,227 @@
+// src/main/java/com/example/insu/util/TraceContext.java
+package com.example.insu.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 경량 파싱 트레이스 컨텍스트 (스레드 간 전파)
+ * - 현재 스팬은 ThreadLocal 한 칸: 트레이스가 없으면 startSpan()은 NOOP (비용 = ThreadLocal 조회 1회)
+ * - 루트 생성/샘플링은 ParseTracer가 담당, 여기서는 스팬 기록과 전파만
+ * - Executor 경계: wrap(Runnable/Callable/Supplier) 또는 TaskDecorator로 부모 스팬 복원
+ */
+public final class TraceContext {
+
+  private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+  private TraceContext() {}
+
+  /** 현재 스레드의 활성 스팬 (없으면 null) */
+  public static Span current() {
+    return CURRENT.get();
+  }
+
+  /** 새 트레이스 시작 (루트 스팬). 루트 종료 시 onFinish 호출 */
+  public static Scope startRoot(String name, Consumer<Trace> onFinish) {
+    Trace trace = new Trace(onFinish);
+    Span root = new Span(trace, 0, name);
+    trace.root = root;
+    return open(root);
+  }
+
+  /** 활성 트레이스가 있으면 자식 스팬 시작, 없으면 NOOP */
+  public static Scope startSpan(String name) {
+    Span parent = CURRENT.get();
+    if (parent == null) return Scope.NOOP;
+    return open(new Span(parent.trace, parent.spanId, name));
+  }
+
+  /** 이미 끝난 구간을 자식 스팬으로 기록 (startNanos = System.nanoTime()) */
+  public static void recordCompleted(String name, long startNanos) {
+    Span parent = CURRENT.get();
+    if (parent == null) return;
+    Span span = new Span(parent.trace, parent.spanId, name, startNanos);
+    span.end();
+  }
+
+  public static Runnable wrap(Runnable task) {
+    Span captured = CURRENT.get();
+    if (captured == null) return task;
+    return () -> {
+      Span previous = CURRENT.get();
+      CURRENT.set(captured);
+      try {
+        task.run();
+      } finally {
+        restore(previous);
+      }
+    };
+  }
+
+  public static <T> Callable<T> wrap(Callable<T> task) {
+    Span captured = CURRENT.get();
+    if (captured == null) return task;
+    return () -> {
+      Span previous = CURRENT.get();
+      CURRENT.set(captured);
+      try {
+        return task.call();
+      } finally {
+        restore(previous);
+      }
+    };
+  }
+
+  public static <T> Supplier<T> wrapSupplier(Supplier<T> task) {
+    Span captured = CURRENT.get();
+    if (captured == null) return task;
+    return () -> {
+      Span previous = CURRENT.get();
+      CURRENT.set(captured);
+      try {
+        return task.get();
+      } finally {
+        restore(previous);
+      }
+    };
+  }
+
+  private static Scope open(Span span) {
+    Span previous = CURRENT.get();
+    CURRENT.set(span);
+    return new Scope(span, previous);
+  }
+
+  private static void restore(Span previous) {
+    if (previous == null) CURRENT.remove();
+    else CURRENT.set(previous);
+  }
+
+  /** 스팬 범위: try-with-resources로 닫으면 이전 스팬 복원 */
+  public static class Scope implements AutoCloseable {
+    static final Scope NOOP = new Scope(null, null);
+
+    private final Span span;
+    private final Span previous;
+    private boolean detached;
+
+    Scope(Span span, Span previous) {
+      this.span = span;
+      this.previous = previous;
+    }
+
+    public Scope tag(String key, Object value) {
+      if (span != null) span.tag(key, value);
+      return this;
+    }
+
+    public boolean isRecording() {
+      return span != null;
+    }
+
+    /**
+     * 현재 스레드에서 스팬을 내려놓음 (스팬은 계속 열림).
+     * 다른 스레드에서 완료되는 비동기 구간용: wrap()으로 캡처한 뒤 detach, 완료 콜백에서 close
+     */
+    public Scope detach() {
+      if (span != null && !detached) {
+        detached = true;
+        restore(previous);
+      }
+      return this;
+    }
+
+    @Override
+    public void close() {
+      if (span == null) return;
+      span.end();
+      if (!detached) restore(previous);
+      if (span.parentId == 0) {
+        span.trace.finish();
+      }
+    }
+  }
+
+  /** 하나의 파싱 요청 (스팬 모음) */
+  public static class Trace {
+    private final String traceId = UUID.randomUUID().toString().substring(0, 8);
+    private final long startEpochMillis = System.currentTimeMillis();
+    private final List<Span> spans = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger ids = new AtomicInteger();
+    private final Consumer<Trace> onFinish;
+    private Span root;
+
+    Trace(Consumer<Trace> onFinish) {
+      this.onFinish = onFinish;
+    }
+
+    private void finish() {
+      if (onFinish != null) onFinish.accept(this);
+    }
+
+    public String getTraceId() { return traceId; }
+    public long getStartEpochMillis() { return startEpochMillis; }
+    public Span getRoot() { return root; }
+
+    /** 스팬 스냅샷 (취소된 비동기 스팬이 늦게 추가될 수 있으므로 복사본) */
+    public List<Span> getSpans() {
+      synchronized (spans) {
+        return new ArrayList<>(spans);
+      }
+    }
+  }
+
+  /** 단일 구간 */
+  public static class Span {
+    private final Trace trace;
+    private final int spanId;
+    private final int parentId;
+    private final String name;
+    private final String thread = Thread.currentThread().getName();
+    private final long startNanos;
+    private volatile long endNanos;
+    private Map<String, Object> tags;
+
+    Span(Trace trace, int parentId, String name) {
+      this(trace, parentId, name, System.nanoTime());
+    }
+
+    Span(Trace trace, int parentId, String name, long startNanos) {
+      this.trace = trace;
+      this.spanId = trace.ids.incrementAndGet();
+      this.parentId = parentId;
+      this.name = name;
+      this.startNanos = startNanos;
+      trace.spans.add(this);
+    }
+
+    synchronized void tag(String key, Object value) {
+      if (tags == null) tags = new LinkedHashMap<>();
+      tags.put(key, value);
+    }
+
+    void end() {
+      endNanos = System.nanoTime();
+    }
+
+    public int getSpanId() { return spanId; }
+    public int getParentId() { return parentId; }
+    public String getName() { return name; }
+    public String getThread() { return thread; }
+    public long getStartNanos() { return startNanos; }
+    public long getEndNanos() { return endNanos; }
+    public boolean isEnded() { return endNanos != 0; }
+
+    public synchronized Map<String, Object> getTags() {
+      return tags == null ? Map.of() : new LinkedHashMap<>(tags);
+    }
+  }
+}
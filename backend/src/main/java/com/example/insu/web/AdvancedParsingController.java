@@ -1,6 +1,7 @@
 package com.example.insu.web;
 
 import com.example.insu.dto.UwCodeMappingData;
+import com.example.insu.service.BatchPersistenceService;
 import com.example.insu.service.HybridParsingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,13 +22,15 @@ import java.util.HashMap;
 public class AdvancedParsingController {
     
     private final HybridParsingService hybridParsingService;
+    private final BatchPersistenceService batchPersistence;
     
     /**
-     * 하이브리드 파싱으로 문서 처리
+     * 하이브리드 파싱으로 문서 처리 (persist=true면 결과를 UW_CODE_MAPPING에 일괄 UPSERT)
      */
     @PostMapping("/parse-document")
     public Map<String, Object> parseDocument(@RequestParam String fileName, 
-                                           @RequestParam String docId) {
+                                           @RequestParam String docId,
+                                           @RequestParam(defaultValue = "false") boolean persist) {
         log.info("===== 고급 파싱 API 호출 =====");
         log.info("파일명: {}, 문서ID: {}", fileName, docId);
         
@@ -52,6 +55,9 @@ public class AdvancedParsingController {
             result.put("fileName", fileName);
             result.put("totalCount", mappingData.size());
             result.put("mappingData", mappingData);
+            if (persist) {
+                result.put("persistedCount", batchPersistence.upsertCodeMappings(mappingData));
+            }
             
             log.info("고급 파싱 완료: {} 개 항목", mappingData.size());
             
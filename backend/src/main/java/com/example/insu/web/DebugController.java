@@ -1,7 +1,9 @@
 // src/main/java/com/example/insu/web/DebugController.java
 package com.example.insu.web;
 
+import com.example.insu.service.IngestionPipelineService;
 import com.example.insu.util.PdfParser;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,8 +14,11 @@ import java.util.stream.*;
 
 @RestController
 @RequestMapping("/api/debug")
+@RequiredArgsConstructor
 public class DebugController {
 
+  private final IngestionPipelineService ingestionPipelineService;
+
   @Value("${insu.pdf-dir}")
   private String pdfDir;
 
@@ -23,36 +28,25 @@ public class DebugController {
     return PdfParser.readPageText(pdf, page);
   }
 
+  /** 전체 PDF 스캔: 적재 파이프라인으로 병렬 처리 (체크포인트 무시하고 전체 재구축) */
   @GetMapping("/scan-all")
   public List<Map<String, Object>> scanAll() throws Exception {
-    Path dir = Path.of(pdfDir);
     List<Map<String, Object>> out = new ArrayList<>();
-    try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "UW*.pdf")) {
-      for (Path p : ds) {
-        String text = PdfParser.readAllText(p.toFile());
-        PdfParser.Sections sec = PdfParser.splitSections(text);
-
-        Map<String,String> table = PdfParser.parseCodeTable(sec.block3);
-        if (table.isEmpty()) table = PdfParser.parseCodes(sec.block3);
-
-        Map<String,String> t = PdfParser.parseTerms(sec.block4);
-
-        out.add(Map.of(
-          "file", p.getFileName().toString(),
-          "codesFound", table.size(),
-          "codesSample", table.keySet().stream().limit(10).collect(Collectors.toList()),
-          "termsFound", Map.of(
-              "ageRange", t.get("ageRange") != null,
-              "insuTerm", t.get("insuTerm") != null,
-              "payTerm", t.get("payTerm") != null,
-              "renew", t.get("renew") != null,
-              "specialNotes", t.get("specialNotes") != null
-          )
-        ));
-      }
+    for (IngestionPipelineService.DocumentRecord r : ingestionPipelineService.runAndWait(false, false)) {
+      Map<String,String> t = r.getTerms();
+      out.add(Map.of(
+        "file", r.getFile(),
+        "codesFound", r.getCodes().size(),
+        "codesSample", r.getCodes().keySet().stream().limit(10).collect(Collectors.toList()),
+        "termsFound", Map.of(
+            "ageRange", t.get("ageRange") != null,
+            "insuTerm", t.get("insuTerm") != null,
+            "payTerm", t.get("payTerm") != null,
+            "renew", t.get("renew") != null,
+            "specialNotes", t.get("specialNotes") != null
+        )
+      ));
     }
-    // 파일명 정렬
-    out.sort(Comparator.comparing(m -> (String)m.get("file")));
     return out;
   }
 
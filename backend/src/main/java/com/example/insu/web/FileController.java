@@ -1,20 +1,17 @@
 package com.example.insu.web;
 
+import com.example.insu.service.PdfUploadService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @RestController
@@ -22,8 +19,10 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class FileController {
 
-    @Value("${insu.pdf-dir}")
-    private String pdfDir;
+    /** 색인 대기열 포화(REJECTED) 시 재시도 권장 간격 */
+    static final int INDEX_RETRY_AFTER_SECONDS = 30;
+
+    private final PdfUploadService pdfUploadService;
 
     @PostMapping("/upload")
     public ResponseEntity<Map<String, Object>> uploadFile(@RequestParam("file") MultipartFile file) {
@@ -51,88 +50,47 @@ public class FileController {
                 return ResponseEntity.badRequest().body(response);
             }
             
-            // 대상 디렉토리 확인 및 생성
-            Path targetDir = Paths.get(pdfDir);
-            if (!Files.exists(targetDir)) {
-                Files.createDirectories(targetDir);
-                log.info("PDF 디렉토리 생성: {}", targetDir);
-            }
-            
-            // 파일 저장
-            Path targetPath = targetDir.resolve(originalFilename);
-            
-            // 파일 잠금 문제 해결을 위한 재시도 로직
-            boolean uploadSuccess = false;
-            int maxRetries = 3;
-            long retryDelayMs = 1000; // 1초
+            // 스트리밍 저장 (SHA-256 동시 계산, 같은 내용이면 교체 생략, 원자적 교체)
+            PdfUploadService.StoredPdf stored = pdfUploadService.store(originalFilename, file.getInputStream());
             
-            for (int attempt = 1; attempt <= maxRetries; attempt++) {
-                try {
-                    // 임시 파일명으로 먼저 저장한 후 이름 변경
-                    Path tempPath = targetDir.resolve(originalFilename + ".tmp");
-                    
-                    // 임시 파일에 저장
-                    Files.copy(file.getInputStream(), tempPath, StandardCopyOption.REPLACE_EXISTING);
-                    
-                    // 기존 파일이 있다면 삭제 시도
-                    if (Files.exists(targetPath)) {
-                        try {
-                            Files.delete(targetPath);
-                            log.info("기존 파일 삭제 성공: {}", targetPath);
-                        } catch (IOException deleteException) {
-                            log.warn("기존 파일 삭제 실패 (다른 프로세스가 사용 중): {}", targetPath);
-                            // 파일이 사용 중이면 잠시 대기 후 재시도
-                            if (attempt < maxRetries) {
-                                try {
-                                    TimeUnit.MILLISECONDS.sleep(retryDelayMs * attempt);
-                                    log.info("재시도 대기 중... ({}ms)", retryDelayMs * attempt);
-                                } catch (InterruptedException ie) {
-                                    Thread.currentThread().interrupt();
-                                    throw new IOException("재시도 중 중단됨", ie);
-                                }
-                                continue;
-                            } else {
-                                // 최종 시도에서도 실패하면 임시 파일 삭제
-                                Files.deleteIfExists(tempPath);
-                                throw new IOException("파일이 다른 프로세스에 의해 사용 중입니다. 잠시 후 다시 시도해주세요.");
-                            }
-                        }
-                    }
-                    
-                    // 임시 파일을 최종 파일명으로 변경
-                    Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
-                    uploadSuccess = true;
-                    break;
-                    
-                } catch (IOException e) {
-                    log.warn("파일 업로드 시도 {} 실패: {}", attempt, e.getMessage());
-                    if (attempt == maxRetries) {
-                        throw e;
-                    }
-                    
-                    // 재시도 전 잠시 대기
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(retryDelayMs * attempt);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new IOException("재시도 중 중단됨", ie);
-                    }
-                }
-            }
-            
-            if (!uploadSuccess) {
-                throw new IOException("파일 업로드에 실패했습니다.");
-            }
+            // 캐시 무효화 + 단건 적재/문서 단위 파싱은 비동기 작업으로 (jobId로 진행 상태 조회)
+            PdfUploadService.UploadJob job = pdfUploadService.startIndexing(stored);
             
-            log.info("파일 업로드 성공: {} -> {}", originalFilename, targetPath);
+            log.info("파일 업로드 성공: {} -> {} (교체={}, 작업={})", originalFilename, stored.file, stored.replaced, job.getId());
             
+            boolean rejected = "REJECTED".equals(job.getState());
             response.put("success", true);
-            response.put("message", "파일이 성공적으로 업로드되었습니다.");
+            if (rejected) {
+                // 파일은 교체됨 (캐시 무효화 완료), 색인만 시작하지 못함 → 첫 조회 시 파싱
+                response.put("message", "파일이 업로드되었습니다. 색인 작업 대기열이 가득 차 첫 조회 시 파싱됩니다.");
+                response.put("errorCode", "INDEX_QUEUE_FULL");
+                response.put("retryAfterSeconds", INDEX_RETRY_AFTER_SECONDS);
+            } else {
+                response.put("message", stored.replaced
+                        ? "파일이 성공적으로 업로드되었습니다."
+                        : "같은 내용의 파일이 이미 있습니다.");
+            }
             response.put("fileName", originalFilename);
-            response.put("filePath", targetPath.toString());
+            response.put("filePath", stored.file.getPath());
+            response.put("size", stored.size);
+            response.put("sha256", stored.sha256);
+            response.put("duplicate", !stored.replaced);
+            response.put("duplicateOf", stored.duplicateOf);
+            response.put("jobId", job.getId());
+            response.put("jobState", job.getState());
             
+            if (rejected) {
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(INDEX_RETRY_AFTER_SECONDS))
+                        .body(response);
+            }
             return ResponseEntity.ok(response);
             
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            log.warn("업로드 거부: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         } catch (IOException e) {
             log.error("파일 업로드 중 오류 발생", e);
             response.put("success", false);
@@ -159,7 +117,13 @@ public class FileController {
             return ResponseEntity.internalServerError().body(response);
         }
     }
+    
+    /**
+     * 업로드 색인 작업 상태 (state: QUEUED/RUNNING/DONE/FAILED)
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> uploadJob(@PathVariable String jobId) {
+        Map<String, Object> job = pdfUploadService.job(jobId);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
 }
-
-
-
@@ -2,6 +2,7 @@
 package com.example.insu.web;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -9,11 +10,15 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /** Executor 포화 시 재시도 권장 간격 (파싱 1건은 수 초 안에 끝남) */
+    static final int RETRY_AFTER_SECONDS = 5;
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGlobalException(Exception e) {
         log.error("===== 전역 예외 발생 =====", e);
@@ -38,6 +43,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
     
+    /** 파싱/일괄 조회 Executor 포화: 요청 스레드에서 대신 실행하지 않고 재시도 안내 (503 + Retry-After) */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, Object>> handleRejectedExecution(RejectedExecutionException e) {
+        log.warn("작업 대기열 포화로 요청 거절: {}", e.getMessage());
+        
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", true);
+        errorResponse.put("message", "처리 중인 작업이 많습니다. 잠시 후 다시 시도하세요.");
+        errorResponse.put("errorCode", "EXECUTOR_SATURATED");
+        errorResponse.put("retryAfterSeconds", RETRY_AFTER_SECONDS);
+        errorResponse.put("timestamp", System.currentTimeMillis());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS))
+                .body(errorResponse);
+    }
+    
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException e) {
         log.error("===== 잘못된 인수 예외 발생 =====", e);
@@ -1,7 +1,7 @@
 package com.example.insu.web;
 
-import com.example.insu.dto.LearningStatistics;
-import com.example.insu.service.*;
+import com.example.insu.service.HealthSnapshotService;
+import com.example.insu.service.OllamaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -20,7 +20,8 @@ import java.util.Map;
 /**
  * 시스템 헬스 체크 API
  * 
- * - 전체 시스템 상태 조회
+ * - 전체 시스템 상태 조회 (HealthSnapshotService 스냅샷, 구성요소별 신선도)
+ * - 라이브니스 (/ping, /live 별칭)
  * - CSV Few-Shot 로딩 상태
  * - 학습 통계
  * - 캐시 상태
@@ -33,118 +34,53 @@ import java.util.Map;
 @Tag(name = "시스템 헬스", description = "시스템 상태 및 헬스 체크 API")
 public class HealthCheckController {
     
-    private final IncrementalLearningService learningService;
-    
-    @Autowired(required = false)
-    private UwCodeMappingFewShotService uwCodeMappingFewShotService;
-    
-    @Autowired(required = false)
-    private ParsingMetricsService metricsService;
+    private final HealthSnapshotService snapshotService;
     
     @Autowired(required = false)
     private OllamaService ollamaService;
     
-    @Autowired(required = false)
-    private ParsingFallbackService fallbackService;
-    
     private static final DateTimeFormatter FORMATTER = 
         DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     
     /**
-     * 전체 시스템 헬스 체크
+     * 전체 시스템 헬스 체크 (백그라운드 스냅샷 기준, 요청 시 하위 시스템 호출 없음)
      */
     @GetMapping
     @Operation(summary = "시스템 헬스 체크", 
-               description = "전체 시스템의 상태를 조회합니다")
+               description = "전체 시스템의 상태를 조회합니다 (주기적으로 갱신되는 스냅샷, 구성요소별 갱신 시각 포함)")
     public ResponseEntity<Map<String, Object>> health() {
-        log.info("헬스 체크 API 호출");
-        
         Map<String, Object> health = new HashMap<>();
         
-        try {
-            // 1. 기본 정보
-            health.put("status", "UP");
-            health.put("timestamp", LocalDateTime.now().format(FORMATTER));
-            health.put("version", "2.0.0");
-            
-            // 2. CSV Few-Shot 상태
-            if (uwCodeMappingFewShotService != null) {
-                Map<String, Object> csvStats = 
-                    uwCodeMappingFewShotService.getStatistics();
-                health.put("csvFewShot", csvStats);
-                log.debug("CSV Few-Shot 상태: {}", csvStats);
-            } else {
-                health.put("csvFewShot", Map.of("status", "NOT_AVAILABLE"));
-            }
-            
-            // 3. 학습 통계
-            try {
-                LearningStatistics stats = learningService.getStatistics();
-                Map<String, Object> learningStats = new HashMap<>();
-                learningStats.put("totalCorrections", stats.getTotalCorrections());
-                learningStats.put("totalPatterns", stats.getTotalPatterns());
-                learningStats.put("totalFewShotExamples", stats.getTotalFewShotExamples());
-                learningStats.put("currentAccuracy", stats.getCurrentAccuracy());
-                learningStats.put("accuracyImprovement", stats.getAccuracyImprovement());
-                health.put("learning", learningStats);
-                log.debug("학습 통계: {}", learningStats);
-            } catch (Exception e) {
-                log.warn("학습 통계 조회 실패: {}", e.getMessage());
-                health.put("learning", Map.of("status", "ERROR", "message", e.getMessage()));
-            }
-            
-            // 4. 파싱 메트릭
-            if (metricsService != null) {
-                Map<String, Object> metrics = metricsService.getCurrentMetrics();
-                health.put("parsing", metrics);
-                log.debug("파싱 메트릭: {}", metrics);
-            } else {
-                health.put("parsing", Map.of("status", "NOT_AVAILABLE"));
-            }
-            
-            // 5. LLM 서비스 상태
-            if (ollamaService != null) {
-                Map<String, Object> llmStatus = new HashMap<>();
-                try {
-                    // OllamaService에 isAvailable() 메서드가 없을 수 있으므로 간단히 체크
-                    llmStatus.put("available", true);
-                    llmStatus.put("status", "UP");
-                    llmStatus.put("message", "Ollama 서비스 구성됨");
-                } catch (Exception e) {
-                    llmStatus.put("available", false);
-                    llmStatus.put("status", "ERROR");
-                    llmStatus.put("message", e.getMessage());
-                }
-                health.put("llm", llmStatus);
-            } else {
-                health.put("llm", Map.of("status", "NOT_CONFIGURED"));
-            }
-            
-            // 6. 폴백 서비스 상태
-            if (fallbackService != null) {
-                Map<String, Object> fallbackStats = fallbackService.getFallbackStatistics();
-                health.put("fallback", fallbackStats);
-            } else {
-                health.put("fallback", Map.of("status", "NOT_AVAILABLE"));
-            }
-            
-            log.info("헬스 체크 완료: 모든 시스템 정상");
-            return ResponseEntity.ok(health);
-            
-        } catch (Exception e) {
-            log.error("헬스 체크 중 오류 발생", e);
-            
-            health.put("status", "ERROR");
-            health.put("message", e.getMessage());
-            
-            return ResponseEntity.status(500).body(health);
+        // 1. 기본 정보
+        health.put("status", snapshotService.overallStatus());
+        health.put("timestamp", LocalDateTime.now().format(FORMATTER));
+        health.put("version", "2.0.0");
+        
+        // 2. CSV Few-Shot / 3. 학습 통계 / 4. 파싱 메트릭 / 6. 폴백 (스냅샷)
+        health.put("csvFewShot", snapshotService.data(HealthSnapshotService.CSV_FEW_SHOT));
+        health.put("learning", snapshotService.data(HealthSnapshotService.LEARNING));
+        health.put("parsing", snapshotService.data(HealthSnapshotService.PARSING));
+        health.put("fallback", snapshotService.data(HealthSnapshotService.FALLBACK));
+        
+        // 5. LLM 서비스 상태 (구성 여부만)
+        if (ollamaService != null) {
+            health.put("llm", Map.of(
+                "available", true,
+                "status", "UP",
+                "message", "Ollama 서비스 구성됨"
+            ));
+        } else {
+            health.put("llm", Map.of("status", "NOT_CONFIGURED"));
         }
+        
+        health.put("freshness", snapshotService.freshness());
+        return ResponseEntity.ok(health);
     }
     
     /**
-     * 간단한 헬스 체크 (핑)
+     * 간단한 헬스 체크 (핑, 라이브니스 프로브용 /live 별칭 - 하위 시스템/스냅샷 모두 조회하지 않음)
      */
-    @GetMapping("/ping")
+    @GetMapping({"/ping", "/live"})
     @Operation(summary = "간단한 핑 체크", 
                description = "서버가 살아있는지 확인합니다")
     public ResponseEntity<Map<String, String>> ping() {
@@ -161,9 +97,8 @@ public class HealthCheckController {
     @Operation(summary = "CSV Few-Shot 상태", 
                description = "CSV 기반 Few-Shot 예시 로딩 상태를 조회합니다")
     public ResponseEntity<Map<String, Object>> csvFewShotStatus() {
-        if (uwCodeMappingFewShotService != null) {
-            Map<String, Object> stats = uwCodeMappingFewShotService.getStatistics();
-            return ResponseEntity.ok(stats);
+        if (snapshotService.has(HealthSnapshotService.CSV_FEW_SHOT)) {
+            return ResponseEntity.ok(snapshotService.data(HealthSnapshotService.CSV_FEW_SHOT));
         } else {
             return ResponseEntity.ok(Map.of(
                 "status", "NOT_AVAILABLE",
@@ -177,34 +112,13 @@ public class HealthCheckController {
      */
     @GetMapping("/learning")
     @Operation(summary = "학습 통계", 
-               description = "증분 학습 시스템의 통계를 조회합니다")
+               description = "증분 학습 시스템의 통계를 조회합니다 (스냅샷)")
     public ResponseEntity<Map<String, Object>> learningStatus() {
-        try {
-            LearningStatistics stats = learningService.getStatistics();
-            
-            Map<String, Object> result = new HashMap<>();
-            result.put("status", "OK");
-            result.put("totalCorrections", stats.getTotalCorrections());
-            result.put("totalPatterns", stats.getTotalPatterns());
-            result.put("totalFewShotExamples", stats.getTotalFewShotExamples());
-            result.put("currentAccuracy", stats.getCurrentAccuracy());
-            result.put("accuracyImprovement", stats.getAccuracyImprovement());
-            result.put("fieldAccuracies", Map.of(
-                "insuTerm", stats.getInsuTermAccuracy(),
-                "payTerm", stats.getPayTermAccuracy(),
-                "ageRange", stats.getAgeRangeAccuracy(),
-                "renew", stats.getRenewAccuracy()
-            ));
-            
-            return ResponseEntity.ok(result);
-            
-        } catch (Exception e) {
-            log.error("학습 통계 조회 실패", e);
-            return ResponseEntity.status(500).body(Map.of(
-                "status", "ERROR",
-                "message", e.getMessage()
-            ));
+        Map<String, Object> result = snapshotService.data(HealthSnapshotService.LEARNING);
+        if ("ERROR".equals(result.get("status"))) {
+            return ResponseEntity.status(500).body(result);
         }
+        return ResponseEntity.ok(result);
     }
     
     /**
@@ -212,11 +126,10 @@ public class HealthCheckController {
      */
     @GetMapping("/metrics")
     @Operation(summary = "파싱 메트릭", 
-               description = "파싱 성능 메트릭을 조회합니다")
+               description = "파싱 성능 메트릭을 조회합니다 (스냅샷)")
     public ResponseEntity<Map<String, Object>> metricsStatus() {
-        if (metricsService != null) {
-            Map<String, Object> metrics = metricsService.getCurrentMetrics();
-            return ResponseEntity.ok(metrics);
+        if (snapshotService.has(HealthSnapshotService.PARSING)) {
+            return ResponseEntity.ok(snapshotService.data(HealthSnapshotService.PARSING));
         } else {
             return ResponseEntity.ok(Map.of(
                 "status", "NOT_AVAILABLE",
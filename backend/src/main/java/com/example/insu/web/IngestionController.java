@@ -0,0 +1,62 @@
+package com.example.insu.web;
+
+import com.example.insu.service.DocumentChangeMonitor;
+import com.example.insu.service.IngestionPipelineService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * PDF 디렉터리 일괄 적재 API
+ * 
+ * - 적재 시작 (resume: 체크포인트 이후부터 / hybrid: parsingCache까지 적재)
+ * - 진행률/ETA, 단계별 처리량과 큐 적체
+ * - 취소
+ * - PDF 디렉터리 변경 감시 상태
+ */
+@RestController
+@RequestMapping("/api/ingest")
+@RequiredArgsConstructor
+@Tag(name = "일괄 적재", description = "PDF 디렉터리 병렬 적재 파이프라인 API")
+public class IngestionController {
+    
+    private final IngestionPipelineService ingestionPipelineService;
+    private final DocumentChangeMonitor documentChangeMonitor;
+    
+    @PostMapping("/run")
+    @Operation(summary = "적재 시작", 
+               description = "탐색 → 지문 → 텍스트 추출 → 섹션 분리 → 코드 색인 → 조건 파싱 → 저장. 실행 중이면 409")
+    public ResponseEntity<Map<String, Object>> run(@RequestParam(defaultValue = "true") boolean resume,
+                                                   @RequestParam(defaultValue = "false") boolean hybrid) throws IOException {
+        try {
+            ingestionPipelineService.start(resume, hybrid);
+            return ResponseEntity.accepted().body(ingestionPipelineService.progress());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/progress")
+    @Operation(summary = "진행률", description = "완료/건너뜀/실패 건수, 처리 속도, ETA, 단계별 처리량과 큐 적체")
+    public Map<String, Object> progress() {
+        return ingestionPipelineService.progress();
+    }
+    
+    @PostMapping("/cancel")
+    @Operation(summary = "취소", description = "남은 문서는 버리고 진행 중인 문서까지만 완료 (체크포인트 유지)")
+    public Map<String, Object> cancel() {
+        return Map.of("cancelled", ingestionPipelineService.cancel());
+    }
+    
+    @GetMapping("/watch")
+    @Operation(summary = "변경 감시 상태", description = "감시 방식(WATCH/POLL), 대기 중 파일, 변경/무시/삭제/재파싱 건수")
+    public Map<String, Object> watch() {
+        return documentChangeMonitor.status();
+    }
+}
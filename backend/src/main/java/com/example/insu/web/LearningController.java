@@ -93,6 +93,39 @@ public class LearningController {
         }
     }
     
+    /**
+     * 사용자 수정사항 일괄 제출 (대량 이관용: 로그 저장/패턴 학습을 배치로)
+     */
+    @PostMapping("/corrections/batch")
+    public Map<String, Object> submitCorrections(@RequestBody List<CorrectionRequest> requests) {
+        log.info("=== 수정사항 일괄 제출: {} 건 ===", requests.size());
+        
+        Map<String, Object> response = new HashMap<>();
+        try {
+            List<IncrementalLearningService.CorrectionInput> inputs = new ArrayList<>(requests.size());
+            for (CorrectionRequest request : requests) {
+                inputs.add(new IncrementalLearningService.CorrectionInput(
+                    request.getInsuCd(),
+                    request.getOriginalResult(),
+                    request.getCorrectedResult(),
+                    request.getPdfText(),
+                    request.getCorrectionReason()
+                ));
+            }
+            int saved = learningService.logCorrections(inputs);
+            
+            response.put("success", true);
+            response.put("message", saved + "건의 수정사항이 학습되었습니다");
+            response.put("count", saved);
+            response.put("statistics", learningService.getStatistics());
+        } catch (Exception e) {
+            log.error("❌ 수정사항 일괄 제출 오류: {}", e.getMessage(), e);
+            response.put("success", false);
+            response.put("message", "오류: " + e.getMessage());
+        }
+        return response;
+    }
+    
     /**
      * 학습 통계 조회
      */
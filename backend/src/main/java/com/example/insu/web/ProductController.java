@@ -6,16 +6,30 @@ import com.example.insu.dto.PremiumCalcResponse;
 import com.example.insu.dto.ProductInfoResponse;
 import com.example.insu.dto.UwCodeMappingData;
 import com.example.insu.dto.ValidationResult;
+import com.example.insu.service.AsyncParsingService;
+import com.example.insu.service.ImprovedHybridParsingService;
+import com.example.insu.service.LimitMatrixService;
+import com.example.insu.service.PdfSectionLocator;
+import com.example.insu.service.ProductBatchService;
 import com.example.insu.service.ProductService;
 import com.example.insu.service.UwCodeMappingValidationService;
 import com.example.insu.service.UwMappingHybridParsingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestController
@@ -23,21 +37,93 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ProductController {
 
+  private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+  private static final long STREAM_TIMEOUT_MS = 300_000L;
+
   private final ProductService productService;
+  private final ProductBatchService productBatchService;
   private final UwCodeMappingValidationService uwMappingValidationService;
   private final UwMappingHybridParsingService uwMappingHybridParsingService;
+  private final ImprovedHybridParsingService hybridParsingService;
+  private final AsyncParsingService asyncParsingService;
+  private final PdfSectionLocator sectionLocator;
 
   @GetMapping("/product/{insuCd}")
   public ProductInfoResponse product(@PathVariable String insuCd) {
     return productService.getProductInfo(insuCd);
   }
 
+  /**
+   * 주계약 + 관련 특약 상품 정보 일괄 (related-codes 응답 + main + products)
+   * stream=true 이면 NDJSON으로 완료되는 대로 한 줄씩 (주계약 포함, 완료 순서)
+   */
+  @GetMapping("/product/{mainCode}/bundle")
+  public Object productBundle(@PathVariable String mainCode,
+                              @RequestParam(defaultValue = "false") boolean stream) {
+    if (!stream) {
+      return productBatchService.getBundle(mainCode);
+    }
+    List<String> codes = productBatchService.bundleCodes(mainCode, productService.getRelatedCodes(mainCode));
+    return streamProducts(codes);
+  }
+
+  /** 코드 목록 상품 정보 일괄 (요청 순서, stream=true 이면 NDJSON 완료 순서) */
+  @PostMapping("/products/batch")
+  public Object productBatch(@RequestBody List<String> codes,
+                             @RequestParam(defaultValue = "false") boolean stream) {
+    return stream ? streamProducts(codes) : productBatchService.getProducts(codes);
+  }
+
+  private ResponseEntity<ResponseBodyEmitter> streamProducts(List<String> codes) {
+    ResponseBodyEmitter emitter = new ResponseBodyEmitter(STREAM_TIMEOUT_MS);
+    productBatchService.streamProducts(codes, product -> {
+      try {
+        synchronized (emitter) {
+          emitter.send(product, MediaType.APPLICATION_JSON);
+          emitter.send("\n", MediaType.TEXT_PLAIN);
+        }
+      } catch (java.io.IOException e) {
+        // 클라이언트 연결 종료 → 남은 결과는 버림
+        log.debug("[product-batch] stream send failed: {}", e.toString());
+      }
+    }).whenComplete((v, e) -> {
+      if (e != null) emitter.completeWithError(e);
+      else emitter.complete();
+    });
+    return ResponseEntity.ok().contentType(NDJSON).body(emitter);
+  }
+
   @GetMapping("/limit/{insuCd}")
   public LimitInfo limit(@PathVariable String insuCd,
                          @RequestParam(required = false) Integer age) {
     return productService.getLimit(insuCd, age);
   }
 
+  /** 가입한도 매트릭스 (코드가 속한 문서, format=csv 이면 CSV) */
+  @GetMapping("/limit-matrix/{insuCd}")
+  public ResponseEntity<?> limitMatrix(@PathVariable String insuCd,
+                                       @RequestParam(defaultValue = "json") String format) throws java.io.IOException {
+    LimitMatrixService.LimitMatrix matrix = productService.getLimitMatrix(insuCd);
+    if (matrix == null) {
+      return ResponseEntity.notFound().build();
+    }
+    return "csv".equalsIgnoreCase(format) ? csv(List.of(matrix)) : ResponseEntity.ok(matrix);
+  }
+
+  /** 가입한도 매트릭스 일괄 내보내기 (PDF 디렉터리 전체, 감사용 - 저장된 매트릭스만, 없는 문서는 백그라운드 생성) */
+  @GetMapping("/limit-matrix")
+  public ResponseEntity<?> limitMatrices(@RequestParam(defaultValue = "json") String format) {
+    List<LimitMatrixService.LimitMatrix> all = productService.getAllLimitMatrices();
+    return "csv".equalsIgnoreCase(format) ? csv(all) : ResponseEntity.ok(all);
+  }
+
+  private static ResponseEntity<String> csv(List<LimitMatrixService.LimitMatrix> matrices) {
+    return ResponseEntity.ok()
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=limit-matrix.csv")
+        .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+        .body(LimitMatrixService.toCsv(matrices));
+  }
+
   @PostMapping("/calc")
   public PremiumCalcResponse calc(@RequestBody PremiumCalcRequest req) {
     return productService.calcPremium(req);
@@ -141,7 +227,7 @@ public class ProductController {
   public Object parseWithUwMapping(@PathVariable String insuCd) {
     try {
       java.io.File pdfFile = com.example.insu.util.PdfParser.findPdfForCode(
-          productService.getPdfDir(), insuCd);
+          productService.getPdfDir(), insuCd, sectionLocator);
       if (pdfFile == null) {
         return java.util.Map.of("error", "PDF 파일을 찾을 수 없습니다: " + insuCd);
       }
@@ -152,6 +238,48 @@ public class ProductController {
     }
   }
   
+  /** 문서 단위 파싱 결과 조회: 캐시된 결과만 반환 (파싱은 POST로 시작) */
+  @GetMapping("/parse/document/{insuCd}")
+  public ResponseEntity<?> parseDocument(@PathVariable String insuCd) {
+    java.io.File pdfFile = com.example.insu.util.PdfParser.findPdfForCode(
+        productService.getPdfDir(), insuCd, sectionLocator);
+    if (pdfFile == null) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "PDF 파일을 찾을 수 없습니다: " + insuCd));
+    }
+    
+    Map<String, Map<String, String>> results = hybridParsingService.cachedDocument(pdfFile);
+    List<String> pending = new ArrayList<>(hybridParsingService.documentCodes(pdfFile));
+    pending.removeAll(results.keySet());
+    
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put("document", pdfFile.getName());
+    body.put("parsing", asyncParsingService.isDocumentParsing(pdfFile));
+    body.put("results", results);
+    body.put("pending", pending);
+    return ResponseEntity.ok(body);
+  }
+  
+  /** 문서 단위 파싱 시작: insuCd가 속한 PDF의 모든 코드를 백그라운드에서 파싱 (코드별 parsingCache 적재) */
+  @PostMapping("/parse/document/{insuCd}")
+  public ResponseEntity<?> startDocumentParse(@PathVariable String insuCd) {
+    java.io.File pdfFile = com.example.insu.util.PdfParser.findPdfForCode(
+        productService.getPdfDir(), insuCd, sectionLocator);
+    if (pdfFile == null) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "PDF 파일을 찾을 수 없습니다: " + insuCd));
+    }
+    
+    try {
+      boolean started = asyncParsingService.startDocumentParse(pdfFile);
+      return ResponseEntity.accepted().body(Map.of(
+          "document", pdfFile.getName(),
+          "status", started ? "started" : "running"));
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, "30")
+          .body(Map.of("error", "문서 파싱 작업이 가득 찼습니다. 잠시 후 다시 시도하세요."));
+    }
+  }
+  
   /** UW_CODE_MAPPING 통계 조회 */
   @GetMapping("/uw-mapping/statistics")
   public Object getUwMappingStatistics() {
@@ -0,0 +1,48 @@
+package com.example.insu.web;
+
+import com.example.insu.service.ParseTracer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 파싱 트레이스 조회 API
+ * 
+ * - 최근 샘플링된 트레이스 목록
+ * - 느린 트레이스의 임계 경로
+ * - 단일 트레이스 상세
+ */
+@RestController
+@RequestMapping("/api/traces")
+@RequiredArgsConstructor
+@Tag(name = "파싱 트레이스", description = "스레드 간 파싱 지연 추적 API")
+public class TraceController {
+    
+    private final ParseTracer parseTracer;
+    
+    @GetMapping
+    @Operation(summary = "최근 트레이스", description = "최근 샘플링된 파싱 트레이스 요약 (최신순)")
+    public List<Map<String, Object>> recent(@RequestParam(defaultValue = "20") int limit) {
+        return parseTracer.recent(limit);
+    }
+    
+    @GetMapping("/slowest")
+    @Operation(summary = "느린 트레이스 임계 경로", 
+               description = "최근 트레이스 중 가장 느린 순으로 임계 경로(스팬별 selfMs 포함)를 반환")
+    public List<Map<String, Object>> slowest(@RequestParam(defaultValue = "5") int limit) {
+        return parseTracer.slowest(limit);
+    }
+    
+    @GetMapping("/{traceId}")
+    @Operation(summary = "트레이스 상세", description = "전체 스팬과 임계 경로")
+    public ResponseEntity<Map<String, Object>> get(@PathVariable String traceId) {
+        return parseTracer.find(traceId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.insu.config;
+
+import com.example.insu.util.PageParallelStripper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 비동기 설정: 파싱 풀 포화 시 거절 / virtual 모드 미지원 JVM 기동 실패 테스트
+ */
+public class AsyncConfigTest {
+
+    private final AsyncConfig config = new AsyncConfig();
+
+    @AfterEach
+    public void tearDown() {
+        config.shutdownBlockingExecutor();
+        PageParallelStripper.configure(0, 16, 0);
+    }
+
+    @Test
+    @DisplayName("parsingExecutor: 스레드와 대기열이 모두 차면 거절, 제출한 요청 스레드에서 대신 실행하지 않음")
+    public void testParsingExecutorRejectsWhenSaturated() throws Exception {
+        ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) config.parsingExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            int capacity = executor.getMaxPoolSize() + executor.getQueueCapacity();
+            for (int i = 0; i < capacity; i++) {
+                executor.execute(() -> {
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            AtomicBoolean ranOnCaller = new AtomicBoolean();
+            Thread caller = Thread.currentThread();
+            assertThrows(RejectedExecutionException.class,
+                    () -> executor.execute(() -> ranOnCaller.set(Thread.currentThread() == caller)));
+            assertFalse(ranOnCaller.get());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("blockingExecutor: pool 모드는 parsingExecutor 그대로, virtual 모드는 가상 스레드가 없으면 무제한 풀로 대체하지 않고 실패")
+    public void testBlockingExecutorModes() {
+        Executor parsing = Runnable::run;
+        assertSame(parsing, config.blockingExecutor(parsing, "pool", 0));
+
+        assumeTrue(Runtime.version().feature() < 21, "가상 스레드 지원 JVM");
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> config.blockingExecutor(parsing, "virtual", 0));
+        assertTrue(e.getMessage().contains("pool"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.insu.config;
+
+import com.example.insu.service.ImprovedHybridParsingService;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 캐시 설정: 비용 기반 만료 / 백그라운드 갱신 / 가중치 테스트
+ */
+public class CacheConfigTest {
+
+    private final CacheConfig config = new CacheConfig();
+
+    @AfterEach
+    public void tearDown() {
+        config.shutdownRefreshExecutor();
+    }
+
+    @Test
+    @DisplayName("parsingCache: 비싼 결과는 TTL이 길고, 갱신은 기존 값을 유지한 채 백그라운드 재파싱으로 교체")
+    @SuppressWarnings("unchecked")
+    public void testCostAwareTtlAndRefresh() {
+        ImprovedHybridParsingService service = mock(ImprovedHybridParsingService.class);
+        when(service.loadCostNanos("cheap")).thenReturn(TimeUnit.MILLISECONDS.toNanos(10));
+        when(service.loadCostNanos("llm")).thenReturn(TimeUnit.SECONDS.toNanos(6));
+        when(service.reload(any())).thenReturn(Map.of("insuTerm", "종신(갱신)"));
+        ObjectProvider<ImprovedHybridParsingService> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(service);
+        when(provider.getIfAvailable()).thenReturn(service);
+
+        ReflectionTestUtils.setField(config, "parsingMaxWeightMb", 64L);
+        ReflectionTestUtils.setField(config, "parsingTtlHours", 24L);
+        ReflectionTestUtils.setField(config, "parsingRefreshHours", 20L);
+        ReflectionTestUtils.setField(config, "expensiveMs", 2000L);
+        ReflectionTestUtils.setField(config, "refreshThreads", 1);
+        ReflectionTestUtils.setField(config, "uwMappingSpec", "maximumSize=10");
+        ReflectionTestUtils.setField(config, "validationSpec", "maximumSize=10");
+        ReflectionTestUtils.setField(config, "learningSpec", "maximumSize=10");
+
+        CacheManager manager = config.cacheManager(provider);
+        assertNull(manager.getCache("unknownCache"), "등록되지 않은 캐시가 동적으로 생성됨");
+
+        CaffeineCache cache = (CaffeineCache) manager.getCache("parsingCache");
+        assertNull(cache.get("missing"), "미스 시 로더가 값을 만들면 안 됨");
+        cache.put("cheap", Map.of("insuTerm", "종신"));
+        cache.put("llm", Map.of("insuTerm", "종신"));
+
+        LoadingCache<Object, Object> nativeCache = (LoadingCache<Object, Object>) cache.getNativeCache();
+        var expiry = nativeCache.policy().expireVariably().orElseThrow();
+        Duration cheapTtl = expiry.getExpiresAfter("cheap").orElseThrow();
+        Duration llmTtl = expiry.getExpiresAfter("llm").orElseThrow();
+        assertTrue(cheapTtl.toHours() <= 24 && cheapTtl.toHours() >= 23, "저비용 TTL: " + cheapTtl);
+        assertTrue(llmTtl.toHours() >= 48, "고비용 결과 TTL이 늘어나지 않음: " + llmTtl);
+
+        nativeCache.refresh("llm").join();
+        assertEquals("종신(갱신)", ((Map<?, ?>) cache.get("llm").get()).get("insuTerm"));
+        verify(service).reload("llm");
+
+        assertTrue(nativeCache.policy().eviction().orElseThrow().weightedSize().orElseThrow() > 0);
+    }
+
+    @Test
+    @DisplayName("추정 바이트: 문자열 길이와 맵 엔트리 수에 비례")
+    public void testEstimateBytes() {
+        int small = CacheConfig.estimateBytes(Map.of("insuTerm", "종신"));
+        int large = CacheConfig.estimateBytes(Map.of("insuTerm", "종신", "specialNotes", "x".repeat(1000)));
+        assertTrue(large > small + 2000);
+        assertEquals(40 + 2 * 5, CacheConfig.estimateBytes("21686"));
+    }
+}
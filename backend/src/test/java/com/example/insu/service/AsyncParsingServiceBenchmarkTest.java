@@ -0,0 +1,105 @@
+package com.example.insu.service;
+
+import com.example.insu.config.AsyncConfig;
+import com.example.insu.util.PdfBoxGate;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * parseMultiple 처리량 벤치마크: pool 모드 vs virtual 모드 (500개 코드)
+ * 
+ * 실행: mvn test -Dtest=AsyncParsingServiceBenchmarkTest -Dbenchmark=true (virtual 모드는 Java 21 이상)
+ * - 파싱 1건 = 블로킹 I/O 40ms (Ollama/JDBC/Python 대기) + PDFBox CPU 2ms (PdfBoxGate 구간)
+ * - parsingExecutor는 포화 시 거절하므로 parseMultiple은 풀 용량 안쪽 묶음(CHUNK)으로 나눠 호출
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class AsyncParsingServiceBenchmarkTest {
+
+    private static final int CODES = 500;
+    private static final long BLOCKING_MS = 40;
+    private static final long CPU_MS = 2;
+    private static final int CHUNK = 50;  // parsingExecutor 최대 스레드 + 대기열(60)보다 작게
+
+    @Test
+    @DisplayName("벤치마크: parseMultiple 500건 처리량 (pool vs virtual)")
+    public void benchmarkParseMultiple() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual 모드는 Java 21 이상");
+        List<String> codes = IntStream.range(0, CODES)
+            .mapToObj(i -> String.valueOf(20000 + i))
+            .collect(Collectors.toList());
+
+        double pool = run("pool", codes);
+        double virtual = run("virtual", codes);
+
+        System.out.printf("parseMultiple %d건 처리량: pool=%.1f건/s, virtual=%.1f건/s (x%.1f)%n",
+                CODES, pool, virtual, virtual / pool);
+        assertTrue(virtual > pool, "virtual 모드가 블로킹 작업에서 더 느림");
+    }
+
+    private double run(String mode, List<String> codes) throws Exception {
+        AsyncConfig config = new AsyncConfig();
+        Executor parsingExecutor = config.parsingExecutor();
+        Executor executor = config.blockingExecutor(parsingExecutor, mode, 0);
+        try {
+            AsyncParsingService service = new AsyncParsingService(
+                new SimulatedHybridParsingService(), new ParseTracer(0.0, 1, ""), executor, executor, null) {
+                @Override
+                protected File findPdfFile(String insuCd) {
+                    return new File("simulated.pdf");
+                }
+            };
+
+            // 워밍업
+            service.parseMultiple(codes.subList(0, 50)).get(60, TimeUnit.SECONDS);
+
+            long start = System.nanoTime();
+            Map<String, Map<String, String>> results = new LinkedHashMap<>();
+            for (int i = 0; i < codes.size(); i += CHUNK) {
+                results.putAll(service.parseMultiple(codes.subList(i, Math.min(codes.size(), i + CHUNK)))
+                        .get(300, TimeUnit.SECONDS));
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            assertEquals(CODES, results.size());
+            return CODES / seconds;
+        } finally {
+            ((org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor) parsingExecutor).shutdown();
+            config.shutdownBlockingExecutor();
+        }
+    }
+
+    /** 블로킹 대기 + 짧은 PDFBox CPU 구간을 흉내내는 파싱 서비스 */
+    private static class SimulatedHybridParsingService extends ImprovedHybridParsingService {
+        SimulatedHybridParsingService() {
+            super(new ArrayList<>(), new ParseTracer(0.0, 1, ""), new ConcurrentMapCacheManager());
+        }
+
+        @Override
+        public Map<String, String> parseWithMultipleStrategies(File pdfFile, String insuCd) {
+            try {
+                Thread.sleep(BLOCKING_MS);
+                try (PdfBoxGate.Permit permit = PdfBoxGate.acquire()) {
+                    long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CPU_MS);
+                    while (System.nanoTime() < until) {
+                        Thread.onSpinWait();
+                    }
+                }
+            } catch (Exception e) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of("insuTerm", "종신", "insuCd", insuCd);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.insu.service;
+
+import com.example.insu.dto.CorrectionLog;
+import com.example.insu.dto.LearnedPattern;
+import com.example.insu.dto.UwCodeMappingData;
+import com.example.insu.mapper.CorrectionLogMapper;
+import com.example.insu.mapper.LearnedPatternMapper;
+import com.example.insu.mapper.UwCodeMappingMapper;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 일괄 저장: H2(Oracle 호환 모드)에서 배치 채번/INSERT, MERGE UPSERT, 학습 완료 처리 테스트
+ */
+public class BatchPersistenceServiceTest {
+
+    /** 매퍼가 쓰는 컬럼만 (부하 시험 스키마와 같은 정의) */
+    private static final String[] SCHEMA = {
+        "CREATE SEQUENCE correction_log_seq START WITH 1 INCREMENT BY 1",
+        "CREATE SEQUENCE learned_pattern_seq START WITH 1 INCREMENT BY 1",
+        """
+        CREATE TABLE CORRECTION_LOG (
+            LOG_ID NUMBER PRIMARY KEY, INSU_CD VARCHAR2(20) NOT NULL, SRC_FILE VARCHAR2(50), PRODUCT_NAME VARCHAR2(200),
+            ORIGINAL_INSU_TERM VARCHAR2(200), ORIGINAL_PAY_TERM VARCHAR2(500), ORIGINAL_AGE_RANGE VARCHAR2(1000),
+            ORIGINAL_RENEW VARCHAR2(50), ORIGINAL_SPECIAL_NOTES VARCHAR2(500), ORIGINAL_VALIDATION_SOURCE VARCHAR2(100),
+            CORRECTED_INSU_TERM VARCHAR2(200), CORRECTED_PAY_TERM VARCHAR2(500), CORRECTED_AGE_RANGE VARCHAR2(1000),
+            CORRECTED_RENEW VARCHAR2(50), CORRECTED_SPECIAL_NOTES VARCHAR2(500), PDF_TEXT CLOB,
+            CORRECTED_FIELD_COUNT NUMBER DEFAULT 0, CORRECTION_REASON VARCHAR2(500), USER_ID VARCHAR2(50),
+            CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP, IS_LEARNED CHAR(1) DEFAULT 'N', LEARNED_AT TIMESTAMP,
+            LEARNING_PATTERN_ID NUMBER
+        )""",
+        """
+        CREATE TABLE LEARNED_PATTERN (
+            PATTERN_ID NUMBER PRIMARY KEY, INSU_CD VARCHAR2(20) NOT NULL, FIELD_NAME VARCHAR2(50) NOT NULL,
+            PATTERN_VALUE VARCHAR2(1000) NOT NULL, CONFIDENCE_SCORE NUMBER DEFAULT 100, APPLY_COUNT NUMBER DEFAULT 0,
+            SUCCESS_COUNT NUMBER DEFAULT 0, LEARNED_FROM_LOG_ID NUMBER, LEARNING_SOURCE VARCHAR2(50),
+            CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP, UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+            IS_ACTIVE CHAR(1) DEFAULT 'Y', PRIORITY NUMBER DEFAULT 50,
+            CONSTRAINT UK_PATTERN UNIQUE (INSU_CD, FIELD_NAME)
+        )""",
+        """
+        CREATE TABLE UW_CODE_MAPPING (
+            SRC_FILE VARCHAR2(20), CODE VARCHAR2(10) NOT NULL, PRODUCT_NAME VARCHAR2(200), MAIN_CODE VARCHAR2(10) NOT NULL,
+            PERIOD_LABEL VARCHAR2(100) NOT NULL, PERIOD_VALUE NUMBER, PAY_TERM VARCHAR2(200) NOT NULL, ENTRY_AGE_M VARCHAR2(500),
+            ENTRY_AGE_F VARCHAR2(500), PRODUCT_GROUP VARCHAR2(50), TYPE_LABEL VARCHAR2(50) NOT NULL, PERIOD_KIND VARCHAR2(10),
+            CLASS_TAG VARCHAR2(50),
+            CONSTRAINT PK_UW_CODE_MAPPING PRIMARY KEY (CODE, MAIN_CODE, PERIOD_LABEL, PAY_TERM, TYPE_LABEL)
+        )""",
+    };
+
+    private JdbcDataSource dataSource;
+    private BatchPersistenceService service;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:batch-" + UUID.randomUUID() + ";MODE=Oracle;DB_CLOSE_DELAY=-1");
+        try (Connection c = dataSource.getConnection(); Statement st = c.createStatement()) {
+            for (String ddl : SCHEMA) st.execute(ddl);
+        }
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(CorrectionLogMapper.class);
+        configuration.addMapper(LearnedPatternMapper.class);
+        configuration.addMapper(UwCodeMappingMapper.class);
+        SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(configuration);
+        service = new BatchPersistenceService(factory, 2);
+    }
+
+    @Test
+    @DisplayName("수정 로그: 배치 크기 단위로 LOG_ID 채번 후 일괄 INSERT, 학습 완료 처리는 마지막 필드 패턴 ID (없으면 LOG_ID)")
+    public void testCorrectionLogsAndMarks() throws SQLException {
+        List<CorrectionLog> logs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            logs.add(CorrectionLog.builder().insuCd("2168" + i).srcFile("USER_INPUT").productName("")
+                .originalInsuTerm("").correctedInsuTerm("종신").pdfText("").correctedFieldCount(1)
+                .correctionReason("").userId("SYSTEM").build());
+        }
+        assertEquals(5, service.insertCorrectionLogs(logs));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), logs.stream().map(CorrectionLog::getId).toList());
+        assertEquals(5, queryLong("SELECT COUNT(*) FROM CORRECTION_LOG WHERE IS_LEARNED = 'N'"));
+
+        service.upsertPatterns(List.of(pattern("21680", "insuTerm", "종신", 1L)));
+        service.markAsLearned(List.of(
+            new BatchPersistenceService.LearnedMark(1L, "21680", "insuTerm"),
+            new BatchPersistenceService.LearnedMark(2L, "21681", null)));
+
+        long patternId = queryLong("SELECT PATTERN_ID FROM LEARNED_PATTERN WHERE INSU_CD = '21680'");
+        assertEquals(patternId, queryLong("SELECT LEARNING_PATTERN_ID FROM CORRECTION_LOG WHERE LOG_ID = 1"));
+        assertEquals(2L, queryLong("SELECT LEARNING_PATTERN_ID FROM CORRECTION_LOG WHERE LOG_ID = 2"));
+        assertEquals(3, queryLong("SELECT COUNT(*) FROM CORRECTION_LOG WHERE IS_LEARNED = 'N'"));
+    }
+
+    @Test
+    @DisplayName("패턴 UPSERT: H2에서도 MERGE 동작, 같은 배치 안의 같은 키는 순서대로 삽입 후 갱신 (신뢰도 +10, 적용 횟수 +1)")
+    public void testPatternUpsert() throws SQLException {
+        List<LearnedPattern> patterns = List.of(
+            pattern("21690", "insuTerm", "종신", 1L),
+            pattern("21690", "payTerm", "10년납", 1L),
+            pattern("21704", "insuTerm", "90세만기", 2L),
+            pattern("21690", "insuTerm", "100세만기", 3L),
+            pattern("21704", "renew", "갱신형", null));
+        assertEquals(5, service.upsertPatterns(patterns));
+
+        assertEquals(4, queryLong("SELECT COUNT(*) FROM LEARNED_PATTERN"));
+        assertEquals("100세만기", queryString("SELECT PATTERN_VALUE FROM LEARNED_PATTERN WHERE INSU_CD = '21690' AND FIELD_NAME = 'insuTerm'"));
+        assertEquals(90, queryLong("SELECT CONFIDENCE_SCORE FROM LEARNED_PATTERN WHERE INSU_CD = '21690' AND FIELD_NAME = 'insuTerm'"));
+        assertEquals(1, queryLong("SELECT APPLY_COUNT FROM LEARNED_PATTERN WHERE INSU_CD = '21690' AND FIELD_NAME = 'insuTerm'"));
+        assertEquals(80, queryLong("SELECT CONFIDENCE_SCORE FROM LEARNED_PATTERN WHERE INSU_CD = '21704' AND FIELD_NAME = 'renew'"));
+    }
+
+    @Test
+    @DisplayName("UW_CODE_MAPPING UPSERT: 복합 키(CODE, MAIN_CODE, PERIOD_LABEL, PAY_TERM, TYPE_LABEL) 기준 삽입/갱신, 키가 아닌 컬럼만 갱신, null 값 허용")
+    public void testCodeMappingUpsert() throws SQLException {
+        UwCodeMappingData main = mapping("21690", "종신", "10년납, 15년납").productName("(무)실손의료비보험").periodValue(999)
+            .productGroup("주계약").periodKind("E").classTag("MAIN").build();
+        UwCodeMappingData rider = mapping("21704", "갱신형", "전기납").productName("갱신형 특약").build();
+        assertEquals(2, service.upsertCodeMappings(List.of(main, rider)));
+
+        main.setEntryAgeM("15~80");
+        rider.setPeriodValue(20);
+        service.upsertCodeMappings(List.of(main, rider));
+
+        assertEquals(2, queryLong("SELECT COUNT(*) FROM UW_CODE_MAPPING"));
+        assertEquals("15~80", queryString("SELECT ENTRY_AGE_M FROM UW_CODE_MAPPING WHERE CODE = '21690'"));
+        assertEquals(20, queryLong("SELECT PERIOD_VALUE FROM UW_CODE_MAPPING WHERE CODE = '21704'"));
+        assertNull(queryString("SELECT CLASS_TAG FROM UW_CODE_MAPPING WHERE CODE = '21704'"));
+        assertEquals(0, service.upsertCodeMappings(List.of()));
+    }
+
+    @Test
+    @DisplayName("UW_CODE_MAPPING UPSERT: 같은 CODE의 보험기간별 행은 서로 덮어쓰지 않고 모두 유지, 다시 적재해도 행 수 그대로")
+    public void testCodeMappingUpsertKeepsPeriodRows() throws SQLException {
+        UwCodeMappingData life = mapping("21686", "종신", "10년납").periodValue(999).entryAgeM("15~70").build();
+        UwCodeMappingData to90 = mapping("21686", "90세만기", "10년납").periodValue(90).entryAgeM("15~60").build();
+        assertEquals(2, service.upsertCodeMappings(List.of(life, to90)));
+
+        to90.setEntryAgeM("15~65");
+        service.upsertCodeMappings(List.of(life, to90));
+
+        assertEquals(2, queryLong("SELECT COUNT(*) FROM UW_CODE_MAPPING WHERE CODE = '21686'"));
+        assertEquals("15~70", queryString("SELECT ENTRY_AGE_M FROM UW_CODE_MAPPING WHERE CODE = '21686' AND PERIOD_LABEL = '종신'"));
+        assertEquals("15~65", queryString("SELECT ENTRY_AGE_M FROM UW_CODE_MAPPING WHERE CODE = '21686' AND PERIOD_LABEL = '90세만기'"));
+        assertEquals(999, queryLong("SELECT PERIOD_VALUE FROM UW_CODE_MAPPING WHERE CODE = '21686' AND PERIOD_LABEL = '종신'"));
+    }
+
+    private static UwCodeMappingData.UwCodeMappingDataBuilder mapping(String code, String periodLabel, String payTerm) {
+        return UwCodeMappingData.builder().srcFile("UW21239").code(code).mainCode("21690")
+            .periodLabel(periodLabel).payTerm(payTerm).typeLabel("최초계약");
+    }
+
+    private static LearnedPattern pattern(String insuCd, String field, String value, Long logId) {
+        return LearnedPattern.builder().insuCd(insuCd).fieldName(field).patternValue(value)
+            .confidenceScore(80).learningSource("USER_CORRECTION").learnedFromLogId(logId).priority(50).build();
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Connection c = dataSource.getConnection(); Statement st = c.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getLong(1);
+        }
+    }
+
+    private String queryString(String sql) throws SQLException {
+        try (Connection c = dataSource.getConnection(); Statement st = c.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.insu.service;
+
+import com.example.insu.util.BusinessMethodRules;
+import com.example.insu.util.DocumentScope;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 사업방법서 전략: 문서 범위 안에서 사업방법 페이지 탐색/표 재구성은 문서당 1회
+ */
+public class BusinessMethodParsingStrategyTest {
+
+    private static final String TEXT = "3. 보험코드\n"
+            + "21686 (무)암진단특약\n"
+            + "21687 (무)뇌졸중진단특약\n"
+            + "4. 사업방법\n"
+            + "(무)암진단특약 비갱신형\n보험기간: 90세만기\n납입기간: 10년납, 20년납\n"
+            + "(무)뇌졸중진단특약 갱신형\n보험기간 20년만기\n"
+            + "5. 가입한도\n";
+
+    @Test
+    @DisplayName("범위 안: 코드가 여러 개여도 사업방법 페이지는 한 번만 탐색, 범위 밖은 호출마다 탐색")
+    public void testTermTableSharedInScope() throws Exception {
+        PdfSectionLocator locator = mock(PdfSectionLocator.class);
+        when(locator.locate(any(), eq(PdfSectionLocator.BUSINESS_METHOD))).thenReturn(null);
+        BusinessMethodParsingStrategy strategy = new BusinessMethodParsingStrategy(locator);
+        File pdf = new File("business-method.pdf");
+
+        try (DocumentScope.Scope ignored = DocumentScope.open()) {
+            DocumentScope.model(pdf, "business-method", BusinessMethodRules.Document.class,
+                    f -> BusinessMethodRules.LABELED.document(TEXT));
+            Map<String, String> cancer = strategy.parse(pdf, "21686");
+            Map<String, String> stroke = strategy.parse(pdf, "21687");
+
+            assertEquals("90세만기", cancer.get("insuTerm"));
+            assertEquals("사업방법서 기반 파싱", stroke.get("specialNotes"));
+        }
+        verify(locator, times(1)).locate(any(), eq(PdfSectionLocator.BUSINESS_METHOD));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.insu.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 캐시 선제 갱신: 스케줄러 스레드를 막지 않고, 진행 중이면 다음 주기를 건너뛰는지 테스트
+ */
+public class CacheWarmupServiceTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("선제 갱신: 파싱이 끝나지 않아도 refreshAhead는 바로 반환, 진행 중에는 다시 시작하지 않음")
+    public void testRefreshAheadDoesNotBlockScheduler() throws Exception {
+        File pdf = Files.writeString(tmp.resolve("UW21686.pdf"), "dummy").toFile();
+        ImprovedHybridParsingService hybrid = mock(ImprovedHybridParsingService.class);
+        when(hybrid.generateCacheKey(any(File.class), anyString())).thenAnswer(inv -> "key-" + inv.getArgument(1));
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(hybrid.parseDocument(eq(pdf), anyCollection(), eq(true))).thenAnswer(inv -> {
+            parsing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return Map.of("21686", Map.of());
+        });
+
+        ProductPopularityService popularity = new ProductPopularityService(tmp.resolve("index").toString(), 16);
+        popularity.record("21686");
+        IngestionPipelineService ingestion = mock(IngestionPipelineService.class);
+        when(ingestion.codeIndex()).thenReturn(Map.of("21686", pdf));
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(new CaffeineCache("parsingCache",
+            Caffeine.newBuilder().expireAfterWrite(Duration.ofHours(24)).build())));
+        cacheManager.afterPropertiesSet();
+
+        ExecutorService batchExecutor = Executors.newSingleThreadExecutor();
+        try {
+            CacheWarmupService service = new CacheWarmupService(hybrid, popularity, ingestion, cacheManager, batchExecutor, null);
+            ReflectionTestUtils.setField(service, "pdfDir", tmp.toString());
+            ReflectionTestUtils.setField(service, "warmupEnabled", true);
+            ReflectionTestUtils.setField(service, "refreshAheadEnabled", true);
+            ReflectionTestUtils.setField(service, "topProductsCount", 10);
+            ReflectionTestUtils.setField(service, "refreshWindowMinutes", 60L);
+
+            long start = System.nanoTime();
+            service.refreshAhead();
+            assertTrue(parsing.await(5, TimeUnit.SECONDS), "선제 갱신이 시작되지 않음");
+            service.refreshAhead();
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2), "스케줄러 스레드가 파싱 완료를 기다림");
+
+            release.countDown();
+            batchExecutor.shutdown();
+            assertTrue(batchExecutor.awaitTermination(5, TimeUnit.SECONDS));
+            verify(hybrid, timeout(5000).times(1)).parseDocument(eq(pdf), anyCollection(), eq(true));
+        } finally {
+            release.countDown();
+            batchExecutor.shutdownNow();
+        }
+    }
+}
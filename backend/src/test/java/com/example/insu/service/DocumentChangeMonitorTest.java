@@ -0,0 +1,150 @@
+package com.example.insu.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * PDF 변경 감시: 디바운스 / 캐시 계층 무효화 / 내용 동일 시 무시 테스트
+ */
+public class DocumentChangeMonitorTest {
+
+    @TempDir
+    Path tmp;
+
+    private final ImprovedHybridParsingService hybrid = mock(ImprovedHybridParsingService.class);
+    private final PdfSectionLocator locator = mock(PdfSectionLocator.class);
+    private final LimitMatrixService limits = mock(LimitMatrixService.class);
+    private final IngestionPipelineService ingestion = mock(IngestionPipelineService.class);
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    private DocumentChangeMonitor monitor;
+
+    @AfterEach
+    public void tearDown() {
+        if (monitor != null) monitor.stop();
+    }
+
+    @Test
+    @DisplayName("변경: 연속 이벤트는 1회로 병합, 문서 키/코드 키 캐시 제거 후 문서 단위 재파싱")
+    public void testDebouncedInvalidationAndReparse() throws Exception {
+        Path pdf = Files.writeString(tmp.resolve("UW21686.pdf"), "v1");
+        cacheManager.registerCustomCache("parsingCache", Caffeine.newBuilder().build());
+        cacheManager.registerCustomCache("uwMappingParsingCache", Caffeine.newBuilder().build());
+        Cache parsing = cacheManager.getCache("parsingCache");
+        Cache uw = cacheManager.getCache("uwMappingParsingCache");
+        parsing.put("h1_21686_1.0.0", Map.of());
+        parsing.put("h2_79525_1.0.0", Map.of());
+        uw.put("123_21686_uw_mapping_v1.0", Map.of());
+        uw.put("456_79525_uw_mapping_v1.0", Map.of());
+        when(hybrid.invalidateDocument(any())).thenReturn(Map.of("h1_21686_1.0.0", "21686"));
+        when(hybrid.discoverCodes(any())).thenReturn(List.of("21686", "21687"));
+
+        monitor = newMonitor();
+        monitor.start();
+        Files.writeString(pdf, "v2 - replaced");
+        for (int i = 0; i < 5; i++) {
+            monitor.onDocumentChanged(new DocumentChangedEvent(pdf.toFile(), "upload"));
+        }
+
+        verify(hybrid, timeout(3000)).parseDocument(eq(pdf.toFile().getAbsoluteFile()), eq(Set.of("21686", "21687")), eq(true));
+        assertNull(parsing.get("h1_21686_1.0.0"));
+        assertNotNull(parsing.get("h2_79525_1.0.0"), "다른 문서의 엔트리까지 제거됨");
+        assertNull(uw.get("123_21686_uw_mapping_v1.0"));
+        assertNotNull(uw.get("456_79525_uw_mapping_v1.0"));
+        verify(hybrid, times(1)).invalidateDocument(any());
+        verify(locator).invalidate(any(File.class));
+        verify(limits).invalidate(any(File.class));
+        verify(ingestion).invalidate(any(File.class));
+        assertEquals(1L, monitor.status().get("changed"));
+    }
+
+    @Test
+    @DisplayName("무시: 수정시각만 바뀌고 내용이 같으면 무효화하지 않음, 삭제는 무효화만")
+    public void testTouchIgnoredAndDeleteInvalidates() throws Exception {
+        Path pdf = Files.writeString(tmp.resolve("UW79525.pdf"), "v1");
+        when(hybrid.invalidateDocument(any())).thenReturn(Map.of());
+        when(hybrid.discoverCodes(any())).thenReturn(List.of("79525"));
+
+        monitor = newMonitor();
+        monitor.start();
+        Files.writeString(pdf, "v2 - replaced");
+        monitor.onDocumentChanged(new DocumentChangedEvent(pdf.toFile(), "upload"));
+        verify(hybrid, timeout(3000)).parseDocument(any(), anyCollection(), eq(true));
+
+        assertTrue(pdf.toFile().setLastModified(pdf.toFile().lastModified() + 10_000));
+        monitor.onDocumentChanged(new DocumentChangedEvent(pdf.toFile(), "upload"));
+        waitUntilIdle(1L);
+        verify(hybrid, times(1)).invalidateDocument(any());
+
+        Files.delete(pdf);
+        monitor.onDocumentChanged(new DocumentChangedEvent(pdf.toFile(), "upload"));
+        verify(hybrid, timeout(3000).times(2)).invalidateDocument(any());
+        verify(hybrid, times(1)).parseDocument(any(), anyCollection(), anyBoolean());
+        assertEquals(1L, monitor.status().get("deleted"));
+    }
+
+    @Test
+    @DisplayName("기준 해시: 시작 후 처음 들어온 touch(내용 동일)도 무시, 재파싱 작업이 거부되면 감시 스레드에서 파싱하지 않고 건너뜀")
+    public void testFirstTouchIgnoredAndRejectedReparseSkipped() throws Exception {
+        Path pdf = Files.writeString(tmp.resolve("UW79530.pdf"), "v1");
+        when(hybrid.invalidateDocument(any())).thenReturn(Map.of());
+
+        monitor = new DocumentChangeMonitor(hybrid, locator, limits, ingestion, cacheManager,
+                r -> { throw new RejectedExecutionException("full"); },
+                tmp.toString(), true, 50, 60_000, true, true);
+        monitor.start();
+        waitFor("baselineHashed", 1L);
+
+        assertTrue(pdf.toFile().setLastModified(pdf.toFile().lastModified() + 10_000));
+        monitor.onDocumentChanged(new DocumentChangedEvent(pdf.toFile(), "touch"));
+        waitUntilIdle(1L);
+        verify(hybrid, never()).invalidateDocument(any());
+
+        Files.writeString(pdf, "v2 - replaced");
+        monitor.onDocumentChanged(new DocumentChangedEvent(pdf.toFile(), "upload"));
+        waitFor("reparseSkipped", 1L);
+        verify(hybrid, times(1)).invalidateDocument(any());
+        verify(hybrid, never()).parseDocument(any(), anyCollection(), anyBoolean());
+    }
+
+    private DocumentChangeMonitor newMonitor() {
+        return new DocumentChangeMonitor(hybrid, locator, limits, ingestion, cacheManager, Runnable::run,
+                tmp.toString(), true, 50, 60_000, true, true);
+    }
+
+    private void waitFor(String counter, long expected) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if ((long) monitor.status().get(counter) >= expected) {
+                return;
+            }
+            Thread.sleep(30);
+        }
+        fail(counter + " 값이 " + expected + " 에 도달하지 않음: " + monitor.status());
+    }
+
+    private void waitUntilIdle(long unchanged) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if ((long) monitor.status().get("unchanged") >= unchanged && (int) monitor.status().get("pending") == 0) {
+                return;
+            }
+            Thread.sleep(30);
+        }
+        fail("디바운스된 이벤트가 처리되지 않음: " + monitor.status());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.insu.service;
+
+import com.example.insu.util.DocumentScope;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 문서 단위 파싱: 문서당 텍스트 1회 로드 / 코드별 캐시 적재 테스트
+ */
+public class DocumentParseTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("문서 단위 파싱: 코드 3개에 텍스트 로드 1회, 코드별 parsingCache 키 적재, 재실행은 캐시 사용")
+    public void testOneLoadPerDocument() throws Exception {
+        File pdf = Files.writeString(tmp.resolve("UW21686.pdf"), "dummy").toFile();
+        CountingStrategy strategy = new CountingStrategy();
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("parsingCache");
+        ImprovedHybridParsingService service = new ImprovedHybridParsingService(
+            new ArrayList<>(List.of(strategy)), new ParseTracer(0.0, 1, ""), cacheManager);
+
+        Map<String, Map<String, String>> results = service.parseDocument(pdf, List.of("21686", "79525", "79527"));
+
+        assertEquals(List.of("21686", "79525", "79527"), new ArrayList<>(results.keySet()));
+        assertEquals(3, strategy.parses.get());
+        assertEquals(1, strategy.loads.get(), "같은 문서를 코드마다 다시 읽음");
+        assertFalse(DocumentScope.isActive(), "문서 범위가 닫히지 않음");
+
+        Cache cache = cacheManager.getCache("parsingCache");
+        assertNotNull(cache.get(service.generateCacheKey(pdf, "79525")), "코드별 캐시 키 형식이 단건 파싱과 다름");
+
+        service.parseDocument(pdf, List.of("21686", "79525", "79527"));
+        assertEquals(3, strategy.parses.get(), "캐시된 코드를 다시 파싱함");
+    }
+
+    @Test
+    @DisplayName("문서 캐시 조회: 파싱 없이 캐시된 코드만 반환, 파싱한 적 없는 문서는 빈 결과")
+    public void testCachedDocumentOnly() throws Exception {
+        File pdf = Files.writeString(tmp.resolve("UW21687.pdf"), "dummy").toFile();
+        CountingStrategy strategy = new CountingStrategy();
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("parsingCache");
+        ImprovedHybridParsingService service = new ImprovedHybridParsingService(
+            new ArrayList<>(List.of(strategy)), new ParseTracer(0.0, 1, ""), cacheManager);
+
+        assertTrue(service.cachedDocument(pdf).isEmpty());
+        assertEquals(0, strategy.loads.get(), "캐시 조회가 문서를 읽음");
+
+        service.parseDocument(pdf, List.of("21687", "79530"));
+        service.parseDocument(pdf, List.of("79531"));
+        cacheManager.getCache("parsingCache").evict(service.generateCacheKey(pdf, "79530"));
+
+        assertEquals(List.of("21687", "79530", "79531"), service.documentCodes(pdf));
+        assertEquals(List.of("21687", "79531"), new ArrayList<>(service.cachedDocument(pdf).keySet()));
+        assertEquals(3, strategy.parses.get(), "캐시 조회가 파싱을 실행함");
+    }
+
+    @Test
+    @DisplayName("범위 밖: 매번 로드 (기존 동작), 중첩 범위는 바깥 범위를 공유")
+    public void testScopeOutsideAndNested() throws Exception {
+        File pdf = Files.writeString(tmp.resolve("a.pdf"), "dummy").toFile();
+        AtomicInteger loads = new AtomicInteger();
+        DocumentScope.Loader loader = f -> "text" + loads.incrementAndGet();
+
+        DocumentScope.text(pdf, "raw", loader);
+        DocumentScope.text(pdf, "raw", loader);
+        assertEquals(2, loads.get());
+
+        try (DocumentScope.Scope outer = DocumentScope.open()) {
+            String first = DocumentScope.text(pdf, "raw", loader);
+            try (DocumentScope.Scope inner = DocumentScope.open()) {
+                assertEquals(first, DocumentScope.text(pdf, "raw", loader));
+            }
+            assertTrue(DocumentScope.isActive(), "중첩 범위가 바깥 범위를 닫음");
+            DocumentScope.text(pdf, "sorted", loader);
+        }
+        assertEquals(4, loads.get(), "추출 방식이 다르면 따로 로드해야 함");
+    }
+
+    /** 코드마다 문서 텍스트를 읽는 전략 (로드 횟수 기록) */
+    private static class CountingStrategy implements ParsingStrategy {
+        final AtomicInteger loads = new AtomicInteger();
+        final AtomicInteger parses = new AtomicInteger();
+
+        @Override
+        public Map<String, String> parse(File pdfFile, String insuCd) {
+            try {
+                DocumentScope.text(pdfFile, "raw", f -> {
+                    loads.incrementAndGet();
+                    return "text";
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            parses.incrementAndGet();
+            Map<String, String> result = new LinkedHashMap<>();
+            result.put("insuTerm", "종신");
+            result.put("payTerm", "20년납");
+            result.put("ageRange", "15~60");
+            result.put("renew", "비갱신형");
+            return result;
+        }
+
+        @Override public String getStrategyName() { return "Counting"; }
+        @Override public int getPriority() { return 1; }
+        @Override public boolean isAvailable() { return true; }
+        @Override public int evaluateConfidence(Map<String, String> result) { return 90; }
+    }
+}
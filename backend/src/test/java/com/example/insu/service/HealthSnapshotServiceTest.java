@@ -0,0 +1,115 @@
+package com.example.insu.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 헬스 스냅샷: 조회는 하위 시스템을 호출하지 않음, 실패 시 직전 값 유지 + 신선도 표시
+ */
+public class HealthSnapshotServiceTest {
+
+    @Test
+    @DisplayName("스냅샷: 갱신 전 PENDING, 조회는 공급자 미호출, 실패 시 직전 값 유지하고 DEGRADED")
+    public void testSnapshotRefreshAndStaleness() {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicBoolean failing = new AtomicBoolean();
+        Map<String, Supplier<Map<String, Object>>> sources = new LinkedHashMap<>();
+        sources.put(HealthSnapshotService.LEARNING, () -> {
+            calls.incrementAndGet();
+            if (failing.get()) throw new IllegalStateException("db down");
+            return Map.of("totalPatterns", calls.get());
+        });
+        HealthSnapshotService service = new HealthSnapshotService(sources, 60_000);
+
+        assertEquals("PENDING", service.data(HealthSnapshotService.LEARNING).get("status"));
+        assertEquals("NOT_AVAILABLE", service.data(HealthSnapshotService.PARSING).get("status"));
+        assertEquals("DEGRADED", service.overallStatus());
+
+        service.refresh();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1, service.data(HealthSnapshotService.LEARNING).get("totalPatterns"));
+        }
+        assertEquals(1, calls.get(), "조회가 공급자를 호출함");
+        assertEquals("UP", service.overallStatus());
+
+        failing.set(true);
+        service.refresh();
+        assertEquals(1, service.data(HealthSnapshotService.LEARNING).get("totalPatterns"), "직전 값 유지");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> f = (Map<String, Object>) service.freshness().get(HealthSnapshotService.LEARNING);
+        assertEquals("db down", f.get("error"));
+        assertEquals(false, f.get("stale"));
+        assertEquals("DEGRADED", service.overallStatus());
+
+        HealthSnapshotService expired = new HealthSnapshotService(sources, -1);
+        failing.set(false);
+        expired.refresh();
+        assertEquals(true, ((Map<?, ?>) expired.freshness().get(HealthSnapshotService.LEARNING)).get("stale"));
+    }
+
+    @Test
+    @DisplayName("전용 갱신 스레드: 공용 @Scheduled 스레드가 다른 작업에 막혀 있어도 스냅샷은 계속 갱신되어 UP 유지")
+    public void testFreshWhileSchedulerBlocked() throws Exception {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(BlockedSchedulerConfig.class)) {
+            BlockingJob job = context.getBean(BlockingJob.class);
+            HealthSnapshotService service = context.getBean(HealthSnapshotService.class);
+            assertTrue(job.started.await(5, TimeUnit.SECONDS), "막힌 작업이 시작되지 않음");
+
+            AtomicInteger refreshes = context.getBean(AtomicInteger.class);
+            int before = refreshes.get();
+            Thread.sleep(600);
+            assertTrue(refreshes.get() >= before + 3, "공용 스케줄러가 막히자 헬스 갱신이 멈춤: " + refreshes.get());
+            assertEquals("UP", service.overallStatus());
+            job.release.countDown();
+        }
+    }
+
+    /** 기본 단일 스레드 스케줄러 + 그 스레드를 잡고 있는 작업 + 짧은 주기의 헬스 스냅샷 */
+    @Configuration
+    @EnableScheduling
+    static class BlockedSchedulerConfig {
+
+        @Bean
+        BlockingJob blockingJob() {
+            return new BlockingJob();
+        }
+
+        @Bean
+        AtomicInteger refreshes() {
+            return new AtomicInteger();
+        }
+
+        @Bean
+        HealthSnapshotService healthSnapshotService(AtomicInteger refreshes) {
+            Map<String, Supplier<Map<String, Object>>> sources = new LinkedHashMap<>();
+            sources.put(HealthSnapshotService.LEARNING, () -> Map.of("refreshes", refreshes.incrementAndGet()));
+            return new HealthSnapshotService(sources, 50, 300);
+        }
+    }
+
+    static class BlockingJob {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Scheduled(fixedDelay = 60_000)
+        public void run() throws InterruptedException {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+        }
+    }
+}
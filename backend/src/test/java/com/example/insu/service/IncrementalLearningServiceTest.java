@@ -0,0 +1,119 @@
+package com.example.insu.service;
+
+import com.example.insu.dto.CorrectionLog;
+import com.example.insu.dto.LearnedPattern;
+import com.example.insu.mapper.CorrectionLogMapper;
+import com.example.insu.mapper.FewShotExampleMapper;
+import com.example.insu.mapper.LearnedPatternMapper;
+import com.example.insu.mapper.LearningStatisticsMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 수정 학습: 배치 쓰기(UPSERT → 학습 완료) 뒤 패턴 순위 캐시 무효화, 커밋 후에만 제거 / 순위 기반 패턴 적용 테스트
+ */
+public class IncrementalLearningServiceTest {
+
+    private final LearnedPatternMapper patternMapper = mock(LearnedPatternMapper.class);
+    private final BatchPersistenceService batchPersistence = mock(BatchPersistenceService.class);
+
+    @Test
+    @DisplayName("무효화: 학습 완료 처리 뒤 등록, 롤백이면 기존 순위 유지, 커밋 후에만 재적재")
+    public void testInvalidateAfterCommit() {
+        when(patternMapper.selectAllByInsuCd("21686")).thenReturn(List.of(pattern(1, 80)));
+        LearnedPatternScoringService scoring = spy(new LearnedPatternScoringService(patternMapper));
+        IncrementalLearningService service = new IncrementalLearningService(
+            mock(CorrectionLogMapper.class), patternMapper, mock(FewShotExampleMapper.class),
+            mock(LearningStatisticsMapper.class), mock(FewShotExamples.class), batchPersistence);
+        ReflectionTestUtils.setField(service, "patternScoringService", scoring);
+        assertEquals(1L, scoring.bestApplicable("21686", "insuTerm").getPattern().getPatternId());
+
+        // 롤백: 무효화가 적용되지 않음
+        learnInTransaction(service, scoring, TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(1L, scoring.bestApplicable("21686", "insuTerm").getPattern().getPatternId());
+        verify(patternMapper, times(1)).selectAllByInsuCd("21686");
+
+        InOrder order = inOrder(batchPersistence, scoring);
+        order.verify(batchPersistence).upsertPatterns(anyList());
+        order.verify(batchPersistence).markAsLearned(anyList());
+        order.verify(scoring).invalidate("21686");
+
+        // 커밋: 커밋 후 제거 → 다음 조회에서 새 패턴
+        when(patternMapper.selectAllByInsuCd("21686")).thenReturn(List.of(pattern(2, 90)));
+        learnInTransaction(service, scoring, TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(2L, scoring.bestApplicable("21686", "insuTerm").getPattern().getPatternId());
+    }
+
+    @Test
+    @DisplayName("패턴 적용: 스코어링 서비스가 있으면 순위에서 선택(필드별 DB 조회 없음, 코드당 1회 적재), 없으면 필드별 DB 조회")
+    public void testApplyLearnedPatternsFromRanking() {
+        when(patternMapper.selectAllByInsuCd("21686")).thenReturn(List.of(pattern(1, 80)));
+        LearnedPatternScoringService scoring = new LearnedPatternScoringService(patternMapper);
+        IncrementalLearningService service = service();
+        ReflectionTestUtils.setField(service, "patternScoringService", scoring);
+
+        for (int i = 0; i < 2; i++) {
+            Map<String, String> enhanced = service.applyLearnedPatterns("21686", Map.of("insuTerm", "종신", "payTerm", "10년납"));
+            assertEquals("값1", enhanced.get("insuTerm"));
+            assertEquals("10년납", enhanced.get("payTerm"));
+            assertTrue(enhanced.get("specialNotes").contains("학습 패턴 적용"));
+        }
+        verify(patternMapper, times(1)).selectAllByInsuCd("21686");
+        verify(patternMapper, never()).selectByInsuCdAndField(anyString(), anyString());
+        verify(patternMapper, times(2)).incrementApplyCount(1L, 0);
+
+        // 스코어링 서비스 없음: 기존 필드별 조회
+        when(patternMapper.selectByInsuCdAndField("21686", "payTerm")).thenReturn(
+            LearnedPattern.builder().patternId(2L).insuCd("21686").fieldName("payTerm").patternValue("20년납").build());
+        Map<String, String> fallback = service().applyLearnedPatterns("21686", Map.of("payTerm", "10년납"));
+        assertEquals("20년납", fallback.get("payTerm"));
+        verify(patternMapper, times(4)).selectByInsuCdAndField(eq("21686"), anyString());
+    }
+
+    private IncrementalLearningService service() {
+        return new IncrementalLearningService(
+            mock(CorrectionLogMapper.class), patternMapper, mock(FewShotExampleMapper.class),
+            mock(LearningStatisticsMapper.class), mock(FewShotExamples.class), batchPersistence);
+    }
+
+    /** 트랜잭션 동기화 안에서 학습 → 커밋 전 순위 유지 확인 → 완료 상태대로 콜백 */
+    private void learnInTransaction(IncrementalLearningService service, LearnedPatternScoringService scoring, int status) {
+        long before = scoring.bestApplicable("21686", "insuTerm").getPattern().getPatternId();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.learnFromCorrections(List.of(CorrectionLog.builder().id(10L).insuCd("21686")
+                .originalInsuTerm("종신").correctedInsuTerm("100세만기").build()));
+            assertEquals(before, scoring.bestApplicable("21686", "insuTerm").getPattern().getPatternId(), "커밋 전에 제거됨");
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                TransactionSynchronizationUtils.triggerAfterCommit();
+            }
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), status);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static LearnedPattern pattern(long id, int confidence) {
+        return LearnedPattern.builder()
+            .patternId(id).insuCd("21686").fieldName("insuTerm").patternValue("값" + id)
+            .confidenceScore(confidence).priority(50).applyCount(0).successCount(0)
+            .updatedAt(LocalDateTime.now().minusDays(40))
+            .build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.insu.service;
+
+import com.example.insu.testutil.TestPdfs;
+import com.example.insu.util.DocumentScope;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 일괄 적재 파이프라인: 단계 병렬 처리 / 체크포인트 재개 / 실패 격리 테스트
+ */
+public class IngestionPipelineServiceTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("적재: 전체 처리 후 체크포인트 기록, 재개 시 변경된 문서만 다시 처리, 깨진 PDF는 실패로 격리")
+    public void testRunResumeAndFailure() throws Exception {
+        Path pdfDir = Files.createDirectories(tmp.resolve("pdf"));
+        Path indexDir = tmp.resolve("index");
+        for (int i = 1; i <= 5; i++) {
+            writePdf(pdfDir.resolve("UW1000" + i + ".pdf").toFile(), "Rider " + i + " 2000" + i);
+        }
+        Files.writeString(pdfDir.resolve("UW19999.pdf"), "not a pdf");
+
+        // 큐 1칸 + 단계별 복수 작업자: 배압 상황에서도 모든 문서가 끝까지 흘러야 함
+        IngestionPipelineService pipeline = new IngestionPipelineService(mock(ImprovedHybridParsingService.class),
+            pdfDir.toString(), indexDir.toString(), 1, 2, 3, 2, 2, 2, 1);
+
+        List<IngestionPipelineService.DocumentRecord> records = pipeline.runAndWait(false, false);
+        assertEquals(5, records.size());
+        assertEquals("UW10001.pdf", records.get(0).getFile());
+        assertTrue(records.get(0).getCodes().containsKey("20001"), "코드 색인 단계 결과 없음: " + records.get(0).getCodes());
+        assertEquals(5, Files.readAllLines(indexDir.resolve("ingest.checkpoint")).size());
+
+        Map<String, Object> progress = pipeline.progress();
+        assertEquals("COMPLETED", progress.get("state"));
+        assertEquals(1, progress.get("failed"), "깨진 PDF가 실패로 집계되지 않음");
+        assertEquals(6, progress.get("total"));
+
+        writePdf(pdfDir.resolve("UW10003.pdf").toFile(), "Rider 3 changed 20033");
+        records = pipeline.runAndWait(true, false);
+        assertEquals(1, records.size(), "재개 시 체크포인트에 있는 문서를 다시 처리함");
+        assertEquals("UW10003.pdf", records.get(0).getFile());
+        assertEquals(4, pipeline.progress().get("skipped"));
+        assertTrue(pipeline.record(pdfDir.resolve("UW10003.pdf").toFile()).getCodes().containsKey("20033"));
+    }
+
+    @Test
+    @DisplayName("단건 적재: 기록/체크포인트 추가, 같은 지문의 다른 문서 조회")
+    public void testIngestSingleDocument() throws Exception {
+        Path pdfDir = Files.createDirectories(tmp.resolve("pdf"));
+        Path indexDir = tmp.resolve("index");
+        File pdf = pdfDir.resolve("UW10001.pdf").toFile();
+        writePdf(pdf, "Rider 1 20001");
+        Files.copy(pdf.toPath(), pdfDir.resolve("UW10002.pdf"));
+        IngestionPipelineService pipeline = new IngestionPipelineService(mock(ImprovedHybridParsingService.class),
+            pdfDir.toString(), indexDir.toString(), 4, 1, 1, 1, 1, 1, 1);
+
+        IngestionPipelineService.DocumentRecord record = pipeline.ingest(pdf, null);
+        assertEquals(IngestionPipelineService.sha256(pdf), record.getFingerprint());
+        assertTrue(record.getCodes().containsKey("20001"));
+        assertEquals(record.getCodes(), pipeline.record(pdf).getCodes());
+        assertEquals(List.of(record.getFingerprint() + "\tUW10001.pdf"), Files.readAllLines(indexDir.resolve("ingest.checkpoint")));
+
+        assertEquals("UW10001.pdf", pipeline.findByFingerprint(record.getFingerprint(), "UW10002.pdf"));
+        assertNull(pipeline.findByFingerprint(record.getFingerprint(), "UW10001.pdf"));
+
+        pipeline.ingest(pdf, record.getFingerprint());
+        assertEquals(1, Files.readAllLines(indexDir.resolve("ingest.checkpoint")).size(), "같은 문서를 다시 적재하면 체크포인트가 중복됨");
+    }
+
+    @Test
+    @DisplayName("체크포인트: 재개 시 파일명당 마지막 지문만 남기고, 실행 중 단건 적재도 같은 writer로 기록")
+    public void testCheckpointDedupAndSingleWriter() throws Exception {
+        Path pdfDir = Files.createDirectories(tmp.resolve("pdf"));
+        Path indexDir = Files.createDirectories(tmp.resolve("index"));
+        File first = pdfDir.resolve("UW10001.pdf").toFile();
+        writePdf(first, "Rider 1 20001");
+        Files.write(indexDir.resolve("ingest.checkpoint"), List.of(
+            "old\tUW10001.pdf", "gone\tUW10009.pdf", "old\tUW10001.pdf", "stale\tUW10001.pdf"));
+        IngestionPipelineService pipeline = new IngestionPipelineService(mock(ImprovedHybridParsingService.class),
+            pdfDir.toString(), indexDir.toString(), 4, 1, 1, 1, 1, 1, 1);
+
+        pipeline.runAndWait(true, false);
+        String fp = IngestionPipelineService.sha256(first);
+        // 시작 시 정리(파일명당 마지막 지문) 후 이번 실행 결과는 뒤에 추가
+        assertEquals(List.of("gone\tUW10009.pdf", "stale\tUW10001.pdf", fp + "\tUW10001.pdf"),
+            Files.readAllLines(indexDir.resolve("ingest.checkpoint")));
+
+        File second = pdfDir.resolve("UW10002.pdf").toFile();
+        writePdf(second, "Rider 2 20002");
+        pipeline.ingest(second, null);
+        pipeline.runAndWait(true, false);
+        assertEquals(List.of("gone\tUW10009.pdf", fp + "\tUW10001.pdf", IngestionPipelineService.sha256(second) + "\tUW10002.pdf"),
+            Files.readAllLines(indexDir.resolve("ingest.checkpoint")));
+        pipeline.closeCheckpoint();
+    }
+
+    @Test
+    @DisplayName("하이브리드 적재: 추출 단계의 원문/정렬 텍스트를 문서 범위에 올려 전략이 PDF를 다시 읽지 않음")
+    public void testHybridSeedsRawText() throws Exception {
+        Path pdfDir = Files.createDirectories(tmp.resolve("pdf"));
+        writePdf(pdfDir.resolve("UW10001.pdf").toFile(), "Rider 1 20001");
+        ImprovedHybridParsingService hybrid = mock(ImprovedHybridParsingService.class);
+        AtomicInteger loads = new AtomicInteger();
+        when(hybrid.parseDocument(any(File.class), anyCollection(), anyBoolean())).thenCallRealMethod();
+        when(hybrid.parseDocument(any(File.class), anyCollection())).thenAnswer(inv -> {
+            File pdf = inv.getArgument(0);
+            String raw = DocumentScope.text(pdf, "raw", f -> "loaded" + loads.incrementAndGet());
+            String sorted = DocumentScope.text(pdf, "sorted", f -> "loaded" + loads.incrementAndGet());
+            assertTrue(raw.contains("20001") && sorted.contains("20001"), "추출 단계 텍스트가 아님: " + raw + " / " + sorted);
+            return Map.of("20001", Map.of("insuTerm", "10년"));
+        });
+        IngestionPipelineService pipeline = new IngestionPipelineService(hybrid,
+            pdfDir.toString(), tmp.resolve("index").toString(), 4, 1, 1, 1, 1, 1, 1);
+
+        List<IngestionPipelineService.DocumentRecord> records = pipeline.runAndWait(false, true);
+        assertEquals(1, records.size());
+        assertEquals("10년", records.get(0).getParsed().get("20001").get("insuTerm"));
+        assertEquals(0, loads.get(), "전략이 PDF 텍스트를 다시 추출함");
+        pipeline.closeCheckpoint();
+    }
+
+    private static void writePdf(File file, String codeLine) throws Exception {
+        TestPdfs.write(file, "3. Codes", codeLine, "4. Method", "Term 10 years");
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.insu.service;
+
+import com.example.insu.dto.LearnedPattern;
+import com.example.insu.mapper.LearnedPatternMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 패턴 품질 순위: 1회 적재 후 재사용, 적용 기록 시 부분 갱신, 최근성 구간 경계 재채점 테스트
+ */
+public class LearnedPatternScoringServiceTest {
+
+    private final LearnedPatternMapper mapper = mock(LearnedPatternMapper.class);
+
+    private static LearnedPattern pattern(long id, String field, int confidence, int priority,
+                                          int applies, int successes, int daysAgo) {
+        return LearnedPattern.builder()
+                .patternId(id).insuCd("21686").fieldName(field).patternValue("값" + id)
+                .confidenceScore(confidence).priority(priority)
+                .applyCount(applies).successCount(successes)
+                .updatedAt(LocalDateTime.now().minusDays(daysAgo))
+                .build();
+    }
+
+    @Test
+    @DisplayName("순위: 점수 최고·적용 가능 패턴 선택, DB는 코드당 1회, 적용 기록으로 순위 역전, 무효화 후 재적재")
+    public void testRankingAndIncrementalUpdate() {
+        // 45 + 성공률 20 + 우선순위 1 = 66,  60 + 1 = 61,  50 + 우선순위 5 = 55 (적용 불가)
+        LearnedPattern e = pattern(1, "insuTerm", 45, 50, 1, 1, 40);
+        LearnedPattern g = pattern(2, "insuTerm", 60, 50, 0, 0, 40);
+        LearnedPattern low = pattern(3, "payTerm", 50, 90, 0, 0, 40);
+        when(mapper.selectAllByInsuCd("21686")).thenReturn(new ArrayList<>(List.of(low, g, e)));
+        LearnedPatternScoringService service = new LearnedPatternScoringService(mapper);
+
+        assertEquals(66, service.bestApplicable("21686", "insuTerm").getScore());
+        assertSame(e, service.bestApplicable("21686", "insuTerm").getPattern());
+        assertNull(service.bestApplicable("21686", "payTerm"), "60점 미만은 후보 아님");
+        assertEquals(List.of("insuTerm"), List.copyOf(service.bestApplicable("21686").keySet()));
+        verify(mapper, times(1)).selectAllByInsuCd("21686");
+
+        // 실패 적용 3회: 성공률 1/4 → 5점, 오늘 갱신 +10 → 61, 동점은 신뢰도 높은 쪽
+        service.recordApply("21686", "insuTerm", 1L, false);
+        service.recordApply("21686", "insuTerm", 1L, false);
+        assertEquals(1L, service.bestApplicable("21686", "insuTerm").getPattern().getPatternId());
+        service.recordApply("21686", "insuTerm", 1L, false);
+        LearnedPatternScoringService.ScoredPattern best = service.bestApplicable("21686", "insuTerm");
+        assertEquals(2L, best.getPattern().getPatternId());
+        assertEquals(61, best.getScore());
+        assertEquals(1, e.getApplyCount(), "원본 패턴 객체는 변경하지 않음");
+
+        service.invalidate("21686");
+        assertEquals(1L, service.bestApplicable("21686", "insuTerm").getPattern().getPatternId());
+        verify(mapper, times(2)).selectAllByInsuCd("21686");
+    }
+
+    @Test
+    @DisplayName("최근성: 구간 경계를 넘는 날에만 재채점, 단건 점수 계산은 기존 식과 동일")
+    public void testRecencyBoundary() {
+        LearnedPattern p = pattern(7, "renew", 70, 0, 0, 0, 6);
+        LocalDate today = LocalDate.now();
+        LearnedPatternScoringService.FieldRanking ranking = new LearnedPatternScoringService.FieldRanking(
+                List.of(new LearnedPatternScoringService.ScoredPattern(p, today)));
+
+        assertEquals(77, ranking.best(today).getScore());
+        assertEquals(73, ranking.best(today.plusDays(1)).getScore());
+        assertEquals(73, ranking.best(today.plusDays(23)).getScore());
+        assertEquals(70, ranking.best(today.plusDays(24)).getScore());
+
+        LearnedPatternScoringService service = new LearnedPatternScoringService();
+        assertEquals(100, service.calculatePatternScore(pattern(8, "payTerm", 80, 80, 50, 50, 0)));
+        assertEquals(77, service.calculatePatternScore(p));
+        assertTrue(service.isApplicable(p));
+        assertNull(service.bestApplicable("21686", "renew"), "매퍼가 없으면 순위 없음");
+    }
+
+    @Test
+    @DisplayName("무효화: 트랜잭션 안에서는 커밋 후에만 제거, 적재 중 무효화되면 적재 결과를 캐시하지 않음")
+    public void testInvalidateAfterCommitAndDuringLoad() throws Exception {
+        LearnedPattern old = pattern(1, "insuTerm", 80, 50, 0, 0, 40);
+        LearnedPattern fresh = pattern(2, "insuTerm", 90, 50, 0, 0, 40);
+        when(mapper.selectAllByInsuCd("21686")).thenReturn(List.of(old));
+        LearnedPatternScoringService service = new LearnedPatternScoringService(mapper);
+        assertEquals(1L, service.bestApplicable("21686", "insuTerm").getPattern().getPatternId());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.invalidate("21686");
+            assertEquals(1L, service.bestApplicable("21686", "insuTerm").getPattern().getPatternId());
+            verify(mapper, times(1)).selectAllByInsuCd("21686");
+            when(mapper.selectAllByInsuCd("21686")).thenReturn(List.of(fresh));
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(2L, service.bestApplicable("21686", "insuTerm").getPattern().getPatternId(), "커밋 후 이전 순위가 남음");
+
+        // 적재 중(이전 값 조회) 무효화 → 그 결과는 캐시에 남지 않음
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mapper.selectAllByInsuCd("79525")).thenAnswer(inv -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(old);
+        }).thenReturn(List.of(fresh));
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> stale = reader.submit(() -> service.bestApplicable("79525", "insuTerm"));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            service.invalidate("79525");
+            release.countDown();
+            stale.get(5, TimeUnit.SECONDS);
+        } finally {
+            reader.shutdownNow();
+        }
+        assertEquals(2L, service.bestApplicable("79525", "insuTerm").getPattern().getPatternId(), "무효화 전에 읽은 순위가 캐시됨");
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.insu.service;
+
+import com.example.insu.testutil.TestPdfs;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 가입한도 매트릭스: 연령대 매핑 / 감사용 CSV / 메모이즈 생성·저장본 조회 / 조회 중 행 추가 테스트
+ */
+public class LimitMatrixServiceTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("연령대: 기존 파서 구간 경계(60/65/70/75/80)와 동일, 나이 미지정은 기본 15세")
+    public void testBandIndex() {
+        assertEquals(0, LimitMatrixService.bandIndex(null));
+        assertEquals(0, LimitMatrixService.bandIndex(60));
+        assertEquals(1, LimitMatrixService.bandIndex(61));
+        assertEquals(2, LimitMatrixService.bandIndex(70));
+        assertEquals(3, LimitMatrixService.bandIndex(75));
+        assertEquals(4, LimitMatrixService.bandIndex(80));
+        assertEquals(5, LimitMatrixService.bandIndex(81));
+        assertEquals(LimitMatrixService.BANDS.size() - 1, LimitMatrixService.bandIndex(120));
+    }
+
+    @Test
+    @DisplayName("CSV: 코드 × 연령대 행, 없는 셀은 빈 칸, 쉼표 포함 값은 따옴표 처리")
+    public void testCsvExport() {
+        LimitMatrixService.ProductLimits p = new LimitMatrixService.ProductLimits();
+        p.setName("(무)다사랑,3N5");
+        List<LimitMatrixService.LimitCell> bands = new ArrayList<>(Arrays.asList(new LimitMatrixService.LimitCell[6]));
+        bands.set(0, new LimitMatrixService.LimitCell(new BigDecimal("10000000"), new BigDecimal("50000000"), null,
+            "layout", "주계약 1,000 5,000"));
+        p.setBands(bands);
+
+        LimitMatrixService.LimitMatrix m = new LimitMatrixService.LimitMatrix();
+        m.setDocument("UW21239.pdf");
+        m.getCodes().put("21686", p.getName());
+        m.getProducts().put(p.getName(), p);
+
+        String[] lines = LimitMatrixService.toCsv(List.of(m)).split("\n");
+        assertEquals(1 + LimitMatrixService.BANDS.size(), lines.length);
+        assertEquals("UW21239.pdf,21686,\"(무)다사랑,3N5\",60세이하,10000000,50000000,,layout,\"주계약 1,000 5,000\"", lines[1]);
+        assertEquals("UW21239.pdf,21686,\"(무)다사랑,3N5\",61~65,,,,,", lines[2]);
+        assertSame(bands.get(0), p.cellFor(null));
+    }
+
+    @Test
+    @DisplayName("생성: 같은 문서 동시 요청은 한 번 생성한 같은 매트릭스 공유, 저장본 조회는 생성하지 않고 백그라운드 생성 후 파일에서 복원")
+    public void testMemoizedBuildAndPersisted() throws Exception {
+        File pdf = pdf();
+        Path index = tmp.resolve("index");
+        LimitMatrixService service = new LimitMatrixService(new PdfSectionLocator(index.toString()), index.toString(), Runnable::run);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Callable<LimitMatrixService.LimitMatrix> call = () -> service.matrixFor(pdf);
+            List<Future<LimitMatrixService.LimitMatrix>> futures = pool.invokeAll(List.of(call, call, call, call));
+            for (Future<LimitMatrixService.LimitMatrix> f : futures) {
+                assertSame(futures.get(0).get(), f.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertTrue(Files.isRegularFile(index.resolve("limits.pdf.limits.json")));
+
+        // 새 인스턴스: 저장 파일이 없으면 null(생성 안 함), 백그라운드 생성 후에는 저장본 반환
+        service.invalidate(pdf);
+        LimitMatrixService restarted = new LimitMatrixService(new PdfSectionLocator(index.toString()), index.toString(), Runnable::run);
+        assertNull(restarted.persistedMatrix(pdf));
+        restarted.buildInBackground(pdf);
+        assertNotNull(restarted.persistedMatrix(pdf));
+        LimitMatrixService reloaded = new LimitMatrixService(new PdfSectionLocator(index.toString()), index.toString(), Runnable::run);
+        assertEquals("limits.pdf", reloaded.persistedMatrix(pdf).getDocument());
+    }
+
+    @Test
+    @DisplayName("조회 중 행 추가: 게시된 맵/집합은 제자리에서 바뀌지 않고 복사본으로 교체 (내보내기 순회와 경합 없음)")
+    public void testLookupCopyOnWrite() throws Exception {
+        File pdf = pdf();
+        Path index = tmp.resolve("index");
+        LimitMatrixService service = new LimitMatrixService(new PdfSectionLocator(index.toString()), index.toString(), Runnable::run);
+        LimitMatrixService.LimitMatrix matrix = service.matrixFor(pdf);
+
+        Map<String, String> codes = matrix.getCodes();
+        Set<String> unresolved = matrix.getUnresolved();
+        Iterator<String> exporting = codes.keySet().iterator();
+        assertNull(service.lookup(pdf, "99999"));
+        exporting.forEachRemaining(code -> assertNotNull(code));
+
+        assertTrue(matrix.getUnresolved().contains("99999"));
+        assertFalse(unresolved.contains("99999"), "순회 중일 수 있는 집합을 제자리에서 변경함");
+        assertSame(codes, matrix.getCodes(), "변경이 없는 맵까지 교체함");
+        assertThrows(UnsupportedOperationException.class, () -> matrix.getUnresolved().add("88888"));
+        assertNull(service.lookup(pdf, "99999"));
+        assertEquals(1, matrix.getUnresolved().size());
+    }
+
+    private File pdf() throws IOException {
+        return TestPdfs.write(tmp.resolve("limits.pdf").toFile(),
+                "3. Codes", "21686 Alpha plan", "5. Limits", "Alpha plan 1000 5000");
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.insu.service;
+
+import com.example.insu.util.TraceContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 파싱 트레이서: 스레드 간 전파 / 임계 경로 테스트
+ */
+public class ParseTracerTest {
+
+    @Test
+    @DisplayName("트레이스: Executor 경계를 넘어 자식 스팬이 이어지고 임계 경로는 느린 자식을 따라감")
+    public void testPropagationAndCriticalPath() throws Exception {
+        ParseTracer tracer = new ParseTracer(1.0, 10, "");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            try (TraceContext.Scope root = tracer.trace("parse", "21686")) {
+                CompletableFuture<Void> fast = CompletableFuture.runAsync(TraceContext.wrap(() -> sleepSpan("fast", 20)), executor);
+                CompletableFuture<Void> slow = CompletableFuture.runAsync(TraceContext.wrap(() -> sleepSpan("slow", 150)), executor);
+                CompletableFuture.allOf(fast, slow).join();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertNull(TraceContext.current(), "루트 종료 후 스레드 컨텍스트가 남아 있음");
+
+        List<Map<String, Object>> slowest = tracer.slowest(1);
+        assertEquals(1, slowest.size());
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> spans = (List<Map<String, Object>>) slowest.get(0).get("spans");
+        assertEquals(3, spans.size());
+        assertTrue(spans.stream().filter(s -> !"parse".equals(s.get("name")))
+            .allMatch(s -> ((String) s.get("thread")).startsWith("pool-")), "자식 스팬이 작업 스레드에서 기록되지 않음");
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> path = (List<Map<String, Object>>) slowest.get(0).get("criticalPath");
+        assertEquals("parse", path.get(0).get("name"));
+        assertEquals("slow", path.get(1).get("name"));
+        assertEquals(2, path.size(), "겹치는 빠른 스팬은 임계 경로에서 제외되어야 함");
+    }
+
+    @Test
+    @DisplayName("트레이스: 샘플링되지 않으면 스팬을 기록하지 않음")
+    public void testUnsampledIsNoop() {
+        ParseTracer tracer = new ParseTracer(0.0, 10, "");
+        try (TraceContext.Scope root = tracer.trace("parse", "21686")) {
+            assertFalse(root.isRecording());
+            assertNull(TraceContext.current());
+        }
+        assertTrue(tracer.recent(10).isEmpty());
+    }
+
+    private static void sleepSpan(String name, long millis) {
+        try (TraceContext.Scope ignored = TraceContext.startSpan(name)) {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.insu.service;
+
+import com.example.insu.testutil.TestPdfs;
+import com.example.insu.util.PdfParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 섹션 페이지 범위: 스캔/개요 범위 기록, 범위만 추출한 섹션이 전체 텍스트 분리와 같은지 테스트
+ */
+public class PdfSectionLocatorTest {
+
+    /** 1: 표지, 2~3: 보험코드, 4: 사업방법, 5~8: 가입한도 ("6."은 splitSections 전환 줄이 아님) */
+    private static final String[][] PAGES = {
+        {"Product summary"},
+        {"3. Codes", "21686 Alpha plan"},
+        {"21690 Beta plan"},
+        {"4. Method", "Term 10 years"},
+        {"5. Limits", "Alpha plan 1000 5000"},
+        {"Beta plan 2000 6000"},
+        {"6. Notes", "See terms"},
+        {"Appendix Gamma 3000"},
+    };
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("스캔: 개요 없는 문서는 페이지 스캔으로 범위 기록, 범위만 읽은 섹션이 전체 텍스트 분리와 같음, 인덱스 파일로 재사용")
+    public void testScanRanges() throws IOException {
+        File pdf = pdf("scan.pdf", false);
+        PdfSectionLocator locator = new PdfSectionLocator(tmp.resolve("index").toString());
+
+        PdfParser.Sections sec = locator.sections(pdf, 3, 5);
+        PdfParser.Sections full = PdfParser.splitSections(PdfParser.readAllText(pdf));
+        assertEquals(full.block3, sec.block3);
+        assertEquals(full.block5, sec.block5);
+        assertNull(sec.block4);
+        assertTrue(sec.block5.contains("Gamma"));
+        // 스캔한 페이지 텍스트로 만든 단어 집합 = 전체 텍스트 단어 집합 (코드 탐색 폴백이 다시 추출하지 않음)
+        assertEquals(PdfParser.wordsOf(PdfParser.readAllText(pdf)), locator.words(pdf));
+
+        Map<String, PdfSectionLocator.SectionRange> ranges = locator.sectionRanges(pdf);
+        assertEquals(new PdfSectionLocator.SectionRange(2, 3), ranges.get("block3"));
+        assertEquals(new PdfSectionLocator.SectionRange(4, 4), ranges.get("block4"));
+        assertEquals(new PdfSectionLocator.SectionRange(5, 8), ranges.get("block5"));
+        assertTrue(Files.readString(tmp.resolve("index").resolve("scan.pdf.pages.json")).contains("\"sectionSource\":\"scan\""));
+
+        // 새 인스턴스는 저장된 인덱스의 범위로 바로 읽음
+        PdfSectionLocator reloaded = new PdfSectionLocator(tmp.resolve("index").toString());
+        assertEquals(ranges, reloaded.sectionRanges(pdf));
+        assertEquals(full.block4, reloaded.sections(pdf, 4).block4);
+    }
+
+    @Test
+    @DisplayName("개요: 세 섹션 북마크가 있으면 다음 번호 항목 페이지까지 범위, 범위가 어긋나 섹션이 비면 스캔으로 재탐색")
+    public void testOutlineRanges() throws IOException {
+        File pdf = pdf("outline.pdf", true);
+        PdfSectionLocator locator = new PdfSectionLocator(tmp.resolve("index").toString());
+
+        PdfParser.Sections sec = locator.sections(pdf, 3);
+        assertTrue(sec.block3.contains("21690 Beta plan"));
+        Map<String, PdfSectionLocator.SectionRange> ranges = locator.sectionRanges(pdf);
+        assertEquals(new PdfSectionLocator.SectionRange(2, 4), ranges.get("block3"));
+        assertEquals(new PdfSectionLocator.SectionRange(4, 5), ranges.get("block4"));
+        assertEquals(new PdfSectionLocator.SectionRange(5, 7), ranges.get("block5"));
+
+        // 모든 북마크가 표지를 가리킴 → 개요 범위의 보험코드 섹션이 비어 스캔 범위로 다시 읽음
+        File wrong = pdf(tmp, "wrong.pdf", true, 1);
+        assertTrue(locator.sections(wrong, 3).block3.contains("21686 Alpha plan"));
+        assertEquals(new PdfSectionLocator.SectionRange(2, 3), locator.sectionRanges(wrong).get("block3"));
+    }
+
+    @Test
+    @DisplayName("개요 제목 판별: 번호 우선, 번호 없으면 섹션 이름, 그 밖은 0")
+    public void testOutlineBlock() {
+        assertEquals(3, PdfSectionLocator.outlineBlock("3. 보험코드"));
+        assertEquals(6, PdfSectionLocator.outlineBlock(" 6. 기타"));
+        assertEquals(5, PdfSectionLocator.outlineBlock("가입한도"));
+        assertEquals(4, PdfSectionLocator.outlineBlock("사업방법서 요약"));
+        assertEquals(0, PdfSectionLocator.outlineBlock("주계약"));
+        assertEquals(0, PdfSectionLocator.outlineBlock(null));
+    }
+
+    @Test
+    @DisplayName("코드 탐색: 보험코드 섹션에 없으면 항상 전체 텍스트 폴백 (인덱스 생성 전후 같은 결과), 폴백은 캐시한 단어 집합으로")
+    public void testFindPdfForCode() throws IOException {
+        Path dir = Files.createDirectories(tmp.resolve("pdfs"));
+        File pdf = pdf(dir, "codes.pdf", false, 0);
+        PdfSectionLocator locator = new PdfSectionLocator(tmp.resolve("index").toString());
+
+        // "3000"은 가입한도 섹션에만 있음: 인덱스가 없을 때도, 생긴 뒤에도 같은 답
+        assertFalse(locator.indexed(pdf, 3));
+        assertEquals(pdf, PdfParser.findPdfForCode(dir, "3000", locator));
+        assertTrue(locator.indexed(pdf, 3));
+        assertEquals(pdf, PdfParser.findPdfForCode(dir, "3000", locator));
+        assertEquals(pdf, PdfParser.findPdfForCode(dir, "21690", locator));
+        assertNull(PdfParser.findPdfForCode(dir, "99999", locator));
+        assertNull(PdfParser.findPdfForCode(dir, "300", locator), "단어 경계 밖의 부분 일치");
+
+        // 단어 집합은 문서당 한 번만 추출 (같은 인스턴스 재사용), 문서가 바뀌면 다시 추출
+        Set<String> words = locator.words(pdf);
+        assertSame(words, locator.words(pdf));
+        assertTrue(pdf.setLastModified(pdf.lastModified() + 2000));
+        assertNotSame(words, locator.words(pdf));
+        assertEquals(pdf, PdfParser.findPdfForCode(dir, "3000", locator));
+
+        // 주입 없음: 문서마다 전체 텍스트 (기존 동작)
+        assertEquals(pdf, PdfParser.findPdfForCode(dir, "3000"));
+        assertNull(PdfParser.findPdfForCode(dir, "99999"));
+    }
+
+    @Test
+    @DisplayName("단어 집합: 정규식 단어 경계와 같은 기준 (한글/영문/숫자/밑줄 연속), 단어 문자 코드의 포함 여부가 containsCode와 같음")
+    public void testWordsOf() {
+        String text = "21686 Alpha(21690)\n코드21704 A_1 3N5-무배당";
+        Set<String> words = PdfParser.wordsOf(text);
+        assertTrue(words.containsAll(Set.of("21686", "Alpha", "21690", "코드21704", "A_1", "3N5", "무배당")));
+        assertFalse(words.contains("21704"), "한글에 붙은 숫자는 \\b 경계가 아님");
+        for (String code : List.of("21686", "21690", "21704", "3N5", "A_1", "Alpha")) {
+            assertEquals(Pattern.compile("\\b" + Pattern.quote(code) + "\\b").matcher(text).find(), words.contains(code), code);
+        }
+    }
+
+    private File pdf(String name, boolean outline) throws IOException {
+        return pdf(tmp, name, outline, 0);
+    }
+
+    /** outlinePage > 0 이면 모든 북마크가 그 페이지를 가리킴 (어긋난 개요) */
+    private File pdf(Path dir, String name, boolean outline, int outlinePage) throws IOException {
+        TestPdfs pdf = TestPdfs.builder();
+        for (String[] lines : PAGES) {
+            pdf.page(lines);
+        }
+        if (outline) {
+            int[] pages = {2, 4, 5, 7};
+            String[] titles = {"3. 보험코드", "4. 사업방법", "5. 가입한도", "6. 기타"};
+            for (int i = 0; i < titles.length; i++) {
+                pdf.outline(titles[i], outlinePage > 0 ? outlinePage : pages[i]);
+            }
+        }
+        return pdf.write(dir.resolve(name).toFile());
+    }
+}
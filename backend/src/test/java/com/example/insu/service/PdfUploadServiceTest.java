@@ -0,0 +1,142 @@
+package com.example.insu.service;
+
+import com.example.insu.web.FileController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 업로드 저장/색인: 스트리밍 해시, 중복 생략, 형식/경로 검증, 색인 작업 상태, 대기열 포화 응답 테스트
+ */
+public class PdfUploadServiceTest {
+
+    @TempDir
+    Path tmp;
+
+    private final DocumentChangeMonitor monitor = mock(DocumentChangeMonitor.class);
+    private final IngestionPipelineService ingestion = mock(IngestionPipelineService.class);
+    private final LimitMatrixService limits = mock(LimitMatrixService.class);
+
+    @Test
+    @DisplayName("저장: 해시는 본문과 일치, 같은 이름·같은 내용은 교체 생략, 다른 내용은 교체 후 색인 작업 DONE")
+    public void testStoreDedupAndIndex() throws Exception {
+        PdfUploadService service = new PdfUploadService(monitor, ingestion, limits, Runnable::run, tmp.toString());
+        byte[] v1 = "%PDF-1.4 first".getBytes(StandardCharsets.US_ASCII);
+        IngestionPipelineService.DocumentRecord record = new IngestionPipelineService.DocumentRecord();
+        record.setCodes(Map.of("21686", "상품A", "21687", "상품B"));
+        record.setParsed(Map.of("21686", Map.of()));
+        when(ingestion.ingest(any(), anyString())).thenReturn(record);
+        when(monitor.applyChange(any(), anyString())).thenReturn(Set.of());
+
+        PdfUploadService.StoredPdf first = service.store("UW21686.pdf", new ByteArrayInputStream(v1));
+        File target = tmp.resolve("UW21686.pdf").toFile();
+        assertTrue(first.replaced);
+        assertEquals(IngestionPipelineService.sha256(target), first.sha256);
+        assertArrayEquals(v1, Files.readAllBytes(target.toPath()));
+
+        PdfUploadService.UploadJob job = service.startIndexing(first);
+        Map<String, Object> state = service.job(job.getId());
+        assertEquals("DONE", state.get("state"));
+        assertEquals(2, state.get("codes"));
+        InOrder order = inOrder(monitor);
+        order.verify(monitor).expect(eq(target.getAbsoluteFile()), anyString(), eq(first.sha256));
+        order.verify(monitor).applyChange(target.getAbsoluteFile(), first.sha256);
+        verify(limits).matrixFor(target.getAbsoluteFile());
+
+        PdfUploadService.StoredPdf again = service.store("UW21686.pdf", new ByteArrayInputStream(v1));
+        assertFalse(again.replaced, "같은 내용인데 교체됨");
+        assertNull(again.duplicateOf, "자기 자신을 중복 문서로 보고함");
+        assertEquals("DONE", service.job(service.startIndexing(again).getId()).get("state"));
+        verify(ingestion, times(1)).ingest(any(), anyString());
+
+        byte[] v2 = "%PDF-1.4 second".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(service.store("UW21686.pdf", new ByteArrayInputStream(v2)).replaced);
+        assertArrayEquals(v2, Files.readAllBytes(target.toPath()));
+        try (var files = Files.list(tmp)) {
+            assertEquals(1, files.count(), "임시 파일이 남음");
+        }
+    }
+
+    @Test
+    @DisplayName("교체 전 지문 등록: 등록한 지문이 이동 후 파일의 크기/수정시각과 같음, 색인 대기열 포화는 REJECTED")
+    public void testExpectBeforeMoveAndRejected() throws Exception {
+        PdfUploadService service = new PdfUploadService(monitor, ingestion, limits,
+                r -> { throw new RejectedExecutionException("full"); }, tmp.toString());
+        File target = tmp.resolve("UW79525.pdf").toFile();
+        String[] expected = new String[1];
+        doAnswer(inv -> {
+            assertFalse(target.exists(), "이동 후에 지문을 등록함");
+            expected[0] = inv.getArgument(1);
+            return null;
+        }).when(monitor).expect(any(), anyString(), anyString());
+
+        PdfUploadService.StoredPdf stored = service.store("UW79525.pdf",
+                new ByteArrayInputStream("%PDF-1.4 body".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(PdfSectionLocator.fingerprint(target), expected[0], "감시가 이동한 파일을 변경으로 볼 수 있음");
+
+        PdfUploadService.UploadJob job = service.startIndexing(stored);
+        assertEquals("REJECTED", job.getState());
+        verify(ingestion, never()).ingest(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("업로드 응답: 색인 대기열 포화여도 파일은 교체됨 → 202 + success=true, jobState=REJECTED, 재시도 간격 안내")
+    public void testUploadResponseWhenRejected() throws Exception {
+        PdfUploadService service = new PdfUploadService(monitor, ingestion, limits,
+                r -> { throw new RejectedExecutionException("full"); }, tmp.toString());
+        FileController controller = new FileController(service);
+
+        ResponseEntity<Map<String, Object>> response = controller.uploadFile(new MockMultipartFile("file", "UW79525.pdf",
+                "application/pdf", "%PDF-1.4 body".getBytes(StandardCharsets.US_ASCII)));
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("30", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        Map<String, Object> body = response.getBody();
+        assertEquals(true, body.get("success"));
+        assertEquals("REJECTED", body.get("jobState"));
+        assertEquals("INDEX_QUEUE_FULL", body.get("errorCode"));
+        assertEquals(30, body.get("retryAfterSeconds"));
+        assertEquals(false, body.get("duplicate"));
+        assertTrue(tmp.resolve("UW79525.pdf").toFile().exists());
+    }
+
+    @Test
+    @DisplayName("검증: PDF 헤더가 없거나 디렉터리를 벗어나는 이름은 거부, 색인 실패는 FAILED")
+    public void testRejectsAndFailedJob() throws Exception {
+        PdfUploadService service = new PdfUploadService(monitor, ingestion, limits, Runnable::run, tmp.toString());
+        assertThrows(IllegalArgumentException.class,
+                () -> service.store("a.pdf", new ByteArrayInputStream("hello".getBytes(StandardCharsets.US_ASCII))));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.store("../a.pdf", new ByteArrayInputStream("%PDF-".getBytes(StandardCharsets.US_ASCII))));
+        try (var files = Files.list(tmp)) {
+            assertEquals(0, files.count());
+        }
+
+        when(monitor.applyChange(any(), anyString())).thenReturn(Set.of());
+        when(ingestion.ingest(any(), anyString())).thenThrow(new java.io.IOException("broken"));
+        PdfUploadService.StoredPdf stored = service.store("b.pdf",
+                new ByteArrayInputStream("%PDF-1.7".getBytes(StandardCharsets.US_ASCII)));
+        Map<String, Object> state = service.job(service.startIndexing(stored).getId());
+        assertEquals("FAILED", state.get("state"));
+        assertEquals("index", state.get("stage"));
+        assertNull(service.job("missing"));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.insu.service;
+
+import com.example.insu.dto.ProductInfoResponse;
+import com.example.insu.util.PdfParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 상품 정보 일괄 조회: 문서 공유 / 순서 유지 / 스트리밍 / 제출 창 / 코드별 실패 격리 테스트
+ */
+public class ProductBatchServiceTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("일괄 조회: 같은 PDF는 요청당 한 번만 읽고, 결과는 요청 순서대로 (중복 코드는 한 번만 계산)")
+    @SuppressWarnings("unchecked")
+    public void testSharedDocumentAndOrder() {
+        ProductService productService = mock(ProductService.class);
+        AtomicInteger reads = new AtomicInteger();
+        AtomicInteger calls = new AtomicInteger();
+        when(productService.readDocument(any(File.class))).thenAnswer(inv -> {
+            reads.incrementAndGet();
+            Thread.sleep(50);
+            return new ProductService.DocumentState("", new PdfParser.Sections(null, null, null), Map.of(), Map.of());
+        });
+        when(productService.getProductInfo(anyString(), any(Function.class))).thenAnswer(inv -> {
+            calls.incrementAndGet();
+            String code = inv.getArgument(0);
+            Function<File, ProductService.DocumentState> docs = inv.getArgument(1);
+            docs.apply(new File("/pdf/UW21686.pdf"));
+            return ProductInfoResponse.builder().insuCd(code).build();
+        });
+
+        ProductBatchService batch = new ProductBatchService(productService, executor, 100, 8);
+        List<ProductInfoResponse> out = batch.getProducts(List.of("21686", "79525", "79527", "79525"));
+
+        assertEquals(List.of("21686", "79525", "79527", "79525"), out.stream().map(ProductInfoResponse::getInsuCd).toList());
+        assertEquals(3, calls.get(), "중복 코드가 다시 계산됨");
+        assertEquals(1, reads.get(), "같은 문서를 코드마다 다시 읽음");
+    }
+
+    @Test
+    @DisplayName("스트리밍: 모든 코드가 콜백으로 전달된 뒤 완료, 한도 초과는 IllegalArgumentException")
+    @SuppressWarnings("unchecked")
+    public void testStreamAndLimit() {
+        ProductService productService = mock(ProductService.class);
+        when(productService.getProductInfo(anyString(), any(Function.class)))
+            .thenAnswer(inv -> ProductInfoResponse.builder().insuCd(inv.getArgument(0)).build());
+        when(productService.getRelatedCodes("21686"))
+            .thenReturn(Map.of("mainCode", "21686", "relatedCodes", List.of(Map.of("insuCd", "79525"))));
+
+        ProductBatchService batch = new ProductBatchService(productService, executor, 2, 8);
+        ConcurrentLinkedQueue<String> seen = new ConcurrentLinkedQueue<>();
+        batch.streamProducts(List.of("21686", "79525"), r -> seen.add(r.getInsuCd())).join();
+        assertEquals(2, seen.size());
+
+        Map<String, Object> bundle = batch.getBundle("21686");
+        assertEquals("21686", ((ProductInfoResponse) bundle.get("main")).getInsuCd());
+        assertEquals(1, ((List<?>) bundle.get("products")).size());
+
+        assertThrows(IllegalArgumentException.class, () -> batch.getProducts(List.of("1", "2", "3")));
+    }
+
+    @Test
+    @DisplayName("제출 창: 요청당 동시 제출은 parallelism개 (작은 유계 풀도 거절 없이 전체 처리), 첫 제출이 거절되면 예외 그대로")
+    @SuppressWarnings("unchecked")
+    public void testSubmissionWindow() {
+        ProductService productService = mock(ProductService.class);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(productService.getProductInfo(anyString(), any(Function.class))).thenAnswer(inv -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            running.decrementAndGet();
+            return ProductInfoResponse.builder().insuCd(inv.getArgument(0)).build();
+        });
+        // 스레드 2 + 대기열 1, 초과 제출은 거절 (AbortPolicy)
+        ThreadPoolExecutor bounded = new ThreadPoolExecutor(2, 2, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        try {
+            List<String> codes = IntStream.range(0, 20).mapToObj(i -> String.valueOf(20000 + i)).toList();
+            ProductBatchService batch = new ProductBatchService(productService, bounded, 100, 2);
+            List<ProductInfoResponse> out = batch.getProducts(codes);
+            assertEquals(codes, out.stream().map(ProductInfoResponse::getInsuCd).toList());
+            assertTrue(out.stream().allMatch(r -> r.getMessage() == null), "창 안에서 제출이 거절됨");
+            assertTrue(peak.get() <= 2);
+        } finally {
+            bounded.shutdownNow();
+        }
+
+        Executor saturated = r -> { throw new RejectedExecutionException("full"); };
+        ProductBatchService rejecting = new ProductBatchService(productService, saturated, 100, 2);
+        assertThrows(RejectedExecutionException.class, () -> rejecting.getProducts(List.of("21686")));
+    }
+
+    @Test
+    @DisplayName("실패 격리: 한 코드가 예외를 던져도 나머지 결과는 그대로, 실패 코드는 오류 메시지 응답 (스트리밍 콜백 포함)")
+    @SuppressWarnings("unchecked")
+    public void testPerCodeFailure() {
+        ProductService productService = mock(ProductService.class);
+        when(productService.getProductInfo(anyString(), any(Function.class))).thenAnswer(inv -> {
+            String code = inv.getArgument(0);
+            if ("79525".equals(code)) {
+                throw new IllegalStateException("broken table");
+            }
+            return ProductInfoResponse.builder().insuCd(code).name("ok").build();
+        });
+
+        ProductBatchService batch = new ProductBatchService(productService, executor, 100, 8);
+        List<ProductInfoResponse> out = batch.getProducts(List.of("21686", "79525", "79527"));
+
+        assertEquals(List.of("21686", "79525", "79527"), out.stream().map(ProductInfoResponse::getInsuCd).toList());
+        assertEquals("ok", out.get(0).getName());
+        assertTrue(out.get(1).getMessage().contains("broken table"));
+        assertEquals("ok", out.get(2).getName());
+
+        ConcurrentLinkedQueue<String> seen = new ConcurrentLinkedQueue<>();
+        batch.streamProducts(List.of("21686", "79525"), r -> seen.add(r.getInsuCd())).join();
+        assertEquals(2, seen.size());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.insu.service;
+
+import com.example.insu.util.CountMinSketch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 조회 빈도 추적: 빈도순 정렬 / 감쇠 / 재시작 후 복원 테스트
+ */
+public class ProductPopularityServiceTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("빈도: 많이 조회된 코드가 먼저, 감쇠 후 0이 된 코드는 제외, 저장 후 새 인스턴스에서 복원")
+    public void testHottestDecayAndPersistence() {
+        ProductPopularityService popularity = new ProductPopularityService(tmp.toString(), 512);
+        hit(popularity, "21686", 8);
+        hit(popularity, "79525", 3);
+        hit(popularity, "79527", 1);
+
+        assertEquals(List.of("21686", "79525", "79527"), popularity.hottest(10));
+        assertEquals(List.of("21686"), popularity.hottest(1));
+
+        popularity.decay();
+        assertEquals(List.of("21686", "79525"), popularity.hottest(10), "감쇠 후 빈도 0인 코드가 남아 있음");
+
+        popularity.shutdown();
+        ProductPopularityService restored = new ProductPopularityService(tmp.toString(), 512);
+        assertEquals(List.of("21686", "79525"), restored.hottest(10));
+        assertEquals(4, restored.estimate("21686"));
+    }
+
+    @Test
+    @DisplayName("후보: 고정 크기 상위 K만 유지, 가득 차면 빈도가 더 높은 코드만 최솟값과 교체")
+    public void testBoundedCandidates() {
+        ProductPopularityService popularity = new ProductPopularityService(tmp.toString(), 3);
+        hit(popularity, "21686", 5);
+        hit(popularity, "79525", 4);
+        hit(popularity, "79527", 2);
+        for (int i = 0; i < 1000; i++) {
+            popularity.record("X" + i);
+        }
+        assertEquals(List.of("21686", "79525", "79527"), popularity.hottest(10), "한 번 조회된 코드가 후보를 밀어냄");
+
+        hit(popularity, "79530", 3);
+        assertEquals(List.of("21686", "79525", "79530"), popularity.hottest(10));
+    }
+
+    @Test
+    @DisplayName("스케치: 추정값은 실제 빈도 이상이고, 키가 적으면 정확")
+    public void testSketchNeverUnderestimates() {
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        for (int i = 0; i < 500; i++) {
+            sketch.add("k" + (i % 50));
+        }
+        for (int k = 0; k < 50; k++) {
+            assertTrue(sketch.estimate("k" + k) >= 10);
+        }
+        CountMinSketch small = new CountMinSketch(4, 2048);
+        small.add("a");
+        small.add("a");
+        small.add("b");
+        assertEquals(2, small.estimate("a"));
+        assertEquals(1, small.estimate("b"));
+        assertEquals(0, small.estimate("c"));
+    }
+
+    private static void hit(ProductPopularityService popularity, String code, int times) {
+        for (int i = 0; i < times; i++) popularity.record(code);
+    }
+}
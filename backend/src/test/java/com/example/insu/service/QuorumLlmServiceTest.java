@@ -0,0 +1,178 @@
+package com.example.insu.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 쿼럼 LLM: 완료 순서 수집 / 스트리밍 필드 투표 / 실제 취소 / 헤지 요청 / 동적 타임아웃 테스트
+ */
+public class QuorumLlmServiceTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("쿼럼: 첫 모델이 느려도 나머지 2개 합의 시 즉시 반환하고 느린 모델은 인터럽트")
+    public void testSlowFirstModelDoesNotBlockQuorum() throws Exception {
+        CountDownLatch slowInterrupted = new CountDownLatch(1);
+
+        OllamaService ollama = new OllamaService(executor) {
+            @Override
+            public Map<String, String> parseStreaming(String modelName, String text, String insuCd,
+                                                      BiConsumer<String, String> fieldListener)
+                    throws InterruptedException {
+                if ("Llama".equals(modelName)) {
+                    try {
+                        Thread.sleep(60_000);
+                    } catch (InterruptedException e) {
+                        slowInterrupted.countDown();
+                        throw e;
+                    }
+                }
+                fieldListener.accept("insuTerm", "종신");
+                fieldListener.accept("payTerm", "10년납, 20년납");
+                fieldListener.accept("ageRange", "15~80");
+                return Map.of("insuTerm", "종신", "payTerm", "10년납, 20년납", "ageRange", "15~80");
+            }
+        };
+        QuorumLlmService quorum = new QuorumLlmService(ollama, executor, new SimpleMeterRegistry());
+
+        long start = System.currentTimeMillis();
+        Map<String, String> result = quorum.parseWithQuorum("prompt", "21686");
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertEquals("종신", result.get("insuTerm"));
+        assertEquals("10년납, 20년납", result.get("payTerm"));
+        assertTrue(elapsed < 5000, "느린 모델에 막힘: " + elapsed + "ms");
+        assertTrue(slowInterrupted.await(5, TimeUnit.SECONDS), "느린 모델 스레드가 인터럽트되지 않음");
+    }
+
+    @Test
+    @DisplayName("쿼럼: 스트리밍 도중 핵심 필드 합의 시 나머지 스트림 취소")
+    public void testFieldLevelSettlementCancelsStreams() throws Exception {
+        CountDownLatch cancelledMidStream = new CountDownLatch(2);
+
+        OllamaService ollama = new OllamaService(executor) {
+            @Override
+            public Map<String, String> parseStreaming(String modelName, String text, String insuCd,
+                                                      BiConsumer<String, String> fieldListener)
+                    throws InterruptedException {
+                fieldListener.accept("insuTerm", "종신");
+                fieldListener.accept("payTerm", "10년납");
+                try {
+                    // 핵심 필드 이후 나머지 토큰이 아주 느리게 도착
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    cancelledMidStream.countDown();
+                    throw e;
+                }
+                return Map.of();
+            }
+        };
+        QuorumLlmService quorum = new QuorumLlmService(ollama, executor, new SimpleMeterRegistry());
+
+        Map<String, String> result = quorum.parseWithQuorum("prompt", "21686");
+
+        assertEquals("종신", result.get("insuTerm"));
+        assertEquals("10년납", result.get("payTerm"));
+        assertEquals("—", result.get("ageRange"));
+        assertTrue(cancelledMidStream.await(5, TimeUnit.SECONDS), "스트림이 취소되지 않음");
+    }
+
+    @Test
+    @DisplayName("쿼럼: 표본이 쌓이면 p90 초과 모델에 헤지 요청을 보내 꼬리 지연 회피")
+    public void testHedgeAfterP90() throws Exception {
+        AtomicInteger llamaCalls = new AtomicInteger();
+        boolean[] warm = {true};
+
+        OllamaService ollama = new OllamaService(executor) {
+            @Override
+            public Map<String, String> parseStreaming(String modelName, String text, String insuCd,
+                                                      BiConsumer<String, String> fieldListener)
+                    throws InterruptedException {
+                if (warm[0]) {
+                    // 워밍업: 합의 없이 3개 모델 모두 완료 → 모델별 지연 표본 축적
+                    fieldListener.accept("insuTerm", "종신");
+                    fieldListener.accept("payTerm", modelName);
+                    return Map.of("insuTerm", "종신", "payTerm", modelName);
+                }
+                if ("Llama".equals(modelName) && llamaCalls.incrementAndGet() == 1) {
+                    Thread.sleep(60_000);  // 원 요청은 꼬리 지연
+                }
+                String payTerm = "CodeLlama".equals(modelName) ? "20년납" : "10년납";
+                fieldListener.accept("insuTerm", "종신");
+                fieldListener.accept("payTerm", payTerm);
+                return Map.of("insuTerm", "종신", "payTerm", payTerm);
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QuorumLlmService quorum = new QuorumLlmService(ollama, executor, registry);
+
+        for (int i = 0; i < 20; i++) {
+            quorum.parseWithQuorum("prompt", "21686");
+        }
+        warm[0] = false;
+
+        long start = System.currentTimeMillis();
+        Map<String, String> result = quorum.parseWithQuorum("prompt", "21686");
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertEquals("10년납", result.get("payTerm"));
+        assertTrue(elapsed < 3000, "헤지 없이 타임아웃까지 대기: " + elapsed + "ms");
+        assertEquals(2, llamaCalls.get());
+        assertEquals(1.0, registry.get("insu.llm.model.hedges").tag("model", "Llama").counter().count());
+    }
+
+    @Test
+    @DisplayName("동적 타임아웃: 연속 타임아웃이면 타임아웃 값에 고정되지 않고 상향, 회복 후 성공 지연 p99로 복귀")
+    public void testRepeatedTimeoutsRaiseThenRecover() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QuorumLlmService quorum = new QuorumLlmService(new OllamaService(executor), executor, registry);
+
+        for (int i = 0; i < 20; i++) {
+            quorum.updateDynamicTimeouts(List.of(new QuorumLlmService.ModelResult("Llama", Map.of(), true, false, 800)));
+        }
+        assertEquals(5000L, llama(quorum).get("timeoutMs"));
+
+        // 모델이 느려져 매번 현재 타임아웃에서 중단됨
+        long previous = 5000L;
+        for (int i = 0; i < 4; i++) {
+            long timeout = (long) llama(quorum).get("timeoutMs");
+            quorum.updateDynamicTimeouts(List.of(new QuorumLlmService.ModelResult("Llama", null, false, true, timeout)));
+            long raised = (long) llama(quorum).get("timeoutMs");
+            assertTrue(raised > previous || raised == 20000L, "타임아웃이 상향되지 않음: " + previous + " → " + raised);
+            previous = raised;
+        }
+        assertEquals(20000L, llama(quorum).get("timeoutMs"));
+        assertEquals(4, llama(quorum).get("timeoutStreak"));
+        assertEquals(4L, llama(quorum).get("timeouts"));
+        assertEquals(20L, llama(quorum).get("samples"), "타임아웃이 성공 지연 분포에 섞임");
+
+        // 회복: 정상 지연 성공 → 성공 지연 p99 기준(하한 5초)으로 복귀
+        quorum.updateDynamicTimeouts(List.of(new QuorumLlmService.ModelResult("Llama", Map.of(), true, false, 900)));
+        assertEquals(5000L, llama(quorum).get("timeoutMs"));
+        assertEquals(0, llama(quorum).get("timeoutStreak"));
+        assertEquals(4.0, registry.get("insu.llm.model.timeouts").tag("model", "Llama").counter().count());
+    }
+
+    private static Map<String, Object> llama(QuorumLlmService quorum) {
+        return quorum.getTimeoutStatistics().get("Llama");
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.insu.testutil;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.destination.PDPageFitDestination;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 테스트용 합성 PDF (Helvetica 텍스트만)
+ * - page(lines...): 줄마다 왼쪽 72pt, 위에서부터 20pt 간격
+ * - page(canvas -> ...): 좌표를 직접 지정 (표/열 배치 테스트)
+ * - outline(title, page): 최상위 북마크 (페이지 맞춤)
+ */
+public final class TestPdfs {
+
+    /** 좌표 지정 페이지 */
+    @FunctionalInterface
+    public interface PageWriter {
+        void write(Canvas canvas) throws IOException;
+    }
+
+    /** 페이지에 텍스트 쓰기 (글꼴 크기는 빌더 설정) */
+    public static final class Canvas {
+        private final PDPageContentStream cs;
+        private final float fontSize;
+
+        private Canvas(PDPageContentStream cs, float fontSize) {
+            this.cs = cs;
+            this.fontSize = fontSize;
+        }
+
+        public Canvas text(float x, float y, String text) throws IOException {
+            cs.beginText();
+            cs.setFont(PDType1Font.HELVETICA, fontSize);
+            cs.newLineAtOffset(x, y);
+            cs.showText(text);
+            cs.endText();
+            return this;
+        }
+    }
+
+    private final List<PageWriter> pages = new ArrayList<>();
+    private final List<String> outlineTitles = new ArrayList<>();
+    private final List<Integer> outlinePages = new ArrayList<>();
+    private float fontSize = 12;
+
+    private TestPdfs() {
+    }
+
+    public static TestPdfs builder() {
+        return new TestPdfs();
+    }
+
+    /** 한 페이지짜리 문서 (줄 목록) */
+    public static File write(File file, String... lines) throws IOException {
+        return builder().page(lines).write(file);
+    }
+
+    public TestPdfs fontSize(float fontSize) {
+        this.fontSize = fontSize;
+        return this;
+    }
+
+    public TestPdfs page(String... lines) {
+        return page(canvas -> {
+            for (int l = 0; l < lines.length; l++) {
+                canvas.text(72, 700 - l * 20, lines[l]);
+            }
+        });
+    }
+
+    public TestPdfs page(PageWriter writer) {
+        pages.add(writer);
+        return this;
+    }
+
+    /** @param page 1부터 */
+    public TestPdfs outline(String title, int page) {
+        outlineTitles.add(title);
+        outlinePages.add(page);
+        return this;
+    }
+
+    public File write(File file) throws IOException {
+        try (PDDocument doc = new PDDocument()) {
+            for (PageWriter writer : pages) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+                    writer.write(new Canvas(cs, fontSize));
+                }
+            }
+            if (!outlineTitles.isEmpty()) {
+                PDDocumentOutline root = new PDDocumentOutline();
+                doc.getDocumentCatalog().setDocumentOutline(root);
+                for (int i = 0; i < outlineTitles.size(); i++) {
+                    PDPageFitDestination dest = new PDPageFitDestination();
+                    dest.setPage(doc.getPage(outlinePages.get(i) - 1));
+                    PDOutlineItem item = new PDOutlineItem();
+                    item.setTitle(outlineTitles.get(i));
+                    item.setDestination(dest);
+                    root.addLast(item);
+                }
+            }
+            doc.save(file);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.insu.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 사업방법 규칙 엔진: 키워드 오토마톤 / 두 프로필 추출 / 문서 모델 공유 테스트
+ */
+public class BusinessMethodRulesTest {
+
+    @Test
+    @DisplayName("오토마톤: 겹치는 키워드(접미/포함)까지 모두 보고, 구간 밖 키워드는 제외")
+    public void testKeywordAutomaton() {
+        KeywordAutomaton ac = new KeywordAutomaton(List.of("he", "she", "his", "hers", "갱신형", "비갱신형"));
+        List<String> hits = new ArrayList<>();
+        ac.scan("ushers 비갱신형", (k, start, end) -> hits.add(ac.keyword(k) + "@" + start));
+
+        assertEquals(List.of("she@1", "he@2", "hers@2", "비갱신형@7", "갱신형@8"), hits);
+        assertArrayEquals(new int[]{2, 1, -1, 2, 8, 7}, ac.firstOccurrences("ushers 비갱신형"));
+
+        List<String> inRegion = new ArrayList<>();
+        ac.scan("ushers", 2, 5, (k, start, end) -> inRegion.add(ac.keyword(k)));
+        assertEquals(List.of("he"), inRegion);
+    }
+
+    @Test
+    @DisplayName("LABELED: 코드별 상품명 색인, 라벨 뒤 값, 상품명 주변 구간, 비갱신형 우선")
+    public void testLabeledProfile() {
+        String text = "3. 보험코드\n"
+                + "21686 (무)암진단특약\n"
+                + "[21687] (무)뇌졸중진단특약\n"
+                + "4. 사업방법\n"
+                + "(무)암진단특약 비갱신형\n보험기간: 90세만기, 100세만기\n납입기간: 10년납, 20년납\n가입나이: 만15세 ~ 만60세 기준\n"
+                + "(무)뇌졸중진단특약 갱신형\n보험기간 20년만기\n"
+                + "5. 가입한도\n";
+        BusinessMethodRules.Document doc = BusinessMethodRules.LABELED.document(text);
+
+        assertEquals("(무)암진단특약", doc.productName("21686"));
+        assertEquals("(무)뇌졸중진단특약", doc.productName("21687"));
+        assertNull(doc.productName("99999"));
+        assertTrue(doc.hasSection());
+
+        Map<String, String> terms = doc.termsNear("(무)암진단특약");
+        assertEquals("90세만기, 100세만기", terms.get("insuTerm"));
+        assertEquals("10년납, 20년납", terms.get("payTerm"));
+        assertEquals("15 ~ 60 기준", terms.get("ageRange"));
+        assertEquals("비갱신형", terms.get("renew"));
+        assertNull(doc.termsNear("없는상품"));
+
+        assertEquals("20년만기", BusinessMethodRules.LABELED.value("insuTerm", "보험기간 20년만기"));
+        assertEquals(BusinessMethodRules.NONE, BusinessMethodRules.LABELED.value("payTerm", "납입기간 —"));
+    }
+
+    @Test
+    @DisplayName("LINES: 상품명 줄 ±3줄에서 앞 줄 값 우선, 필드 안 규칙 순서가 우선순위")
+    public void testLinesProfile() {
+        StringBuilder text = new StringBuilder("79525 (무)간병인지원특약\n");
+        text.append("4. 사업방법\n");
+        text.append("기준 설명 ".repeat(20)).append('\n');
+        text.append("(무)간병인지원특약 비갱신\n");
+        text.append("20년납 종신 100세까지\n");
+        text.append("10년납 만 30세 ~ 65세\n");
+        text.append("참고 ").append('\n').append('\n').append('\n').append("월납 80세종료\n");
+        BusinessMethodRules.Document doc = BusinessMethodRules.LINES.document(text.toString());
+
+        assertEquals("(무)간병인지원특약", doc.productName("79525"));
+        Map<String, String> terms = doc.termsNear("(무)간병인지원특약");
+        assertEquals("종신", terms.get("insuTerm"), "필드 안에서는 선언 순서(종신 > N세까지)가 우선");
+        assertEquals("20년납", terms.get("payTerm"));
+        assertEquals("만 30세 ~ 65세", terms.get("ageRange"));
+        assertEquals("비갱신형", terms.get("renew"));
+    }
+
+    @Test
+    @DisplayName("문서 범위: 같은 문서의 모델은 한 번만 만들고, 범위 밖에서는 매번 생성")
+    public void testModelSharedInScope() throws Exception {
+        File pdf = new File("UW00000.pdf");
+        AtomicInteger loads = new AtomicInteger();
+        DocumentScope.ModelLoader<BusinessMethodRules.Document> loader = f -> {
+            loads.incrementAndGet();
+            return BusinessMethodRules.LABELED.document("4. 사업방법\n");
+        };
+
+        try (DocumentScope.Scope scope = DocumentScope.open()) {
+            BusinessMethodRules.Document a = DocumentScope.model(pdf, "bm", BusinessMethodRules.Document.class, loader);
+            BusinessMethodRules.Document b = DocumentScope.model(pdf, "bm", BusinessMethodRules.Document.class, loader);
+            assertSame(a, b);
+        }
+        DocumentScope.model(pdf, "bm", BusinessMethodRules.Document.class, loader);
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.insu.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * parse_pdf_improved.py 규칙 이식 골든 파일 테스트
+ * - golden/terms/expected.json: 같은 텍스트에 원본 스크립트 규칙을 적용한 결과 (generate_expected.py)
+ */
+public class ImprovedTermsExtractorTest {
+
+    private static final String DIR = "/golden/terms/";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    @DisplayName("골든: 문서·보험코드별 terms가 원본 스크립트 출력과 같음 (주계약 전용/수동 매핑/스크립트 실패 포함)")
+    public void testGoldenTerms() throws IOException {
+        Map<String, Map<String, String>> manual = read("manual_mapping.json", new TypeReference<>() {});
+        List<Map<String, Object>> cases = read("expected.json", new TypeReference<>() {});
+        assertFalse(cases.isEmpty());
+
+        for (Map<String, Object> c : cases) {
+            String doc = (String) c.get("doc");
+            String insuCd = (String) c.get("insuCd");
+            String text = text(doc + ".txt");
+
+            assertEquals(c.get("terms"), ImprovedTermsExtractor.extract(text, insuCd, manual), doc + "/" + insuCd);
+        }
+    }
+
+    @Test
+    @DisplayName("직접 패턴: 라벨 값 strip, 전기납/일시납 단어, '보험기간 종신' 라벨은 스크립트처럼 실패(null)")
+    public void testDirectPatterns() {
+        Map<String, String> direct = ImprovedTermsExtractor.directPatterns("보험기간： 20년만기 \n납입기간 전기납\n갱신 계약");
+        assertEquals("20년만기", direct.get("insuTerm"));
+        assertEquals("전기납", direct.get("payTerm"));
+        assertEquals("", direct.get("ageRange"));
+        assertEquals("갱신형", direct.get("renew"));
+
+        assertNull(ImprovedTermsExtractor.directPatterns("보험기간 종신"));
+        assertNull(ImprovedTermsExtractor.extract("보험기간 종신", "10001", Map.of()));
+        assertNull(ImprovedTermsExtractor.extract("", "10001", Map.of()));
+    }
+
+    @Test
+    @DisplayName("주계약 판정: 키워드 순서 등장 (사이 내용 무관), 순서가 다르면 표 데이터 폴백")
+    public void testMainContractSequence() {
+        String table = "주계약 종신 10년납 ... 15년납\n20년납 30년납";
+        assertEquals("종신", ImprovedTermsExtractor.mainContractTerms(table).get("insuTerm"));
+
+        Map<String, Object> fallback = ImprovedTermsExtractor.mainContractTerms("30년납 20년납 종신 10년납");
+        assertEquals(List.of("종신"), fallback.get("insuTerm"));
+        assertEquals(List.of("30년납", "20년납", "10년납"), fallback.get("payTerm"));
+    }
+
+    private static <T> T read(String name, TypeReference<T> type) throws IOException {
+        try (InputStream in = ImprovedTermsExtractorTest.class.getResourceAsStream(DIR + name)) {
+            assertNotNull(in, name);
+            return MAPPER.readValue(in, type);
+        }
+    }
+
+    private static String text(String name) throws IOException {
+        try (InputStream in = ImprovedTermsExtractorTest.class.getResourceAsStream(DIR + name)) {
+            assertNotNull(in, name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
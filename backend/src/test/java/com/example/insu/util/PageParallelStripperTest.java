@@ -0,0 +1,112 @@
+package com.example.insu.util;
+
+import com.example.insu.testutil.TestPdfs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 페이지 병렬 텍스트 추출: 직렬 결과와 동일성 / 적응형 선택 테스트
+ */
+public class PageParallelStripperTest {
+
+    /** 단일 코어 환경에서는 적응형 선택이 항상 직렬 */
+    private static final boolean MULTI_CORE = Runtime.getRuntime().availableProcessors() > 1;
+
+    @TempDir
+    Path tmp;
+
+    @AfterEach
+    public void restoreDefaults() {
+        PageParallelStripper.configure(0, 16, 0);
+        PdfBoxGate.configure(0);
+        PdfBoxGate.configureInFlightBytes(0);
+    }
+
+    @Test
+    @DisplayName("병렬 추출: 페이지 묶음별 문서로 추출해 이어 붙인 결과가 직렬 추출과 같음 (전체/부분 범위)")
+    public void testSameTextAsSerial() throws IOException {
+        File pdf = pdf(37);
+        PdfBoxGate.configure(4);
+
+        PageParallelStripper.configure(0, 4, 3);
+        String serial = PdfParser.readPagesText(pdf, 1, Integer.MAX_VALUE);
+        String serialPart = PdfParser.readPagesText(pdf, 5, 30);
+        assertTrue(serial.contains("Page 37 line 2"));
+
+        PageParallelStripper.configure(8, 4, 3);
+        assertEquals(MULTI_CORE, PageParallelStripper.worthSplitting(37));
+        assertEquals(serial, PdfParser.readPagesText(pdf, 1, Integer.MAX_VALUE));
+        assertEquals(serialPart, PdfParser.readPagesText(pdf, 5, 30));
+        assertEquals(PdfLoader.text(pdf, true, 1, 37), PageParallelStripper.text(pdf, 1, 37));
+        assertEquals(0, PdfBoxGate.getInUse());
+    }
+
+    @Test
+    @DisplayName("적응형: 최소 페이지 미만/묶음 2개 미만/병렬도 1/단일 코어/끔(0)이면 직렬, 문서를 연 스레드의 중첩 호출도 직렬")
+    public void testAdaptiveSelection() throws IOException {
+        PageParallelStripper.configure(8, 4, 3);
+        assertFalse(PageParallelStripper.worthSplitting(7));
+        assertEquals(MULTI_CORE, PageParallelStripper.worthSplitting(8));
+
+        PageParallelStripper.configure(8, 16, 3);
+        assertFalse(PageParallelStripper.worthSplitting(20));
+
+        PageParallelStripper.configure(8, 4, 1);
+        assertFalse(PageParallelStripper.worthSplitting(100));
+
+        PageParallelStripper.configure(0, 4, 3);
+        assertFalse(PageParallelStripper.worthSplitting(10_000));
+
+        // 슬롯 1개에서 문서를 연 채 큰 문서를 읽어도 막히지 않음 (직렬 경로)
+        PdfBoxGate.configure(1);
+        PageParallelStripper.configure(8, 4, 3);
+        File pdf = pdf(12);
+        try (PdfLoader.Loaded outer = PdfLoader.open(pdf)) {
+            assertTrue(PdfParser.readPagesText(pdf, 1, 12).contains("Page 12 line 1"));
+        }
+    }
+
+    @Test
+    @DisplayName("바이트 예약: 묶음은 파일 크기 × 묶음 페이지 / 문서 페이지 수만 예약, 예산이 파일 하나 크기여도 묶음들이 함께 진행")
+    public void testSliceReservation() throws IOException {
+        assertEquals(250, PageParallelStripper.sliceBytes(1000, 4, 16));
+        assertEquals(334, PageParallelStripper.sliceBytes(1000, 1, 3));
+        assertEquals(1, PageParallelStripper.sliceBytes(10, 1, 100));
+        assertEquals(1000, PageParallelStripper.sliceBytes(1000, 16, 16));
+        assertEquals(1000, PageParallelStripper.sliceBytes(1000, 4, 0));
+
+        File pdf = pdf(40);
+        PdfBoxGate.configure(4);
+        PdfBoxGate.configureInFlightBytes(pdf.length());
+        try (PdfLoader.Loaded slice = PdfLoader.open(pdf, PageParallelStripper.sliceBytes(pdf.length(), 10, 40))) {
+            assertTrue(PdfBoxGate.getInFlightBytes() < pdf.length());
+            assertEquals(40, slice.document().getNumberOfPages());
+        }
+        assertEquals(0, PdfBoxGate.getInFlightBytes());
+
+        PageParallelStripper.configure(8, 10, 4);
+        assertEquals(PdfLoader.text(pdf, true, 1, 40), PageParallelStripper.text(pdf, 1, 40, 40));
+        assertEquals(0, PdfBoxGate.getInFlightBytes());
+    }
+
+    private File pdf(int pages) throws IOException {
+        TestPdfs pdf = TestPdfs.builder().fontSize(10);
+        for (int p = 1; p <= pages; p++) {
+            int page = p;
+            pdf.page(canvas -> {
+                for (int l = 1; l <= 3; l++) {
+                    canvas.text(60 + l * 40, 720 - l * 20, "Page " + page + " line " + l);
+                }
+            });
+        }
+        return pdf.write(tmp.resolve("pages-" + pages + ".pdf").toFile());
+    }
+}
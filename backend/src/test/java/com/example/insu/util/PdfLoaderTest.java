@@ -0,0 +1,168 @@
+package com.example.insu.util;
+
+import com.example.insu.testutil.TestPdfs;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PDFBox 공통 로더: 바이트 예산 / 혼합 버퍼 로드 / 스레드별 스트리퍼 재사용 테스트
+ */
+public class PdfLoaderTest {
+
+    @TempDir
+    Path tmp;
+
+    @AfterEach
+    public void restoreDefaults() {
+        PdfBoxGate.configure(0);
+        PdfBoxGate.configureInFlightBytes(0);
+        PdfLoader.configure(0, null);
+    }
+
+    @Test
+    @DisplayName("바이트 예산: 합계가 상한을 넘는 두 번째 문서는 첫 문서 반납까지 대기, 상한보다 큰 문서는 단독 진행")
+    public void testInFlightByteBudget() throws Exception {
+        PdfBoxGate.configure(4);
+        PdfBoxGate.configureInFlightBytes(8 * 1024);
+
+        PdfBoxGate.Permit first = PdfBoxGate.acquire(6 * 1024);
+        assertEquals(6 * 1024, PdfBoxGate.getInFlightBytes());
+
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> {
+            try (PdfBoxGate.Permit p = PdfBoxGate.acquire(6 * 1024)) {
+                assertTrue(PdfBoxGate.getInFlightBytes() <= PdfBoxGate.getMaxInFlightBytes());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+
+        first.close();
+        first.close(); // 중복 반납은 무시
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(0, PdfBoxGate.getInFlightBytes());
+
+        try (PdfBoxGate.Permit huge = PdfBoxGate.acquire(1024 * 1024)) {
+            assertEquals(PdfBoxGate.getMaxInFlightBytes(), PdfBoxGate.getInFlightBytes());
+        }
+        assertEquals(0, PdfBoxGate.getInUse());
+    }
+
+    @Test
+    @DisplayName("허용권: 다른 스레드에서 닫아도 획득 스레드의 중첩 상태가 어긋나지 않음 (중첩분을 넘겨 닫아도 바깥 허용권 유지)")
+    public void testCloseOnAnotherThread() throws Exception {
+        PdfBoxGate.configure(1);
+
+        PdfBoxGate.Permit outer = PdfBoxGate.acquire();
+        PdfBoxGate.Permit nested = PdfBoxGate.acquire();
+        CompletableFuture.runAsync(nested::close).get(5, TimeUnit.SECONDS);
+        assertTrue(PdfBoxGate.isHeldByCurrentThread());
+        assertEquals(1, PdfBoxGate.getInUse());
+
+        CompletableFuture.runAsync(outer::close).get(5, TimeUnit.SECONDS);
+        assertFalse(PdfBoxGate.isHeldByCurrentThread());
+        assertEquals(0, PdfBoxGate.getInUse());
+
+        // 다시 획득하면 슬롯을 새로 차지하고, 닫으면 반납
+        try (PdfBoxGate.Permit again = PdfBoxGate.acquire()) {
+            assertEquals(1, PdfBoxGate.getInUse());
+            assertTrue(PdfBoxGate.isHeldByCurrentThread());
+        }
+        assertFalse(PdfBoxGate.isHeldByCurrentThread());
+        assertEquals(0, PdfBoxGate.getInUse());
+
+        // 다른 스레드가 획득한 허용권을 이 스레드에서 닫아도 이 스레드의 허용권은 그대로
+        PdfBoxGate.configure(2);
+        try (PdfBoxGate.Permit mine = PdfBoxGate.acquire()) {
+            PdfBoxGate.Permit foreign = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return PdfBoxGate.acquire();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).get(5, TimeUnit.SECONDS);
+            assertEquals(2, PdfBoxGate.getInUse());
+            foreign.close();
+            assertTrue(PdfBoxGate.isHeldByCurrentThread());
+            assertEquals(1, PdfBoxGate.getInUse());
+        }
+        assertEquals(0, PdfBoxGate.getInUse());
+    }
+
+    @Test
+    @DisplayName("로드: 혼합 버퍼(힙 상한 초과분은 스크래치 파일)로 열고 닫을 때 허용권 반납")
+    public void testOpenWithMixedMemory() throws IOException {
+        PdfLoader.configure(1, tmp.toString());
+        File pdf = pdf("mixed.pdf", "Page one", "Page two");
+
+        try (PdfLoader.Loaded loaded = PdfLoader.open(pdf)) {
+            assertEquals(2, loaded.document().getNumberOfPages());
+            assertEquals(1, PdfBoxGate.getInUse());
+            assertTrue(PdfBoxGate.getInFlightBytes() >= pdf.length());
+        }
+        assertEquals(0, PdfBoxGate.getInUse());
+        assertEquals(0, PdfBoxGate.getInFlightBytes());
+
+        String second = PdfLoader.text(pdf, true, 2, 2);
+        assertTrue(second.contains("Page two"));
+        assertFalse(second.contains("Page one"));
+    }
+
+    @Test
+    @DisplayName("스트리퍼: 같은 스레드는 같은 인스턴스 재사용(설정 초기화), 중첩해 열면 새 인스턴스 (슬롯 1개여도 교착 없음)")
+    public void testThreadLocalStrippers() throws IOException {
+        PdfBoxGate.configure(1);
+        File a = pdf("a.pdf", "Alpha");
+        File b = pdf("b.pdf", "Bravo");
+
+        PDFTextStripper reused;
+        try (PdfLoader.Loaded loaded = PdfLoader.open(a)) {
+            reused = loaded.textStripper(true, 1, 1);
+            assertTrue(reused.getText(loaded.document()).contains("Alpha"));
+
+            try (PdfLoader.Loaded nested = PdfLoader.open(b)) {
+                PDFTextStripper inner = nested.textStripper(false, 1, Integer.MAX_VALUE);
+                assertNotSame(reused, inner);
+                assertEquals(1, PdfBoxGate.getInUse());
+                assertTrue(inner.getText(nested.document()).contains("Bravo"));
+            }
+        }
+        try (PdfLoader.Loaded loaded = PdfLoader.open(b)) {
+            PDFTextStripper again = loaded.textStripper(false, 1, Integer.MAX_VALUE);
+            assertSame(reused, again);
+            assertFalse(again.getSortByPosition());
+            assertTrue(again.getText(loaded.document()).contains("Bravo"));
+        }
+
+        LayoutStripper layout;
+        try (PdfLoader.Loaded loaded = PdfLoader.open(a)) {
+            layout = loaded.layoutStripper();
+        }
+        List<LayoutStripper.Line> lines = LayoutStripper.readPageLines(b, 1);
+        assertEquals("Bravo", lines.get(0).text);
+        try (PdfLoader.Loaded loaded = PdfLoader.open(a)) {
+            assertSame(layout, loaded.layoutStripper());
+        }
+    }
+
+    private File pdf(String name, String... pages) throws IOException {
+        TestPdfs pdf = TestPdfs.builder();
+        for (String text : pages) {
+            pdf.page(text);
+        }
+        return pdf.write(tmp.resolve(name).toFile());
+    }
+}
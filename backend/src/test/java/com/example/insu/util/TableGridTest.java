@@ -0,0 +1,119 @@
+package com.example.insu.util;
+
+import com.example.insu.testutil.TestPdfs;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 표 재구성 엔진: 열 이진 탐색 / 줄바꿈 병합 / 군집 보정 / 4열 코드표 테스트
+ */
+public class TableGridTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("열: 경계 이진 탐색, 같은 위치 라벨은 한 열 공유, 텍스트 라인은 문자 인덱스로 슬라이스")
+    public void testColumnsAndTextRow() {
+        Map<String, Integer> anchors = new LinkedHashMap<>();
+        anchors.put("60세이하", 10);
+        anchors.put("60세", 10);
+        anchors.put("61~65", 20);
+        anchors.put("66~70", 30);
+        TableGrid.Columns cols = TableGrid.Columns.of(anchors);
+
+        assertEquals(3, cols.size());
+        assertEquals(cols.indexOf("60세"), cols.indexOf("60세이하"));
+        assertEquals(-1, cols.columnOf(9.9f));
+        assertEquals(0, cols.columnOf(10f));
+        assertEquals(1, cols.columnOf(29.9f));
+        assertEquals(2, cols.columnOf(1000f));
+
+        TableGrid.Row row = TableGrid.row("최대금액      5,000     4,000     3,000", cols);
+        assertEquals("최대금액", row.lead());
+        assertEquals("5,000", row.cell("60세"));
+        assertEquals("4,000", row.cell("61~65"));
+        assertEquals("3,000", row.cell(2));
+        assertEquals("", row.cell("없는열"));
+    }
+
+    @Test
+    @DisplayName("4열 코드표: 행 끝 코드 4개의 시작 위치로 행의 열을 잡아 제목 영역은 상품명, 셀은 코드")
+    public void testFourColumnCodeTable() {
+        Map<String, String> codes = PdfParser.parseCodeTableFourCols(
+            "(무)다사랑 3N5   간편보험  21686 21687   21688 21689\n"
+            + "주계약 21690 21691 21692\n"
+            + "(무)암진단특약 21693 2169X 21695 21696\n");
+
+        assertEquals(4, codes.size());
+        assertEquals("(무)다사랑 3N5 간편보험", codes.get("21686"));
+        assertEquals("(무)다사랑 3N5 간편보험", codes.get("21689"));
+        assertNull(codes.get("21690"));
+        assertNull(codes.get("21693"));
+    }
+
+    @Test
+    @DisplayName("좌표 라인: 헤더 라벨로 열 구성, 줄바꿈된 이름/값 행 병합, 셀 수치 추출")
+    public void testLayoutRowsAndMerge() throws Exception {
+        File pdf = TestPdfs.builder().fontSize(10).page(canvas -> {
+            text(canvas, 700, "Plan", "A60", "A65", "MIN");
+            text(canvas, 680, "Alpha", "5,000", "4,000", "100");
+            text(canvas, 668, "(main)", null, null, null);
+            text(canvas, 640, "Beta", null, null, "50");
+            text(canvas, 628, null, "3,000", "2,000", null);
+        }).write(tmp.resolve("table.pdf").toFile());
+
+        List<LayoutStripper.Line> lines = LayoutStripper.readPageLines(pdf, 1);
+        assertEquals(5, lines.size());
+        TableGrid.Columns cols = TableGrid.header(lines.get(0), List.of("A60", "A65", "MIN"));
+        assertEquals(3, cols.size());
+
+        List<TableGrid.Row> rows = TableGrid.mergeWrapped(TableGrid.rows(lines.subList(1, lines.size()), cols));
+        assertEquals(2, rows.size(), "이름 줄바꿈/값 줄바꿈 라인이 이전 행에 병합되어야 함");
+
+        TableGrid.Row alpha = rows.get(0);
+        assertEquals("Alpha (main)", alpha.lead());
+        assertEquals(new BigDecimal("50000000"), LimitTableExtractor.valueAt(alpha, cols.indexOf("A60"), "만"));
+        assertEquals(new BigDecimal("1000000"), LimitTableExtractor.valueAt(alpha, cols.indexOf("MIN"), "만"));
+
+        TableGrid.Row beta = rows.get(1);
+        assertEquals("Beta", beta.lead());
+        assertEquals("2,000", beta.cell("A65"));
+        assertEquals("50", beta.cell("MIN"));
+    }
+
+    @Test
+    @DisplayName("군집 보정: 가운데 정렬 헤더보다 왼쪽에서 시작하는 값 열로 경계를 당김")
+    public void testSnapLeft() {
+        Map<String, Float> anchors = new LinkedHashMap<>();
+        anchors.put("A", 100f);
+        anchors.put("B", 200f);
+        TableGrid.Columns cols = TableGrid.Columns.of(anchors).snapLeft(new float[]{20f, 92f, 180f});
+
+        assertEquals(92f, cols.start(0));
+        assertEquals(180f, cols.start(1));
+        assertEquals(0, cols.columnOf(95f));
+        assertEquals(-1, cols.columnOf(20f), "이전 열과의 중간점 너머 군집으로는 당기지 않음");
+    }
+
+    private static void text(TestPdfs.Canvas canvas, float y, String lead, String a, String b, String c) throws IOException {
+        String[] cells = {lead, a, b, c};
+        float[] xs = {50, 200, 300, 400};
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != null) {
+                canvas.text(xs[i], y, cells[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+#!/usr/bin/env python
+# -*- coding: utf-8 -*-
+"""
+ImprovedTermsExtractor 골든 파일 생성
+
+parse_pdf_improved.py의 ImprovedPDFParser 규칙을 이 디렉터리의 페이지 텍스트(*.txt,
+parse_results/*_debug.txt를 UTF-8로 옮긴 것)에 그대로 적용해 expected.json 작성.
+PDF 추출 단계만 건너뛰므로 PyPDF2 없이 실행 가능.
+
+사용: python generate_expected.py  (저장소 루트의 parse_pdf_improved.py 사용)
+"""
+
+import json
+import sys
+import types
+from pathlib import Path
+
+HERE = Path(__file__).resolve().parent
+ROOT = HERE.parents[4].parent  # backend/src/test/resources/golden/terms → 저장소 루트
+
+sys.modules.setdefault('PyPDF2', types.ModuleType('PyPDF2'))
+sys.path.insert(0, str(ROOT))
+from parse_pdf_improved import ImprovedPDFParser  # noqa: E402
+
+# 문서별 보험코드: 수동 매핑 대상/주계약 전용 경로(21686)/일반 경로를 고루 포함
+CASES = {
+    'UW17147': ['21797', '21686'],
+    'UW19771': ['21853', '17232'],
+    'UW21239': ['21686', '79525'],
+    'UW21385': ['21385', '21635'],
+    'synthetic': ['10001', '21686'],
+}
+
+
+class TextParser(ImprovedPDFParser):
+    def __init__(self, text):
+        self.debug = False
+        self.manual_mapping = json.loads((HERE / 'manual_mapping.json').read_text(encoding='utf-8'))
+        self.text = text
+
+    def extract_text(self, pdf_path):
+        return self.text
+
+
+def main():
+    expected = []
+    for doc, codes in CASES.items():
+        text = (HERE / f'{doc}.txt').read_text(encoding='utf-8')
+        for insu_cd in codes:
+            try:
+                terms = TextParser(text).parse(doc, insu_cd)['terms']
+            except Exception as e:  # 원본 스크립트가 실패하는 입력 → 결과 없음
+                terms = None
+                print(f'{doc}/{insu_cd}: {type(e).__name__}: {e}', file=sys.stderr)
+            expected.append({'doc': doc, 'insuCd': insu_cd, 'terms': terms})
+    (HERE / 'expected.json').write_text(
+        json.dumps(expected, ensure_ascii=False, indent=2) + '\n', encoding='utf-8')
+
+
+if __name__ == '__main__':
+    main()
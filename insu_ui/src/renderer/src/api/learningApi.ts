@@ -72,8 +72,22 @@ export async function resetLearning(): Promise<{ success: boolean; message: stri
 
 /**
  * PDF 파일 업로드
+ * - jobId: 업로드 후 비동기 색인(캐시 무효화 + 문서 단위 파싱) 작업 ID
+ * - duplicate: 같은 이름·같은 내용의 파일이 이미 있어 교체하지 않음
+ * - jobState REJECTED(HTTP 202): 파일은 교체됐지만 색인 대기열이 가득 차 색인을 시작하지 못함 (첫 조회 시 파싱, retryAfterSeconds 뒤 재시도 권장)
  */
-export async function uploadPdfFile(file: File): Promise<{ success: boolean; message: string; fileName?: string }> {
+export async function uploadPdfFile(file: File): Promise<{
+  success: boolean;
+  message: string;
+  fileName?: string;
+  sha256?: string;
+  duplicate?: boolean;
+  duplicateOf?: string | null;
+  jobId?: string;
+  jobState?: UploadJob['state'];
+  errorCode?: string;
+  retryAfterSeconds?: number;
+}> {
   try {
     const formData = new FormData();
     formData.append('file', file);
@@ -94,6 +108,41 @@ export async function uploadPdfFile(file: File): Promise<{ success: boolean; mes
   }
 }
 
+export interface UploadJob {
+  jobId: string;
+  fileName: string;
+  state: 'QUEUED' | 'RUNNING' | 'DONE' | 'FAILED' | 'REJECTED';
+  stage: string | null;
+  codes: number;
+  parsed: number;
+  elapsedMs: number;
+  error: string | null;
+}
+
+/**
+ * 업로드 색인 작업 상태 조회
+ */
+export async function fetchUploadJob(jobId: string): Promise<UploadJob> {
+  const response = await fetch(`http://localhost:8081/api/files/jobs/${jobId}`);
+  if (!response.ok) {
+    throw new Error(`HTTP error! status: ${response.status}`);
+  }
+  return await response.json();
+}
+
+/**
+ * 업로드 색인 작업이 끝날 때까지 폴링 (DONE/FAILED/REJECTED 또는 시간 초과 시 마지막 상태 반환)
+ */
+export async function waitForUploadJob(jobId: string, intervalMs = 1000, timeoutMs = 120000): Promise<UploadJob> {
+  const deadline = Date.now() + timeoutMs;
+  let job = await fetchUploadJob(jobId);
+  while ((job.state === 'QUEUED' || job.state === 'RUNNING') && Date.now() < deadline) {
+    await new Promise(resolve => setTimeout(resolve, intervalMs));
+    job = await fetchUploadJob(jobId);
+  }
+  return job;
+}
+
 /**
  * Few-Shot 예시 수동 생성
  */
@@ -1,6 +1,6 @@
 import { useEffect, useState } from "react";
 import { useAppStore } from "../store/useAppStore";
-import { uploadPdfFile } from "../api/learningApi";
+import { uploadPdfFile, waitForUploadJob } from "../api/learningApi";
 
 export function PdfListPanel() {
   const { pdfs, listPdfs, listCodes, pickPdf, setPickPdf } = useAppStore();
@@ -64,7 +64,16 @@ export function PdfListPanel() {
         const result = await uploadPdfFile(file);
         
         if (result.success) {
-          console.log(`PDF 파일 업로드 성공: ${file.name}`);
+          console.log(`PDF 파일 업로드 성공: ${file.name}${result.duplicate ? ' (같은 내용, 교체 생략)' : ''}`);
+          if (result.jobState === 'REJECTED') {
+            // 파일은 교체됨 - 색인만 대기열 포화로 시작하지 못함 (첫 조회 시 파싱)
+            console.warn(`PDF 색인 대기열 포화: ${file.name} - ${result.message} (${result.retryAfterSeconds ?? 30}초 뒤 재시도 권장)`);
+          } else if (result.jobId && !result.duplicate) {
+            // 색인/파싱은 백그라운드에서 진행 - 업로드 흐름은 기다리지 않음
+            waitForUploadJob(result.jobId)
+              .then(job => console.log(`PDF 색인 ${job.state}: ${file.name} - 코드 ${job.codes}개, ${job.elapsedMs}ms`))
+              .catch(err => console.warn(`PDF 색인 상태 조회 실패: ${file.name}`, err));
+          }
         } else {
           console.error(`PDF 파일 업로드 실패: ${file.name} - ${result.message}`);
           alert(`파일 업로드 실패: ${file.name}\n${result.message}`);
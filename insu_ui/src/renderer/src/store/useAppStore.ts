@@ -1,6 +1,6 @@
 import { create } from "zustand";
 import type {
-  PdfFile, CodeEntry, ProductInfoResponse, LimitInfo
+  PdfFile, CodeEntry, ProductInfoResponse, ProductBundleResponse, LimitInfo
 } from "../types/dto";
 import { httpGet } from "../api/client";
 
@@ -174,111 +174,52 @@ export const useAppStore = create<State>((set, get) => ({
     set({ selectedMainCode: mainCode, productRows: [], errorMessages: [] });
     
     try {
-      console.log(`[DEBUG] 주계약 상품 정보 조회 API 호출 시작...`);
-      const apiUrl = `/api/product/${mainCode}`;
+      console.log(`[DEBUG] 주계약 + 관련 특약 일괄 조회 API 호출 시작...`);
+      const apiUrl = `/api/product/${mainCode}/bundle`;
       console.log(`[DEBUG] API 요청 URL: ${apiUrl}`);
       
-      // 주계약 코드 선택 시 관련된 모든 코드들을 가져오는 API 호출
-      const mainProduct = await httpGet<ProductInfoResponse>(apiUrl);
-      console.log(`[DEBUG] 주계약 상품 정보 API 응답:`, mainProduct);
-      
-      // 주계약 정보를 먼저 추가 - 각 PolicyTerms 조합을 별도 행으로 생성
-      const rows: ProductRow[] = [];
-      
-      if (mainProduct.terms && Array.isArray(mainProduct.terms)) {
-        // 새로운 구조: 각 PolicyTerms 조합을 별도 행으로 생성
-        console.log(`[DEBUG] 주계약 ${mainCode} terms 배열 길이:`, mainProduct.terms.length);
-        console.log(`[DEBUG] 주계약 ${mainCode} terms 내용:`, mainProduct.terms);
-        
-        for (const term of mainProduct.terms) {
-          rows.push({
-            insuCd: mainCode,
-            name: mainProduct.name || "상품명 없음",
+      // 주계약과 관련 특약 상품 정보를 한 번에 조회 (서버에서 병렬 처리, 같은 PDF는 한 번만 파싱)
+      const bundle = await httpGet<ProductBundleResponse>(apiUrl);
+      console.log(`[DEBUG] 일괄 조회 API 응답:`, bundle);
+      
+      // 상품 정보 → 행 목록 (각 PolicyTerms 조합을 별도 행으로 생성)
+      const toRows = (insuCd: string, product: ProductInfoResponse | undefined, type: '주계약' | '특약'): ProductRow[] => {
+        if (product?.terms && Array.isArray(product.terms)) {
+          return product.terms.map((term: any) => ({
+            insuCd,
+            name: product.name || "상품명 없음",
             insuTerm: term.insuTerm || "—",
             payTerm: term.payTerm || "—",
             ageRange: term.ageRange || "—",
-            type: '주계약'
-          });
+            type
+          }));
         }
-      } else {
-        // 기존 구조: 단일 PolicyTerms (호환성)
-        rows.push({
-          insuCd: mainCode,
-          name: mainProduct.name || "상품명 없음",
-          insuTerm: mainProduct.terms?.insuTerm || "—",
-          payTerm: mainProduct.terms?.payTerm || "—",
-          ageRange: mainProduct.terms?.ageRange || "—",
-          type: '주계약'
-        });
-      }
+        // 기존 구조: 단일 PolicyTerms (호환성) 또는 조회 실패
+        return [{
+          insuCd,
+          name: product?.name || "상품명 없음",
+          insuTerm: product?.terms?.insuTerm || "—",
+          payTerm: product?.terms?.payTerm || "—",
+          ageRange: product?.terms?.ageRange || "—",
+          type
+        }];
+      };
       
-      // 관련 특약 코드들 조회 (API 호출)
-      console.log(`[DEBUG] 관련 특약 코드 조회 시작...`);
-      const relatedCodeList: string[] = [];
-      let relatedCodesData: any[] = [];
-      
-      try {
-        const relatedApiUrl = `/api/product/${mainCode}/related-codes`;
-        console.log(`[DEBUG] 관련 코드 API 요청 URL: ${relatedApiUrl}`);
-        
-        const relatedCodesResponse = await httpGet<any>(relatedApiUrl);
-        console.log(`[DEBUG] 관련 코드 API 응답:`, relatedCodesResponse);
-        
-        if (relatedCodesResponse.relatedCodes && Array.isArray(relatedCodesResponse.relatedCodes)) {
-          relatedCodesData = relatedCodesResponse.relatedCodes;
-          relatedCodeList.push(...relatedCodesData.map((item: any) => item.insuCd));
-          console.log(`[DEBUG] 조회된 관련 코드 개수: ${relatedCodeList.length}`);
-          console.log(`[DEBUG] 관련 코드 목록:`, relatedCodeList);
-        } else {
-          console.warn(`[WARNING] 관련 코드 응답에 relatedCodes 배열이 없음:`, relatedCodesResponse);
-        }
-      } catch (e) {
-        console.error(`[ERROR] 관련 코드 조회 실패 (${mainCode}):`, e);
+      const rows: ProductRow[] = toRows(mainCode, bundle.main, '주계약');
+      
+      const relatedCodesData: any[] = Array.isArray(bundle.relatedCodes) ? bundle.relatedCodes : [];
+      if (bundle.error) {
+        console.error(`[ERROR] 관련 코드 조회 실패 (${mainCode}):`, bundle.error);
         set(state => ({
-          errorMessages: [...state.errorMessages, `관련 코드 조회 실패: ${String(e)}`]
+          errorMessages: [...state.errorMessages, bundle.error as string]
         }));
       }
+      console.log(`[DEBUG] 조회된 관련 코드 개수: ${relatedCodesData.length}`);
       
-      // 각 관련 코드에 대해 상세 정보 조회
-      for (const relatedCode of relatedCodeList) {
-        try {
-          const relatedProduct = await httpGet<ProductInfoResponse>(`/api/product/${relatedCode}`);
-          
-          if (relatedProduct.terms && Array.isArray(relatedProduct.terms)) {
-            // 새로운 구조: 각 PolicyTerms 조합을 별도 행으로 생성
-            for (const term of relatedProduct.terms) {
-              rows.push({
-                insuCd: relatedCode,
-                name: relatedProduct.name || "상품명 없음",
-                insuTerm: term.insuTerm || "—",
-                payTerm: term.payTerm || "—",
-                ageRange: term.ageRange || "—",
-                type: '특약'
-              });
-            }
-          } else {
-            // 기존 구조: 단일 PolicyTerms (호환성)
-            rows.push({
-              insuCd: relatedCode,
-              name: relatedProduct.name || "상품명 없음",
-              insuTerm: relatedProduct.terms?.insuTerm || "—",
-              payTerm: relatedProduct.terms?.payTerm || "—",
-              ageRange: relatedProduct.terms?.ageRange || "—",
-              type: '특약'
-            });
-          }
-        } catch (e) {
-          console.warn(`특약 코드 ${relatedCode} 조회 실패:`, e);
-          // 실패해도 기본 정보로 추가 (단일 행)
-          rows.push({
-            insuCd: relatedCode,
-            name: "상품명 없음",
-            insuTerm: "—",
-            payTerm: "—",
-            ageRange: "—",
-            type: '특약'
-          });
-        }
+      const productByCode = new Map<string, ProductInfoResponse>(
+        (bundle.products || []).map(p => [p.insuCd, p] as [string, ProductInfoResponse]));
+      for (const item of relatedCodesData) {
+        rows.push(...toRows(item.insuCd, productByCode.get(item.insuCd), '특약'));
       }
       
       console.log(`[DEBUG] 총 ${rows.length} 개의 행 생성됨`);
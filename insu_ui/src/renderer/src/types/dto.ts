@@ -70,6 +70,15 @@ export type ProductInfoResponse = {
   payTerm?: number | null;
 };
 
+// GET /api/product/{mainCode}/bundle: 관련 코드 목록 + 주계약/특약 상품 정보 일괄
+export type ProductBundleResponse = {
+  mainCode: string;
+  relatedCodes?: { insuCd: string; name?: string; mainCode?: string }[];
+  error?: string;
+  main?: ProductInfoResponse;
+  products?: ProductInfoResponse[];
+};
+
 export type LimitInfo = {
   insuCd: string;
   name: string | null;